@@ -17,11 +17,16 @@
 package org.camunda.bpm.dmn.engine.impl;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
@@ -32,6 +37,7 @@ import org.camunda.bpm.dmn.engine.impl.delegate.DmnDecisionEvaluationEventImpl;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionLiteralExpressionEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DecisionTableEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.evaluation.DmnDecisionLogicEvaluationHandler;
+import org.camunda.bpm.dmn.engine.impl.evaluation.ExpressionEvaluationHandler;
 import org.camunda.bpm.dmn.engine.impl.hitpolicy.HitPolicyEntry;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
@@ -52,8 +58,14 @@ public class DefaultDmnDecisionContext {
 
   protected final Map<Class<? extends DmnDecisionLogic>, DmnDecisionLogicEvaluationHandler> evaluationHandlers;
 
+  protected final Executor decisionEvaluationExecutor;
+
+  protected final DefaultDmnEngineConfiguration configuration;
+
   public DefaultDmnDecisionContext(DefaultDmnEngineConfiguration configuration) {
+    this.configuration = configuration;
     evaluationListeners = configuration.getDecisionEvaluationListeners();
+    decisionEvaluationExecutor = configuration.getDecisionEvaluationExecutor();
 
     evaluationHandlers = new HashMap<Class<? extends DmnDecisionLogic>, DmnDecisionLogicEvaluationHandler>();
     evaluationHandlers.put(DmnDecisionTableImpl.class, new DecisionTableEvaluationHandler(configuration));
@@ -77,6 +89,10 @@ public class DefaultDmnDecisionContext {
     List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
     buildDecisionTree(decision, requiredDecisions);
 
+    if (decisionEvaluationExecutor != null && requiredDecisions.size() > 1) {
+      return evaluateDecisionsInParallel(decision, requiredDecisions, variableMap);
+    }
+
     List<DmnDecisionLogicEvaluationEvent> evaluatedEvents = new ArrayList<DmnDecisionLogicEvaluationEvent>();
     DmnDecisionResult evaluatedResult = null;
 
@@ -95,6 +111,48 @@ public class DefaultDmnDecisionContext {
     return evaluatedResult;
   }
 
+  /**
+   * Evaluates the required decisions on the {@link #decisionEvaluationExecutor}. A decision
+   * is evaluated as soon as the decisions it depends on are evaluated, so that independent
+   * decisions are evaluated concurrently.
+   *
+   * In a sequential evaluation, a decision sees the results of all decisions evaluated before
+   * it, including decisions it does not require. To see the same values, a decision also
+   * depends on each earlier decision with an output name that occurs in one of its
+   * expressions. A decision with an expression in a script language may access any variable,
+   * so it depends on all earlier decisions. The events and the result are the same as in a
+   * sequential evaluation.
+   */
+  protected DmnDecisionResult evaluateDecisionsInParallel(DmnDecision decision, List<DmnDecision> requiredDecisions, VariableMap variableMap) {
+    ParallelDecisionEvaluation evaluation = new ParallelDecisionEvaluation(requiredDecisions, variableMap);
+    evaluation.start();
+
+    try {
+      evaluation.await();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw LOG.decisionEvaluationInterrupted(decision, e);
+    }
+
+    Throwable failure = evaluation.getFailure();
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    else if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    else if (failure != null) {
+      throw LOG.unableToEvaluateDecision(decision, failure);
+    }
+
+    List<DmnDecisionLogicEvaluationEvent> evaluatedEvents = evaluation.getEvaluatedEvents();
+    DmnDecisionResult evaluatedResult = evaluation.getResult(requiredDecisions.size() - 1);
+
+    generateDecisionEvaluationEvent(evaluatedEvents);
+    return evaluatedResult;
+  }
+
   protected VariableMap buildVariableMapFromVariableContext(VariableContext variableContext) {
 
     VariableMap variableMap = Variables.createVariables();
@@ -119,6 +177,102 @@ public class DefaultDmnDecisionContext {
     requiredDecisions.add(decision);
   }
 
+  /**
+   * @return the expressions and input variable names of the given decision, or <code>null</code>
+   * if the decision may access variables which are not named in its expressions
+   */
+  protected List<String> getReferencingExpressions(DmnDecision decision, ExpressionEvaluationHandler expressionEvaluationHandler) {
+    List<String> expressions = new ArrayList<String>();
+    DmnDecisionLogic decisionLogic = decision.getDecisionLogic();
+
+    if (decisionLogic instanceof DmnDecisionTableImpl) {
+      DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) decisionLogic;
+      for (DmnDecisionTableInputImpl input : decisionTable.getInputs()) {
+        expressions.add(input.getInputVariable());
+        if (!addExpression(input.getExpression(), configuration.getDefaultInputExpressionExpressionLanguage(), expressions, expressionEvaluationHandler)) {
+          return null;
+        }
+      }
+      for (DmnDecisionTableRuleImpl rule : decisionTable.getRules()) {
+        for (DmnExpressionImpl condition : rule.getConditions()) {
+          if (!addExpression(condition, configuration.getDefaultInputEntryExpressionLanguage(), expressions, expressionEvaluationHandler)) {
+            return null;
+          }
+        }
+        for (DmnExpressionImpl conclusion : rule.getConclusions()) {
+          if (!addExpression(conclusion, configuration.getDefaultOutputEntryExpressionLanguage(), expressions, expressionEvaluationHandler)) {
+            return null;
+          }
+        }
+      }
+      return expressions;
+    }
+    else if (decisionLogic instanceof DmnDecisionLiteralExpressionImpl) {
+      DmnExpressionImpl expression = ((DmnDecisionLiteralExpressionImpl) decisionLogic).getExpression();
+      if (!addExpression(expression, configuration.getDefaultLiteralExpressionLanguage(), expressions, expressionEvaluationHandler)) {
+        return null;
+      }
+      return expressions;
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * @return false if the expression is evaluated by a script engine
+   */
+  protected boolean addExpression(DmnExpressionImpl expression, String defaultExpressionLanguage, List<String> expressions, ExpressionEvaluationHandler expressionEvaluationHandler) {
+    if (expression == null || expression.getExpression() == null) {
+      return true;
+    }
+
+    String expressionLanguage = expression.getExpressionLanguage();
+    if (expressionLanguage == null) {
+      expressionLanguage = defaultExpressionLanguage;
+    }
+    if (expressionLanguage == null || expressionEvaluationHandler.isScriptExpressionLanguage(expressionLanguage)) {
+      return false;
+    }
+
+    expressions.add(expression.getExpression());
+    return true;
+  }
+
+  /**
+   * @return the names of the variables which the result of the given decision is added as
+   */
+  protected List<String> getOutputNames(DmnDecision decision) {
+    List<String> outputNames = new ArrayList<String>();
+    DmnDecisionLogic decisionLogic = decision.getDecisionLogic();
+
+    if (decisionLogic instanceof DmnDecisionTableImpl) {
+      for (DmnDecisionTableOutputImpl output : ((DmnDecisionTableImpl) decisionLogic).getOutputs()) {
+        if (output.getOutputName() != null) {
+          outputNames.add(output.getOutputName());
+        }
+      }
+    }
+    else if (decisionLogic instanceof DmnDecisionLiteralExpressionImpl) {
+      DmnVariableImpl variable = ((DmnDecisionLiteralExpressionImpl) decisionLogic).getVariable();
+      if (variable != null && variable.getName() != null) {
+        outputNames.add(variable.getName());
+      }
+    }
+    return outputNames;
+  }
+
+  protected boolean isAnyOutputReferenced(List<String> outputNames, List<String> expressions) {
+    for (String outputName : outputNames) {
+      for (String expression : expressions) {
+        if (expression != null && expression.contains(outputName)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   protected DmnDecisionLogicEvaluationHandler getDecisionEvaluationHandler(DmnDecision decision) {
     Class<? extends DmnDecisionLogic> key = decision.getDecisionLogic().getClass();
 
@@ -184,4 +338,179 @@ public class DefaultDmnDecisionContext {
     }
   }
 
+  /**
+   * Evaluation of the required decisions of one decision. The decisions are ordered
+   * such that each decision follows the decisions it requires, which is the order of
+   * the sequential evaluation.
+   */
+  protected class ParallelDecisionEvaluation {
+
+    protected final List<DmnDecision> decisions;
+    protected final VariableMap variableMap;
+
+    /** the decisions which depend on a decision */
+    protected final List<List<Integer>> requiringDecisions;
+    /** the decisions whose results a decision sees, i.e. its dependencies and theirs */
+    protected final BitSet[] visibleDecisions;
+    protected final AtomicInteger[] pendingDependencies;
+
+    protected final DmnDecisionLogicEvaluationEvent[] evaluatedEvents;
+    protected final DmnDecisionResult[] evaluatedResults;
+    protected final Throwable[] failures;
+    protected final boolean[] skipped;
+
+    protected final CountDownLatch remainingDecisions;
+
+    public ParallelDecisionEvaluation(List<DmnDecision> decisions, VariableMap variableMap) {
+      this.decisions = decisions;
+      this.variableMap = variableMap;
+
+      int decisionCount = decisions.size();
+      requiringDecisions = new ArrayList<List<Integer>>(decisionCount);
+      visibleDecisions = new BitSet[decisionCount];
+      pendingDependencies = new AtomicInteger[decisionCount];
+      evaluatedEvents = new DmnDecisionLogicEvaluationEvent[decisionCount];
+      evaluatedResults = new DmnDecisionResult[decisionCount];
+      failures = new Throwable[decisionCount];
+      skipped = new boolean[decisionCount];
+      remainingDecisions = new CountDownLatch(decisionCount);
+
+      ExpressionEvaluationHandler expressionEvaluationHandler = new ExpressionEvaluationHandler(configuration);
+      List<List<String>> outputNames = new ArrayList<List<String>>(decisionCount);
+
+      Map<DmnDecision, Integer> positions = new HashMap<DmnDecision, Integer>();
+      for (int i = 0; i < decisionCount; i++) {
+        DmnDecision decision = decisions.get(i);
+        positions.put(decision, i);
+        requiringDecisions.add(new ArrayList<Integer>());
+        outputNames.add(getOutputNames(decision));
+
+        Set<Integer> dependencies = new HashSet<Integer>();
+        for (DmnDecision requiredDecision : decision.getRequiredDecisions()) {
+          dependencies.add(positions.get(requiredDecision));
+        }
+
+        // earlier decisions whose results the sequential evaluation would expose
+        List<String> expressions = getReferencingExpressions(decision, expressionEvaluationHandler);
+        for (int j = 0; j < i; j++) {
+          if (expressions == null || isAnyOutputReferenced(outputNames.get(j), expressions)) {
+            dependencies.add(j);
+          }
+        }
+
+        BitSet visible = new BitSet();
+        for (int dependency : dependencies) {
+          requiringDecisions.get(dependency).add(i);
+          visible.set(dependency);
+          visible.or(visibleDecisions[dependency]);
+        }
+        visibleDecisions[i] = visible;
+        pendingDependencies[i] = new AtomicInteger(dependencies.size());
+      }
+    }
+
+    public void start() {
+      for (int i = 0; i < decisions.size(); i++) {
+        if (pendingDependencies[i].get() == 0) {
+          schedule(i);
+        }
+      }
+    }
+
+    public void await() throws InterruptedException {
+      remainingDecisions.await();
+    }
+
+    protected void schedule(final int position) {
+      Runnable evaluation = new Runnable() {
+        public void run() {
+          evaluate(position);
+        }
+      };
+
+      try {
+        decisionEvaluationExecutor.execute(evaluation);
+      }
+      catch (RejectedExecutionException e) {
+        evaluation.run();
+      }
+    }
+
+    protected void evaluate(int position) {
+      try {
+        if (isAnyDependencyFailed(position)) {
+          skipped[position] = true;
+        }
+        else {
+          DmnDecision decision = decisions.get(position);
+          DmnDecisionLogicEvaluationHandler handler = getDecisionEvaluationHandler(decision);
+          DmnDecisionLogicEvaluationEvent evaluatedEvent = handler.evaluate(decision, buildVariableContext(position));
+          evaluatedEvents[position] = evaluatedEvent;
+          evaluatedResults[position] = handler.generateDecisionResult(evaluatedEvent);
+        }
+      }
+      catch (Throwable t) {
+        failures[position] = t;
+      }
+      finally {
+        for (int requiringDecision : requiringDecisions.get(position)) {
+          if (pendingDependencies[requiringDecision].decrementAndGet() == 0) {
+            schedule(requiringDecision);
+          }
+        }
+        remainingDecisions.countDown();
+      }
+    }
+
+    protected boolean isAnyDependencyFailed(int position) {
+      BitSet visible = visibleDecisions[position];
+      for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+        if (failures[i] != null || skipped[i]) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    protected VariableContext buildVariableContext(int position) {
+      VariableMap decisionVariables = Variables.createVariables();
+      decisionVariables.putAll(variableMap);
+
+      // add the results in the order of the sequential evaluation, so that
+      // a later result shadows an earlier one with the same output name
+      BitSet visible = visibleDecisions[position];
+      for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+        addResultToVariableContext(evaluatedResults[i], decisionVariables, decisions.get(i));
+      }
+
+      return decisionVariables.asVariableContext();
+    }
+
+    /**
+     * @return the failure of the first decision in the order of the sequential evaluation
+     * which could not be evaluated, or null if all decisions are evaluated
+     */
+    public Throwable getFailure() {
+      for (Throwable failure : failures) {
+        if (failure != null) {
+          return failure;
+        }
+      }
+      return null;
+    }
+
+    public List<DmnDecisionLogicEvaluationEvent> getEvaluatedEvents() {
+      List<DmnDecisionLogicEvaluationEvent> events = new ArrayList<DmnDecisionLogicEvaluationEvent>();
+      for (DmnDecisionLogicEvaluationEvent evaluatedEvent : evaluatedEvents) {
+        events.add(evaluatedEvent);
+      }
+      return events;
+    }
+
+    public DmnDecisionResult getResult(int position) {
+      return evaluatedResults[position];
+    }
+
+  }
+
 }
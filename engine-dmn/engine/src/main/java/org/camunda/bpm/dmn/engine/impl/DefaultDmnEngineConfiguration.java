@@ -19,6 +19,7 @@ package org.camunda.bpm.dmn.engine.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.camunda.bpm.dmn.engine.DmnEngine;
 import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
@@ -26,10 +27,12 @@ import org.camunda.bpm.dmn.engine.delegate.DmnDecisionEvaluationListener;
 import org.camunda.bpm.dmn.engine.delegate.DmnDecisionTableEvaluationListener;
 import org.camunda.bpm.dmn.engine.impl.el.DefaultScriptEngineResolver;
 import org.camunda.bpm.dmn.engine.impl.el.JuelElProvider;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableIndexTransformListener;
 import org.camunda.bpm.dmn.engine.impl.metrics.DefaultEngineMetricCollector;
 import org.camunda.bpm.dmn.engine.impl.metrics.DmnEngineMetricCollectorWrapper;
 import org.camunda.bpm.dmn.engine.impl.spi.el.DmnScriptEngineResolver;
 import org.camunda.bpm.dmn.engine.impl.spi.el.ElProvider;
+import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformListener;
 import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformer;
 import org.camunda.bpm.dmn.engine.impl.transform.DefaultDmnTransformer;
 import org.camunda.bpm.dmn.engine.spi.DmnEngineMetricCollector;
@@ -74,6 +77,24 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
    */
   protected boolean enableFeelLegacyBehavior = false;
 
+  /**
+   * Enable the lookup of matching rules in the index of a decision table.
+   * Input entries which are FEEL simple unary tests consisting of literals
+   * are not evaluated by the FEEL engine then. The index follows the semantics
+   * of the legacy FEEL engine, see {@link #enableFeelLegacyBehavior}, so it
+   * is disabled by default.
+   */
+  protected boolean enableDecisionTableIndex = false;
+
+  /**
+   * Executor on which the required decisions of a decision are evaluated.
+   * Decisions which do not depend on each other are evaluated concurrently.
+   * If it is not set, the required decisions are evaluated one after another
+   * in the calling thread. Listeners of decision table evaluations and the
+   * expression languages must be thread-safe if it is set.
+   */
+  protected Executor decisionEvaluationExecutor;
+
   protected String defaultInputExpressionExpressionLanguage = null;
   protected String defaultInputEntryExpressionLanguage = null;
   protected String defaultOutputEntryExpressionLanguage = null;
@@ -95,6 +116,7 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     initElDefaults();
     initElProvider();
     initFeelEngine();
+    initDecisionTableIndex();
   }
 
   public void initElDefaults() {
@@ -185,6 +207,18 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     }
   }
 
+  protected void initDecisionTableIndex() {
+    if (enableDecisionTableIndex) {
+      List<DmnTransformListener> transformListeners = transformer.getTransformListeners();
+      for (DmnTransformListener transformListener : transformListeners) {
+        if (transformListener instanceof DmnDecisionTableIndexTransformListener) {
+          return;
+        }
+      }
+      transformListeners.add(new DmnDecisionTableIndexTransformListener());
+    }
+  }
+
   protected void initFeelEngine() {
     if (feelEngineFactory == null) {
       if (!enableFeelLegacyBehavior) {
@@ -603,4 +637,58 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     return this;
   }
 
+  /**
+   * @return whether the lookup of matching rules in the index of a decision table is enabled or not
+   */
+  public boolean isEnableDecisionTableIndex() {
+    return enableDecisionTableIndex;
+  }
+
+  /**
+   * Controls whether the matching rules of a decision table are looked up in its index
+   *
+   * @param enableDecisionTableIndex the decision table index lookup
+   */
+  public void setEnableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    this.enableDecisionTableIndex = enableDecisionTableIndex;
+  }
+
+  /**
+   * Controls whether the matching rules of a decision table are looked up in its index
+   *
+   * @param enableDecisionTableIndex the decision table index lookup
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration enableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    setEnableDecisionTableIndex(enableDecisionTableIndex);
+    return this;
+  }
+
+  /**
+   * @return the executor on which required decisions are evaluated or null if they are evaluated sequentially
+   */
+  public Executor getDecisionEvaluationExecutor() {
+    return decisionEvaluationExecutor;
+  }
+
+  /**
+   * Set the executor on which required decisions are evaluated concurrently
+   *
+   * @param decisionEvaluationExecutor the executor or null to evaluate required decisions sequentially
+   */
+  public void setDecisionEvaluationExecutor(Executor decisionEvaluationExecutor) {
+    this.decisionEvaluationExecutor = decisionEvaluationExecutor;
+  }
+
+  /**
+   * Set the executor on which required decisions are evaluated concurrently
+   *
+   * @param decisionEvaluationExecutor the executor or null to evaluate required decisions sequentially
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration decisionEvaluationExecutor(Executor decisionEvaluationExecutor) {
+    setDecisionEvaluationExecutor(decisionEvaluationExecutor);
+    return this;
+  }
+
 }
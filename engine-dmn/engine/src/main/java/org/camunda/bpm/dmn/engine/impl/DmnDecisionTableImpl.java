@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.camunda.bpm.dmn.engine.DmnDecisionLogic;
 import org.camunda.bpm.dmn.engine.impl.hitpolicy.DefaultHitPolicyHandlerRegistry;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableIndex;
 import org.camunda.bpm.dmn.engine.impl.spi.hitpolicy.DmnHitPolicyHandler;
 import org.camunda.bpm.model.dmn.BuiltinAggregator;
 import org.camunda.bpm.model.dmn.HitPolicy;
@@ -33,6 +34,8 @@ public class DmnDecisionTableImpl implements DmnDecisionLogic {
   protected List<DmnDecisionTableOutputImpl> outputs = new ArrayList<DmnDecisionTableOutputImpl>();
   protected List<DmnDecisionTableRuleImpl> rules = new ArrayList<DmnDecisionTableRuleImpl>();
 
+  protected DmnDecisionTableIndex index;
+
   public DmnHitPolicyHandler getHitPolicyHandler() {
     return hitPolicyHandler;
   }
@@ -65,6 +68,17 @@ public class DmnDecisionTableImpl implements DmnDecisionLogic {
     this.rules = rules;
   }
 
+  /**
+   * @return the index of the rules or <code>null</code> if the decision table is not indexed
+   */
+  public DmnDecisionTableIndex getIndex() {
+    return index;
+  }
+
+  public void setIndex(DmnDecisionTableIndex index) {
+    this.index = index;
+  }
+
   @Override
   public String toString() {
     return "DmnDecisionTableImpl{" +
@@ -31,7 +31,7 @@ public class DmnExpressionImpl implements CachedCompiledScriptSupport, CachedExp
   protected String expression;
 
   protected CompiledScript cachedCompiledScript;
-  protected ElExpression cachedExpression;
+  protected volatile ElExpression cachedExpression;
 
   public String getId() {
     return id;
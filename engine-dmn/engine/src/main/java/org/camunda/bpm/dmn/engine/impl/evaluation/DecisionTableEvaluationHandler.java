@@ -17,6 +17,7 @@
 package org.camunda.bpm.dmn.engine.impl.evaluation;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,8 @@ import org.camunda.bpm.dmn.engine.impl.delegate.DmnDecisionTableEvaluationEventI
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedDecisionRuleImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedInputImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedOutputImpl;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableIndex;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableInputIndex;
 import org.camunda.bpm.dmn.feel.impl.FeelEngine;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.context.VariableContext;
@@ -59,6 +62,8 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   protected final String inputEntryExpressionLanguage;
   protected final String outputEntryExpressionLanguage;
 
+  protected final boolean enableDecisionTableIndex;
+
   public DecisionTableEvaluationHandler(DefaultDmnEngineConfiguration configuration) {
     expressionEvaluationHandler = new ExpressionEvaluationHandler(configuration);
     feelEngine = configuration.getFeelEngine();
@@ -68,6 +73,8 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     inputExpressionExpressionLanguage = configuration.getDefaultInputExpressionExpressionLanguage();
     inputEntryExpressionLanguage = configuration.getDefaultInputEntryExpressionLanguage();
     outputEntryExpressionLanguage = configuration.getDefaultOutputEntryExpressionLanguage();
+
+    enableDecisionTableIndex = configuration.isEnableDecisionTableIndex();
   }
 
   @Override
@@ -96,6 +103,12 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    DmnDecisionTableIndex index = decisionTable.getIndex();
+    if (enableDecisionTableIndex && index != null) {
+      evaluateIndexedDecisionTable(decisionTable, index, variableContext, evaluationResult);
+      return;
+    }
+
     int inputSize = decisionTable.getInputs().size();
     List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(decisionTable.getRules());
     for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
@@ -114,6 +127,61 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
   }
 
+  /**
+   * Looks up the matching rules of the indexed inputs first and evaluates
+   * the input entries of the other inputs only for the remaining rules.
+   */
+  protected void evaluateIndexedDecisionTable(DmnDecisionTableImpl decisionTable, DmnDecisionTableIndex index, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    int inputSize = decisionTable.getInputs().size();
+    List<DmnEvaluatedInput> evaluatedInputs = new ArrayList<DmnEvaluatedInput>();
+    boolean[] isInputIndexed = new boolean[inputSize];
+
+    BitSet candidateRules = new BitSet(index.getRuleCount());
+    candidateRules.set(0, index.getRuleCount());
+
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      // evaluate input
+      DmnDecisionTableInputImpl input = decisionTable.getInputs().get(inputIdx);
+      DmnEvaluatedInput evaluatedInput = evaluateInput(input, variableContext);
+      evaluationResult.getInputs().add(evaluatedInput);
+      evaluatedInputs.add(evaluatedInput);
+
+      // look up rules applicable with this input
+      DmnDecisionTableInputIndex inputIndex = index.getInputIndex(inputIdx);
+      Object value = evaluatedInput.getValue().getValue();
+      if (inputIndex != null && isIndexApplicable(inputIndex, value)) {
+        candidateRules.and(inputIndex.getMatchingRules(value));
+        isInputIndexed[inputIdx] = true;
+      }
+    }
+
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>();
+    for (int ruleIdx = candidateRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = candidateRules.nextSetBit(ruleIdx + 1)) {
+      matchingRules.add(rules.get(ruleIdx));
+    }
+
+    for (int inputIdx = 0; inputIdx < inputSize && !matchingRules.isEmpty(); inputIdx++) {
+      if (!isInputIndexed[inputIdx]) {
+        DmnDecisionTableInputImpl input = decisionTable.getInputs().get(inputIdx);
+        VariableContext localVariableContext = getLocalVariableContext(input, evaluatedInputs.get(inputIdx), variableContext);
+
+        // filter rules applicable with this input
+        matchingRules = evaluateInputForAvailableRules(inputIdx, input, matchingRules, localVariableContext);
+      }
+    }
+
+    setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
+  }
+
+  protected boolean isIndexApplicable(DmnDecisionTableInputIndex inputIndex, Object value) {
+    if (inputIndex.usesDefaultExpressionLanguage()
+        && !expressionEvaluationHandler.isFeelExpressionLanguage(inputEntryExpressionLanguage)) {
+      return false;
+    }
+    return inputIndex.isApplicable(value);
+  }
+
   protected DmnEvaluatedInput evaluateInput(DmnDecisionTableInputImpl input, VariableContext variableContext) {
     DmnEvaluatedInputImpl evaluatedInput = new DmnEvaluatedInputImpl(input);
 
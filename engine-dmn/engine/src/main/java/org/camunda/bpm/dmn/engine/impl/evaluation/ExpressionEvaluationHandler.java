@@ -164,6 +164,14 @@ public class ExpressionEvaluationHandler {
     return isJuelExpression(expressionLanguage);
   }
 
+  /**
+   * @return true if the expression language is neither FEEL nor an EL
+   * and is evaluated by a script engine
+   */
+  public boolean isScriptExpressionLanguage(String expressionLanguage) {
+    return !isFeelExpressionLanguage(expressionLanguage) && !isElExpression(expressionLanguage);
+  }
+
   public boolean isFeelExpressionLanguage(String expressionLanguage) {
     ensureNotNull("expressionLanguage", expressionLanguage);
     return expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE) ||
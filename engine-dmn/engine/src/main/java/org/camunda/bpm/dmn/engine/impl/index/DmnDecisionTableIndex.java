@@ -0,0 +1,46 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.util.List;
+
+/**
+ * Index of the rules of a decision table. It contains an {@link DmnDecisionTableInputIndex}
+ * for each input whose input entries are literal FEEL simple unary tests.
+ */
+public class DmnDecisionTableIndex {
+
+  protected final List<DmnDecisionTableInputIndex> inputIndices;
+  protected final int ruleCount;
+
+  public DmnDecisionTableIndex(List<DmnDecisionTableInputIndex> inputIndices, int ruleCount) {
+    this.inputIndices = inputIndices;
+    this.ruleCount = ruleCount;
+  }
+
+  /**
+   * @return the index of the input or <code>null</code> if the input is not indexed
+   */
+  public DmnDecisionTableInputIndex getInputIndex(int inputIdx) {
+    return inputIndices.get(inputIdx);
+  }
+
+  public int getRuleCount() {
+    return ruleCount;
+  }
+
+}
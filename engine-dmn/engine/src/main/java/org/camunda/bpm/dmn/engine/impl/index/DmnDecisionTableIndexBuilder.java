@@ -0,0 +1,233 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableInputIndex.ValueType;
+import org.camunda.bpm.dmn.engine.impl.index.IntervalTree.Interval;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.AnyValuePredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.BooleanEqualPredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.ComparisonOperator;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.IntervalPredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.ListPredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.NotPredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.NumberComparisonPredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.SimpleUnaryTestsCompiler;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.SimpleUnaryTestsPredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.StringComparisonPredicate;
+
+/**
+ * Builds the {@link DmnDecisionTableIndex} of a decision table. An input is indexed if all its
+ * input entries are FEEL simple unary tests which only consist of literals, i.e. number, string
+ * and boolean literals, comparisons and intervals of number literals, lists of these tests and
+ * their negation. All literals of an input must have the same type. Inputs with other entries
+ * are evaluated as before.
+ *
+ * <p>The input entries are parsed by the {@link SimpleUnaryTestsCompiler} of the FEEL engine,
+ * so that the index covers the same literals as the compiled predicates.</p>
+ */
+public class DmnDecisionTableIndexBuilder {
+
+  protected SimpleUnaryTestsCompiler simpleUnaryTestsCompiler = new SimpleUnaryTestsCompiler();
+
+  /**
+   * @return the index or <code>null</code> if no input of the decision table can be indexed
+   */
+  public DmnDecisionTableIndex build(DmnDecisionTableImpl decisionTable) {
+    List<DmnDecisionTableInputIndex> inputIndices = new ArrayList<DmnDecisionTableInputIndex>();
+    boolean hasInputIndex = false;
+
+    for (int inputIdx = 0; inputIdx < decisionTable.getInputs().size(); inputIdx++) {
+      DmnDecisionTableInputIndex inputIndex = buildInputIndex(decisionTable.getRules(), inputIdx);
+      inputIndices.add(inputIndex);
+      hasInputIndex |= inputIndex != null;
+    }
+
+    if (hasInputIndex) {
+      return new DmnDecisionTableIndex(inputIndices, decisionTable.getRules().size());
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected DmnDecisionTableInputIndex buildInputIndex(List<DmnDecisionTableRuleImpl> rules, int inputIdx) {
+    InputIndexBuilder builder = new InputIndexBuilder(simpleUnaryTestsCompiler);
+
+    for (int ruleIdx = 0; ruleIdx < rules.size(); ruleIdx++) {
+      DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+      if (!builder.addInputEntry(condition, ruleIdx)) {
+        return null;
+      }
+    }
+
+    return builder.build();
+  }
+
+  protected static class InputIndexBuilder {
+
+    protected final SimpleUnaryTestsCompiler simpleUnaryTestsCompiler;
+
+    protected ValueType valueType;
+    protected boolean usesDefaultExpressionLanguage = false;
+
+    protected BitSet rulesMatchingAnyValue = new BitSet();
+    protected UnaryTestsIndex.Builder tests = new UnaryTestsIndex.Builder();
+    protected BitSet negatedRules = new BitSet();
+    protected UnaryTestsIndex.Builder negatedTests = new UnaryTestsIndex.Builder();
+
+    public InputIndexBuilder(SimpleUnaryTestsCompiler simpleUnaryTestsCompiler) {
+      this.simpleUnaryTestsCompiler = simpleUnaryTestsCompiler;
+    }
+
+    /**
+     * @return false if the input entry cannot be indexed
+     */
+    public boolean addInputEntry(DmnExpressionImpl condition, int rule) {
+      String expression = condition != null ? condition.getExpression() : null;
+      if (expression == null || expression.trim().isEmpty()) {
+        // input entries without expressions are true
+        rulesMatchingAnyValue.set(rule);
+        return true;
+      }
+
+      String expressionLanguage = condition.getExpressionLanguage();
+      if (expressionLanguage == null) {
+        usesDefaultExpressionLanguage = true;
+      }
+      else if (!isFeelExpressionLanguage(expressionLanguage)) {
+        return false;
+      }
+
+      SimpleUnaryTestsPredicate predicate = simpleUnaryTestsCompiler.compileSimpleUnaryTests(expression);
+      if (predicate instanceof AnyValuePredicate) {
+        rulesMatchingAnyValue.set(rule);
+        return true;
+      }
+      else if (predicate instanceof NotPredicate) {
+        negatedRules.set(rule);
+        return addTests(negatedTests, ((NotPredicate) predicate).getPredicate(), rule);
+      }
+      else {
+        return addTests(tests, predicate, rule);
+      }
+    }
+
+    protected boolean addTests(UnaryTestsIndex.Builder index, SimpleUnaryTestsPredicate predicate, int rule) {
+      if (predicate instanceof ListPredicate) {
+        for (SimpleUnaryTestsPredicate test : ((ListPredicate) predicate).getPredicates()) {
+          if (!addTest(index, test, rule)) {
+            return false;
+          }
+        }
+        return true;
+      }
+      else {
+        return addTest(index, predicate, rule);
+      }
+    }
+
+    protected boolean addTest(UnaryTestsIndex.Builder index, SimpleUnaryTestsPredicate test, int rule) {
+      if (test instanceof NumberComparisonPredicate) {
+        NumberComparisonPredicate comparison = (NumberComparisonPredicate) test;
+        BigDecimal endpoint = DmnDecisionTableInputIndex.normalizeNumber(comparison.getEndpoint());
+        if (comparison.getOperator() == ComparisonOperator.EQUAL) {
+          index.addEqualityTest(endpoint, rule);
+        }
+        else {
+          index.addIntervalTest(toInterval(comparison.getOperator(), endpoint, rule));
+        }
+        return hasValueType(ValueType.NUMBER);
+      }
+
+      if (test instanceof StringComparisonPredicate) {
+        StringComparisonPredicate comparison = (StringComparisonPredicate) test;
+        if (comparison.getOperator() != ComparisonOperator.EQUAL) {
+          return false;
+        }
+        index.addEqualityTest(comparison.getEndpoint(), rule);
+        return hasValueType(ValueType.STRING);
+      }
+
+      if (test instanceof BooleanEqualPredicate) {
+        index.addEqualityTest(((BooleanEqualPredicate) test).getEndpoint(), rule);
+        return hasValueType(ValueType.BOOLEAN);
+      }
+
+      if (test instanceof IntervalPredicate) {
+        IntervalPredicate interval = (IntervalPredicate) test;
+        if (!(interval.getLowerEndpoint() instanceof NumberComparisonPredicate)
+            || !(interval.getUpperEndpoint() instanceof NumberComparisonPredicate)) {
+          return false;
+        }
+        NumberComparisonPredicate lowerEndpoint = (NumberComparisonPredicate) interval.getLowerEndpoint();
+        NumberComparisonPredicate upperEndpoint = (NumberComparisonPredicate) interval.getUpperEndpoint();
+
+        index.addIntervalTest(new Interval(
+            DmnDecisionTableInputIndex.normalizeNumber(lowerEndpoint.getEndpoint()),
+            lowerEndpoint.getOperator() == ComparisonOperator.GREATER_THAN_OR_EQUAL,
+            DmnDecisionTableInputIndex.normalizeNumber(upperEndpoint.getEndpoint()),
+            upperEndpoint.getOperator() == ComparisonOperator.LESS_THAN_OR_EQUAL,
+            rule));
+        return hasValueType(ValueType.NUMBER);
+      }
+
+      return false;
+    }
+
+    protected Interval toInterval(ComparisonOperator operator, BigDecimal endpoint, int rule) {
+      switch (operator) {
+        case LESS_THAN:
+          return new Interval(null, false, endpoint, false, rule);
+        case LESS_THAN_OR_EQUAL:
+          return new Interval(null, false, endpoint, true, rule);
+        case GREATER_THAN:
+          return new Interval(endpoint, false, null, false, rule);
+        default:
+          return new Interval(endpoint, true, null, false, rule);
+      }
+    }
+
+    protected boolean hasValueType(ValueType testValueType) {
+      if (valueType == null) {
+        valueType = testValueType;
+      }
+      return valueType == testValueType;
+    }
+
+    protected boolean isFeelExpressionLanguage(String expressionLanguage) {
+      return expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE) ||
+        expressionLanguage.toLowerCase().equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_ALTERNATIVE) ||
+        expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_DMN12) ||
+        expressionLanguage.equals(DefaultDmnEngineConfiguration.FEEL_EXPRESSION_LANGUAGE_DMN13);
+    }
+
+    public DmnDecisionTableInputIndex build() {
+      return new DmnDecisionTableInputIndex(valueType, usesDefaultExpressionLanguage, rulesMatchingAnyValue,
+          tests.build(), negatedRules, negatedTests.build());
+    }
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionRequirementsGraph;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableInputImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableOutputImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.spi.transform.DmnTransformListener;
+import org.camunda.bpm.model.dmn.instance.Decision;
+import org.camunda.bpm.model.dmn.instance.Definitions;
+import org.camunda.bpm.model.dmn.instance.Input;
+import org.camunda.bpm.model.dmn.instance.Output;
+import org.camunda.bpm.model.dmn.instance.Rule;
+
+/**
+ * Builds the {@link DmnDecisionTableIndex} of each transformed decision table. It is
+ * only registered if the decision table index is enabled in the engine configuration.
+ */
+public class DmnDecisionTableIndexTransformListener implements DmnTransformListener {
+
+  protected DmnDecisionTableIndexBuilder indexBuilder = new DmnDecisionTableIndexBuilder();
+
+  public void transformDecision(Decision decision, DmnDecision dmnDecision) {
+    if (dmnDecision != null && dmnDecision.getDecisionLogic() instanceof DmnDecisionTableImpl) {
+      DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) dmnDecision.getDecisionLogic();
+      decisionTable.setIndex(indexBuilder.build(decisionTable));
+    }
+  }
+
+  public void transformDecisionTableInput(Input input, DmnDecisionTableInputImpl dmnInput) {
+  }
+
+  public void transformDecisionTableOutput(Output output, DmnDecisionTableOutputImpl dmnOutput) {
+  }
+
+  public void transformDecisionTableRule(Rule rule, DmnDecisionTableRuleImpl dmnRule) {
+  }
+
+  public void transformDecisionRequirementsGraph(Definitions definitions, DmnDecisionRequirementsGraph dmnDecisionRequirementsGraph) {
+  }
+
+}
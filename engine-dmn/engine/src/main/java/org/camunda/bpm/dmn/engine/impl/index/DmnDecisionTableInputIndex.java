@@ -0,0 +1,132 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.BitSet;
+
+/**
+ * Index of the input entries of one decision table input. The rules whose input entry
+ * matches a value are looked up instead of evaluating the input entry of each rule.
+ */
+public class DmnDecisionTableInputIndex {
+
+  public enum ValueType {
+    NUMBER, STRING, BOOLEAN
+  }
+
+  /** the type of the values the input entries test for or <code>null</code> if all entries match any value */
+  protected final ValueType valueType;
+  /** whether some input entries are evaluated with the default input entry expression language */
+  protected final boolean usesDefaultExpressionLanguage;
+
+  protected final BitSet rulesMatchingAnyValue;
+  protected final UnaryTestsIndex tests;
+  protected final BitSet negatedRules;
+  protected final UnaryTestsIndex negatedTests;
+
+  public DmnDecisionTableInputIndex(ValueType valueType, boolean usesDefaultExpressionLanguage, BitSet rulesMatchingAnyValue,
+      UnaryTestsIndex tests, BitSet negatedRules, UnaryTestsIndex negatedTests) {
+    this.valueType = valueType;
+    this.usesDefaultExpressionLanguage = usesDefaultExpressionLanguage;
+    this.rulesMatchingAnyValue = rulesMatchingAnyValue;
+    this.tests = tests;
+    this.negatedRules = negatedRules;
+    this.negatedTests = negatedTests;
+  }
+
+  /**
+   * @return true if the matching rules for the value can be looked up in the index
+   */
+  public boolean isApplicable(Object value) {
+    return valueType == null || normalize(value) != null;
+  }
+
+  /**
+   * @return the indices of the rules whose input entry matches the value
+   */
+  public BitSet getMatchingRules(Object value) {
+    BitSet matchingRules = (BitSet) rulesMatchingAnyValue.clone();
+    if (valueType == null) {
+      return matchingRules;
+    }
+
+    Object normalizedValue = normalize(value);
+    tests.collectRules(normalizedValue, matchingRules);
+
+    if (!negatedRules.isEmpty()) {
+      BitSet excludedRules = new BitSet();
+      negatedTests.collectRules(normalizedValue, excludedRules);
+
+      BitSet matchingNegatedRules = (BitSet) negatedRules.clone();
+      matchingNegatedRules.andNot(excludedRules);
+      matchingRules.or(matchingNegatedRules);
+    }
+
+    return matchingRules;
+  }
+
+  /**
+   * @return the value as it is stored in the index or <code>null</code>
+   * if the value does not have the type the input entries test for
+   */
+  protected Object normalize(Object value) {
+    if (valueType == ValueType.NUMBER) {
+      return normalizeNumber(value);
+    }
+    else if (valueType == ValueType.STRING && value instanceof String) {
+      return value;
+    }
+    else if (valueType == ValueType.BOOLEAN && value instanceof Boolean) {
+      return value;
+    }
+    else {
+      return null;
+    }
+  }
+
+  public static BigDecimal normalizeNumber(Object value) {
+    BigDecimal number = null;
+    if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      number = BigDecimal.valueOf(((Number) value).longValue());
+    }
+    else if (value instanceof Double) {
+      Double doubleValue = (Double) value;
+      if (!doubleValue.isNaN() && !doubleValue.isInfinite()) {
+        number = BigDecimal.valueOf(doubleValue);
+      }
+    }
+    else if (value instanceof BigInteger) {
+      number = new BigDecimal((BigInteger) value);
+    }
+    else if (value instanceof BigDecimal) {
+      number = (BigDecimal) value;
+    }
+
+    return number != null ? number.stripTrailingZeros() : null;
+  }
+
+  public ValueType getValueType() {
+    return valueType;
+  }
+
+  public boolean usesDefaultExpressionLanguage() {
+    return usesDefaultExpressionLanguage;
+  }
+
+}
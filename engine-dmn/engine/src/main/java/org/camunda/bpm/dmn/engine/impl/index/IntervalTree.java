@@ -0,0 +1,221 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Centered interval tree over numeric intervals which are tagged with the index
+ * of the rule they belong to. Looking up a value visits one path of the tree.
+ */
+public class IntervalTree {
+
+  protected final Node root;
+
+  public IntervalTree(List<Interval> intervals) {
+    root = intervals.isEmpty() ? null : new Node(intervals);
+  }
+
+  /**
+   * Sets the bits of the rules which have an interval that contains the value.
+   */
+  public void collectRules(BigDecimal value, BitSet rules) {
+    Node node = root;
+    while (node != null) {
+      int comparison = value.compareTo(node.center);
+      if (comparison < 0) {
+        for (Interval interval : node.intervalsByLow) {
+          if (interval.low != null && interval.low.compareTo(value) > 0) {
+            break;
+          }
+          if (interval.contains(value)) {
+            rules.set(interval.rule);
+          }
+        }
+        node = node.left;
+      }
+      else if (comparison > 0) {
+        for (Interval interval : node.intervalsByHigh) {
+          if (interval.high != null && interval.high.compareTo(value) < 0) {
+            break;
+          }
+          if (interval.contains(value)) {
+            rules.set(interval.rule);
+          }
+        }
+        node = node.right;
+      }
+      else {
+        for (Interval interval : node.intervalsByLow) {
+          if (interval.contains(value)) {
+            rules.set(interval.rule);
+          }
+        }
+        node = null;
+      }
+    }
+  }
+
+  public static class Interval {
+
+    /** the lower endpoint or <code>null</code> if the interval is unbounded below */
+    protected final BigDecimal low;
+    protected final boolean lowInclusive;
+    /** the upper endpoint or <code>null</code> if the interval is unbounded above */
+    protected final BigDecimal high;
+    protected final boolean highInclusive;
+    protected final int rule;
+
+    public Interval(BigDecimal low, boolean lowInclusive, BigDecimal high, boolean highInclusive, int rule) {
+      this.low = low;
+      this.lowInclusive = lowInclusive;
+      this.high = high;
+      this.highInclusive = highInclusive;
+      this.rule = rule;
+    }
+
+    public boolean contains(BigDecimal value) {
+      if (low != null) {
+        int comparison = low.compareTo(value);
+        if (comparison > 0 || (comparison == 0 && !lowInclusive)) {
+          return false;
+        }
+      }
+      if (high != null) {
+        int comparison = high.compareTo(value);
+        if (comparison < 0 || (comparison == 0 && !highInclusive)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * @return true if the interval does not contain any value
+     */
+    public boolean isEmpty() {
+      if (low == null || high == null) {
+        return false;
+      }
+      int comparison = low.compareTo(high);
+      return comparison > 0 || (comparison == 0 && !(lowInclusive && highInclusive));
+    }
+
+    protected boolean isLeftOf(BigDecimal value) {
+      if (high == null) {
+        return false;
+      }
+      int comparison = high.compareTo(value);
+      return comparison < 0 || (comparison == 0 && !highInclusive);
+    }
+
+    protected boolean isRightOf(BigDecimal value) {
+      if (low == null) {
+        return false;
+      }
+      int comparison = low.compareTo(value);
+      return comparison > 0 || (comparison == 0 && !lowInclusive);
+    }
+  }
+
+  protected static class Node {
+
+    protected final BigDecimal center;
+    protected final List<Interval> intervalsByLow;
+    protected final List<Interval> intervalsByHigh;
+    protected final Node left;
+    protected final Node right;
+
+    protected Node(List<Interval> intervals) {
+      center = findCenter(intervals);
+
+      List<Interval> leftIntervals = new ArrayList<Interval>();
+      List<Interval> rightIntervals = new ArrayList<Interval>();
+      List<Interval> centerIntervals = new ArrayList<Interval>();
+
+      for (Interval interval : intervals) {
+        if (interval.isLeftOf(center)) {
+          leftIntervals.add(interval);
+        }
+        else if (interval.isRightOf(center)) {
+          rightIntervals.add(interval);
+        }
+        else {
+          centerIntervals.add(interval);
+        }
+      }
+
+      if (leftIntervals.size() == intervals.size() || rightIntervals.size() == intervals.size()) {
+        // the intervals cannot be split any further, keep them at this node
+        centerIntervals = intervals;
+        leftIntervals = Collections.emptyList();
+        rightIntervals = Collections.emptyList();
+      }
+
+      intervalsByLow = new ArrayList<Interval>(centerIntervals);
+      Collections.sort(intervalsByLow, LOW_ASCENDING);
+      intervalsByHigh = new ArrayList<Interval>(centerIntervals);
+      Collections.sort(intervalsByHigh, HIGH_DESCENDING);
+
+      left = leftIntervals.isEmpty() ? null : new Node(leftIntervals);
+      right = rightIntervals.isEmpty() ? null : new Node(rightIntervals);
+    }
+
+    protected static BigDecimal findCenter(List<Interval> intervals) {
+      List<BigDecimal> endpoints = new ArrayList<BigDecimal>();
+      for (Interval interval : intervals) {
+        if (interval.low != null) {
+          endpoints.add(interval.low);
+        }
+        if (interval.high != null) {
+          endpoints.add(interval.high);
+        }
+      }
+      if (endpoints.isEmpty()) {
+        return BigDecimal.ZERO;
+      }
+      Collections.sort(endpoints);
+      return endpoints.get(endpoints.size() / 2);
+    }
+  }
+
+  /** orders unbounded lower endpoints first */
+  protected static final Comparator<Interval> LOW_ASCENDING = new Comparator<Interval>() {
+    public int compare(Interval o1, Interval o2) {
+      if (o1.low == null || o2.low == null) {
+        return o1.low == o2.low ? 0 : (o1.low == null ? -1 : 1);
+      }
+      return o1.low.compareTo(o2.low);
+    }
+  };
+
+  /** orders unbounded upper endpoints first */
+  protected static final Comparator<Interval> HIGH_DESCENDING = new Comparator<Interval>() {
+    public int compare(Interval o1, Interval o2) {
+      if (o1.high == null || o2.high == null) {
+        return o1.high == o2.high ? 0 : (o1.high == null ? -1 : 1);
+      }
+      return o2.high.compareTo(o1.high);
+    }
+  };
+
+}
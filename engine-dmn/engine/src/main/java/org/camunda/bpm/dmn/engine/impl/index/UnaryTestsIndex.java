@@ -0,0 +1,92 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.impl.index.IntervalTree.Interval;
+
+/**
+ * Index of the unary tests of one input: equality tests are looked up in a hash map,
+ * comparisons and intervals in an {@link IntervalTree}.
+ */
+public class UnaryTestsIndex {
+
+  protected final Map<Object, int[]> rulesByValue;
+  protected final IntervalTree intervalTree;
+
+  public UnaryTestsIndex(Map<Object, List<Integer>> rulesByValue, List<Interval> intervals) {
+    this.rulesByValue = new HashMap<Object, int[]>();
+    for (Map.Entry<Object, List<Integer>> entry : rulesByValue.entrySet()) {
+      List<Integer> rules = entry.getValue();
+      int[] ruleArray = new int[rules.size()];
+      for (int i = 0; i < ruleArray.length; i++) {
+        ruleArray[i] = rules.get(i);
+      }
+      this.rulesByValue.put(entry.getKey(), ruleArray);
+    }
+    this.intervalTree = new IntervalTree(intervals);
+  }
+
+  /**
+   * Sets the bits of the rules which have a test that is satisfied by the value.
+   *
+   * @param value the normalized input value, see {@link DmnDecisionTableInputIndex#normalize(Object)}
+   */
+  public void collectRules(Object value, BitSet rules) {
+    int[] matchingRules = rulesByValue.get(value);
+    if (matchingRules != null) {
+      for (int rule : matchingRules) {
+        rules.set(rule);
+      }
+    }
+    if (value instanceof BigDecimal) {
+      intervalTree.collectRules((BigDecimal) value, rules);
+    }
+  }
+
+  public static class Builder {
+
+    protected final Map<Object, List<Integer>> rulesByValue = new HashMap<Object, List<Integer>>();
+    protected final List<Interval> intervals = new ArrayList<Interval>();
+
+    public void addEqualityTest(Object value, int rule) {
+      List<Integer> rules = rulesByValue.get(value);
+      if (rules == null) {
+        rules = new ArrayList<Integer>();
+        rulesByValue.put(value, rules);
+      }
+      rules.add(rule);
+    }
+
+    public void addIntervalTest(Interval interval) {
+      if (!interval.isEmpty()) {
+        intervals.add(interval);
+      }
+    }
+
+    public UnaryTestsIndex build() {
+      return new UnaryTestsIndex(rulesByValue, intervals);
+    }
+  }
+
+}
@@ -49,6 +49,7 @@ public class DmnDecisionEvaluationTest extends DmnEngineTest {
 
   public static final String DMN_DECISION_WITH_LITERAL_EXPRESSION = "org/camunda/bpm/dmn/engine/evaluate/DecisionWithLiteralExpression.dmn";
   public static final String DMN_DRG_WITH_LITERAL_EXPRESSION = "org/camunda/bpm/dmn/engine/evaluate/DrgWithLiteralExpression.dmn";
+  public static final String DMN_DRG_WITH_SIBLING_DECISIONS = "org/camunda/bpm/dmn/engine/evaluate/DrgWithSiblingDecisions.dmn";
   public static final String DMN_DECISION_WITH_BEAN_INVOCATION_IN_LITERAL_EXPRESSION = "org/camunda/bpm/dmn/engine/evaluate/DecisionWithBeanInvocationInLiteralExpression.dmn";
 
   public static final String DRG_COLLECT_DMN = "org/camunda/bpm/dmn/engine/transform/DrgCollectTest.dmn";
@@ -299,6 +300,19 @@ public class DmnDecisionEvaluationTest extends DmnEngineTest {
       .containsEntry("desiredDish", "Light Salad");
   }
 
+  @Test
+  public void shouldEvaluateDecisionsDrgWithSiblingDecisions() {
+    // the place decision sees the result of the season decision evaluated before it,
+    // which shadows the season variable, although it does not require the season decision
+    DmnDecisionResult result = dmnEngine.evaluateDecision(parseDecisionFromFile("dish-decision", DMN_DRG_WITH_SIBLING_DECISIONS) ,
+        createVariables()
+          .putValue("temperature", 25)
+          .putValue("season", "Winter"));
+
+    assertThat((String) result.getSingleEntry())
+      .isEqualTo("Barbecue");
+  }
+
   @Test
   public void shouldEvaluateDecisionWithBeanInvocationInLiteralExpression() {
     DmnDecisionResult result = dmnEngine.evaluateDecision(parseDecisionFromFile("decision", DMN_DECISION_WITH_BEAN_INVOCATION_IN_LITERAL_EXPRESSION) ,
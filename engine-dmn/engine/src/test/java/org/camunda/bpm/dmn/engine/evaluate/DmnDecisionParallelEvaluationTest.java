@@ -0,0 +1,73 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.camunda.bpm.engine.variable.Variables.createVariables;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.commons.utils.IoUtil;
+import org.junit.AfterClass;
+import org.junit.Test;
+
+/**
+ * Evaluates the decision requirements graphs of {@link DmnDecisionEvaluationTest}
+ * with required decisions evaluated in parallel.
+ */
+public class DmnDecisionParallelEvaluationTest extends DmnDecisionEvaluationTest {
+
+  protected static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(4);
+
+  @AfterClass
+  public static void shutdownExecutor() {
+    EXECUTOR.shutdownNow();
+  }
+
+  @Override
+  public DmnEngineConfiguration getDmnEngineConfiguration() {
+    return new DefaultDmnEngineConfiguration()
+      .enableFeelLegacyBehavior(true)
+      .decisionEvaluationExecutor(EXECUTOR);
+  }
+
+  @Test
+  public void shouldEvaluateSiblingDecisionsLikeSequentialEvaluation() {
+    DmnEngine sequentialDmnEngine = super.getDmnEngineConfiguration().buildEngine();
+    DmnDecision sequentialDecision = sequentialDmnEngine.parseDecision("dish-decision", IoUtil.fileAsStream(DMN_DRG_WITH_SIBLING_DECISIONS));
+    DmnDecision decision = parseDecisionFromFile("dish-decision", DMN_DRG_WITH_SIBLING_DECISIONS);
+
+    for (int temperature = 15; temperature <= 25; temperature += 10) {
+      VariableMap variables = createVariables()
+        .putValue("temperature", temperature)
+        .putValue("season", "Summer");
+
+      DmnDecisionResult sequentialResult = sequentialDmnEngine.evaluateDecision(sequentialDecision, variables);
+      DmnDecisionResult parallelResult = dmnEngine.evaluateDecision(decision, variables);
+
+      assertThat(parallelResult.getResultList()).isEqualTo(sequentialResult.getResultList());
+    }
+  }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableIndex;
+import org.camunda.bpm.dmn.engine.impl.index.DmnDecisionTableInputIndex.ValueType;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.junit.Test;
+
+public class DmnDecisionTableIndexTest extends DmnEngineTest {
+
+  public static final String DMN_FILE = "DmnDecisionTableIndexTest.dmn";
+
+  @Override
+  public DmnEngineConfiguration getDmnEngineConfiguration() {
+    return new DefaultDmnEngineConfiguration()
+      .enableFeelLegacyBehavior(true)
+      .enableDecisionTableIndex(true);
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldIndexLiteralInputEntries() {
+    DmnDecisionTableIndex index = ((DmnDecisionTableImpl) decision.getDecisionLogic()).getIndex();
+
+    assertThat(index).isNotNull();
+    assertThat(index.getRuleCount()).isEqualTo(5);
+    assertThat(index.getInputIndex(0).getValueType()).isEqualTo(ValueType.NUMBER);
+    assertThat(index.getInputIndex(1).getValueType()).isEqualTo(ValueType.STRING);
+    // input entries which reference variables are not indexed
+    assertThat(index.getInputIndex(2)).isNull();
+  }
+
+  @Test
+  public void shouldNotIndexIfDisabled() {
+    DmnEngine engineWithoutIndex = new DefaultDmnEngineConfiguration()
+      .enableFeelLegacyBehavior(true)
+      .buildEngine();
+
+    DmnDecisionTableImpl decisionTable = (DmnDecisionTableImpl) engineWithoutIndex
+      .parseDecision("decision", getClass().getResourceAsStream(DMN_FILE))
+      .getDecisionLogic();
+
+    assertThat(decisionTable.getIndex()).isNull();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchEqualityAndInterval() {
+    assertThat(evaluate(25, "A", 1.0)).containsExactly("young");
+    assertThat(evaluate(18, "B", 1.0)).containsExactly("young");
+    assertThat(evaluate(31, "A", 1.0)).isEmpty();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchComparisonAndNegation() {
+    assertThat(evaluate(10, "B", 1.0)).containsExactly("minor");
+    assertThat(evaluate(10, "A", 1.0)).isEmpty();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchListOfIntervalAndNumber() {
+    assertThat(evaluate(42, "C", 1.0)).containsExactly("answer", "other");
+    assertThat(evaluate(100, "D", 1.0)).containsExactly("other");
+    assertThat(evaluate(50, "D", 1.0)).isEmpty();
+    assertThat(evaluate(42, "A", 1.0)).isEmpty();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldEvaluateNotIndexedInput() {
+    variables.putValue("minScore", 5.0);
+
+    assertThat(evaluate(70, "A", 7.5)).containsExactly("senior");
+    assertThat(evaluate(70, "A", 2.5)).isEmpty();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchSameRulesWithoutIndex() {
+    DmnEngine engineWithoutIndex = new DefaultDmnEngineConfiguration()
+      .enableFeelLegacyBehavior(true)
+      .buildEngine();
+    variables.putValue("minScore", 5.0);
+
+    int[] ages = { 0, 17, 18, 20, 21, 30, 42, 49, 50, 65, 70, 100 };
+    String[] categories = { "A", "B", "C", "D" };
+    for (int age : ages) {
+      for (String category : categories) {
+        variables.putValue("age", age);
+        variables.putValue("category", category);
+        variables.putValue("score", 7.5);
+
+        List<String> indexedResult = evaluateDecisionTable().collectEntries("result");
+        List<String> result = evaluateDecisionTable(engineWithoutIndex).collectEntries("result");
+
+        assertThat(indexedResult).isEqualTo(result);
+      }
+    }
+  }
+
+  protected List<String> evaluate(int age, String category, double score) {
+    variables.putValue("age", age);
+    variables.putValue("category", category);
+    variables.putValue("score", score);
+
+    DmnDecisionTableResult result = evaluateDecisionTable();
+    return result.collectEntries("result");
+  }
+
+}
@@ -28,6 +28,8 @@ import org.camunda.bpm.dmn.feel.impl.FeelEngineFactory;
 import org.camunda.bpm.dmn.feel.impl.juel.el.ElContextFactory;
 import org.camunda.bpm.dmn.feel.impl.juel.el.FeelElContextFactory;
 import org.camunda.bpm.dmn.feel.impl.juel.el.FeelTypeConverter;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.SimpleUnaryTestsCompiler;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.SimpleUnaryTestsPredicate;
 import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelFunctionTransformer;
 import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransform;
 import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransformImpl;
@@ -75,7 +77,9 @@ public class FeelEngineFactoryImpl implements FeelEngineFactory {
     ExpressionFactory expressionFactory = createExpressionFactory();
     ElContextFactory elContextFactory = createElContextFactory();
     Cache<TransformExpressionCacheKey, String> transformExpressionCache = createTransformExpressionCache();
-    return new FeelEngineImpl(transform, expressionFactory, elContextFactory, transformExpressionCache);
+    SimpleUnaryTestsCompiler compiler = createSimpleUnaryTestsCompiler();
+    Cache<String, SimpleUnaryTestsPredicate> compiledExpressionCache = createCompiledExpressionCache();
+    return new FeelEngineImpl(transform, expressionFactory, elContextFactory, transformExpressionCache, compiler, compiledExpressionCache);
   }
 
   protected FeelToJuelTransform createFeelToJuelTransform() {
@@ -118,4 +122,12 @@ public class FeelEngineFactoryImpl implements FeelEngineFactory {
     return new ConcurrentLruCache<TransformExpressionCacheKey, String>(expressionCacheSize);
   }
 
+  protected SimpleUnaryTestsCompiler createSimpleUnaryTestsCompiler() {
+    return new SimpleUnaryTestsCompiler();
+  }
+
+  protected Cache<String, SimpleUnaryTestsPredicate> createCompiledExpressionCache() {
+    return new ConcurrentLruCache<String, SimpleUnaryTestsPredicate>(expressionCacheSize);
+  }
+
 }
@@ -23,8 +23,11 @@ import javax.el.ValueExpression;
 
 import org.camunda.bpm.dmn.feel.impl.FeelEngine;
 import org.camunda.bpm.dmn.feel.impl.juel.el.ElContextFactory;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.SimpleUnaryTestsCompiler;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.SimpleUnaryTestsPredicate;
 import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransform;
 import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.bpm.engine.variable.value.TypedValue;
 import org.camunda.commons.utils.cache.Cache;
 
 public class FeelEngineImpl implements FeelEngine {
@@ -35,13 +38,27 @@ public class FeelEngineImpl implements FeelEngine {
   protected ExpressionFactory expressionFactory;
   protected ElContextFactory elContextFactory;
   protected Cache<TransformExpressionCacheKey, String> transformExpressionCache;
+  protected SimpleUnaryTestsCompiler compiler;
+  protected Cache<String, SimpleUnaryTestsPredicate> compiledExpressionCache;
 
   public FeelEngineImpl(FeelToJuelTransform transform, ExpressionFactory expressionFactory, ElContextFactory elContextFactory,
       Cache<TransformExpressionCacheKey, String> transformExpressionCache) {
+    this(transform, expressionFactory, elContextFactory, transformExpressionCache, null, null);
+  }
+
+  /**
+   * @param compiler the compiler of simple unary tests to predicates or <code>null</code>
+   *   to evaluate all simple unary tests as JUEL expressions
+   */
+  public FeelEngineImpl(FeelToJuelTransform transform, ExpressionFactory expressionFactory, ElContextFactory elContextFactory,
+      Cache<TransformExpressionCacheKey, String> transformExpressionCache, SimpleUnaryTestsCompiler compiler,
+      Cache<String, SimpleUnaryTestsPredicate> compiledExpressionCache) {
     this.transform = transform;
     this.expressionFactory = expressionFactory;
     this.elContextFactory = elContextFactory;
     this.transformExpressionCache = transformExpressionCache;
+    this.compiler = compiler;
+    this.compiledExpressionCache = compiledExpressionCache;
   }
 
   public <T> T evaluateSimpleExpression(String simpleExpression, VariableContext variableContext) {
@@ -49,6 +66,16 @@ public class FeelEngineImpl implements FeelEngine {
   }
 
   public boolean evaluateSimpleUnaryTests(String simpleUnaryTests, String inputName, VariableContext variableContext) {
+    if (compiler != null) {
+      TypedValue inputValue = variableContext.resolve(inputName);
+      if (inputValue != null) {
+        SimpleUnaryTestsPredicate predicate = compileSimpleUnaryTests(simpleUnaryTests);
+        if (predicate.canTest(inputValue.getValue())) {
+          return predicate.test(inputValue.getValue());
+        }
+      }
+    }
+
     try {
       ELContext elContext = createContext(variableContext);
       ValueExpression valueExpression = transformSimpleUnaryTests(simpleUnaryTests, inputName, elContext);
@@ -106,4 +133,14 @@ public class FeelEngineImpl implements FeelEngine {
     return juelExpression;
   }
 
+  protected SimpleUnaryTestsPredicate compileSimpleUnaryTests(String simpleUnaryTests) {
+    SimpleUnaryTestsPredicate predicate = compiledExpressionCache.get(simpleUnaryTests);
+
+    if (predicate == null) {
+      predicate = compiler.compileSimpleUnaryTests(simpleUnaryTests);
+      compiledExpressionCache.put(simpleUnaryTests, predicate);
+    }
+    return predicate;
+  }
+
 }
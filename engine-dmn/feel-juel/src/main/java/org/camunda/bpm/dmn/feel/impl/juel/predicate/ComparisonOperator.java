@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.juel.predicate;
+
+/**
+ * The operators of the compiled comparisons. The equal operator
+ * is used for simple positive unary tests without an operator.
+ */
+public enum ComparisonOperator {
+
+  EQUAL,
+  LESS_THAN,
+  LESS_THAN_OR_EQUAL,
+  GREATER_THAN,
+  GREATER_THAN_OR_EQUAL;
+
+  /**
+   * @param comparison the result of comparing the input value to the endpoint
+   */
+  public boolean matches(int comparison) {
+    switch (this) {
+      case EQUAL:
+        return comparison == 0;
+      case LESS_THAN:
+        return comparison < 0;
+      case LESS_THAN_OR_EQUAL:
+        return comparison <= 0;
+      case GREATER_THAN:
+        return comparison > 0;
+      default:
+        return comparison >= 0;
+    }
+  }
+
+  /**
+   * Compares the numbers with the primitive operators like JUEL does,
+   * i.e. -0.0 equals 0.0 and NaN matches no operator.
+   */
+  public boolean matches(double value, double endpoint) {
+    switch (this) {
+      case EQUAL:
+        return value == endpoint;
+      case LESS_THAN:
+        return value < endpoint;
+      case LESS_THAN_OR_EQUAL:
+        return value <= endpoint;
+      case GREATER_THAN:
+        return value > endpoint;
+      default:
+        return value >= endpoint;
+    }
+  }
+
+  public boolean matches(long value, long endpoint) {
+    switch (this) {
+      case EQUAL:
+        return value == endpoint;
+      case LESS_THAN:
+        return value < endpoint;
+      case LESS_THAN_OR_EQUAL:
+        return value <= endpoint;
+      case GREATER_THAN:
+        return value > endpoint;
+      default:
+        return value >= endpoint;
+    }
+  }
+
+  public static ComparisonOperator fromSymbol(String symbol) {
+    if (symbol.equals("<")) {
+      return LESS_THAN;
+    }
+    else if (symbol.equals("<=")) {
+      return LESS_THAN_OR_EQUAL;
+    }
+    else if (symbol.equals(">")) {
+      return GREATER_THAN;
+    }
+    else if (symbol.equals(">=")) {
+      return GREATER_THAN_OR_EQUAL;
+    }
+    else {
+      return EQUAL;
+    }
+  }
+
+}
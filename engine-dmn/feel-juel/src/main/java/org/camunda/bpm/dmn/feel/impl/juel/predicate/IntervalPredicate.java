@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.juel.predicate;
+
+/**
+ * Predicate of an interval which matches if the input value
+ * is within the lower and the upper endpoint.
+ */
+public class IntervalPredicate implements SimpleUnaryTestsPredicate {
+
+  protected final SimpleUnaryTestsPredicate lowerEndpoint;
+  protected final SimpleUnaryTestsPredicate upperEndpoint;
+
+  public IntervalPredicate(SimpleUnaryTestsPredicate lowerEndpoint, SimpleUnaryTestsPredicate upperEndpoint) {
+    this.lowerEndpoint = lowerEndpoint;
+    this.upperEndpoint = upperEndpoint;
+  }
+
+  public boolean canTest(Object inputValue) {
+    return lowerEndpoint.canTest(inputValue) && upperEndpoint.canTest(inputValue);
+  }
+
+  public boolean test(Object inputValue) {
+    return lowerEndpoint.test(inputValue) && upperEndpoint.test(inputValue);
+  }
+
+  public SimpleUnaryTestsPredicate getLowerEndpoint() {
+    return lowerEndpoint;
+  }
+
+  public SimpleUnaryTestsPredicate getUpperEndpoint() {
+    return upperEndpoint;
+  }
+
+}
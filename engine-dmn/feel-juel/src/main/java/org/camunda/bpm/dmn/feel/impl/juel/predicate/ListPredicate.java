@@ -0,0 +1,56 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.juel.predicate;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Predicate of a list of simple positive unary tests which matches
+ * if any of the tests matches.
+ */
+public class ListPredicate implements SimpleUnaryTestsPredicate {
+
+  protected final SimpleUnaryTestsPredicate[] predicates;
+
+  public ListPredicate(List<SimpleUnaryTestsPredicate> predicates) {
+    this.predicates = predicates.toArray(new SimpleUnaryTestsPredicate[predicates.size()]);
+  }
+
+  public boolean canTest(Object inputValue) {
+    for (SimpleUnaryTestsPredicate predicate : predicates) {
+      if (!predicate.canTest(inputValue)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public boolean test(Object inputValue) {
+    for (SimpleUnaryTestsPredicate predicate : predicates) {
+      if (predicate.test(inputValue)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public List<SimpleUnaryTestsPredicate> getPredicates() {
+    return Arrays.asList(predicates);
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.juel.predicate;
+
+/**
+ * Compares number input values with a number literal like JUEL does:
+ * if the literal or the input value is a floating point number both are
+ * compared as doubles, otherwise as longs.
+ */
+public class NumberComparisonPredicate implements SimpleUnaryTestsPredicate {
+
+  protected final ComparisonOperator operator;
+  protected final Number endpoint;
+  protected final boolean isFloatingPointEndpoint;
+  protected final long longEndpoint;
+  protected final double doubleEndpoint;
+
+  public NumberComparisonPredicate(ComparisonOperator operator, Number endpoint) {
+    this.operator = operator;
+    this.endpoint = endpoint;
+    this.isFloatingPointEndpoint = endpoint instanceof Double;
+    this.longEndpoint = endpoint.longValue();
+    this.doubleEndpoint = endpoint.doubleValue();
+  }
+
+  public boolean canTest(Object inputValue) {
+    return isIntegerNumber(inputValue) || isFloatingPointNumber(inputValue);
+  }
+
+  public boolean test(Object inputValue) {
+    Number number = (Number) inputValue;
+    if (isFloatingPointEndpoint || isFloatingPointNumber(inputValue)) {
+      return operator.matches(number.doubleValue(), doubleEndpoint);
+    }
+    else {
+      return operator.matches(number.longValue(), longEndpoint);
+    }
+  }
+
+  public ComparisonOperator getOperator() {
+    return operator;
+  }
+
+  /**
+   * @return the number literal, either a long or a double
+   */
+  public Number getEndpoint() {
+    return endpoint;
+  }
+
+  protected boolean isIntegerNumber(Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+  }
+
+  protected boolean isFloatingPointNumber(Object value) {
+    return value instanceof Double || value instanceof Float;
+  }
+
+}
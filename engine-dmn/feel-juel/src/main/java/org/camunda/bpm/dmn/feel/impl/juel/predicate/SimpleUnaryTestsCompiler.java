@@ -0,0 +1,159 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl.juel.predicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.dmn.feel.impl.juel.transform.ComparisonTransformer;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransformImpl;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.FeelToJuelTransformer;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.IntervalTransformer;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.ListTransformer;
+import org.camunda.bpm.dmn.feel.impl.juel.transform.NotTransformer;
+
+/**
+ * Compiles FEEL simple unary tests which only consist of literals to
+ * predicates. It follows the structure of the {@link FeelToJuelTransformImpl}
+ * and returns the {@link NotCompiledPredicate} for all expressions which
+ * contain variables, functions or dates, or which are invalid. These
+ * expressions are evaluated by the JUEL expression as before.
+ */
+public class SimpleUnaryTestsCompiler {
+
+  public static final Pattern INTEGER_PATTERN = Pattern.compile("^-?\\d+$");
+  public static final Pattern FLOATING_POINT_PATTERN = Pattern.compile("^-?\\d+\\.\\d+$");
+  public static final Pattern STRING_PATTERN = Pattern.compile("^\"([^\"\\\\]*)\"$");
+
+  public SimpleUnaryTestsPredicate compileSimpleUnaryTests(String simpleUnaryTests) {
+    simpleUnaryTests = simpleUnaryTests.trim();
+    if (simpleUnaryTests.equals("-")) {
+      return AnyValuePredicate.INSTANCE;
+    }
+    else if (simpleUnaryTests.startsWith("not(")) {
+      Matcher matcher = NotTransformer.NOT_PATTERN.matcher(simpleUnaryTests);
+      if (!matcher.matches()) {
+        return NotCompiledPredicate.INSTANCE;
+      }
+      SimpleUnaryTestsPredicate predicate = compileSimplePositiveUnaryTests(matcher.group(1));
+      if (predicate == NotCompiledPredicate.INSTANCE) {
+        return predicate;
+      }
+      return new NotPredicate(predicate);
+    }
+    else {
+      return compileSimplePositiveUnaryTests(simpleUnaryTests);
+    }
+  }
+
+  protected SimpleUnaryTestsPredicate compileSimplePositiveUnaryTests(String simplePositiveUnaryTests) {
+    String[] tests = simplePositiveUnaryTests.trim().split(ListTransformer.COMMA_SEPARATOR_REGEX, -1);
+    if (tests.length == 1) {
+      return compileSimplePositiveUnaryTest(tests[0]);
+    }
+
+    List<SimpleUnaryTestsPredicate> predicates = new ArrayList<SimpleUnaryTestsPredicate>();
+    for (String test : tests) {
+      if (test.trim().isEmpty()) {
+        return NotCompiledPredicate.INSTANCE;
+      }
+      SimpleUnaryTestsPredicate predicate = compileSimplePositiveUnaryTest(test);
+      if (predicate == NotCompiledPredicate.INSTANCE) {
+        return predicate;
+      }
+      predicates.add(predicate);
+    }
+    return new ListPredicate(predicates);
+  }
+
+  protected SimpleUnaryTestsPredicate compileSimplePositiveUnaryTest(String simplePositiveUnaryTest) {
+    simplePositiveUnaryTest = simplePositiveUnaryTest.trim();
+
+    for (FeelToJuelTransformer functionTransformer : FeelToJuelTransformImpl.CUSTOM_FUNCTION_TRANSFORMERS) {
+      if (functionTransformer.canTransform(simplePositiveUnaryTest)) {
+        return NotCompiledPredicate.INSTANCE;
+      }
+    }
+
+    if (simplePositiveUnaryTest.startsWith("(") || simplePositiveUnaryTest.startsWith("[") || simplePositiveUnaryTest.startsWith("]")) {
+      return compileInterval(simplePositiveUnaryTest);
+    }
+    else if (simplePositiveUnaryTest.startsWith("<") || simplePositiveUnaryTest.startsWith(">")) {
+      return compileComparison(simplePositiveUnaryTest);
+    }
+    else {
+      return compileEndpoint(ComparisonOperator.EQUAL, simplePositiveUnaryTest);
+    }
+  }
+
+  protected SimpleUnaryTestsPredicate compileInterval(String interval) {
+    Matcher matcher = IntervalTransformer.INTERVAL_PATTERN.matcher(interval);
+    if (!matcher.matches()) {
+      return NotCompiledPredicate.INSTANCE;
+    }
+
+    ComparisonOperator lowerOperator = matcher.group(1).equals("[") ? ComparisonOperator.GREATER_THAN_OR_EQUAL : ComparisonOperator.GREATER_THAN;
+    ComparisonOperator upperOperator = matcher.group(4).equals("]") ? ComparisonOperator.LESS_THAN_OR_EQUAL : ComparisonOperator.LESS_THAN;
+
+    SimpleUnaryTestsPredicate lowerEndpoint = compileEndpoint(lowerOperator, matcher.group(2));
+    SimpleUnaryTestsPredicate upperEndpoint = compileEndpoint(upperOperator, matcher.group(3));
+    if (lowerEndpoint == NotCompiledPredicate.INSTANCE || upperEndpoint == NotCompiledPredicate.INSTANCE) {
+      return NotCompiledPredicate.INSTANCE;
+    }
+    return new IntervalPredicate(lowerEndpoint, upperEndpoint);
+  }
+
+  protected SimpleUnaryTestsPredicate compileComparison(String comparison) {
+    Matcher matcher = ComparisonTransformer.COMPARISON_PATTERN.matcher(comparison);
+    if (!matcher.matches()) {
+      return NotCompiledPredicate.INSTANCE;
+    }
+
+    return compileEndpoint(ComparisonOperator.fromSymbol(matcher.group(1)), matcher.group(2));
+  }
+
+  protected SimpleUnaryTestsPredicate compileEndpoint(ComparisonOperator operator, String endpoint) {
+    endpoint = endpoint.trim();
+
+    if (INTEGER_PATTERN.matcher(endpoint).matches()) {
+      try {
+        return new NumberComparisonPredicate(operator, Long.valueOf(endpoint));
+      }
+      catch (NumberFormatException e) {
+        // the literal exceeds the range of a long
+        return NotCompiledPredicate.INSTANCE;
+      }
+    }
+    else if (FLOATING_POINT_PATTERN.matcher(endpoint).matches()) {
+      return new NumberComparisonPredicate(operator, Double.valueOf(endpoint));
+    }
+
+    Matcher matcher = STRING_PATTERN.matcher(endpoint);
+    if (matcher.matches()) {
+      return new StringComparisonPredicate(operator, matcher.group(1));
+    }
+    else if (operator == ComparisonOperator.EQUAL && (endpoint.equals("true") || endpoint.equals("false"))) {
+      return new BooleanEqualPredicate(Boolean.parseBoolean(endpoint));
+    }
+    else {
+      return NotCompiledPredicate.INSTANCE;
+    }
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.feel.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+
+import org.camunda.bpm.dmn.feel.impl.juel.FeelEngineFactoryImpl;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.AnyValuePredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.NotCompiledPredicate;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.SimpleUnaryTestsCompiler;
+import org.camunda.bpm.dmn.feel.impl.juel.predicate.SimpleUnaryTestsPredicate;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SimpleUnaryTestsCompilerTest {
+
+  public static final String INPUT_VARIABLE = "input";
+
+  public static final String[] COMPILED_EXPRESSIONS = {
+    "12", "-12", "12.5", "0.0", "-0.0", "<= -0.0", "< 12", "<=12", ">12.5", ">= -3",
+    "[1..12]", "]1..12[", "(1..12.5)", "[1..12)",
+    "1, 5, [10..20]", "not(12)", "not(< 3, > 12)",
+    "\"camunda\"", "\"a\",\"b,c\"", "not(\"camunda\")", "< \"m\"", "[\"a\"..\"m\"]",
+    "true", "false", "not(true)"
+  };
+
+  public static final Object[] INPUT_VALUES = {
+    0, 1, 3, 5, 12, 13, 20, -3, -12,
+    0L, 12L, Long.MAX_VALUE, (short) 12, (byte) 1,
+    0.5, 1.0, 12.0, 12.5, 12.6, -3.0, 0.0, -0.0, Double.NaN, 12f, 12.5f,
+    "camunda", "a", "b,c", "m", "z", "",
+    true, false
+  };
+
+  public static SimpleUnaryTestsCompiler compiler;
+  public static FeelEngine feelEngine;
+  public static FeelEngine juelFeelEngine;
+
+  @BeforeClass
+  public static void initFeelEngines() {
+    compiler = new SimpleUnaryTestsCompiler();
+    feelEngine = new FeelEngineFactoryImpl().createInstance();
+    juelFeelEngine = new FeelEngineFactoryImpl() {
+      protected SimpleUnaryTestsCompiler createSimpleUnaryTestsCompiler() {
+        return null;
+      }
+    }.createInstance();
+  }
+
+  @Test
+  public void shouldCompileLiteralExpressions() {
+    assertThat(compiler.compileSimpleUnaryTests("-")).isSameAs(AnyValuePredicate.INSTANCE);
+
+    for (String expression : COMPILED_EXPRESSIONS) {
+      assertThat(compiler.compileSimpleUnaryTests(expression))
+        .as(expression)
+        .isNotSameAs(NotCompiledPredicate.INSTANCE);
+    }
+  }
+
+  @Test
+  public void shouldNotCompileExpressionsWithoutLiterals() {
+    assertNotCompiled("y");
+    assertNotCompiled("< y");
+    assertNotCompiled("[1..y]");
+    assertNotCompiled("1, y");
+    assertNotCompiled("not(y)");
+    assertNotCompiled("customer.name");
+    assertNotCompiled("date and time(\"2015-12-12T22:12:53\")");
+    assertNotCompiled("'camunda'");
+    assertNotCompiled("\"a\\\"b\"");
+    assertNotCompiled("< true");
+    assertNotCompiled("1,,2");
+    assertNotCompiled("not(1");
+    assertNotCompiled("99999999999999999999");
+  }
+
+  @Test
+  public void shouldNotTestValuesOfOtherTypes() {
+    SimpleUnaryTestsPredicate predicate = compiler.compileSimpleUnaryTests("[1..12]");
+    assertThat(predicate.canTest(5)).isTrue();
+    assertThat(predicate.canTest(5.5)).isTrue();
+    assertThat(predicate.canTest("5")).isFalse();
+    assertThat(predicate.canTest(null)).isFalse();
+    assertThat(predicate.canTest(new BigDecimal(5))).isFalse();
+
+    predicate = compiler.compileSimpleUnaryTests("\"camunda\", 12");
+    assertThat(predicate.canTest("camunda")).isFalse();
+    assertThat(predicate.canTest(12)).isFalse();
+  }
+
+  @Test
+  public void shouldEvaluateLikeJuelExpression() {
+    for (String expression : COMPILED_EXPRESSIONS) {
+      SimpleUnaryTestsPredicate predicate = compiler.compileSimpleUnaryTests(expression);
+
+      for (Object inputValue : INPUT_VALUES) {
+        if (predicate.canTest(inputValue)) {
+          VariableMap variables = Variables.createVariables().putValue(INPUT_VARIABLE, inputValue);
+          boolean expected = juelFeelEngine.evaluateSimpleUnaryTests(expression, INPUT_VARIABLE, variables.asVariableContext());
+
+          assertThat(predicate.test(inputValue))
+            .as(expression + " with " + inputValue + " (" + inputValue.getClass().getSimpleName() + ")")
+            .isEqualTo(expected);
+          assertThat(feelEngine.evaluateSimpleUnaryTests(expression, INPUT_VARIABLE, variables.asVariableContext()))
+            .isEqualTo(expected);
+        }
+      }
+    }
+  }
+
+  protected void assertNotCompiled(String expression) {
+    SimpleUnaryTestsPredicate predicate = compiler.compileSimpleUnaryTests(expression);
+    assertThat(predicate)
+      .as(expression)
+      .isSameAs(NotCompiledPredicate.INSTANCE);
+    assertThat(predicate.canTest(1)).isFalse();
+    assertThat(predicate.test(1)).isFalse();
+  }
+
+}
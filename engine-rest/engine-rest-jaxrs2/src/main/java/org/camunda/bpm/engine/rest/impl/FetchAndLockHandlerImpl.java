@@ -17,10 +17,26 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,6 +50,7 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskTopicListener;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
@@ -46,13 +63,27 @@ import org.camunda.bpm.engine.rest.util.EngineUtil;
 
 
 /**
+ * <p>Pending requests are grouped by their query, see {@link FetchAndLockRequest#getQueryKey()}.
+ * The requests of a group are fetched one after the other until a request receives
+ * less tasks than it asked for, since the remaining requests of the group would not
+ * receive any tasks either. A group of waiting requests therefore usually costs a
+ * single query.</p>
+ *
+ * <p>When external tasks are created or unlocked on this node, only the requests which
+ * wait for the topics of these tasks are fetched. All pending requests are fetched
+ * periodically to receive tasks created on other cluster nodes.</p>
+ *
  * @author Tassilo Weidner
  */
-public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
+public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler, ExternalTaskTopicListener {
 
   private final static Logger LOG = Logger.getLogger(FetchAndLockHandlerImpl.class.getName());
 
   protected static final String UNIQUE_WORKER_REQUEST_PARAM_NAME = "fetch-and-lock-unique-worker-request";
+  protected static final String QUEUE_CAPACITY_PARAM_NAME = "fetch-and-lock-queue-capacity";
+  protected static final String WORKER_POOL_SIZE_PARAM_NAME = "fetch-and-lock-worker-pool-size";
+
+  protected static final int DEFAULT_QUEUE_CAPACITY = 200;
 
   protected static final long PENDING_REQUEST_FETCH_INTERVAL = 30L * 1000;
   protected static final long MAX_BACK_OFF_TIME = Long.MAX_VALUE;
@@ -60,12 +91,21 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected SingleConsumerCondition condition;
 
-  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(200);
+  protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(DEFAULT_QUEUE_CAPACITY);
   protected List<FetchAndLockRequest> pendingRequests = new ArrayList<>();
   protected List<FetchAndLockRequest> newRequests = new ArrayList<>();
 
+  /** topics of the external tasks that became available since the last acquisition */
+  protected Set<String> availableTopics = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  protected AtomicBoolean isUnknownTopicAvailable = new AtomicBoolean(false);
+  protected long lastFetchOfAllRequests = 0;
+
   protected Thread handlerThread = new Thread(this, this.getClass().getSimpleName());
 
+  /** fetches the groups of pending requests in parallel if configured, otherwise they are fetched by the handler thread */
+  protected ExecutorService workerPool;
+  protected int workerPoolSize = 0;
+
   protected volatile boolean isRunning = false;
 
   protected boolean isUniqueWorkerRequest = false;
@@ -93,17 +133,37 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     queue.drainTo(newRequests);
 
-    if (!newRequests.isEmpty()) {
-      if (isUniqueWorkerRequest) {
-        removeDuplicates();
-      }
+    if (!newRequests.isEmpty() && isUniqueWorkerRequest) {
+      removeDuplicates();
+    }
+
+    long currentTime = ClockUtil.getCurrentTime().getTime();
+    Set<String> topics = drainAvailableTopics();
 
+    Map<String, List<FetchAndLockRequest>> requestGroups;
+    if (topics == null || currentTime - lastFetchOfAllRequests >= PENDING_REQUEST_FETCH_INTERVAL) {
+      // tasks created on other cluster nodes or of unknown topics can only be fetched by fetching all requests
+      pendingRequests.addAll(newRequests);
+      requestGroups = groupByQuery(pendingRequests);
+      lastFetchOfAllRequests = currentTime;
+    }
+    else {
+      List<FetchAndLockRequest> requestsToFetch = new ArrayList<>(newRequests);
+      for (FetchAndLockRequest pendingRequest : pendingRequests) {
+        if (isExpired(pendingRequest) || !Collections.disjoint(topics, pendingRequest.getTopicNames())) {
+          requestsToFetch.add(pendingRequest);
+        }
+      }
       pendingRequests.addAll(newRequests);
-      newRequests.clear();
+      requestGroups = groupByQuery(requestsToFetch);
     }
 
+    newRequests.clear();
+
     LOG.log(Level.FINEST, "Number of pending requests {0}", pendingRequests.size());
 
+    Map<FetchAndLockRequest, FetchAndLockResult> results = fetchAndLock(requestGroups.values());
+
     long backoffTime = MAX_BACK_OFF_TIME; //timestamp
 
     Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
@@ -111,11 +171,12 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       FetchAndLockRequest pendingRequest = iterator.next();
 
-      LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
-
-      FetchAndLockResult result = tryFetchAndLock(pendingRequest);
-
-      LOG.log(Level.FINEST, "Fetch and lock result: {0}", result);
+      // the request was either not affected by the available tasks
+      // or another request of its group has fetched all matching tasks
+      FetchAndLockResult result = results.get(pendingRequest);
+      if (result == null) {
+        result = FetchAndLockResult.successful(new ArrayList<LockedExternalTaskDto>());
+      }
 
       if (result.wasSuccessful()) {
 
@@ -153,10 +214,117 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     else {
       // if there are pending requests, try fetch periodically to ensure tasks created on other
       // cluster nodes and tasks with expired timeouts can be fetched in a timely manner
-      suspend(Math.min(PENDING_REQUEST_FETCH_INTERVAL, waitTime));
+      long msUntilFetchOfAllRequests = lastFetchOfAllRequests + PENDING_REQUEST_FETCH_INTERVAL - ClockUtil.getCurrentTime().getTime();
+      suspend(Math.min(Math.max(0, msUntilFetchOfAllRequests), waitTime));
     }
   }
 
+  /**
+   * @return the topics which became available since the last invocation
+   * or <code>null</code> if tasks of unknown topics became available
+   */
+  protected Set<String> drainAvailableTopics() {
+    Set<String> topics = new HashSet<>();
+
+    Iterator<String> iterator = availableTopics.iterator();
+    while (iterator.hasNext()) {
+      topics.add(iterator.next());
+      iterator.remove();
+    }
+
+    if (isUnknownTopicAvailable.getAndSet(false)) {
+      return null;
+    }
+    else {
+      return topics;
+    }
+  }
+
+  protected Map<String, List<FetchAndLockRequest>> groupByQuery(List<FetchAndLockRequest> requests) {
+    Map<String, List<FetchAndLockRequest>> requestGroups = new LinkedHashMap<>();
+
+    for (FetchAndLockRequest request : requests) {
+      String queryKey = request.getQueryKey();
+
+      List<FetchAndLockRequest> requestGroup = requestGroups.get(queryKey);
+      if (requestGroup == null) {
+        requestGroup = new ArrayList<>();
+        requestGroups.put(queryKey, requestGroup);
+      }
+      requestGroup.add(request);
+    }
+
+    return requestGroups;
+  }
+
+  protected Map<FetchAndLockRequest, FetchAndLockResult> fetchAndLock(Collection<List<FetchAndLockRequest>> requestGroups) {
+    Map<FetchAndLockRequest, FetchAndLockResult> results = new HashMap<>();
+
+    if (workerPool == null || requestGroups.size() < 2) {
+      for (List<FetchAndLockRequest> requestGroup : requestGroups) {
+        results.putAll(fetchAndLockGroup(requestGroup));
+      }
+      return results;
+    }
+
+    List<Future<Map<FetchAndLockRequest, FetchAndLockResult>>> futures = new ArrayList<>();
+    for (final List<FetchAndLockRequest> requestGroup : requestGroups) {
+      futures.add(workerPool.submit(new Callable<Map<FetchAndLockRequest, FetchAndLockResult>>() {
+        public Map<FetchAndLockRequest, FetchAndLockResult> call() {
+          return fetchAndLockGroup(requestGroup);
+        }
+      }));
+    }
+
+    for (Future<Map<FetchAndLockRequest, FetchAndLockResult>> future : futures) {
+      try {
+        results.putAll(future.get());
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+      catch (ExecutionException e) {
+        LOG.log(Level.WARNING, "Fetching tasks for pending requests failed: {0}", e.getCause());
+      }
+    }
+
+    return results;
+  }
+
+  protected Map<FetchAndLockRequest, FetchAndLockResult> fetchAndLockGroup(List<FetchAndLockRequest> requestGroup) {
+    Map<FetchAndLockRequest, FetchAndLockResult> results = new HashMap<>();
+
+    for (FetchAndLockRequest request : requestGroup) {
+
+      LOG.log(Level.FINEST, "Fetching tasks for request {0}", request);
+
+      FetchAndLockResult result = tryFetchAndLock(request);
+      results.put(request, result);
+
+      LOG.log(Level.FINEST, "Fetch and lock result: {0}", result);
+
+      if (result.wasSuccessful() && result.getTasks().size() < request.getDto().getMaxTasks()) {
+        // all tasks matching the query of the group are locked
+        break;
+      }
+    }
+
+    return results;
+  }
+
+  @Override
+  public void onTopicsAvailable(Set<String> topicNames) {
+    if (topicNames != null) {
+      availableTopics.addAll(topicNames);
+    }
+    else {
+      isUnknownTopicAvailable.set(true);
+    }
+
+    condition.signal();
+  }
+
   protected void removeDuplicates() {
     for (FetchAndLockRequest newRequest : newRequests) {
       // remove any request from pendingRequests with the same worker id
@@ -181,15 +349,20 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
 
     isRunning = true;
+
+    if (workerPoolSize > 0) {
+      workerPool = Executors.newFixedThreadPool(workerPoolSize, new WorkerThreadFactory());
+    }
+
     handlerThread.start();
 
-    ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_TOPIC_LISTENERS.addListener(this);
   }
 
   @Override
   public void shutdown() {
     try {
-      ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+      ProcessEngineImpl.EXT_TASK_TOPIC_LISTENERS.removeListener(this);
     }
     finally {
       isRunning = false;
@@ -201,6 +374,10 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     } catch (InterruptedException e) {
       LOG.log(Level.WARNING, "Shutting down the handler thread failed: {0}", e);
     }
+
+    if (workerPool != null) {
+      workerPool.shutdownNow();
+    }
   }
 
   protected void suspend(long millis) {
@@ -345,6 +522,8 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       if (servletContext != null) {
         parseUniqueWorkerRequestParam(servletContext.getInitParameter(UNIQUE_WORKER_REQUEST_PARAM_NAME));
+        parseQueueCapacityParam(servletContext.getInitParameter(QUEUE_CAPACITY_PARAM_NAME));
+        parseWorkerPoolSizeParam(servletContext.getInitParameter(WORKER_POOL_SIZE_PARAM_NAME));
       }
     }
   }
@@ -357,7 +536,43 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  protected void parseQueueCapacityParam(String queueCapacityParam) {
+    int queueCapacity = parseIntParam(QUEUE_CAPACITY_PARAM_NAME, queueCapacityParam, DEFAULT_QUEUE_CAPACITY);
+    if (queueCapacity > 0) {
+      queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+  }
+
+  protected void parseWorkerPoolSizeParam(String workerPoolSizeParam) {
+    workerPoolSize = parseIntParam(WORKER_POOL_SIZE_PARAM_NAME, workerPoolSizeParam, 0);
+  }
+
+  protected int parseIntParam(String paramName, String paramValue, int defaultValue) {
+    if (paramValue != null) {
+      try {
+        return Integer.parseInt(paramValue.trim());
+      }
+      catch (NumberFormatException e) {
+        LOG.log(Level.WARNING, "Ignoring invalid value ''{0}'' of parameter ''{1}''", new Object[] { paramValue, paramName });
+      }
+    }
+    return defaultValue;
+  }
+
   public List<FetchAndLockRequest> getPendingRequests() {
     return pendingRequests;
   }
+
+  protected class WorkerThreadFactory implements ThreadFactory {
+
+    protected AtomicInteger threadCount = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, handlerThread.getName() + "-worker-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
 }
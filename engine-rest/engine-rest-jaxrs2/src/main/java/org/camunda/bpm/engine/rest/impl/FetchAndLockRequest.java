@@ -16,10 +16,15 @@
  */
 package org.camunda.bpm.engine.rest.impl;
 
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 
 import javax.ws.rs.container.AsyncResponse;
@@ -87,6 +92,52 @@ public class FetchAndLockRequest {
     return requestTime + asyncResponseTimeout;
   }
 
+  public Set<String> getTopicNames() {
+    Set<String> topicNames = new HashSet<>();
+
+    List<FetchExternalTaskTopicDto> topics = getDto().getTopics();
+    if (topics != null) {
+      for (FetchExternalTaskTopicDto topic : topics) {
+        topicNames.add(topic.getTopicName());
+      }
+    }
+
+    return topicNames;
+  }
+
+  /**
+   * Requests with the same query key are fetched by the same process engine
+   * and the same user and match the same external tasks. They only differ in
+   * the worker id, the number of tasks and the way the tasks are locked and returned.
+   */
+  public String getQueryKey() {
+    StringBuilder key = new StringBuilder(processEngineName);
+
+    if (authentication != null) {
+      key.append('|').append(authentication.getUserId())
+        .append('|').append(authentication.getGroupIds())
+        .append('|').append(authentication.getTenantIds());
+    }
+
+    List<FetchExternalTaskTopicDto> topics = getDto().getTopics();
+    if (topics != null) {
+      for (FetchExternalTaskTopicDto topic : topics) {
+        key.append('|').append(topic.getTopicName())
+          .append(',').append(topic.getBusinessKey())
+          .append(',').append(topic.getProcessDefinitionId())
+          .append(',').append(Arrays.toString(topic.getProcessDefinitionIdIn()))
+          .append(',').append(topic.getProcessDefinitionKey())
+          .append(',').append(Arrays.toString(topic.getProcessDefinitionKeyIn()))
+          .append(',').append(topic.getProcessDefinitionVersionTag())
+          .append(',').append(topic.getProcessVariables())
+          .append(',').append(topic.isWithoutTenantId())
+          .append(',').append(Arrays.toString(topic.getTenantIdIn()));
+      }
+    }
+
+    return key.toString();
+  }
+
   @Override
   public String toString() {
     return "FetchAndLockRequest [requestTime=" + requestTime + ", dto=" + dto + ", asyncResponse=" + asyncResponse + ", processEngineName=" + processEngineName
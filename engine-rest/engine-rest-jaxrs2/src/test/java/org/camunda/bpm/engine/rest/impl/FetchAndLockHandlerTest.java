@@ -269,6 +269,7 @@ public class FetchAndLockHandlerTest {
 
     // when
     doThrow(new ProcessEngineException()).when(fetchTopicBuilder).execute();
+    handler.onTopicsAvailable(Collections.singleton("aTopicName"));
     handler.acquire();
 
     // then
@@ -416,11 +417,122 @@ public class FetchAndLockHandlerTest {
     assertThat(argumentCaptor.getValue().getMessage(), is("Request rejected due to shutdown of application server."));
   }
 
-  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
+  @Test
+  public void shouldFetchGroupOfPendingRequestsOnce() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    handler.addPendingRequest(createDto(5000L, "aWorkerId"), mock(AsyncResponse.class), processEngine);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId"), mock(AsyncResponse.class), processEngine);
+
+    // assume
+    verify(fetchTopicBuilder, times(2)).execute();
+
+    // when
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).execute();
+    assertThat(handler.getPendingRequests().size(), is(2));
+  }
+
+  @Test
+  public void shouldFetchRequestsOfAvailableTopicsOnly() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "aWorkerId", "aTopicName"), asyncResponse, processEngine);
+    AsyncResponse anotherAsyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId", "anotherTopicName"), anotherAsyncResponse, processEngine);
+    handler.acquire();
+
+    List<LockedExternalTask> tasks = new ArrayList<LockedExternalTask>();
+    tasks.add(lockedExternalTaskMock);
+    doReturn(tasks).when(fetchTopicBuilder).execute();
+
+    // when
+    handler.onTopicsAvailable(Collections.singleton("anotherTopicName"));
+    handler.acquire();
+
+    // then
+    verify(asyncResponse, never()).resume(any());
+    verify(anotherAsyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    assertThat(handler.getPendingRequests().size(), is(1));
+  }
+
+  @Test
+  public void shouldFetchAllRequestsWhenUnknownTopicsAvailable() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "aWorkerId", "aTopicName"), asyncResponse, processEngine);
+    AsyncResponse anotherAsyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId", "anotherTopicName"), anotherAsyncResponse, processEngine);
+    handler.acquire();
+
+    List<LockedExternalTask> tasks = new ArrayList<LockedExternalTask>();
+    tasks.add(lockedExternalTaskMock);
+    doReturn(tasks).when(fetchTopicBuilder).execute();
+
+    // when
+    handler.onTopicsAvailable(null);
+    handler.acquire();
+
+    // then
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    verify(anotherAsyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    assertThat(handler.getPendingRequests().size(), is(0));
+  }
+
+  @Test
+  public void shouldFetchAllRequestsPeriodically() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), asyncResponse, processEngine);
+    handler.acquire();
+
+    List<LockedExternalTask> tasks = new ArrayList<LockedExternalTask>();
+    tasks.add(lockedExternalTaskMock);
+    doReturn(tasks).when(fetchTopicBuilder).execute();
+
+    // when
+    addSecondsToClock((int) (FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL / 1000));
+    handler.acquire();
+
+    // then
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    assertThat(handler.getPendingRequests().size(), is(0));
+  }
+
+  @Test
+  public void shouldRejectRequestDueToConfiguredQueueCapacity() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    handler.parseQueueCapacityParam("1");
+
+    handler.addPendingRequest(createDto(5000L, "aWorkerId"), mock(AsyncResponse.class), processEngine);
+
+    // when
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(5000L, "anotherWorkerId"), asyncResponse, processEngine);
+
+    // then
+    ArgumentCaptor<InvalidRequestException> argumentCaptor = ArgumentCaptor.forClass(InvalidRequestException.class);
+    verify(asyncResponse).resume(argumentCaptor.capture());
+    assertThat(argumentCaptor.getValue().getMessage(), is("At the moment the server has to handle too " +
+      "many requests at the same time. Please try again later."));
+  }
+
+  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId, String topicName) {
     FetchExternalTasksExtendedDto externalTask = new FetchExternalTasksExtendedDto();
 
     FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto topic = new FetchExternalTasksExtendedDto.FetchExternalTaskTopicDto();
-    topic.setTopicName("aTopicName");
+    topic.setTopicName(topicName);
     topic.setLockDuration(12354L);
 
     externalTask.setMaxTasks(5);
@@ -434,6 +546,10 @@ public class FetchAndLockHandlerTest {
     return externalTask;
   }
 
+  protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
+    return createDto(responseTimeout, workerId, "aTopicName");
+  }
+
   protected FetchExternalTasksExtendedDto createDto(Long responseTimeout) {
     return createDto(responseTimeout, "aWorkerId");
   }
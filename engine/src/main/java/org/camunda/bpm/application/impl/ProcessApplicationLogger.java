@@ -219,4 +219,10 @@ public class ProcessApplicationLogger extends ProcessEngineLogger {
             ((CaseDefinitionEntity)execution.getCaseDefinition()).getDeploymentId(),
             processApplicationManager.getRegistrationSummary());
   }
+
+  public void debugDeploymentCacheWarmUpRejected(Set<String> deploymentIds) {
+    logDebug("025",
+        "Deployment cache warm-up of deployments {} not scheduled since the process engine is closed",
+        deploymentIds);
+  }
 }
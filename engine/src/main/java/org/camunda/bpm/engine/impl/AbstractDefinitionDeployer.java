@@ -22,7 +22,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -41,6 +46,10 @@ import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
  * This class is extended by specific resource deployers.
  *
  * Note: Implementations must be thread-safe. In particular they should not keep deployment-specific state.
+ *
+ * If a {@link ProcessEngineConfigurationImpl#getDeploymentParsePool() deployment parse pool} is configured
+ * and the deployer {@link #isParallelTransformationSupported() supports it}, the resources of a deployment
+ * are transformed in parallel. The definitions are persisted on the command thread afterwards.
  */
 public abstract class AbstractDefinitionDeployer<DefinitionEntity extends ResourceDefinitionEntity> implements Deployer {
 
@@ -67,16 +76,112 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
   }
 
   protected List<DefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
-    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    List<ResourceEntity> resources = new ArrayList<ResourceEntity>();
     for (ResourceEntity resource : deployment.getResources().values()) {
       LOG.debugProcessingResource(resource.getName());
       if (isResourceHandled(resource)) {
-        definitions.addAll(transformResource(deployment, resource, properties));
+        resources.add(resource);
+      }
+    }
+
+    ForkJoinPool deploymentParsePool = getProcessEngineConfiguration().getDeploymentParsePool();
+    if (deploymentParsePool != null && resources.size() > 1 && isParallelTransformationSupported()) {
+      return transformResourcesInParallel(deploymentParsePool, deployment, resources, properties);
+    }
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    for (ResourceEntity resource : resources) {
+      definitions.addAll(transformResource(deployment, resource, properties));
+    }
+    return definitions;
+  }
+
+  /**
+   * Indicates whether {@link #transformDefinitions(DeploymentEntity, ResourceEntity, Properties)}
+   * can be invoked for multiple resources of a deployment at the same time. If so, the
+   * transformation must not access the command context, must synchronize the access to
+   * the given properties and must not change the state of the shared parser, see
+   * {@link org.camunda.bpm.engine.impl.util.xml.Parser#getSaxParserFactory(String, String, boolean)}.
+   */
+  protected boolean isParallelTransformationSupported() {
+    return false;
+  }
+
+  /**
+   * Transforms the resources on the given pool. The process engine configuration, the current
+   * process application and the context class loader of the calling thread are available
+   * during the transformation. The definitions are returned in the order of the resources.
+   */
+  protected List<DefinitionEntity> transformResourcesInParallel(ForkJoinPool pool, final DeploymentEntity deployment,
+      List<ResourceEntity> resources, final Properties properties) {
+
+    final ProcessEngineConfigurationImpl processEngineConfiguration = getProcessEngineConfiguration();
+    final ProcessApplicationReference processApplication = Context.getCurrentProcessApplication();
+    final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+    List<Future<Collection<DefinitionEntity>>> transformations = new ArrayList<Future<Collection<DefinitionEntity>>>();
+    for (final ResourceEntity resource : resources) {
+      transformations.add(pool.submit(new Callable<Collection<DefinitionEntity>>() {
+        public Collection<DefinitionEntity> call() throws Exception {
+          Thread currentThread = Thread.currentThread();
+          ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+
+          currentThread.setContextClassLoader(classLoader);
+          Context.setProcessEngineConfiguration(processEngineConfiguration);
+          if (processApplication != null) {
+            Context.setCurrentProcessApplication(processApplication);
+          }
+
+          try {
+            return transformResource(deployment, resource, properties);
+          }
+          finally {
+            if (processApplication != null) {
+              Context.removeCurrentProcessApplication();
+            }
+            Context.removeProcessEngineConfiguration();
+            currentThread.setContextClassLoader(previousClassLoader);
+          }
+        }
+      }));
+    }
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+    try {
+      for (Future<Collection<DefinitionEntity>> transformation : transformations) {
+        definitions.addAll(awaitTransformation(transformation));
+      }
+    }
+    finally {
+      for (Future<Collection<DefinitionEntity>> transformation : transformations) {
+        transformation.cancel(false);
       }
     }
     return definitions;
   }
 
+  protected Collection<DefinitionEntity> awaitTransformation(Future<Collection<DefinitionEntity>> transformation) {
+    try {
+      return transformation.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessEngineException("Interrupted while transforming the resources of the deployment", e);
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      else {
+        throw new ProcessEngineException("Could not transform the resources of the deployment", cause);
+      }
+    }
+  }
+
   protected boolean isResourceHandled(ResourceEntity resource) {
     String resourceName = resource.getName();
 
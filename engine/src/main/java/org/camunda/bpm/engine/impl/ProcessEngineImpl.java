@@ -37,7 +37,10 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.externaltask.CompositeExternalTaskTopicListener;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
+import org.camunda.bpm.engine.impl.history.handler.AsyncHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
@@ -52,6 +55,9 @@ public class ProcessEngineImpl implements ProcessEngine {
   /** external task conditions used to signal long polling in rest API */
   public static final CompositeCondition EXT_TASK_CONDITIONS = new CompositeCondition();
 
+  /** notified with the topics of available external tasks before {@link #EXT_TASK_CONDITIONS} are signalled */
+  public static final CompositeExternalTaskTopicListener EXT_TASK_TOPIC_LISTENERS = new CompositeExternalTaskTopicListener();
+
   private final static ProcessEngineLogger LOG = ProcessEngineLogger.INSTANCE;
 
   protected String name;
@@ -139,6 +145,11 @@ public class ProcessEngineImpl implements ProcessEngine {
         dbMetricsReporter.start();
       }
     }
+
+    HistoryEventHandler historyEventHandler = processEngineConfiguration.getHistoryEventHandler();
+    if (historyEventHandler instanceof AsyncHistoryEventHandler) {
+      ((AsyncHistoryEventHandler) historyEventHandler).start();
+    }
   }
 
   protected void executeSchemaOperations() {
@@ -166,6 +177,12 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    HistoryEventHandler historyEventHandler = processEngineConfiguration.getHistoryEventHandler();
+    if (historyEventHandler instanceof AsyncHistoryEventHandler) {
+      // write the buffered events before the schema may be dropped
+      ((AsyncHistoryEventHandler) historyEventHandler).stop();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
@@ -18,21 +18,26 @@ package org.camunda.bpm.engine.impl.application;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.application.ProcessApplicationRegistration;
 import org.camunda.bpm.application.impl.ProcessApplicationLogger;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionManager;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentFailListener;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
@@ -64,6 +69,9 @@ public class ProcessApplicationManager {
     // register with job executor
     createJobExecutorRegistrations(deploymentsToRegister);
     logRegistration(deploymentsToRegister, reference);
+    if (Context.getProcessEngineConfiguration().isEnableDeploymentCacheWarmUp()) {
+      scheduleDeploymentCacheWarmUp(deploymentsToRegister);
+    }
     return registration;
   }
 
@@ -74,6 +82,8 @@ public class ProcessApplicationManager {
   public synchronized void unregisterProcessApplicationForDeployments(Set<String> deploymentIds, boolean removeProcessesFromCache) {
     removeJobExecutorRegistrations(deploymentIds);
     removeProcessApplicationRegistration(deploymentIds, removeProcessesFromCache);
+    // beans of the process application may have been resolved outside of its context
+    Context.getProcessEngineConfiguration().getExpressionManager().clearBeanElResolverCache();
   }
 
   public boolean hasRegistrations() {
@@ -128,6 +138,32 @@ public class ProcessApplicationManager {
     }
   }
 
+  protected void scheduleDeploymentCacheWarmUp(Set<String> deploymentIds) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    final ExecutorService warmUpExecutor = processEngineConfiguration.getDeploymentCacheWarmUpExecutor();
+    if (warmUpExecutor == null) {
+      return;
+    }
+
+    final Set<String> warmUpDeploymentIds = new HashSet<String>(deploymentIds);
+    final DeploymentCacheWarmUp warmUp = new DeploymentCacheWarmUp(warmUpDeploymentIds,
+        processEngineConfiguration.getCommandExecutorTxRequired());
+
+    // the definitions are loaded in the background after the registration is committed
+    Context.getCommandContext()
+      .getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          try {
+            warmUpExecutor.execute(warmUp);
+          }
+          catch (RejectedExecutionException e) {
+            LOG.debugDeploymentCacheWarmUpRejected(warmUpDeploymentIds);
+          }
+        }
+      });
+  }
+
   protected void removeJobExecutorRegistrations(Set<String> deploymentIds) {
     try {
       Set<String> registeredDeployments = Context.getProcessEngineConfiguration().getRegisteredDeployments();
@@ -66,6 +66,11 @@ public class BpmnProperties {
    */
   public static final PropertyMapKey<String, EventSubscriptionDeclaration> EVENT_SUBSCRIPTION_DECLARATIONS = new PropertyMapKey<String, EventSubscriptionDeclaration>("eventDefinitions", false);
 
+  /**
+   * Names of the process variables which message event subscriptions of the process definition are correlated by.
+   */
+  public static final PropertyListKey<String> CORRELATION_KEYS = new PropertyListKey<String>("correlationKeys");
+
   public static final PropertyKey<ActivityImpl> COMPENSATION_BOUNDARY_EVENT = new PropertyKey<ActivityImpl>("compensationBoundaryEvent");
 
   public static final PropertyKey<ActivityImpl> INITIAL_ACTIVITY = new PropertyKey<ActivityImpl>("initial");
@@ -50,6 +50,7 @@ import org.camunda.bpm.engine.impl.pvm.PvmTransition;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityBehavior;
 import org.camunda.bpm.engine.impl.pvm.process.*;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyUtil;
 import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
 import org.camunda.bpm.engine.impl.scripting.ScriptCondition;
 import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
@@ -228,6 +229,9 @@ public class BpmnParse extends Parse {
   protected Map<String, String> prefixs = new HashMap<String, String>();
   protected String targetNamespace;
 
+  /** If false, the diagram interchange elements are skipped. */
+  protected boolean parseDiagramInterchange = true;
+
   private Map<String, String> eventLinkTargets = new HashMap<String, String>();
   private Map<String, String> eventLinkSources = new HashMap<String, String>();
 
@@ -240,6 +244,7 @@ public class BpmnParse extends Parse {
     this.parseListeners = parser.getParseListeners();
     setSchemaResource(ReflectUtil.getResourceUrlAsString(BpmnParser.BPMN_20_SCHEMA_LOCATION));
     setEnableXxeProcessing(Context.getProcessEngineConfiguration().isEnableXxeProcessing());
+    this.parseDiagramInterchange = Context.getProcessEngineConfiguration().isEnableBpmnDiParsing();
   }
 
   public BpmnParse deployment(DeploymentEntity deployment) {
@@ -1171,7 +1176,18 @@ public class BpmnParse extends Parse {
     if (messageDefinition == null) {
       addError("Invalid 'messageRef': no message with id '" + messageRef + "' found.", messageEventDefinition, messageElementId);
     }
-    return new EventSubscriptionDeclaration(messageDefinition.getExpression(), EventType.MESSAGE);
+    EventSubscriptionDeclaration declaration = new EventSubscriptionDeclaration(messageDefinition.getExpression(), EventType.MESSAGE);
+
+    String correlationKey = messageEventDefinition.attributeNS(CAMUNDA_BPMN_EXTENSIONS_NS, "correlationKey");
+    if (correlationKey != null && !correlationKey.isEmpty()) {
+      if (correlationKey.length() > CorrelationKeyUtil.MAX_CORRELATION_KEY_LENGTH) {
+        addError("Attribute 'correlationKey' must not be longer than " + CorrelationKeyUtil.MAX_CORRELATION_KEY_LENGTH + " characters",
+            messageEventDefinition, messageElementId);
+      }
+      declaration.setCorrelationKey(correlationKey);
+    }
+
+    return declaration;
   }
 
   protected void addEventSubscriptionDeclaration(EventSubscriptionDeclaration subscription, ScopeImpl scope, Element element) {
@@ -1198,6 +1214,14 @@ public class BpmnParse extends Parse {
     }
 
     scope.getProperties().putMapEntry(BpmnProperties.EVENT_SUBSCRIPTION_DECLARATIONS, subscription.getActivityId(), subscription);
+
+    String correlationKey = subscription.getCorrelationKey();
+    if (correlationKey != null) {
+      Properties processDefinitionProperties = scope.getProcessDefinition().getProperties();
+      if (!processDefinitionProperties.get(BpmnProperties.CORRELATION_KEYS).contains(correlationKey)) {
+        processDefinitionProperties.addListItem(BpmnProperties.CORRELATION_KEYS, correlationKey);
+      }
+    }
   }
 
   protected boolean hasMultipleMessageEventDefinitionsWithSameName(EventSubscriptionDeclaration subscription, Collection<EventSubscriptionDeclaration> eventDefinitions) {
@@ -4273,6 +4297,11 @@ public class BpmnParse extends Parse {
   // Diagram interchange
   // /////////////////////////////////////////////////////////////////
 
+  @Override
+  protected boolean isSkippedElement(String uri, String localName) {
+    return !parseDiagramInterchange && "BPMNDiagram".equals(localName) && BPMN_DI_NS.getNamespaceUri().equals(uri);
+  }
+
   public void parseDiagramInterchangeElements() {
     // Multiple BPMNDiagram possible
     List<Element> diagrams = rootElement.elementsNS(BPMN_DI_NS, "BPMNDiagram");
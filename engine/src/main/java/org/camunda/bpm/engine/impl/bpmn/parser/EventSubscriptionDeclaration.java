@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.bpmn.parser;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
 import org.camunda.bpm.engine.impl.core.model.CallableElement;
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
 import org.camunda.bpm.engine.impl.el.Expression;
 import org.camunda.bpm.engine.impl.el.StartProcessVariableScope;
 import org.camunda.bpm.engine.impl.event.EventType;
@@ -29,6 +30,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.pvm.PvmScope;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyUtil;
 
 import java.io.Serializable;
 import java.util.Collections;
@@ -52,6 +54,9 @@ public class EventSubscriptionDeclaration implements Serializable {
   protected String eventScopeActivityId = null;
   protected boolean isStartEvent;
 
+  /** the name of the process variable the message is correlated by, see {@link CorrelationKeyUtil} */
+  protected String correlationKey;
+
   protected EventSubscriptionJobDeclaration jobDeclaration = null;
 
   public EventSubscriptionDeclaration(Expression eventExpression, EventType eventType) {
@@ -125,6 +130,14 @@ public class EventSubscriptionDeclaration implements Serializable {
     return eventType.name();
   }
 
+  public String getCorrelationKey() {
+    return correlationKey;
+  }
+
+  public void setCorrelationKey(String correlationKey) {
+    this.correlationKey = correlationKey;
+  }
+
   public CallableElement getEventPayload() {
     return eventPayload;
   }
@@ -154,6 +167,8 @@ public class EventSubscriptionDeclaration implements Serializable {
 
     String eventName = resolveExpressionOfEventName(execution);
     eventSubscriptionEntity.setEventName(eventName);
+    eventSubscriptionEntity.setCorrelationKey(correlationKey);
+    eventSubscriptionEntity.setConfiguration(resolveCorrelationKeyConfiguration(execution));
     if (activityId != null) {
       ActivityImpl activity = execution.getProcessDefinition().findActivity(activityId);
       eventSubscriptionEntity.setActivity(activity);
@@ -180,10 +195,29 @@ public class EventSubscriptionDeclaration implements Serializable {
     return eventName != null;
   }
 
+  /**
+   * Resolves the configuration of a message event subscription which is correlated by
+   * the value of the correlation key variable that is visible from the given execution.
+   */
+  protected String resolveCorrelationKeyConfiguration(ExecutionEntity execution) {
+    if (correlationKey == null) {
+      return null;
+    }
+
+    // a concurrent update of the variable is not visible here; a configuration that
+    // is stale therefore is detected and replaced when a message is correlated
+    CoreVariableInstance variableInstance = execution.getVariableInstance(correlationKey);
+    return CorrelationKeyUtil.toConfiguration(correlationKey, CorrelationKeyUtil.getValue(variableInstance));
+  }
+
   public void updateSubscription(EventSubscriptionEntity eventSubscription) {
     String eventName = resolveExpressionOfEventName(eventSubscription.getExecution());
     eventSubscription.setEventName(eventName);
     eventSubscription.setActivityId(activityId);
+    if (eventType == EventType.MESSAGE) {
+      eventSubscription.setCorrelationKey(correlationKey);
+      eventSubscription.setConfiguration(resolveCorrelationKeyConfiguration(eventSubscription.getExecution()));
+    }
   }
 
 }
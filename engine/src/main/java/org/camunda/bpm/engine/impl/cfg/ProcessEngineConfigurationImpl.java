@@ -20,6 +20,7 @@ package org.camunda.bpm.engine.impl.cfg;
 import static org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd.MAX_THREADS_NUMBER;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -40,6 +41,12 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
 
@@ -76,6 +83,7 @@ import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.authorization.Groups;
 import org.camunda.bpm.engine.authorization.Permission;
 import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.impl.AbstractDefinitionDeployer;
 import org.camunda.bpm.engine.impl.AuthorizationServiceImpl;
 import org.camunda.bpm.engine.impl.DecisionServiceImpl;
 import org.camunda.bpm.engine.impl.DefaultArtifactFactory;
@@ -135,9 +143,12 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbSecondLevelCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -184,9 +195,12 @@ import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.HistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.history.event.HostnameProvider;
+import org.camunda.bpm.engine.impl.history.handler.AsyncHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.CompositeDbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventBuffer;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventBufferSessionFactory;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
@@ -278,15 +292,18 @@ import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
 import org.camunda.bpm.engine.impl.persistence.entity.CommentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.FilterManager;
+import org.camunda.bpm.engine.impl.persistence.entity.GroupEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricActivityInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricBatchManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricCaseActivityInstanceManager;
@@ -303,8 +320,10 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceMa
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
+import org.camunda.bpm.engine.impl.persistence.entity.JobPartitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
@@ -315,6 +334,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.StatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TenantEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
@@ -450,6 +470,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<Deployer> customPreDeployers;
   protected List<Deployer> customPostDeployers;
   protected List<Deployer> deployers;
+
+  /**
+   * If greater than 1, the resources of a deployment are parsed and transformed in parallel
+   * by a pool with the given parallelism, see {@link AbstractDefinitionDeployer}.
+   */
+  protected int deploymentParseParallelism = 0;
+  protected ForkJoinPool deploymentParsePool;
   protected DeploymentCache deploymentCache;
 
   // CACHE ////////////////////////////////////////////////////////////////////
@@ -458,17 +485,71 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int cacheCapacity = 1000;
   protected boolean enableFetchProcessDefinitionDescription = true;
 
+  /**
+   * If true, the process definitions of the deployments a process application is registered for
+   * are loaded into the deployment cache by the {@link #deploymentCacheWarmUpExecutor} once the registration
+   * is committed. The executor is shut down when the process engine is closed.
+   * Otherwise, a process definition is only parsed when it is used for the first time.
+   */
+  protected boolean enableDeploymentCacheWarmUp = false;
+  protected ExecutorService deploymentCacheWarmUpExecutor;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
   protected Map<String, JobHandler> jobHandlers;
   protected JobExecutor jobExecutor;
 
+  /**
+   * If true, jobs that are due when they are created are locked in the creating
+   * transaction and handed over to the job executor of this node after commit,
+   * instead of being picked up by the next job acquisition cycle. Job acquisition
+   * remains in place for all jobs that cannot be handed over.
+   */
+  protected boolean jobExecutorHandOverLocalJobs = false;
+
+  /**
+   * If true, job acquisition locks the selected non-exclusive jobs and skips jobs that are
+   * locked by the acquisition of another node (<code>FOR UPDATE SKIP LOCKED</code> on PostgreSQL,
+   * MySQL 8 and Oracle). Nodes then acquire disjoint sets of non-exclusive jobs instead of
+   * failing to lock jobs that were acquired concurrently. Exclusive jobs are acquired first and
+   * as usual, since a lock which is not committed yet cannot keep another node from acquiring
+   * an exclusive job of the same process instance. On other databases, jobs are acquired as usual.
+   */
+  protected boolean jobExecutorAcquireWithSkipLocked = false;
+
+  /**
+   * If true, the jobs are divided into {@link #jobExecutorPartitionCount} partitions by the
+   * hash of their process instance id and every job executor acquires only the jobs of the
+   * partitions it leased, see {@link JobPartitionManager}. The jobs of a process instance
+   * are thus always acquired by the same job executor as long as the leases do not change.
+   */
+  protected boolean jobExecutorAcquireByPartition = false;
+
+  /** the number of partitions, must be a power of two */
+  protected int jobExecutorPartitionCount = 64;
+
+  /**
+   * The time a job executor leases its partitions for. The leases are renewed once less than
+   * half of the lease time is left; the idle and backoff wait times of the job executor are
+   * limited to a quarter of the lease time so that a live job executor keeps its leases.
+   */
+  protected long jobExecutorPartitionLeaseTimeInMillis = 60000;
+
   protected PriorityProvider<JobDeclaration<?, ?>> jobPriorityProvider;
 
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
+  /**
+   * If true, fetch and lock claims the selected external tasks with one update statement
+   * per lock duration instead of one optimistically locked update per task. The claimed
+   * tasks are then read back in a single query. Concurrent fetch requests must use
+   * different worker ids, since a task is considered claimed if it is locked by the
+   * requesting worker.
+   */
+  protected boolean externalTaskFetchAndLockInBatch = false;
+
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
   protected SqlSessionFactory sqlSessionFactory;
@@ -480,6 +561,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, the default id generator is a {@link PrefetchingDbIdGenerator} which
+   * hands out ids without synchronizing threads and fetches the next block of ids
+   * in the background.
+   */
+  protected boolean enableIdGeneratorPrefetch = false;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -545,6 +633,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean enableScriptEngineCaching = true;
   protected boolean enableFetchScriptEngineFromProcessApplication = true;
 
+  /**
+   * The maximum number of pooled script engines per language whose script engine
+   * is not thread-safe and therefore not cached. 0 disables pooling.
+   */
+  protected int scriptEnginePoolSize = 0;
+
+  /**
+   * The time in milliseconds to wait for a pooled script engine. If no engine is
+   * returned to the pool within this time, a new engine is created which is not pooled.
+   */
+  protected long scriptEnginePoolMaxWait = 100;
+
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
 
@@ -672,6 +772,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableDefaultDbHistoryEventHandler = true;
 
+  /**
+   * If true, history events are written to the database in batches by a background
+   * thread after the command that produced them has committed, see {@link AsyncHistoryEventHandler}.
+   */
+  protected boolean isAsyncHistoryEnabled = false;
+  /** the directory of the journal of buffered history events; if null, they are only kept in memory */
+  protected String asyncHistoryBufferDirectory;
+  protected boolean isAsyncHistoryBufferSyncEnabled = true;
+  protected int asyncHistoryBufferCapacity = 10000;
+  protected int asyncHistoryBatchSize = 500;
+
   protected PermissionProvider permissionProvider;
 
   protected boolean isExecutionTreePrefetchEnabled = true;
@@ -707,6 +818,34 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected DbEntityCacheKeyMapping dbEntityCacheKeyMapping = DbEntityCacheKeyMapping.defaultEntityCacheKeyMapping();
 
+  /**
+   * If true, consecutive inserts of historic activity instances, historic variable instances
+   * and historic variable updates are flushed with multi-row insert statements of at most
+   * {@link #bulkInsertMaxRows} rows. On Oracle and SQL Server, a statement is further limited
+   * by the number of columns the database accepts per statement.
+   */
+  protected boolean isBulkInsertEnabled = false;
+  protected int bulkInsertMaxRows = 50;
+  /**
+   * If set, overrides the database specific maximum number of columns a multi-row insert
+   * statement may set.
+   */
+  protected Integer bulkInsertMaxColumns;
+
+  /**
+   * If true, rarely changing entities are cached across commands, see {@link DbSecondLevelCache}.
+   * Should only be enabled if the engine manages the transactions since the cache is
+   * invalidated when the transaction of the command that flushed the entities completes.
+   */
+  protected boolean isDbSecondLevelCacheEnabled = false;
+  protected int dbSecondLevelCacheCapacity = 10000;
+  /** the time in milliseconds after which changes made by other cluster nodes become visible */
+  protected long dbSecondLevelCacheTimeToLive = 10000;
+  /** only types which implement {@link org.camunda.bpm.engine.impl.db.entitymanager.cache.CopyableDbEntity} are cached */
+  protected List<Class<? extends DbEntity>> dbSecondLevelCacheEntityTypes;
+  protected Map<String, Class<? extends DbEntity>> dbSecondLevelCacheStatements;
+  protected DbSecondLevelCache dbSecondLevelCache;
+
   /**
    * the metrics registry
    */
@@ -717,6 +856,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean isMetricsEnabled = true;
   protected boolean isDbMetricsReporterActivate = true;
 
+  /**
+   * If true (and metrics are enabled), latency histograms are recorded for command
+   * execution, job execution, decision evaluation and flush and their percentiles are
+   * reported by the {@link DbMetricsReporter}.
+   */
+  protected boolean isLatencyMetricsEnabled = false;
+
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
   /**
@@ -731,11 +877,26 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean enableExpressionsInAdhocQueries = false;
   protected boolean enableExpressionsInStoredQueries = true;
 
+  /**
+   * If true, the properties and methods of beans used in expressions outside of process
+   * applications are resolved once per bean class and cached until a deployment is removed.
+   * Inside of process applications, they are always cached by the process application.
+   */
+  protected boolean enableBeanElResolverCache = false;
+
   /**
    * If false, disables XML eXternal Entity (XXE) Processing. This provides protection against XXE Processing attacks.
    */
   protected boolean enableXxeProcessing = false;
 
+  /**
+   * If false, the diagram interchange (BPMN DI) elements of BPMN files are skipped while
+   * parsing deployed process definitions. They are then neither kept in memory during the
+   * parsing nor available to parse listeners, and the activities and sequence flows of the
+   * process definitions have no bounds and waypoints.
+   */
+  protected boolean enableBpmnDiParsing = true;
+
   /**
    * If true, user operation log entries are only written if there is an
    * authenticated user present in the context. If false, user operation log
@@ -897,8 +1058,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initCommandExecutors();
     initServices();
     initIdGenerator();
+    initDbSecondLevelCache();
     initFailedJobCommandFactory();
     initDeployers();
+    initDeploymentParsePool();
+    initDeploymentCacheWarmUpExecutor();
     initJobProvider();
     initExternalTaskPriorityProvider();
     initBatchHandlers();
@@ -925,6 +1089,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initPermissionProvider();
     initHostName();
     initMetrics();
+    initAsyncHistory();
     initMigration();
     initCommandCheckers();
     initDefaultUserPermissionForTask();
@@ -1640,6 +1805,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(IdentityInfoManager.class));
       addSessionFactory(new GenericManagerFactory(IdentityLinkManager.class));
       addSessionFactory(new GenericManagerFactory(JobManager.class));
+      addSessionFactory(new GenericManagerFactory(JobPartitionManager.class));
       addSessionFactory(new GenericManagerFactory(JobDefinitionManager.class));
       addSessionFactory(new GenericManagerFactory(ProcessDefinitionManager.class));
       addSessionFactory(new GenericManagerFactory(PropertyManager.class));
@@ -1699,6 +1865,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
+    dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled);
+    dbSqlSessionFactory.setBulkInsertMaxRows(bulkInsertMaxRows);
+    if (getBulkInsertMaxColumns() != null) {
+      dbSqlSessionFactory.setBulkInsertMaxColumns(getBulkInsertMaxColumns());
+    }
 
     //hack for the case when schema is defined via databaseTablePrefix parameter and not via databaseSchema parameter
     if (databaseTablePrefix != null && databaseSchema == null && databaseTablePrefix.contains(".")) {
@@ -1830,6 +2001,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initDeploymentParsePool() {
+    if (deploymentParsePool == null && deploymentParseParallelism > 1) {
+      deploymentParsePool = new ForkJoinPool(deploymentParseParallelism);
+    }
+  }
+
+  protected void initDeploymentCacheWarmUpExecutor() {
+    if (deploymentCacheWarmUpExecutor == null) {
+      deploymentCacheWarmUpExecutor = new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "camunda-deployment-cache-warm-up");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+  }
+
   protected Collection<? extends Deployer> getDefaultDeployers() {
     List<Deployer> defaultDeployers = new ArrayList<>();
 
@@ -1963,6 +2152,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       jobExecutor = new DefaultJobExecutor();
     }
 
+    if (jobExecutorAcquireByPartition
+        && (jobExecutorPartitionCount <= 0 || Integer.bitCount(jobExecutorPartitionCount) != 1)) {
+      throw LOG.invalidPropertyValue("jobExecutorPartitionCount", String.valueOf(jobExecutorPartitionCount),
+          "the number of partitions must be a power of two");
+    }
+
+    if (jobExecutorAcquireByPartition) {
+      // the leases are renewed in the acquisition cycles, which must therefore
+      // follow each other well within the lease time
+      long maxWaitTime = jobExecutorPartitionLeaseTimeInMillis / 4;
+      if (jobExecutor.getMaxWait() > maxWaitTime) {
+        jobExecutor.setMaxWait(maxWaitTime);
+      }
+      if (jobExecutor.getMaxBackoff() > maxWaitTime) {
+        jobExecutor.setMaxBackoff(maxWaitTime);
+      }
+    }
+
     jobHandlers = new HashMap<>();
     TimerExecuteNestedActivityJobHandler timerExecuteNestedActivityJobHandler = new TimerExecuteNestedActivityJobHandler();
     jobHandlers.put(timerExecuteNestedActivityJobHandler.getType(), timerExecuteNestedActivityJobHandler);
@@ -2081,6 +2288,29 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   // id generator /////////////////////////////////////////////////////////////
 
+  // second level cache ///////////////////////////////////////////////////////
+
+  protected void initDbSecondLevelCache() {
+    if (isDbSecondLevelCacheEnabled && dbSecondLevelCache == null) {
+      if (dbSecondLevelCacheEntityTypes == null) {
+        dbSecondLevelCacheEntityTypes = new ArrayList<Class<? extends DbEntity>>();
+        dbSecondLevelCacheEntityTypes.add(JobDefinitionEntity.class);
+        dbSecondLevelCacheEntityTypes.add(DeploymentEntity.class);
+        dbSecondLevelCacheEntityTypes.add(TenantEntity.class);
+        dbSecondLevelCacheEntityTypes.add(GroupEntity.class);
+        dbSecondLevelCacheEntityTypes.add(AuthorizationEntity.class);
+      }
+
+      if (dbSecondLevelCacheStatements == null) {
+        dbSecondLevelCacheStatements = new HashMap<String, Class<? extends DbEntity>>();
+        dbSecondLevelCacheStatements.put("selectJobDefinitionsByProcessDefinitionId", JobDefinitionEntity.class);
+      }
+
+      dbSecondLevelCache = new DbSecondLevelCache(dbSecondLevelCacheEntityTypes, dbSecondLevelCacheStatements,
+          dbSecondLevelCacheCapacity, dbSecondLevelCacheTimeToLive);
+    }
+  }
+
   protected void initIdGenerator() {
     if (idGenerator == null) {
       CommandExecutor idGeneratorCommandExecutor = null;
@@ -2100,10 +2330,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
-      dbIdGenerator.setIdBlockSize(idBlockSize);
-      dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
-      idGenerator = dbIdGenerator;
+      if (enableIdGeneratorPrefetch) {
+        PrefetchingDbIdGenerator prefetchingDbIdGenerator = new PrefetchingDbIdGenerator();
+        prefetchingDbIdGenerator.setIdBlockSize(idBlockSize);
+        prefetchingDbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
+        idGenerator = prefetchingDbIdGenerator;
+      } else {
+        DbIdGenerator dbIdGenerator = new DbIdGenerator();
+        dbIdGenerator.setIdBlockSize(idBlockSize);
+        dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
+        idGenerator = dbIdGenerator;
+      }
     }
   }
 
@@ -2171,9 +2408,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_SUCCESSFUL);
     metricsRegistry.createMeter(Metrics.JOB_FAILED);
     metricsRegistry.createMeter(Metrics.JOB_LOCKED_EXCLUSIVE);
+    metricsRegistry.createMeter(Metrics.JOB_LOCKED_LOCAL);
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    if (isAsyncHistoryEnabled) {
+      metricsRegistry.createMeter(Metrics.HISTORY_EVENTS_BUFFERED);
+      metricsRegistry.createMeter(Metrics.HISTORY_EVENTS_WRITTEN);
+    }
+
+    if (isLatencyMetricsEnabled) {
+      metricsRegistry.createHistogram(Metrics.COMMAND_EXECUTION_LATENCY);
+      metricsRegistry.createHistogram(Metrics.JOB_EXECUTION_LATENCY);
+      metricsRegistry.createHistogram(Metrics.DECISION_EVALUATION_LATENCY);
+      metricsRegistry.createHistogram(Metrics.FLUSH_LATENCY);
+    }
   }
 
   protected void initSerialization() {
@@ -2269,6 +2519,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptingEngines == null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(resolverFactories));
       scriptingEngines.setEnableScriptEngineCaching(enableScriptEngineCaching);
+      scriptingEngines.setScriptEnginePoolSize(scriptEnginePoolSize);
+      scriptingEngines.setScriptEnginePoolMaxWait(scriptEnginePoolMaxWait);
     }
     if (scriptFactory == null) {
       scriptFactory = new ScriptFactory();
@@ -2308,6 +2560,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       expressionManager = new ExpressionManager(beans);
     }
 
+    expressionManager.setBeanElResolverCacheEnabled(enableBeanElResolverCache);
+
     // add function mapper for command context (eg currentUser(), currentUserGroups())
     expressionManager.addFunctionMapper(new CommandContextFunctionMapper());
     // add function mapper for date time (eg now(), dateTime())
@@ -2455,6 +2709,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         historyEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
       }
     }
+
+    if (isAsyncHistoryEnabled && !(historyEventHandler instanceof AsyncHistoryEventHandler)) {
+      File bufferDirectory = asyncHistoryBufferDirectory != null ? new File(asyncHistoryBufferDirectory) : null;
+      HistoryEventBuffer historyEventBuffer = new HistoryEventBuffer(asyncHistoryBufferCapacity, bufferDirectory, isAsyncHistoryBufferSyncEnabled);
+      historyEventHandler = new AsyncHistoryEventHandler(historyEventHandler, historyEventBuffer);
+    }
+  }
+
+  protected void initAsyncHistory() {
+    if (historyEventHandler instanceof AsyncHistoryEventHandler) {
+      AsyncHistoryEventHandler asyncHistoryEventHandler = (AsyncHistoryEventHandler) historyEventHandler;
+      asyncHistoryEventHandler.getHistoryEventWriter().setBatchSize(asyncHistoryBatchSize);
+      if (isMetricsEnabled) {
+        asyncHistoryEventHandler.setMetricsRegistry(metricsRegistry);
+      }
+
+      addSessionFactory(new HistoryEventBufferSessionFactory(asyncHistoryEventHandler));
+      asyncHistoryEventHandler.open(commandExecutorTxRequired);
+    }
   }
 
   // password digest //////////////////////////////////////////////////////////
@@ -2770,6 +3043,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isJobExecutorHandOverLocalJobs() {
+    return jobExecutorHandOverLocalJobs;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorHandOverLocalJobs(boolean jobExecutorHandOverLocalJobs) {
+    this.jobExecutorHandOverLocalJobs = jobExecutorHandOverLocalJobs;
+    return this;
+  }
+
+  public boolean isJobExecutorAcquireWithSkipLocked() {
+    return jobExecutorAcquireWithSkipLocked;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquireWithSkipLocked(boolean jobExecutorAcquireWithSkipLocked) {
+    this.jobExecutorAcquireWithSkipLocked = jobExecutorAcquireWithSkipLocked;
+    return this;
+  }
+
+  public boolean isJobExecutorAcquireByPartition() {
+    return jobExecutorAcquireByPartition;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquireByPartition(boolean jobExecutorAcquireByPartition) {
+    this.jobExecutorAcquireByPartition = jobExecutorAcquireByPartition;
+    return this;
+  }
+
+  public int getJobExecutorPartitionCount() {
+    return jobExecutorPartitionCount;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorPartitionCount(int jobExecutorPartitionCount) {
+    this.jobExecutorPartitionCount = jobExecutorPartitionCount;
+    return this;
+  }
+
+  public long getJobExecutorPartitionLeaseTimeInMillis() {
+    return jobExecutorPartitionLeaseTimeInMillis;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorPartitionLeaseTimeInMillis(long jobExecutorPartitionLeaseTimeInMillis) {
+    this.jobExecutorPartitionLeaseTimeInMillis = jobExecutorPartitionLeaseTimeInMillis;
+    return this;
+  }
+
   public PriorityProvider<JobDeclaration<?, ?>> getJobPriorityProvider() {
     return jobPriorityProvider;
   }
@@ -2786,6 +3104,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.externalTaskPriorityProvider = externalTaskPriorityProvider;
   }
 
+  public boolean isExternalTaskFetchAndLockInBatch() {
+    return externalTaskFetchAndLockInBatch;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskFetchAndLockInBatch(boolean externalTaskFetchAndLockInBatch) {
+    this.externalTaskFetchAndLockInBatch = externalTaskFetchAndLockInBatch;
+    return this;
+  }
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -2885,6 +3212,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
 
+  public int getDeploymentParseParallelism() {
+    return deploymentParseParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseParallelism(int deploymentParseParallelism) {
+    this.deploymentParseParallelism = deploymentParseParallelism;
+    return this;
+  }
+
+  public ForkJoinPool getDeploymentParsePool() {
+    return deploymentParsePool;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParsePool(ForkJoinPool deploymentParsePool) {
+    this.deploymentParsePool = deploymentParsePool;
+    return this;
+  }
+
   public List<Deployer> getCustomPreDeployers() {
     return customPreDeployers;
   }
@@ -2922,6 +3267,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this.enableFetchProcessDefinitionDescription;
   }
 
+  public boolean isEnableDeploymentCacheWarmUp() {
+    return enableDeploymentCacheWarmUp;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableDeploymentCacheWarmUp(boolean enableDeploymentCacheWarmUp) {
+    this.enableDeploymentCacheWarmUp = enableDeploymentCacheWarmUp;
+    return this;
+  }
+
+  public ExecutorService getDeploymentCacheWarmUpExecutor() {
+    return deploymentCacheWarmUpExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpExecutor(ExecutorService deploymentCacheWarmUpExecutor) {
+    this.deploymentCacheWarmUpExecutor = deploymentCacheWarmUpExecutor;
+    return this;
+  }
+
   public Permission getDefaultUserPermissionForTask() {
     return defaultUserPermissionForTask;
   }
@@ -3414,6 +3777,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSource = idGeneratorDataSource;
   }
 
+  public boolean isEnableIdGeneratorPrefetch() {
+    return enableIdGeneratorPrefetch;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableIdGeneratorPrefetch(boolean enableIdGeneratorPrefetch) {
+    this.enableIdGeneratorPrefetch = enableIdGeneratorPrefetch;
+    return this;
+  }
+
   public String getIdGeneratorDataSourceJndiName() {
     return idGeneratorDataSourceJndiName;
   }
@@ -3471,6 +3843,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableDefaultDbHistoryEventHandler = enableDefaultDbHistoryEventHandler;
   }
 
+  public boolean isAsyncHistoryEnabled() {
+    return isAsyncHistoryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryEnabled(boolean isAsyncHistoryEnabled) {
+    this.isAsyncHistoryEnabled = isAsyncHistoryEnabled;
+    return this;
+  }
+
+  public String getAsyncHistoryBufferDirectory() {
+    return asyncHistoryBufferDirectory;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryBufferDirectory(String asyncHistoryBufferDirectory) {
+    this.asyncHistoryBufferDirectory = asyncHistoryBufferDirectory;
+    return this;
+  }
+
+  public boolean isAsyncHistoryBufferSyncEnabled() {
+    return isAsyncHistoryBufferSyncEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryBufferSyncEnabled(boolean isAsyncHistoryBufferSyncEnabled) {
+    this.isAsyncHistoryBufferSyncEnabled = isAsyncHistoryBufferSyncEnabled;
+    return this;
+  }
+
+  public int getAsyncHistoryBufferCapacity() {
+    return asyncHistoryBufferCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryBufferCapacity(int asyncHistoryBufferCapacity) {
+    this.asyncHistoryBufferCapacity = asyncHistoryBufferCapacity;
+    return this;
+  }
+
+  public int getAsyncHistoryBatchSize() {
+    return asyncHistoryBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncHistoryBatchSize(int asyncHistoryBatchSize) {
+    this.asyncHistoryBatchSize = asyncHistoryBatchSize;
+    return this;
+  }
+
   public List<HistoryEventHandler> getCustomHistoryEventHandlers() {
     return customHistoryEventHandlers;
   }
@@ -3852,6 +4269,87 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isBulkInsertEnabled() {
+    return isBulkInsertEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBulkInsertEnabled(boolean isBulkInsertEnabled) {
+    this.isBulkInsertEnabled = isBulkInsertEnabled;
+    return this;
+  }
+
+  public int getBulkInsertMaxRows() {
+    return bulkInsertMaxRows;
+  }
+
+  public ProcessEngineConfigurationImpl setBulkInsertMaxRows(int bulkInsertMaxRows) {
+    this.bulkInsertMaxRows = bulkInsertMaxRows;
+    return this;
+  }
+
+  public Integer getBulkInsertMaxColumns() {
+    return bulkInsertMaxColumns;
+  }
+
+  public ProcessEngineConfigurationImpl setBulkInsertMaxColumns(Integer bulkInsertMaxColumns) {
+    this.bulkInsertMaxColumns = bulkInsertMaxColumns;
+    return this;
+  }
+
+  public boolean isDbSecondLevelCacheEnabled() {
+    return isDbSecondLevelCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheEnabled(boolean isDbSecondLevelCacheEnabled) {
+    this.isDbSecondLevelCacheEnabled = isDbSecondLevelCacheEnabled;
+    return this;
+  }
+
+  public int getDbSecondLevelCacheCapacity() {
+    return dbSecondLevelCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheCapacity(int dbSecondLevelCacheCapacity) {
+    this.dbSecondLevelCacheCapacity = dbSecondLevelCacheCapacity;
+    return this;
+  }
+
+  public long getDbSecondLevelCacheTimeToLive() {
+    return dbSecondLevelCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheTimeToLive(long dbSecondLevelCacheTimeToLive) {
+    this.dbSecondLevelCacheTimeToLive = dbSecondLevelCacheTimeToLive;
+    return this;
+  }
+
+  public List<Class<? extends DbEntity>> getDbSecondLevelCacheEntityTypes() {
+    return dbSecondLevelCacheEntityTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheEntityTypes(List<Class<? extends DbEntity>> dbSecondLevelCacheEntityTypes) {
+    this.dbSecondLevelCacheEntityTypes = dbSecondLevelCacheEntityTypes;
+    return this;
+  }
+
+  public Map<String, Class<? extends DbEntity>> getDbSecondLevelCacheStatements() {
+    return dbSecondLevelCacheStatements;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCacheStatements(Map<String, Class<? extends DbEntity>> dbSecondLevelCacheStatements) {
+    this.dbSecondLevelCacheStatements = dbSecondLevelCacheStatements;
+    return this;
+  }
+
+  public DbSecondLevelCache getDbSecondLevelCache() {
+    return dbSecondLevelCache;
+  }
+
+  public ProcessEngineConfigurationImpl setDbSecondLevelCache(DbSecondLevelCache dbSecondLevelCache) {
+    this.dbSecondLevelCache = dbSecondLevelCache;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -3890,6 +4388,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       // ACT-233: connection pool of Ibatis is not properely initialized if this is not called!
       ((PooledDataSource) dataSource).forceCloseAll();
     }
+
+    if (deploymentParsePool != null && deploymentParseParallelism > 1) {
+      deploymentParsePool.shutdown();
+    }
+
+    if (deploymentCacheWarmUpExecutor != null) {
+      deploymentCacheWarmUpExecutor.shutdownNow();
+    }
   }
 
   public MetricsRegistry getMetricsRegistry() {
@@ -3910,6 +4416,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return isMetricsEnabled;
   }
 
+  /**
+   * @return true if metrics and latency metrics are enabled
+   */
+  public boolean isLatencyMetricsEnabled() {
+    return isMetricsEnabled && isLatencyMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setLatencyMetricsEnabled(boolean isLatencyMetricsEnabled) {
+    this.isLatencyMetricsEnabled = isLatencyMetricsEnabled;
+    return this;
+  }
+
   public DbMetricsReporter getDbMetricsReporter() {
     return dbMetricsReporter;
   }
@@ -3972,6 +4490,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  public ProcessEngineConfigurationImpl setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+    return this;
+  }
+
+  public long getScriptEnginePoolMaxWait() {
+    return scriptEnginePoolMaxWait;
+  }
+
+  public ProcessEngineConfigurationImpl setScriptEnginePoolMaxWait(long scriptEnginePoolMaxWait) {
+    this.scriptEnginePoolMaxWait = scriptEnginePoolMaxWait;
+    return this;
+  }
+
   public boolean isEnableFetchScriptEngineFromProcessApplication() {
     return enableFetchScriptEngineFromProcessApplication;
   }
@@ -3997,6 +4533,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableExpressionsInStoredQueries = enableExpressionsInStoredQueries;
   }
 
+  public boolean isEnableBeanElResolverCache() {
+    return enableBeanElResolverCache;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableBeanElResolverCache(boolean enableBeanElResolverCache) {
+    this.enableBeanElResolverCache = enableBeanElResolverCache;
+    return this;
+  }
+
   public boolean isEnableXxeProcessing() {
     return enableXxeProcessing;
   }
@@ -4005,6 +4550,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableXxeProcessing = enableXxeProcessing;
   }
 
+  public boolean isEnableBpmnDiParsing() {
+    return enableBpmnDiParsing;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableBpmnDiParsing(boolean enableBpmnDiParsing) {
+    this.enableBpmnDiParsing = enableBpmnDiParsing;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setBpmnStacktraceVerbose(boolean isBpmnStacktraceVerbose) {
     this.isBpmnStacktraceVerbose = isBpmnStacktraceVerbose;
     return this;
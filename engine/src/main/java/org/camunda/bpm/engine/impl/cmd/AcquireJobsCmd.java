@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
@@ -26,6 +27,7 @@ import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobPartitionEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 import java.util.*;
@@ -55,9 +57,15 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
+    Set<Integer> partitions = leaseJobPartitions(commandContext);
+    if (partitions != null && partitions.isEmpty()) {
+      // the job executor holds no lease in this acquisition cycle
+      return acquiredJobs;
+    }
+
     List<AcquirableJobEntity> jobs = commandContext
       .getJobManager()
-      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+      .findNextJobsToExecute(new Page(0, numJobsToAcquire), partitions);
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
 
@@ -92,6 +100,38 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return acquiredJobs;
   }
 
+  /**
+   * @return the partitions leased by the job executor, which may be empty, or
+   * <code>null</code> if jobs are not acquired by partition
+   */
+  protected Set<Integer> leaseJobPartitions(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl engineConfiguration = commandContext.getProcessEngineConfiguration();
+    if (!engineConfiguration.isJobExecutorAcquireByPartition()) {
+      return null;
+    }
+
+    Set<Integer> partitions = commandContext
+      .getJobPartitionManager()
+      .leaseJobPartitions(jobExecutor.getLockOwner(),
+          engineConfiguration.getJobExecutorPartitionCount(),
+          engineConfiguration.getJobExecutorPartitionLeaseTimeInMillis());
+
+    // a lease which was changed concurrently is reconsidered in the next acquisition cycle
+    commandContext
+      .getDbEntityManager()
+      .registerOptimisticLockingListener(new OptimisticLockingListener() {
+        public Class<? extends DbEntity> getEntityType() {
+          return JobPartitionEntity.class;
+        }
+
+        public void failedOperation(DbOperation operation) {
+          // ignore
+        }
+      });
+
+    return partitions;
+  }
+
   protected void lockJob(AcquirableJobEntity job) {
     String lockOwner = jobExecutor.getLockOwner();
     job.setLockOwner(lockOwner);
@@ -0,0 +1,56 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobPartitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobPartitionManager;
+
+/**
+ * Creates the job partitions which do not exist yet. Fails with a constraint violation
+ * if another job executor creates a partition concurrently.
+ */
+public class CreateJobPartitionsCmd implements Command<Void> {
+
+  protected int partitionCount;
+
+  public CreateJobPartitionsCmd(int partitionCount) {
+    this.partitionCount = partitionCount;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    JobPartitionManager jobPartitionManager = commandContext.getJobPartitionManager();
+
+    Set<Integer> existingPartitions = new HashSet<Integer>();
+    for (JobPartitionEntity jobPartition : jobPartitionManager.findJobPartitions()) {
+      existingPartitions.add(jobPartition.getPartition());
+    }
+
+    for (int partition = 0; partition < partitionCount; partition++) {
+      if (!existingPartitions.contains(partition)) {
+        jobPartitionManager.insertJobPartition(new JobPartitionEntity(partition));
+      }
+    }
+
+    return null;
+  }
+
+}
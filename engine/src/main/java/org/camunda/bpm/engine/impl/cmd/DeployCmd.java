@@ -58,6 +58,7 @@ import org.camunda.bpm.engine.impl.repository.ProcessApplicationDeploymentBuilde
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.StringUtil;
 import org.camunda.bpm.engine.repository.CandidateDeployment;
+import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentHandler;
 import org.camunda.bpm.engine.repository.DeploymentWithDefinitions;
@@ -504,25 +505,104 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
     // and remove resources that are getting deployed, so that we don't do double checks
     candidateResources.keySet().removeAll(deploymentToRegister.getResources().keySet());
 
+    Set<String> definitionResourceNames = new HashSet<>();
     for (Resource resource : candidateResources.values()) {
-      if (isBpmnResource(resource)) {
+      if (isBpmnResource(resource) || isCmmnResource(resource)) {
+        definitionResourceNames.add(resource.getName());
+      }
+    }
 
-        ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
-        BpmnModelInstance model = Bpmn.readModelFromStream(byteStream);
-        for (Process process : model.getDefinitions().getChildElementsByType(Process.class)) {
-          processDefinitionKeys.add(process.getId());
+    if (!definitionResourceNames.isEmpty()) {
+      // the unchanged resources are already deployed, so their keys are read
+      // from the stored definitions instead of parsing the resources again
+      Map<String, ResourceEntity> deployedResources =
+          findDeployedResources(commandContext, definitionResourceNames);
+      processDefinitionKeys.addAll(getDefinitionKeysOfDeployedResources(commandContext, deployedResources));
+
+      // resources without a deployed counterpart are parsed as a fallback
+      for (String resourceName : definitionResourceNames) {
+        if (!deployedResources.containsKey(resourceName)) {
+          processDefinitionKeys.addAll(parseDefinitionKeys(candidateResources.get(resourceName)));
         }
-      } else if (isCmmnResource(resource)) {
+      }
+    }
+
+    return processDefinitionKeys.toArray(new String[processDefinitionKeys.size()]);
+  }
+
+  protected Map<String, ResourceEntity> findDeployedResources(CommandContext commandContext, Set<String> resourceNames) {
+    DeploymentEntity deployment = deploymentBuilder.getDeployment();
+
+    String source = deployment.getSource();
+    if (source == null || source.isEmpty()) {
+      source = ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE;
+    }
+
+    return commandContext
+        .getResourceManager()
+        .findLatestResourcesByDeploymentName(
+            deployment.getName(),
+            resourceNames,
+            source,
+            deployment.getTenantId());
+  }
+
+  protected Set<String> getDefinitionKeysOfDeployedResources(CommandContext commandContext,
+      Map<String, ResourceEntity> deployedResources) {
 
-        ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
-        CmmnModelInstance model = Cmmn.readModelFromStream(byteStream);
-        for (Case cmmnCase : model.getDefinitions().getCases()) {
-          processDefinitionKeys.add(cmmnCase.getId());
+    Map<String, Set<String>> resourceNamesByDeploymentId = new HashMap<>();
+    for (ResourceEntity resource : deployedResources.values()) {
+      Set<String> resourceNames = resourceNamesByDeploymentId.get(resource.getDeploymentId());
+      if (resourceNames == null) {
+        resourceNames = new HashSet<>();
+        resourceNamesByDeploymentId.put(resource.getDeploymentId(), resourceNames);
+      }
+      resourceNames.add(resource.getName());
+    }
+
+    Set<String> definitionKeys = new HashSet<>();
+    for (Map.Entry<String, Set<String>> entry : resourceNamesByDeploymentId.entrySet()) {
+      String deploymentId = entry.getKey();
+      Set<String> resourceNames = entry.getValue();
+
+      for (ProcessDefinition processDefinition : commandContext.getProcessDefinitionManager()
+          .findProcessDefinitionsByDeploymentId(deploymentId)) {
+        if (resourceNames.contains(processDefinition.getResourceName())) {
+          definitionKeys.add(processDefinition.getKey());
+        }
+      }
+
+      for (CaseDefinition caseDefinition : commandContext.getCaseDefinitionManager()
+          .findCaseDefinitionByDeploymentId(deploymentId)) {
+        if (resourceNames.contains(caseDefinition.getResourceName())) {
+          definitionKeys.add(caseDefinition.getKey());
         }
       }
     }
 
-    return processDefinitionKeys.toArray(new String[processDefinitionKeys.size()]);
+    return definitionKeys;
+  }
+
+  protected Set<String> parseDefinitionKeys(Resource resource) {
+    Set<String> definitionKeys = new HashSet<>();
+
+    if (isBpmnResource(resource)) {
+
+      ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
+      BpmnModelInstance model = Bpmn.readModelFromStream(byteStream);
+      for (Process process : model.getDefinitions().getChildElementsByType(Process.class)) {
+        definitionKeys.add(process.getId());
+      }
+    } else if (isCmmnResource(resource)) {
+
+      ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
+      CmmnModelInstance model = Cmmn.readModelFromStream(byteStream);
+      for (Case cmmnCase : model.getDefinitions().getCases()) {
+        definitionKeys.add(cmmnCase.getId());
+      }
+    }
+
+    return definitionKeys;
   }
 
   protected Set<String> getAllDeploymentIds(DeploymentBuilderImpl deploymentBuilder) {
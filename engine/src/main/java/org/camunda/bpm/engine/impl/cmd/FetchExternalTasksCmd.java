@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskManager;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
 /**
@@ -65,12 +66,27 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
       instruction.ensureVariablesInitialized();
     }
 
-    List<ExternalTaskEntity> externalTasks = commandContext
-      .getExternalTaskManager()
+    ExternalTaskManager externalTaskManager = commandContext.getExternalTaskManager();
+    List<ExternalTaskEntity> externalTasks = externalTaskManager
       .selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority);
 
     final List<LockedExternalTask> result = new ArrayList<LockedExternalTask>();
 
+    if (commandContext.getProcessEngineConfiguration().isExternalTaskFetchAndLockInBatch()) {
+      List<ExternalTaskEntity> lockedTasks = externalTaskManager.lockExternalTasks(externalTasks, workerId, fetchInstructions);
+      prefetchVariables(commandContext, lockedTasks);
+
+      for (ExternalTaskEntity entity : lockedTasks) {
+        TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
+        result.add(LockedExternalTaskImpl.fromEntity(entity,
+            fetchInstruction.getVariablesToFetch(), fetchInstruction.isLocalVariables(), fetchInstruction.isDeserializeVariables()));
+      }
+
+      return result;
+    }
+
+    prefetchVariables(commandContext, externalTasks);
+
     for (ExternalTaskEntity entity : externalTasks) {
 
       TopicFetchInstruction fetchInstruction = fetchInstructions.get(entity.getTopicName());
@@ -87,6 +103,29 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
     return result;
   }
 
+  protected void prefetchVariables(CommandContext commandContext, List<ExternalTaskEntity> externalTasks) {
+    Set<String> executionIds = new HashSet<String>();
+    Set<String> variableNames = new HashSet<String>();
+    boolean fetchAllVariables = false;
+
+    for (ExternalTaskEntity entity : externalTasks) {
+      executionIds.add(entity.getExecutionId());
+
+      List<String> variablesToFetch = fetchInstructions.get(entity.getTopicName()).getVariablesToFetch();
+      if (variablesToFetch == null) {
+        fetchAllVariables = true;
+      }
+      else {
+        variableNames.addAll(variablesToFetch);
+      }
+    }
+
+    if (!executionIds.isEmpty()) {
+      commandContext.getVariableInstanceManager()
+        .prefetchVariablesOfExecutions(executionIds, fetchAllVariables ? null : variableNames);
+    }
+  }
+
   protected void filterOnOptimisticLockingFailure(CommandContext commandContext, final List<LockedExternalTask> tasks) {
     commandContext.getDbEntityManager().registerOptimisticLockingListener(new OptimisticLockingListener() {
 
@@ -20,6 +20,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Collections;
 
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -60,6 +61,12 @@ public class GetTaskVariablesCmd implements Command<VariableMap>, Serializable {
 
     checkGetTaskVariables(task, commandContext);
 
+    if (!isLocal && task.getExecutionId() != null) {
+      // fetch the variables of the execution and its ancestors at once
+      commandContext.getVariableInstanceManager()
+        .prefetchVariablesOfExecutions(Collections.singleton(task.getExecutionId()), variableNames);
+    }
+
     VariableMapImpl variables = new VariableMapImpl();
 
     // collect variables from task
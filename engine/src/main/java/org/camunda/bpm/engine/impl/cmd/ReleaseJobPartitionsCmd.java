@@ -0,0 +1,59 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.JobPartitionEntity;
+
+/**
+ * Releases the job partitions leased by a job executor, so that other job executors
+ * can lease them without waiting for the leases to expire.
+ */
+public class ReleaseJobPartitionsCmd implements Command<Void> {
+
+  protected String lockOwner;
+
+  public ReleaseJobPartitionsCmd(String lockOwner) {
+    this.lockOwner = lockOwner;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    commandContext
+      .getJobPartitionManager()
+      .releaseJobPartitions(lockOwner);
+
+    // a partition which was taken over concurrently is not leased by the lock owner anymore
+    commandContext
+      .getDbEntityManager()
+      .registerOptimisticLockingListener(new OptimisticLockingListener() {
+        public Class<? extends DbEntity> getEntityType() {
+          return JobPartitionEntity.class;
+        }
+
+        public void failedOperation(DbOperation operation) {
+          // ignore
+        }
+      });
+
+    return null;
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * <p>Passes history events that were buffered by the
+ * {@link org.camunda.bpm.engine.impl.history.handler.AsyncHistoryEventHandler}
+ * to the handler that writes them to the database.</p>
+ *
+ * <p>Since the events are written after the command that produced them, the removal time
+ * of the historic root process instance is applied here: with the removal time strategy
+ * <code>start</code>, events without a removal time get the one of the root process
+ * instance, which is written before them. With the strategy <code>end</code>, the removal
+ * time of an ended root process instance is added to all history of that instance once its
+ * end event is written, since the events that precede it may not have been written when
+ * the instance ended.</p>
+ */
+public class WriteHistoryEventsCmd implements Command<Void> {
+
+  protected HistoryEventHandler historyEventHandler;
+  protected List<HistoryEvent> historyEvents;
+
+  public WriteHistoryEventsCmd(HistoryEventHandler historyEventHandler, List<HistoryEvent> historyEvents) {
+    this.historyEventHandler = historyEventHandler;
+    this.historyEvents = historyEvents;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    String removalTimeStrategy = commandContext.getProcessEngineConfiguration().getHistoryRemovalTimeStrategy();
+    Map<String, Date> rootRemovalTimes = new HashMap<String, Date>();
+
+    for (HistoryEvent historyEvent : historyEvents) {
+      if (HISTORY_REMOVAL_TIME_STRATEGY_START.equals(removalTimeStrategy)) {
+        provideRemovalTime(commandContext, historyEvent, rootRemovalTimes);
+      }
+      historyEventHandler.handleEvent(historyEvent);
+    }
+
+    if (HISTORY_REMOVAL_TIME_STRATEGY_END.equals(removalTimeStrategy)) {
+      for (HistoryEvent historyEvent : historyEvents) {
+        if (isRootProcessInstanceEnd(historyEvent) && historyEvent.getRemovalTime() != null) {
+          commandContext.getHistoricProcessInstanceManager()
+            .addRemovalTimeToProcessInstancesByRootProcessInstanceId(historyEvent.getRootProcessInstanceId(), historyEvent.getRemovalTime());
+        }
+      }
+    }
+
+    return null;
+  }
+
+  protected void provideRemovalTime(CommandContext commandContext, HistoryEvent historyEvent, Map<String, Date> rootRemovalTimes) {
+    String rootProcessInstanceId = historyEvent.getRootProcessInstanceId();
+    if (rootProcessInstanceId == null || historyEvent.getRemovalTime() != null) {
+      return;
+    }
+
+    if (!rootRemovalTimes.containsKey(rootProcessInstanceId)) {
+      // the root process instance may be part of this batch and is found in the entity cache then
+      HistoricProcessInstanceEventEntity historicRootProcessInstance = commandContext.getDbEntityManager()
+        .selectById(HistoricProcessInstanceEventEntity.class, rootProcessInstanceId);
+
+      if (historicRootProcessInstance == null) {
+        return;
+      }
+      rootRemovalTimes.put(rootProcessInstanceId, historicRootProcessInstance.getRemovalTime());
+    }
+
+    historyEvent.setRemovalTime(rootRemovalTimes.get(rootProcessInstanceId));
+  }
+
+  protected boolean isRootProcessInstanceEnd(HistoryEvent historyEvent) {
+    return historyEvent instanceof HistoricProcessInstanceEventEntity
+      && historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)
+      && historyEvent.getProcessInstanceId() != null
+      && historyEvent.getProcessInstanceId().equals(historyEvent.getRootProcessInstanceId());
+  }
+
+}
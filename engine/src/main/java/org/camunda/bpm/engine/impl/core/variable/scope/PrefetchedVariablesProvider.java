@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.core.variable.scope;
+
+import java.util.Collection;
+
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore.VariablesProvider;
+
+/**
+ * Provides variables that were fetched in advance for a set of variable names.
+ * Requests for other variables are delegated to the original provider, so that
+ * a variable store is never initialized with a subset of its variables.
+ */
+public class PrefetchedVariablesProvider<T extends CoreVariableInstance> implements VariablesProvider<T> {
+
+  protected VariablesProvider<T> delegate;
+  protected VariableCollectionProvider<T> prefetchedVariables;
+  protected Collection<String> prefetchedVariableNames;
+
+  /**
+   * @param prefetchedVariableNames the names of the prefetched variables or
+   * <code>null</code> if all variables were prefetched
+   */
+  public PrefetchedVariablesProvider(VariablesProvider<T> delegate, Collection<T> prefetchedVariables, Collection<String> prefetchedVariableNames) {
+    this.delegate = delegate;
+    this.prefetchedVariables = new VariableCollectionProvider<T>(prefetchedVariables);
+    this.prefetchedVariableNames = prefetchedVariableNames;
+  }
+
+  @Override
+  public Collection<T> provideVariables() {
+    if (prefetchedVariableNames == null) {
+      return prefetchedVariables.provideVariables();
+    }
+    else {
+      return delegate.provideVariables();
+    }
+  }
+
+  @Override
+  public Collection<T> provideVariables(Collection<String> variableNames) {
+    if (prefetchedVariableNames == null
+        || (variableNames != null && prefetchedVariableNames.containsAll(variableNames))) {
+      return prefetchedVariables.provideVariables(variableNames);
+    }
+    else {
+      return delegate.provideVariables(variableNames);
+    }
+  }
+
+}
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.executor.BatchExecutorException;
 import org.apache.ibatis.executor.BatchResult;
@@ -37,6 +38,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
@@ -752,4 +754,116 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
     ));
   }
 
+  public void recoveredHistoryEvents(int count, String journal) {
+    logInfo(
+        "091",
+        "Recovered {} history events that were not written to the database from journal '{}'",
+        count, journal);
+  }
+
+  public void skippedUnreadableHistoryEvent(long offset, String journal, Exception cause) {
+    logWarn(
+        "092",
+        "Skipped history event at offset {} of journal '{}' since it cannot be read: {}",
+        offset, journal, cause.getMessage());
+  }
+
+  public void historyEventNotJournaled(HistoryEvent historyEvent, Exception cause) {
+    logWarn(
+        "093",
+        "History event '{}' is buffered in memory only since it cannot be serialized: {}",
+        historyEvent, cause.getMessage());
+  }
+
+  public void retryingHistoryEventsIndividually(int count, Exception cause) {
+    logWarn(
+        "094",
+        "Exception while writing {} buffered history events, retrying them one by one. Cause: {}",
+        count, cause.getMessage());
+  }
+
+  public void deadLetteringHistoryEvent(HistoryEvent historyEvent, int attempts, Exception cause) {
+    logError(
+        "095",
+        "Moving history event '{}' to the dead letter store since it could not be written in {} attempts",
+        historyEvent, attempts, cause);
+  }
+
+  public ProcessEngineException historyEventJournalException(String journal, Exception cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "096",
+        "Exception while accessing history event journal '{}'",
+        journal), cause);
+  }
+
+  public void unableToWarmUpProcessDefinition(String processDefinitionId, Exception cause) {
+    logWarn(
+        "097",
+        "Could not load process definition '{}' into the deployment cache: {}",
+        processDefinitionId, cause.getMessage(), cause);
+  }
+
+  public void deploymentCacheWarmedUp(int processDefinitionCount, Set<String> deploymentIds) {
+    logDebug(
+        "098",
+        "Loaded {} process definitions of deployments {} into the deployment cache",
+        processDefinitionCount, deploymentIds);
+  }
+
+  public void exceptionWhileWritingHistoryEvents(Exception cause) {
+    logError(
+        "099",
+        "Exception while writing buffered history events, continuing with the next batch",
+        cause);
+  }
+
+  public void historyEventWriterTerminated() {
+    logError(
+        "100",
+        "History event writer terminated unexpectedly, buffered history events are not written anymore");
+  }
+
+  public ProcessEngineException historyEventWriterTerminatedException(int count) {
+    return new ProcessEngineException(exceptionMessage(
+        "101",
+        "Cannot buffer {} history events since the buffer is full and the history event writer is terminated",
+        count));
+  }
+
+  public void exceptionWhileDeadLetteringHistoryEvent(HistoryEvent historyEvent, Exception cause) {
+    logError(
+        "102",
+        "Exception while moving history event '{}' to the dead letter store",
+        historyEvent, cause);
+  }
+
+  public void retryingHistoryEventsAfterTransientFailure(int count, int attempt, Exception cause) {
+    logWarn(
+        "103",
+        "Transient exception while writing {} buffered history events in attempt {}, retrying them. Cause: {}",
+        count, attempt, cause.getMessage());
+  }
+
+  public void historyEventsNotWrittenOnStop(int count) {
+    logError(
+        "104",
+        "History event writer stopped before {} buffered history events could be written; "
+        + "they are recovered from the journal at the next start if a journal is configured",
+        count);
+  }
+
+  public void droppedDeadLetterHistoryEvent(HistoryEvent historyEvent, int capacity) {
+    logError(
+        "105",
+        "Dropped history event '{}' since the in-memory dead letter store already holds {} events",
+        historyEvent, capacity);
+  }
+
+  public void exceptionWhileWarmingUpDeploymentCache(Set<String> deploymentIds, Exception cause) {
+    logError(
+        "106",
+        "Exception while loading the process definitions of deployments {} into the deployment cache",
+        deploymentIds, cause);
+  }
+
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+/**
+ * <p>{@link IdGenerator} that hands out ids from blocks reserved in the database
+ * like the {@link DbIdGenerator}, but without synchronizing the calling threads.</p>
+ *
+ * <p>Each thread claims a small sub block of ids from the shared block with a single
+ * atomic operation and then generates ids from it without any coordination.
+ * Once half of the shared block has been handed out, the next block is fetched by a
+ * background thread, so that callers usually don't have to wait for
+ * {@link GetNextIdBlockCmd} when the shared block is exhausted.</p>
+ *
+ * <p>Ids are unique but, in contrast to the {@link DbIdGenerator}, they are not
+ * generated in ascending order across threads.</p>
+ */
+public class PrefetchingDbIdGenerator implements IdGenerator {
+
+  protected int idBlockSize;
+  protected int subBlockSize = 10;
+
+  protected CommandExecutor commandExecutor;
+  protected Executor prefetchExecutor;
+
+  /** incremented on reset to invalidate all blocks handed out so far */
+  protected final AtomicInteger generation = new AtomicInteger();
+  protected final AtomicReference<SharedBlock> currentBlock = new AtomicReference<SharedBlock>();
+
+  protected final ThreadLocal<SubBlock> threadSubBlock = new ThreadLocal<SubBlock>();
+
+  public PrefetchingDbIdGenerator() {
+    reset();
+  }
+
+  public String getNextId() {
+    SubBlock subBlock = threadSubBlock.get();
+
+    if (subBlock == null
+        || subBlock.nextId > subBlock.lastId
+        || subBlock.generation != generation.get()) {
+      subBlock = claimSubBlock();
+      threadSubBlock.set(subBlock);
+    }
+
+    long nextId = subBlock.nextId++;
+    return Long.toString(nextId);
+  }
+
+  protected SubBlock claimSubBlock() {
+    while (true) {
+      SharedBlock block = currentBlock.get();
+
+      long firstId = block.cursor.getAndAdd(subBlockSize);
+      if (firstId <= block.lastId) {
+        long lastId = Math.min(firstId + subBlockSize - 1, block.lastId);
+
+        if (lastId >= block.prefetchId) {
+          prefetchSuccessor(block);
+        }
+
+        return new SubBlock(firstId, lastId, block.generation);
+      }
+
+      // the shared block is exhausted; all threads competing here
+      // wait for the same successor, so only one of them replaces the block
+      IdBlock nextIdBlock = awaitSuccessor(block);
+      currentBlock.compareAndSet(block, new SharedBlock(nextIdBlock, block.generation));
+    }
+  }
+
+  protected void prefetchSuccessor(SharedBlock block) {
+    if (block.successor.get() == null) {
+      FutureTask<IdBlock> prefetch = createFetchTask();
+      if (block.successor.compareAndSet(null, prefetch)) {
+        getPrefetchExecutor().execute(prefetch);
+      }
+    }
+  }
+
+  protected IdBlock awaitSuccessor(SharedBlock block) {
+    boolean fetchedByCaller = false;
+
+    while (true) {
+      FutureTask<IdBlock> successor = block.successor.get();
+
+      if (successor == null) {
+        FutureTask<IdBlock> fetch = createFetchTask();
+        if (block.successor.compareAndSet(null, fetch)) {
+          fetch.run();
+          fetchedByCaller = true;
+        }
+        continue;
+      }
+
+      try {
+        return successor.get();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ProcessEngineException("Interrupted while waiting for the next block of ids", e);
+      }
+      catch (ExecutionException e) {
+        // allow the next attempt to fetch the block again
+        block.successor.compareAndSet(successor, null);
+
+        if (fetchedByCaller) {
+          Throwable cause = e.getCause();
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+          else {
+            throw new ProcessEngineException("Could not fetch the next block of ids", cause);
+          }
+        }
+      }
+    }
+  }
+
+  protected FutureTask<IdBlock> createFetchTask() {
+    final int blockSize = idBlockSize;
+    return new FutureTask<IdBlock>(new Callable<IdBlock>() {
+      public IdBlock call() throws Exception {
+        return commandExecutor.execute(new GetNextIdBlockCmd(blockSize));
+      }
+    });
+  }
+
+  protected Executor getPrefetchExecutor() {
+    if (prefetchExecutor == null) {
+      prefetchExecutor = createDefaultPrefetchExecutor();
+    }
+    return prefetchExecutor;
+  }
+
+  /**
+   * A single daemon thread that terminates when no block has been prefetched for a minute.
+   */
+  protected Executor createDefaultPrefetchExecutor() {
+    return new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "camunda-id-block-prefetch");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  public int getIdBlockSize() {
+    return idBlockSize;
+  }
+
+  public void setIdBlockSize(int idBlockSize) {
+    this.idBlockSize = idBlockSize;
+  }
+
+  public int getSubBlockSize() {
+    return subBlockSize;
+  }
+
+  public void setSubBlockSize(int subBlockSize) {
+    this.subBlockSize = subBlockSize;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public void setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public void setPrefetchExecutor(Executor prefetchExecutor) {
+    this.prefetchExecutor = prefetchExecutor;
+  }
+
+  /**
+   * Reset inner state so that the generator fetches a new block of IDs from the database
+   * when the next ID generation request is received. Blocks that are currently prefetched
+   * and sub blocks held by threads are discarded.
+   */
+  public void reset() {
+    int newGeneration = generation.incrementAndGet();
+    currentBlock.set(new SharedBlock(new IdBlock(0, -1), newGeneration));
+  }
+
+  /**
+   * A block of ids fetched from the database that is shared by all threads.
+   */
+  protected static class SharedBlock {
+
+    protected final AtomicLong cursor;
+    protected final long lastId;
+    protected final long prefetchId;
+    protected final int generation;
+
+    protected final AtomicReference<FutureTask<IdBlock>> successor = new AtomicReference<FutureTask<IdBlock>>();
+
+    public SharedBlock(IdBlock idBlock, int generation) {
+      this.cursor = new AtomicLong(idBlock.getNextId());
+      this.lastId = idBlock.getLastId();
+      this.prefetchId = idBlock.getNextId() + (idBlock.getLastId() - idBlock.getNextId()) / 2;
+      this.generation = generation;
+    }
+  }
+
+  /**
+   * A range of ids that is exclusively owned by a single thread.
+   */
+  protected static class SubBlock {
+
+    protected long nextId;
+    protected final long lastId;
+    protected final int generation;
+
+    public SubBlock(long nextId, long lastId, int generation) {
+      this.nextId = nextId;
+      this.lastId = lastId;
+      this.generation = generation;
+    }
+  }
+
+}
@@ -30,7 +30,9 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.camunda.bpm.engine.OptimisticLockingException;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -52,6 +54,8 @@ import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -65,6 +69,7 @@ import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbSecondLevelCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -73,11 +78,13 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.ResourceTypes;
 
 /**
@@ -98,6 +105,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected DbEntityCache dbEntityCache;
 
+  protected DbSecondLevelCache secondLevelCache;
+  /** cached entity types flushed by this session; they bypass the second level cache until the session is closed */
+  protected Set<Class<?>> flushedCachedEntityTypes = new HashSet<>();
+
   protected DbOperationManager dbOperationManager;
 
   protected PersistenceSession persistenceSession;
@@ -110,6 +121,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
       this.persistenceSession.addEntityLoadListener(this);
     }
     initializeEntityCache();
+    initializeSecondLevelCache();
     initializeOperationManager();
   }
 
@@ -143,6 +155,13 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   }
 
+  protected void initializeSecondLevelCache() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      secondLevelCache = processEngineConfiguration.getDbSecondLevelCache();
+    }
+  }
+
   // selects /////////////////////////////////////////////////
 
   public List selectList(String statement) {
@@ -178,7 +197,30 @@ public class DbEntityManager implements Session, EntityLoadListener {
     if(firstResult == -1 ||  maxResults==-1) {
       return Collections.EMPTY_LIST;
     }
+    if (secondLevelCache != null) {
+      Class<? extends DbEntity> entityType = secondLevelCache.getStatementEntityType(statement);
+      if (entityType != null && !flushedCachedEntityTypes.contains(entityType)) {
+        return selectListUsingSecondLevelCache(statement, parameter, entityType);
+      }
+    }
+    List loadedObjects = persistenceSession.selectList(statement, parameter);
+    return filterLoadedObjects(loadedObjects);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List selectListUsingSecondLevelCache(String statement, Object parameter, Class<? extends DbEntity> entityType) {
+    List cachedObjects = secondLevelCache.getList(statement, parameter);
+    if (cachedObjects != null) {
+      for (Object cachedObject : cachedObjects) {
+        onEntityLoaded((DbEntity) cachedObject);
+      }
+      return filterLoadedObjects(cachedObjects);
+    }
+
+    long version = secondLevelCache.getVersion(entityType);
     List loadedObjects = persistenceSession.selectList(statement, parameter);
+    secondLevelCache.putList(statement, parameter, loadedObjects, version);
+
     return filterLoadedObjects(loadedObjects);
   }
 
@@ -207,6 +249,12 @@ public class DbEntityManager implements Session, EntityLoadListener {
       return persistentObject;
     }
 
+    if (secondLevelCache != null
+        && secondLevelCache.isCached(entityClass)
+        && !flushedCachedEntityTypes.contains(entityClass)) {
+      return selectByIdUsingSecondLevelCache(entityClass, id);
+    }
+
     persistentObject = persistenceSession.selectById(entityClass, id);
 
     if (persistentObject==null) {
@@ -216,6 +264,22 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return persistentObject;
   }
 
+  protected <T extends DbEntity> T selectByIdUsingSecondLevelCache(Class<T> entityClass, String id) {
+    T cachedObject = secondLevelCache.get(entityClass, id);
+    if (cachedObject != null) {
+      onEntityLoaded(cachedObject);
+      return cachedObject;
+    }
+
+    long version = secondLevelCache.getVersion(entityClass);
+    T persistentObject = persistenceSession.selectById(entityClass, id);
+    if (persistentObject != null) {
+      secondLevelCache.put(entityClass, persistentObject, version);
+    }
+
+    return persistentObject;
+  }
+
   public <T extends DbEntity> T getCachedEntity(Class<T> type, String id) {
     return dbEntityCache.get(type, id);
   }
@@ -286,12 +350,19 @@ public class DbEntityManager implements Session, EntityLoadListener {
   }
 
   public void flush() {
+    long startTime = System.nanoTime();
 
     // flush the entity cache which inserts operations to the db operation manager
     flushEntityCache();
 
     // flush the db operation manager
     flushDbOperationManager();
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isLatencyMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry()
+        .recordLatency(Metrics.FLUSH_LATENCY, System.nanoTime() - startTime);
+    }
   }
 
   public void setIgnoreForeignKeysForNextFlush(boolean ignoreForeignKeysForNextFlush) {
@@ -308,6 +379,8 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
     LOG.databaseFlushSummary(operationsToFlush);
 
+    invalidateSecondLevelCache(operationsToFlush);
+
     // If we want to delete all table data as bulk operation, on tables which have self references,
     // We need to turn the foreign key check off on MySQL and MariaDB.
     // On other databases we have to do nothing, the mapped statement will be empty.
@@ -371,6 +444,37 @@ public class DbEntityManager implements Session, EntityLoadListener {
   }
 
 
+  /**
+   * Invalidates the cached entries of the flushed entity types before the changes become
+   * visible to other transactions and once more after the transaction is completed, so
+   * that entities selected by concurrent transactions in between are not cached either.
+   */
+  protected void invalidateSecondLevelCache(List<DbOperation> operations) {
+    if (secondLevelCache == null) {
+      return;
+    }
+
+    boolean isFirstFlushOfCachedEntityType = flushedCachedEntityTypes.isEmpty();
+
+    for (DbOperation operation : operations) {
+      flushedCachedEntityTypes.addAll(secondLevelCache.invalidate(operation.getEntityType()));
+    }
+
+    if (isFirstFlushOfCachedEntityType && !flushedCachedEntityTypes.isEmpty()) {
+      TransactionListener invalidateFlushedEntityTypes = new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          for (Class<?> entityType : flushedCachedEntityTypes) {
+            secondLevelCache.invalidate(entityType);
+          }
+        }
+      };
+
+      CommandContext commandContext = Context.getCommandContext();
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, invalidateFlushedEntityTypes);
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.ROLLED_BACK, invalidateFlushedEntityTypes);
+    }
+  }
+
   public void flushEntity(DbEntity entity) {
     CachedDbEntity cachedEntity = dbEntityCache.getCachedEntity(entity);
     if (cachedEntity != null) {
@@ -0,0 +1,33 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+
+/**
+ * Entities which can be cached by the {@link DbSecondLevelCache}. The cache hands
+ * out copies, so that modifications made by one command are not visible to others.
+ */
+public interface CopyableDbEntity extends DbEntity {
+
+  /**
+   * @return a new instance of the same type with the persistent state of this entity;
+   * it must not share mutable objects with this entity
+   */
+  CopyableDbEntity copy();
+
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Process engine wide cache for entities which rarely change, like job definitions
+ * or deployments. In contrast to the {@link DbEntityCache}, which lives as long as a
+ * command, it is shared by all commands and consulted by the {@link DbEntityManager}
+ * before an entity or a registered list statement is selected from the database.</p>
+ *
+ * <p>Each command receives its own copy of a cached entity, so that modifications
+ * are not visible to other commands. Whenever entities of a cached type are flushed,
+ * all cached entries of this type are invalidated, once before the operations are
+ * executed and once more after the transaction is completed. Entries older than the
+ * time to live are discarded to pick up changes made by other cluster nodes.</p>
+ *
+ * <p>Only entity types which implement {@link CopyableDbEntity} are cached, since
+ * each of them knows which of its fields form its persistent state and have to be
+ * copied. Other configured types and statements are ignored.</p>
+ */
+public class DbSecondLevelCache {
+
+  protected Set<Class<? extends DbEntity>> entityTypes;
+  protected Map<String, Class<? extends DbEntity>> statementEntityTypes;
+  protected long timeToLive;
+
+  protected Cache<Object, CacheEntry> entries;
+
+  /** incremented whenever entities of a type are changed to invalidate all its entries */
+  protected Map<Class<?>, AtomicLong> entityTypeVersions = new ConcurrentHashMap<Class<?>, AtomicLong>();
+
+  /**
+   * @param entityTypes the entity types which are cached when selected by id
+   * @param statementEntityTypes the list statements whose results are cached mapped to the entity type they select
+   * @param capacity the maximum number of cached entities and lists
+   * @param timeToLive the time in milliseconds after which an entry is not used anymore
+   */
+  public DbSecondLevelCache(Collection<Class<? extends DbEntity>> entityTypes, Map<String, Class<? extends DbEntity>> statementEntityTypes,
+      int capacity, long timeToLive) {
+
+    this.entityTypes = new HashSet<Class<? extends DbEntity>>();
+    for (Class<? extends DbEntity> entityType : entityTypes) {
+      if (isCopyable(entityType)) {
+        this.entityTypes.add(entityType);
+      }
+    }
+
+    this.statementEntityTypes = new HashMap<String, Class<? extends DbEntity>>();
+    for (Map.Entry<String, Class<? extends DbEntity>> statementEntityType : statementEntityTypes.entrySet()) {
+      if (isCopyable(statementEntityType.getValue())) {
+        this.statementEntityTypes.put(statementEntityType.getKey(), statementEntityType.getValue());
+        this.entityTypes.add(statementEntityType.getValue());
+      }
+    }
+
+    this.timeToLive = timeToLive;
+    this.entries = new ConcurrentLruCache<Object, CacheEntry>(capacity);
+
+    for (Class<? extends DbEntity> entityType : this.entityTypes) {
+      entityTypeVersions.put(entityType, new AtomicLong());
+    }
+  }
+
+  public boolean isCached(Class<?> entityType) {
+    return entityTypeVersions.containsKey(entityType);
+  }
+
+  /**
+   * @return the entity type selected by the statement if the statement results are cached, null otherwise
+   */
+  public Class<? extends DbEntity> getStatementEntityType(String statement) {
+    return statementEntityTypes.get(statement);
+  }
+
+  /**
+   * @return the current version of the entity type which has to be obtained
+   * before the entities are selected and passed when they are put into the cache
+   */
+  public long getVersion(Class<?> entityType) {
+    return entityTypeVersions.get(entityType).get();
+  }
+
+  /**
+   * Invalidates the entries of all cached types which are affected by a change of the given type.
+   *
+   * @return the affected cached entity types
+   */
+  public List<Class<?>> invalidate(Class<?> changedEntityType) {
+    List<Class<?>> affectedEntityTypes = new ArrayList<Class<?>>();
+
+    for (Map.Entry<Class<?>, AtomicLong> entityTypeVersion : entityTypeVersions.entrySet()) {
+      Class<?> entityType = entityTypeVersion.getKey();
+
+      if (entityType.isAssignableFrom(changedEntityType) || changedEntityType.isAssignableFrom(entityType)) {
+        entityTypeVersion.getValue().incrementAndGet();
+        affectedEntityTypes.add(entityType);
+      }
+    }
+
+    return affectedEntityTypes;
+  }
+
+  public void clear() {
+    for (AtomicLong version : entityTypeVersions.values()) {
+      version.incrementAndGet();
+    }
+    entries.clear();
+  }
+
+  // entities by id ///////////////////////////////////////
+
+  /**
+   * @return a copy of the cached entity or null if it is not cached
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends DbEntity> T get(Class<T> entityType, String id) {
+    CacheEntry entry = getValidEntry(new EntityKey(entityType, id), entityType);
+    if (entry != null) {
+      return (T) ((CopyableDbEntity) entry.value).copy();
+    }
+    else {
+      return null;
+    }
+  }
+
+  public void put(Class<?> entityType, DbEntity entity, long version) {
+    if (entity.getClass() != entityType) {
+      // polymorphic entities are not cached
+      return;
+    }
+
+    EntityKey key = new EntityKey(entityType, entity.getId());
+
+    CacheEntry existingEntry = getValidEntry(key, entityType);
+    if (existingEntry != null && getRevision((DbEntity) existingEntry.value) > getRevision(entity)) {
+      return;
+    }
+
+    entries.put(key, new CacheEntry(((CopyableDbEntity) entity).copy(), version));
+  }
+
+  // lists ////////////////////////////////////////////////
+
+  /**
+   * @return copies of the cached entities selected by the statement or null if they are not cached
+   */
+  public List<DbEntity> getList(String statement, Object parameter) {
+    ListKey key = createListKey(statement, parameter);
+    if (key == null) {
+      return null;
+    }
+
+    CacheEntry entry = getValidEntry(key, statementEntityTypes.get(statement));
+    if (entry == null) {
+      return null;
+    }
+
+    List<?> cachedEntities = (List<?>) entry.value;
+    List<DbEntity> copies = new ArrayList<DbEntity>(cachedEntities.size());
+    for (Object cachedEntity : cachedEntities) {
+      copies.add(((CopyableDbEntity) cachedEntity).copy());
+    }
+    return copies;
+  }
+
+  public void putList(String statement, Object parameter, List<?> entities, long version) {
+    ListKey key = createListKey(statement, parameter);
+    if (key == null) {
+      return;
+    }
+
+    Class<? extends DbEntity> entityType = statementEntityTypes.get(statement);
+
+    List<DbEntity> copies = new ArrayList<DbEntity>(entities.size());
+    for (Object entity : entities) {
+      if (entity == null || entity.getClass() != entityType) {
+        return;
+      }
+      copies.add(((CopyableDbEntity) entity).copy());
+    }
+
+    entries.put(key, new CacheEntry(copies, version));
+  }
+
+  /**
+   * Only statements with a simple parameter can be cached since the parameter is part of the key.
+   */
+  protected ListKey createListKey(String statement, Object parameter) {
+    if (parameter instanceof ListQueryParameterObject) {
+      ListQueryParameterObject listParameter = (ListQueryParameterObject) parameter;
+      Object innerParameter = listParameter.getParameter();
+
+      if (innerParameter == null || innerParameter instanceof String) {
+        return new ListKey(statement, (String) innerParameter, listParameter.getFirstResult(), listParameter.getMaxResults());
+      }
+    }
+    return null;
+  }
+
+  // helpers //////////////////////////////////////////////
+
+  protected CacheEntry getValidEntry(Object key, Class<?> entityType) {
+    CacheEntry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+
+    if (entry.version != getVersion(entityType)
+        || System.currentTimeMillis() - entry.creationTime > timeToLive) {
+      entries.remove(key);
+      return null;
+    }
+
+    return entry;
+  }
+
+  protected int getRevision(DbEntity entity) {
+    if (entity instanceof HasDbRevision) {
+      return ((HasDbRevision) entity).getRevision();
+    }
+    else {
+      return 0;
+    }
+  }
+
+  protected boolean isCopyable(Class<? extends DbEntity> entityType) {
+    return CopyableDbEntity.class.isAssignableFrom(entityType);
+  }
+
+  protected static class CacheEntry {
+
+    protected final Object value;
+    protected final long version;
+    protected final long creationTime = System.currentTimeMillis();
+
+    public CacheEntry(Object value, long version) {
+      this.value = value;
+      this.version = version;
+    }
+  }
+
+  protected static class EntityKey {
+
+    protected final Class<?> entityType;
+    protected final String id;
+
+    public EntityKey(Class<?> entityType, String id) {
+      this.entityType = entityType;
+      this.id = id;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * entityType.hashCode() + id.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof EntityKey)) {
+        return false;
+      }
+      EntityKey other = (EntityKey) obj;
+      return entityType == other.entityType && id.equals(other.id);
+    }
+  }
+
+  protected static class ListKey {
+
+    protected final String statement;
+    protected final String parameter;
+    protected final int firstResult;
+    protected final int maxResults;
+
+    public ListKey(String statement, String parameter, int firstResult, int maxResults) {
+      this.statement = statement;
+      this.parameter = parameter;
+      this.firstResult = firstResult;
+      this.maxResults = maxResults;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = statement.hashCode();
+      result = 31 * result + (parameter == null ? 0 : parameter.hashCode());
+      result = 31 * result + firstResult;
+      result = 31 * result + maxResults;
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ListKey)) {
+        return false;
+      }
+      ListKey other = (ListKey) obj;
+      return statement.equals(other.statement)
+          && (parameter == null ? other.parameter == null : parameter.equals(other.parameter))
+          && firstResult == other.firstResult
+          && maxResults == other.maxResults;
+    }
+  }
+
+}
@@ -34,7 +34,6 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
-import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
 
@@ -54,12 +53,23 @@ public class BatchDbSqlSession extends DbSqlSession {
 
   @Override
   public FlushResult executeDbOperations(List<DbOperation> operations) {
+    // the operations of each staged statement; a multi-row insert covers several operations
+    List<List<DbOperation>> statements = new ArrayList<>();
+
     for (int i = 0; i < operations.size(); i++) {
 
-      DbOperation operation = operations.get(i);
+      int bulkInsertSize = getBulkInsertSize(operations, i);
+      List<DbOperation> statementOperations = operations.subList(i, i + bulkInsertSize);
 
       // stages all operations
-      executeDbOperation(operation);
+      if (bulkInsertSize > 1) {
+        insertEntities(statementOperations);
+        i += bulkInsertSize - 1;
+      } else {
+        executeDbOperation(operations.get(i));
+      }
+
+      statements.add(statementOperations);
     }
 
     List<BatchResult> batchResults;
@@ -67,30 +77,30 @@ public class BatchDbSqlSession extends DbSqlSession {
       // applies all operations
       batchResults = flushBatchOperations();
     } catch (RuntimeException e) {
-      return postProcessBatchFailure(operations, e);
+      return postProcessBatchFailure(operations, statements, e);
     }
 
-    return postProcessBatchSuccess(operations, batchResults);
+    return postProcessBatchSuccess(operations, statements, batchResults);
   }
 
-  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, List<BatchResult> batchResults) {
-    Iterator<DbOperation> operationsIt = operations.iterator();
+  protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, List<List<DbOperation>> statements, List<BatchResult> batchResults) {
+    Iterator<List<DbOperation>> statementsIt = statements.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
     for (BatchResult successfulBatch : batchResults) {
       // even if all batches are successful, there can be concurrent modification failures
       // (e.g. 0 rows updated)
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      postProcessJdbcBatchResult(statementsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
     }
 
     // there should be no more operations remaining
-    if (operationsIt.hasNext()) {
+    if (statementsIt.hasNext()) {
       throw LOG.wrongBatchResultsSizeException(operations);
     }
 
     return FlushResult.withFailures(failedOperations);
   }
 
-  protected FlushResult postProcessBatchFailure(List<DbOperation> operations, RuntimeException e) {
+  protected FlushResult postProcessBatchFailure(List<DbOperation> operations, List<List<DbOperation>> statements, RuntimeException e) {
     BatchExecutorException batchExecutorException = ExceptionUtil.findBatchExecutorException(e);
 
     if (batchExecutorException == null) {
@@ -101,17 +111,20 @@ public class BatchDbSqlSession extends DbSqlSession {
     List<BatchResult> successfulBatches = batchExecutorException.getSuccessfulBatchResults();
     BatchUpdateException cause = batchExecutorException.getBatchUpdateException();
 
-    Iterator<DbOperation> operationsIt = operations.iterator();
+    Iterator<List<DbOperation>> statementsIt = statements.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
 
     for (BatchResult successfulBatch : successfulBatches) {
-      postProcessJdbcBatchResult(operationsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
+      postProcessJdbcBatchResult(statementsIt, successfulBatch.getUpdateCounts(), null, failedOperations);
     }
 
     int[] failedBatchUpdateCounts = cause.getUpdateCounts();
-    postProcessJdbcBatchResult(operationsIt, failedBatchUpdateCounts, e, failedOperations);
+    postProcessJdbcBatchResult(statementsIt, failedBatchUpdateCounts, e, failedOperations);
 
-    List<DbOperation> remainingOperations = CollectionUtil.collectInList(operationsIt);
+    List<DbOperation> remainingOperations = new ArrayList<>();
+    while (statementsIt.hasNext()) {
+      remainingOperations.addAll(statementsIt.next());
+    }
     return FlushResult.withFailuresAndRemaining(failedOperations, remainingOperations);
   }
 
@@ -132,10 +145,13 @@ public class BatchDbSqlSession extends DbSqlSession {
    * <p>See {@link BatchUpdateException#getUpdateCounts()} for the specification
    * of cases 2 and 3.
    *
+   * <p>Each statement result belongs to the operations of one statement. All operations
+   * of a multi-row insert statement share its result.
+   *
    * @return all failed operations
    */
   protected void postProcessJdbcBatchResult(
-      Iterator<DbOperation> operationsIt,
+      Iterator<List<DbOperation>> statementsIt,
       int[] statementResults,
       Exception failure,
       List<DbOperation> failedOperations) {
@@ -145,40 +161,16 @@ public class BatchDbSqlSession extends DbSqlSession {
       int statementResult = statementResults[i];
 
       EnsureUtil.ensureTrue("More batch results than scheduled operations detected. This indicates a bug",
-          operationsIt.hasNext());
+          statementsIt.hasNext());
 
-      DbOperation operation = operationsIt.next();
+      List<DbOperation> statementOperations = statementsIt.next();
 
-      if (statementResult == Statement.SUCCESS_NO_INFO) {
+      for (DbOperation operation : statementOperations) {
+        failureHandled |= postProcessStatementResult(operation, statementOperations.size(), statementResult, failure);
 
-        if (requiresAffectedRows(operation.getOperationType())) {
-          throw LOG.batchingNotSupported(operation);
-        } else {
-          postProcessOperationPerformed(operation, 1, null);
+        if (operation.isFailed()) {
+          failedOperations.add(operation);
         }
-
-      } else if (statementResult == Statement.EXECUTE_FAILED) {
-
-        /*
-         * All operations are marked with the root failure exception; this is not quite
-         * correct and leads to the situation that we treat all failed operations in the
-         * same way, whereas they might fail for different reasons.
-         *
-         * More precise would be to use BatchUpdateException#getNextException.
-         * E.g. if we have three failed statements in a batch, #getNextException can be used to
-         * access each operation's individual failure. However, this behavior is not
-         * guaranteed by the java.sql javadocs (it doesn't specify that the number
-         * and order of next exceptions matches the number of failures, unlike for row counts),
-         * so we decided to not rely on it.
-         */
-        postProcessOperationPerformed(operation, 0, failure);
-        failureHandled = true;
-      } else { // it is the number of affected rows
-        postProcessOperationPerformed(operation, statementResult, null);
-      }
-
-      if (operation.isFailed()) {
-        failedOperations.add(operation);
       }
     }
 
@@ -187,12 +179,51 @@ public class BatchDbSqlSession extends DbSqlSession {
      */
     if (failure != null && !failureHandled) {
       EnsureUtil.ensureTrue("More batch results than scheduled operations detected. This indicates a bug",
-          operationsIt.hasNext());
+          statementsIt.hasNext());
+
+      for (DbOperation failedOperation : statementsIt.next()) {
+        postProcessOperationPerformed(failedOperation, 0, failure);
+        failedOperations.add(failedOperation);
+      }
+    }
+  }
 
-      DbOperation failedOperation = operationsIt.next();
-      postProcessOperationPerformed(failedOperation, 0, failure);
-      failedOperations.add(failedOperation);
+  /**
+   * @return true if the operation is marked as failed with the given failure
+   */
+  protected boolean postProcessStatementResult(DbOperation operation, int statementSize, int statementResult, Exception failure) {
+    if (statementResult == Statement.SUCCESS_NO_INFO) {
+
+      if (requiresAffectedRows(operation.getOperationType())) {
+        throw LOG.batchingNotSupported(operation);
+      } else {
+        postProcessOperationPerformed(operation, 1, null);
+      }
+
+    } else if (statementResult == Statement.EXECUTE_FAILED) {
+
+      /*
+       * All operations are marked with the root failure exception; this is not quite
+       * correct and leads to the situation that we treat all failed operations in the
+       * same way, whereas they might fail for different reasons.
+       *
+       * More precise would be to use BatchUpdateException#getNextException.
+       * E.g. if we have three failed statements in a batch, #getNextException can be used to
+       * access each operation's individual failure. However, this behavior is not
+       * guaranteed by the java.sql javadocs (it doesn't specify that the number
+       * and order of next exceptions matches the number of failures, unlike for row counts),
+       * so we decided to not rely on it.
+       */
+      postProcessOperationPerformed(operation, 0, failure);
+      return true;
+    } else if (statementSize > 1) {
+      // a multi-row insert; the affected rows are not required for inserts
+      postProcessOperationPerformed(operation, 1, null);
+    } else { // it is the number of affected rows
+      postProcessOperationPerformed(operation, statementResult, null);
     }
+
+    return false;
   }
 
   protected boolean requiresAffectedRows(DbOperationType operationType) {
@@ -37,6 +37,7 @@ import java.util.Map;
 
 import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.session.SqlSession;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -46,6 +47,7 @@ import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -94,7 +96,15 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
 
   public List<?> selectList(String statement, Object parameter){
     statement = dbSqlSessionFactory.mapStatement(statement);
-    List<Object> resultList = sqlSession.selectList(statement, parameter);
+    List<Object> resultList;
+    if (parameter instanceof ListQueryParameterObject && dbSqlSessionFactory.isStatementLimitedByRowBounds(statement)) {
+      // the statement is not paged in SQL: stop reading the cursor after the first page
+      int maxResults = ((ListQueryParameterObject) parameter).getMaxResults();
+      resultList = sqlSession.selectList(statement, parameter, new RowBounds(RowBounds.NO_ROW_OFFSET, maxResults));
+    }
+    else {
+      resultList = sqlSession.selectList(statement, parameter);
+    }
     for (Object object : resultList) {
       fireEntityLoaded(object);
     }
@@ -257,6 +267,48 @@ public abstract class DbSqlSession extends AbstractPersistenceSession {
     sqlSession.insert(insertStatement, parameter);
   }
 
+  /**
+   * Inserts the entities of the given operations with a single multi-row insert statement.
+   * The operations must insert entities of the same type, see {@link #getBulkInsertSize(List, int)}.
+   */
+  protected void insertEntities(List<DbOperation> operations) {
+    List<DbEntity> entities = new ArrayList<>();
+    for (DbOperation operation : operations) {
+      entities.add(((DbEntityOperation) operation).getEntity());
+    }
+
+    String bulkInsertStatement = dbSqlSessionFactory.getBulkInsertStatement(operations.get(0).getEntityType());
+    LOG.executeDatabaseBulkOperation("INSERT", bulkInsertStatement, entities);
+    sqlSession.insert(bulkInsertStatement, entities);
+  }
+
+  /**
+   * @return the number of consecutive operations, beginning with the operation at the given index,
+   * which can be flushed with a single multi-row insert statement; 1 if the operation must be
+   * flushed on its own
+   */
+  protected int getBulkInsertSize(List<DbOperation> operations, int index) {
+    DbOperation operation = operations.get(index);
+
+    if (!dbSqlSessionFactory.isBulkInsertEnabled()
+        || operation.getOperationType() != DbOperationType.INSERT
+        || dbSqlSessionFactory.getBulkInsertStatement(operation.getEntityType()) == null) {
+      return 1;
+    }
+
+    int maxRows = dbSqlSessionFactory.getBulkInsertMaxRows(((DbEntityOperation) operation).getEntity());
+    int size = 1;
+    while (size < maxRows && index + size < operations.size()) {
+      DbOperation nextOperation = operations.get(index + size);
+      if (nextOperation.getOperationType() != DbOperationType.INSERT
+          || nextOperation.getEntityType() != operation.getEntityType()) {
+        break;
+      }
+      size++;
+    }
+    return size;
+  }
+
   protected void entityInsertPerformed(DbEntityOperation operation, int rowsAffected, Exception failure) {
     DbEntity entity = operation.getEntity();
 
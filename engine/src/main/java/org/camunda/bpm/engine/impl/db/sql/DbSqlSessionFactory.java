@@ -19,7 +19,9 @@ package org.camunda.bpm.engine.impl.db.sql;
 import java.sql.Connection;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -45,6 +47,12 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final String[] SUPPORTED_DATABASES = {MSSQL, DB2, ORACLE, H2, MYSQL, POSTGRES, MARIADB};
 
   protected static final Map<String, Map<String, String>> databaseSpecificStatements = new HashMap<>();
+  // statements which are not paged in SQL; only their first page is fetched, see DbSqlSession#selectList
+  protected static final Set<String> statementsLimitedByRowBounds = new HashSet<>();
+  // maximum number of columns a single multi-row insert statement may set on databases which limit it
+  protected static final Map<String, Integer> databaseSpecificBulkInsertMaxColumns = new HashMap<>();
+  // number of columns set per row by the multi-row insert statements; a statement is only used if it is declared here
+  protected static final Map<String, Integer> bulkInsertColumnCounts = new HashMap<>();
 
   public static final Map<String, String> databaseSpecificLimitBeforeStatements = new HashMap<>();
   public static final Map<String, String> databaseSpecificLimitAfterStatements = new HashMap<>();
@@ -108,6 +116,11 @@ public class DbSqlSessionFactory implements SessionFactory {
     String defaultDistinctCountBeforeEnd = ")";
     String defaultDistinctCountAfterEnd = "";
 
+    // must match the column lists of the bulkInsert*Columns fragments in the mappings
+    bulkInsertColumnCounts.put("bulkInsertHistoricActivityInstanceEvent", 21);
+    bulkInsertColumnCounts.put("bulkInsertHistoricVariableInstance", 24);
+    bulkInsertColumnCounts.put("bulkInsertHistoricVariableUpdateEvent", 27);
+
     // h2
     databaseSpecificLimitBeforeStatements.put(H2, "");
     optimizeDatabaseSpecificLimitBeforeWithoutOffsetStatements.put(H2, "");
@@ -149,6 +162,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
     constants.put("constant_for_update", "for update");
+    constants.put("constant_for_update_skip_locked", "");
     constants.put("constant.datepart.quarter", "QUARTER");
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.datepart.minute", "MINUTE");
@@ -241,6 +255,8 @@ public class DbSqlSessionFactory implements SessionFactory {
       constants.put("constant.event", "'event'");
       constants.put("constant.op_message", "CONCAT(NEW_VALUE_, '_|_', PROPERTY_)");
       constants.put("constant_for_update", "for update");
+      // skip locked is supported as of MySQL 8.0 but not by the supported MariaDB versions
+      constants.put("constant_for_update_skip_locked", MYSQL.equals(mysqlLikeDatabase) ? "for update of RES skip locked" : "");
       constants.put("constant.datepart.quarter", "QUARTER");
       constants.put("constant.datepart.month", "MONTH");
       constants.put("constant.datepart.minute", "MINUTE");
@@ -335,6 +351,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
     constants.put("constant_for_update", "for update");
+    constants.put("constant_for_update_skip_locked", "for update of RES skip locked");
     constants.put("constant.datepart.quarter", "QUARTER");
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.datepart.minute", "MINUTE");
@@ -364,6 +381,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificCountDistinctAfterEnd.put(ORACLE, defaultDistinctCountAfterEnd);
 
     databaseSpecificEscapeChar.put(ORACLE, defaultEscapeChar);
+    // "insert all" fails with ORA-24335 beyond 999 columns
+    databaseSpecificBulkInsertMaxColumns.put(ORACLE, 999);
 
     databaseSpecificDummyTable.put(ORACLE, "FROM DUAL");
     databaseSpecificBitAnd1.put(ORACLE, "BITAND(");
@@ -381,6 +400,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
     databaseSpecificCollationForCaseSensitivity.put(ORACLE, "");
 
+    addDatabaseSpecificStatement(ORACLE, "selectNextJobsToExecute", "selectNextJobsToExecute_oracle");
+    // rows cannot be locked with skip locked in a ROWNUM paged query
+    statementsLimitedByRowBounds.add("selectNextJobsToExecute_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceDurationReport", "selectHistoricProcessInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceDurationReport", "selectHistoricTaskInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceCountByTaskNameReport", "selectHistoricTaskInstanceCountByTaskNameReport_oracle");
@@ -390,6 +412,10 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(ORACLE, "selectHistoricCaseInstanceIdsForCleanup", "selectHistoricCaseInstanceIdsForCleanup_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricBatchIdsForCleanup", "selectHistoricBatchIdsForCleanup_oracle");
 
+    addDatabaseSpecificStatement(ORACLE, "bulkInsertHistoricActivityInstanceEvent", "bulkInsertHistoricActivityInstanceEvent_oracle");
+    addDatabaseSpecificStatement(ORACLE, "bulkInsertHistoricVariableInstance", "bulkInsertHistoricVariableInstance_oracle");
+    addDatabaseSpecificStatement(ORACLE, "bulkInsertHistoricVariableUpdateEvent", "bulkInsertHistoricVariableUpdateEvent_oracle");
+
     addDatabaseSpecificStatement(ORACLE, "deleteAttachmentsByRemovalTime", "deleteAttachmentsByRemovalTime_oracle");
     addDatabaseSpecificStatement(ORACLE, "deleteCommentsByRemovalTime", "deleteCommentsByRemovalTime_oracle");
     addDatabaseSpecificStatement(ORACLE, "deleteHistoricActivityInstancesByRemovalTime", "deleteHistoricActivityInstancesByRemovalTime_oracle");
@@ -412,6 +438,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
     constants.put("constant.op_message", "NEW_VALUE_ || '_|_' || PROPERTY_");
     constants.put("constant_for_update", "for update");
+    // the paging of oracle does not allow to lock rows, see selectNextJobsToExecute_oracle
+    constants.put("constant_for_update_skip_locked", "");
     constants.put("constant.datepart.quarter", "'Q'");
     constants.put("constant.datepart.month", "'MM'");
     constants.put("constant.datepart.minute", "'MI'");
@@ -495,6 +523,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "CAST(CONCAT(CONCAT(COALESCE(NEW_VALUE_,''), '_|_'), COALESCE(PROPERTY_,'')) as varchar(255))");
     constants.put("constant_for_update", "for read only with rs use and keep update locks");
+    constants.put("constant_for_update_skip_locked", "");
     constants.put("constant.datepart.quarter", "QUARTER");
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.datepart.minute", "MINUTE");
@@ -526,6 +555,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificCountDistinctAfterEnd.put(MSSQL, defaultDistinctCountAfterEnd);
 
     databaseSpecificEscapeChar.put(MSSQL, defaultEscapeChar);
+    // stays below the limit of 2100 parameters per statement
+    databaseSpecificBulkInsertMaxColumns.put(MSSQL, 2000);
 
     databaseSpecificBitAnd1.put(MSSQL, "");
     databaseSpecificBitAnd2.put(MSSQL, " &");
@@ -563,6 +594,7 @@ public class DbSqlSessionFactory implements SessionFactory {
     constants = new HashMap<>();
     constants.put("constant.event", "'event'");
     constants.put("constant.op_message", "NEW_VALUE_ + '_|_' + PROPERTY_");
+    constants.put("constant_for_update_skip_locked", "");
     constants.put("constant.datepart.quarter", "QUARTER");
     constants.put("constant.datepart.month", "MONTH");
     constants.put("constant.datepart.minute", "MINUTE");
@@ -589,6 +621,8 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected Map<Class<?>,String>  updateStatements = new ConcurrentHashMap<>();
   protected Map<Class<?>,String>  deleteStatements = new ConcurrentHashMap<>();
   protected Map<Class<?>,String>  selectStatements = new ConcurrentHashMap<>();
+  /** the mapped multi-row insert statements, or an empty string if there is none for a type */
+  protected Map<Class<?>,String>  bulkInsertStatements = new ConcurrentHashMap<>();
   protected boolean isDbIdentityUsed = true;
   protected boolean isDbHistoryUsed = true;
   protected boolean cmmnEnabled = true;
@@ -596,6 +630,15 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   protected boolean jdbcBatchProcessing;
 
+  /**
+   * If true, consecutive inserts of entities of the same type are flushed with a single
+   * multi-row insert statement if a <code>bulkInsert</code> statement is mapped for the type.
+   */
+  protected boolean isBulkInsertEnabled = false;
+  protected int bulkInsertMaxRows = 50;
+  /** the maximum number of columns a multi-row insert statement may set; null if not limited */
+  protected Integer bulkInsertMaxColumns;
+
   public DbSqlSessionFactory(boolean jdbcBatchProcessing) {
     this.jdbcBatchProcessing = jdbcBatchProcessing;
   }
@@ -632,6 +675,37 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(persistentObjectClass, selectStatements, "select");
   }
 
+  /**
+   * @return the mapped statement which inserts a list of entities of the given type
+   * with a single statement, or <code>null</code> if there is no such statement
+   */
+  public String getBulkInsertStatement(Class<?> persistentObjectClass) {
+    String statement = bulkInsertStatements.get(persistentObjectClass);
+    if (statement == null) {
+      String statementName = getBulkInsertStatementName(persistentObjectClass);
+      statement = mapStatement(statementName);
+      if (!bulkInsertColumnCounts.containsKey(statementName)
+          || !sqlSessionFactory.getConfiguration().hasStatement(statement)) {
+        statement = "";
+      }
+      bulkInsertStatements.put(persistentObjectClass, statement);
+    }
+    return statement.isEmpty() ? null : statement;
+  }
+
+  /**
+   * @return the number of columns the multi-row insert statement of the given type sets
+   * per row, or <code>null</code> if there is no such statement
+   */
+  public Integer getBulkInsertColumnCount(Class<?> persistentObjectClass) {
+    return bulkInsertColumnCounts.get(getBulkInsertStatementName(persistentObjectClass));
+  }
+
+  protected String getBulkInsertStatementName(Class<?> persistentObjectClass) {
+    String entityName = ClassNameUtil.getClassNameWithoutPackage(persistentObjectClass);
+    return "bulkInsert" + entityName.substring(0, entityName.length() - 6); // "Entity".length() = 6
+  }
+
   private String getStatement(Class<?> persistentObjectClass, Map<Class<?>,String> cachedStatements, String prefix) {
     String statement = cachedStatements.get(persistentObjectClass);
     if (statement!=null) {
@@ -654,6 +728,14 @@ public class DbSqlSessionFactory implements SessionFactory {
     specificStatements.put(activitiStatement, ibatisStatement);
   }
 
+  /**
+   * @return true if the given (mapped) statement does not page its result in SQL
+   * and only the first <code>maxResults</code> rows of the result set must be fetched
+   */
+  public boolean isStatementLimitedByRowBounds(String statement) {
+    return statementsLimitedByRowBounds.contains(statement);
+  }
+
   public String mapStatement(String statement) {
     if (statementMappings==null) {
       return statement;
@@ -667,6 +749,7 @@ public class DbSqlSessionFactory implements SessionFactory {
   public void setDatabaseType(String databaseType) {
     this.databaseType = databaseType;
     this.statementMappings = databaseSpecificStatements.get(databaseType);
+    this.bulkInsertMaxColumns = databaseSpecificBulkInsertMaxColumns.get(databaseType);
   }
 
   // getters and setters //////////////////////////////////////////////////////
@@ -790,5 +873,48 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.databaseSchema = databaseSchema;
   }
 
+  public boolean isBulkInsertEnabled() {
+    return isBulkInsertEnabled;
+  }
+
+  public void setBulkInsertEnabled(boolean isBulkInsertEnabled) {
+    this.isBulkInsertEnabled = isBulkInsertEnabled;
+  }
+
+  public int getBulkInsertMaxRows() {
+    return bulkInsertMaxRows;
+  }
+
+  public void setBulkInsertMaxRows(int bulkInsertMaxRows) {
+    this.bulkInsertMaxRows = bulkInsertMaxRows;
+  }
+
+  public Integer getBulkInsertMaxColumns() {
+    return bulkInsertMaxColumns;
+  }
+
+  public void setBulkInsertMaxColumns(Integer bulkInsertMaxColumns) {
+    this.bulkInsertMaxColumns = bulkInsertMaxColumns;
+  }
+
+  /**
+   * @return the maximum number of entities of the given entity's type which can be inserted
+   * with a single statement; this is {@link #getBulkInsertMaxRows()} unless the database
+   * limits the number of columns per statement
+   */
+  public int getBulkInsertMaxRows(DbEntity entity) {
+    Integer maxColumns = bulkInsertMaxColumns;
+    if (maxColumns == null) {
+      return bulkInsertMaxRows;
+    }
+
+    Integer columnCount = getBulkInsertColumnCount(entity.getClass());
+    if (columnCount == null) {
+      return bulkInsertMaxRows;
+    }
+
+    return Math.max(1, Math.min(bulkInsertMaxRows, maxColumns / columnCount));
+  }
+
 
 }
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.db.sql;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -55,6 +56,20 @@ public class SimpleDbSqlSession extends DbSqlSession {
 
     for (int i = 0; i < operations.size(); i++) {
 
+      int bulkInsertSize = getBulkInsertSize(operations, i);
+      if (bulkInsertSize > 1) {
+        List<DbOperation> bulkInsertOperations = operations.subList(i, i + bulkInsertSize);
+        insertEntities(bulkInsertOperations);
+        i += bulkInsertSize - 1;
+
+        // the operations of a multi-row insert succeed or fail together
+        if (bulkInsertOperations.get(0).getState() != State.APPLIED) {
+          List<DbOperation> remainingOperations = operations.subList(i + 1, operations.size());
+          return FlushResult.withFailuresAndRemaining(new ArrayList<>(bulkInsertOperations), remainingOperations);
+        }
+        continue;
+      }
+
       DbOperation operation = operations.get(i);
 
       executeDbOperation(operation);
@@ -89,6 +104,20 @@ public class SimpleDbSqlSession extends DbSqlSession {
     }
   }
 
+  @Override
+  protected void insertEntities(List<DbOperation> operations) {
+    try {
+      super.insertEntities(operations);
+      for (DbOperation operation : operations) {
+        entityInsertPerformed((DbEntityOperation) operation, 1, null);
+      }
+    } catch (Exception e) {
+      for (DbOperation operation : operations) {
+        entityInsertPerformed((DbEntityOperation) operation, 0, e);
+      }
+    }
+  }
+
   // delete ///////////////////////////////////////////
 
   @Override
@@ -19,9 +19,11 @@ package org.camunda.bpm.engine.impl.dmn.invocation;
 import org.camunda.bpm.dmn.engine.DmnDecision;
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.variable.context.VariableContext;
 
@@ -51,10 +53,19 @@ public class DecisionInvocation extends DelegateInvocation {
 
   @Override
   protected void invoke() throws Exception {
-    final DmnEngine dmnEngine = Context.getProcessEngineConfiguration()
-      .getDmnEngine();
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    final DmnEngine dmnEngine = processEngineConfiguration.getDmnEngine();
 
-    invocationResult = dmnEngine.evaluateDecision((DmnDecision) decisionDefinition, variableContext);
+    long startTime = System.nanoTime();
+    try {
+      invocationResult = dmnEngine.evaluateDecision((DmnDecision) decisionDefinition, variableContext);
+    }
+    finally {
+      if (processEngineConfiguration.isLatencyMetricsEnabled()) {
+        processEngineConfiguration.getMetricsRegistry()
+          .recordLatency(Metrics.DECISION_EVALUATION_LATENCY, System.nanoTime() - startTime);
+      }
+    }
   }
 
   @Override
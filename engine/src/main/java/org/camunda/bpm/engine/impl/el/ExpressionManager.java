@@ -23,6 +23,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
 import org.camunda.bpm.engine.impl.javax.el.ArrayELResolver;
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
 import org.camunda.bpm.engine.impl.javax.el.CompositeELResolver;
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.javax.el.ELResolver;
@@ -63,6 +64,10 @@ public class ExpressionManager {
   protected Map<Object, Object> beans;
   protected ELResolver elResolver;
 
+  /** whether the resolution of methods on beans is cached outside of process applications */
+  protected boolean beanElResolverCacheEnabled = false;
+  protected volatile BeanELResolver beanElResolver;
+
   public ExpressionManager() {
     this(null);
   }
@@ -148,11 +153,46 @@ public class ExpressionManager {
     elResolver.add(new ArrayELResolver());
     elResolver.add(new ListELResolver());
     elResolver.add(new MapELResolver());
-    elResolver.add(new ProcessApplicationBeanElResolverDelegate());
+    elResolver.add(new ProcessApplicationBeanElResolverDelegate(this));
 
     return elResolver;
   }
 
+  /**
+   * Returns the resolver for beans if an expression is evaluated outside of a process
+   * application. If caching is enabled, a single resolver is shared, so that the
+   * properties and methods of bean classes are looked up once. Otherwise a new
+   * resolver is returned.
+   */
+  public BeanELResolver getBeanElResolver() {
+    if (!beanElResolverCacheEnabled) {
+      return new BeanELResolver();
+    }
+
+    BeanELResolver resolver = beanElResolver;
+    if (resolver == null) {
+      resolver = new BeanELResolver();
+      beanElResolver = resolver;
+    }
+    return resolver;
+  }
+
+  /**
+   * Discards the cached bean resolutions, e.g. when a deployment is removed
+   * and its classes may be unloaded.
+   */
+  public void clearBeanElResolverCache() {
+    beanElResolver = null;
+  }
+
+  public boolean isBeanElResolverCacheEnabled() {
+    return beanElResolverCacheEnabled;
+  }
+
+  public void setBeanElResolverCacheEnabled(boolean beanElResolverCacheEnabled) {
+    this.beanElResolverCacheEnabled = beanElResolverCacheEnabled;
+  }
+
   /**
    * @param elFunctionMapper
    */
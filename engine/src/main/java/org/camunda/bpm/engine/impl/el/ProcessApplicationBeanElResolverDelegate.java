@@ -31,12 +31,23 @@ import org.camunda.bpm.engine.impl.javax.el.ELResolver;
  * involved in expressions.</p>
  *
  * <p>If resolution is attempted outside the context of a process application,
- * then always a new resolver instance is returned (i.e. no caching in these cases).</p>
+ * then the resolver is provided by the {@link ExpressionManager}. It returns a new
+ * resolver instance unless caching is enabled.</p>
  *
  * @author Thorben Lindhauer
  */
 public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolverDelegate {
 
+  protected ExpressionManager expressionManager;
+
+  public ProcessApplicationBeanElResolverDelegate() {
+    this(null);
+  }
+
+  public ProcessApplicationBeanElResolverDelegate(ExpressionManager expressionManager) {
+    this.expressionManager = expressionManager;
+  }
+
   protected ELResolver getElResolverDelegate() {
 
     ProcessApplicationReference processApplicationReference = Context.getCurrentProcessApplication();
@@ -50,6 +61,9 @@ public class ProcessApplicationBeanElResolverDelegate extends AbstractElResolver
         throw new ProcessEngineException("Cannot access process application '"+processApplicationReference.getName()+"'", e);
       }
 
+    } else if (expressionManager != null) {
+      return expressionManager.getBeanElResolver();
+
     } else {
       return new BeanELResolver();
     }
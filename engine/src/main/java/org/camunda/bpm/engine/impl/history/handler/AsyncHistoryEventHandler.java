@@ -0,0 +1,140 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>History event handler that decouples writing history from the transaction of the
+ * command that produced the events. The events of a command are appended to a
+ * {@link HistoryEventBuffer} once its transaction is committed and are then written to
+ * the database in batches by a {@link HistoryEventWriter}, using the wrapped handler.
+ * If the buffer is full, committing threads wait until the writer has caught up.</p>
+ *
+ * <p>As a consequence, history is only eventually consistent with the runtime data:
+ * history queries may not yet see the events of a command that just completed. The removal
+ * time of the historic root process instance is applied to the events when they are written,
+ * see {@link org.camunda.bpm.engine.impl.cmd.WriteHistoryEventsCmd}. Events that are produced
+ * outside of a command and decision evaluation events, which are not serializable,
+ * are passed to the wrapped handler immediately.</p>
+ */
+public class AsyncHistoryEventHandler implements HistoryEventHandler {
+
+  protected HistoryEventHandler historyEventHandler;
+  protected HistoryEventBuffer historyEventBuffer;
+  protected HistoryEventWriter historyEventWriter;
+  protected MetricsRegistry metricsRegistry;
+
+  public AsyncHistoryEventHandler(HistoryEventHandler historyEventHandler, HistoryEventBuffer historyEventBuffer) {
+    this.historyEventHandler = historyEventHandler;
+    this.historyEventBuffer = historyEventBuffer;
+    this.historyEventWriter = new HistoryEventWriter(historyEventBuffer, historyEventHandler);
+  }
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    if (commandContext != null && isBuffered(historyEvent)) {
+      commandContext
+        .getSession(HistoryEventBufferSession.class)
+        .add(historyEvent);
+    }
+    else {
+      historyEventHandler.handleEvent(historyEvent);
+    }
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  protected boolean isBuffered(HistoryEvent historyEvent) {
+    return !(historyEvent instanceof HistoricDecisionEvaluationEvent);
+  }
+
+  /**
+   * Appends the events of a committed command to the buffer. Only blocks if the writer
+   * is running and the events were not produced by the writer itself.
+   */
+  public void bufferEvents(List<HistoryEvent> historyEvents) {
+    boolean mayBlock = historyEventWriter.isActive() && !historyEventWriter.isWriterThread();
+    historyEventBuffer.append(historyEvents, mayBlock);
+
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(Metrics.HISTORY_EVENTS_BUFFERED, historyEvents.size());
+    }
+  }
+
+  /**
+   * Opens the buffer and recovers the events of a previous run.
+   */
+  public void open(CommandExecutor commandExecutor) {
+    historyEventWriter.setCommandExecutor(commandExecutor);
+    historyEventBuffer.open();
+  }
+
+  public void start() {
+    historyEventWriter.start();
+  }
+
+  /**
+   * Writes the buffered events and stops the writer.
+   */
+  public void stop() {
+    historyEventWriter.stop();
+    historyEventBuffer.close();
+  }
+
+  /**
+   * @return the number of events that are not written to the database yet
+   */
+  public int getPendingEventCount() {
+    return historyEventBuffer.size();
+  }
+
+  public HistoryEventHandler getHistoryEventHandler() {
+    return historyEventHandler;
+  }
+
+  public HistoryEventBuffer getHistoryEventBuffer() {
+    return historyEventBuffer;
+  }
+
+  public HistoryEventWriter getHistoryEventWriter() {
+    return historyEventWriter;
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+    historyEventWriter.setMetricsRegistry(metricsRegistry);
+  }
+
+}
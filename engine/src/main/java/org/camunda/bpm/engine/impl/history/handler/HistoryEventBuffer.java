@@ -0,0 +1,516 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>Bounded buffer of history events that are written to the database by the
+ * {@link HistoryEventWriter}.</p>
+ *
+ * <p>If a directory is configured, every buffered event is appended to a journal file
+ * in that directory before it becomes visible to the writer. The offset up to which the
+ * events have been written is recorded in a checkpoint file after each batch, so that the
+ * events which were not written yet are recovered when the buffer is opened again after a
+ * crash. Since a batch may have been written without its checkpoint, events are delivered
+ * at least once. The journal is truncated whenever the writer has caught up.</p>
+ *
+ * <p>Events that cannot be written at all are moved to a dead letter store. If a directory
+ * is configured, this is a file in the journal format next to the journal. It can be replayed
+ * by moving it to the journal file name while the engine is stopped and the journal is empty.
+ * Otherwise up to {@link #getCapacity() capacity} events are kept in memory and further
+ * events are logged and dropped.</p>
+ */
+public class HistoryEventBuffer {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final String JOURNAL_FILE_NAME = "history-events.journal";
+  public static final String CHECKPOINT_FILE_NAME = "history-events.checkpoint";
+  public static final String DEAD_LETTER_FILE_NAME = "history-events.dead-letter";
+
+  protected int capacity;
+  protected File directory;
+  protected boolean isSyncEnabled;
+
+  protected final ReentrantLock lock = new ReentrantLock();
+  protected final Condition notEmpty = lock.newCondition();
+  protected final Condition notFull = lock.newCondition();
+  protected final Condition drained = lock.newCondition();
+
+  protected final Deque<BufferedEvent> pendingEvents = new ArrayDeque<BufferedEvent>();
+  protected int inFlightCount;
+  protected long inFlightEndOffset = -1;
+  protected boolean isWriterTerminated;
+
+  protected final List<HistoryEvent> deadLetterEvents = new ArrayList<HistoryEvent>();
+
+  protected RandomAccessFile journal;
+  protected RandomAccessFile checkpoint;
+  protected long journalLength;
+
+  /**
+   * @param capacity the number of events above which appending threads are blocked
+   * @param directory the directory of the journal or <code>null</code> if events are
+   * only buffered in memory
+   * @param isSyncEnabled whether the journal is synced to the storage device on every append
+   */
+  public HistoryEventBuffer(int capacity, File directory, boolean isSyncEnabled) {
+    this.capacity = capacity;
+    this.directory = directory;
+    this.isSyncEnabled = isSyncEnabled;
+  }
+
+  /**
+   * Opens the journal and recovers the events that were not written before the
+   * buffer was closed the last time.
+   */
+  public void open() {
+    if (directory == null) {
+      return;
+    }
+
+    File journalFile = new File(directory, JOURNAL_FILE_NAME);
+    lock.lock();
+    try {
+      directory.mkdirs();
+      journal = new RandomAccessFile(journalFile, "rw");
+      checkpoint = new RandomAccessFile(new File(directory, CHECKPOINT_FILE_NAME), "rw");
+      recover();
+    }
+    catch (IOException e) {
+      throw LOG.historyEventJournalException(journalFile.getAbsolutePath(), e);
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  protected void recover() throws IOException {
+    long length = journal.length();
+    long offset = checkpoint.length() >= 8 ? checkpoint.readLong() : 0;
+    if (offset > length) {
+      offset = length;
+      writeCheckpoint(offset);
+    }
+    int recoveredCount = 0;
+
+    while (offset + 4 <= length) {
+      journal.seek(offset);
+      int recordLength = journal.readInt();
+      long endOffset = offset + 4 + recordLength;
+      if (recordLength < 0 || endOffset > length) {
+        // the record was not completely written before the crash
+        break;
+      }
+
+      byte[] bytes = new byte[recordLength];
+      journal.readFully(bytes);
+
+      try {
+        pendingEvents.add(new BufferedEvent(deserialize(bytes), endOffset));
+        recoveredCount++;
+      }
+      catch (Exception e) {
+        LOG.skippedUnreadableHistoryEvent(offset, getJournalName(), e);
+      }
+      offset = endOffset;
+    }
+
+    // drop an incomplete record so that appended records start at a record boundary
+    journal.setLength(offset);
+    journalLength = offset;
+
+    if (recoveredCount > 0) {
+      LOG.recoveredHistoryEvents(recoveredCount, getJournalName());
+    }
+  }
+
+  /**
+   * Appends the given events to the buffer.
+   *
+   * @param mayBlock whether the calling thread waits while the buffer is full
+   * @throws ProcessEngineException if the calling thread would have to wait
+   * but the writer is {@link #writerTerminated() terminated}
+   */
+  public void append(List<HistoryEvent> historyEvents, boolean mayBlock) {
+    List<byte[]> records = new ArrayList<byte[]>(historyEvents.size());
+    for (HistoryEvent historyEvent : historyEvents) {
+      records.add(serialize(historyEvent));
+    }
+
+    lock.lock();
+    try {
+      boolean isInterrupted = false;
+      while (mayBlock && !isInterrupted && isFull(historyEvents.size())) {
+        if (isWriterTerminated) {
+          throw LOG.historyEventWriterTerminatedException(historyEvents.size());
+        }
+        try {
+          notFull.await();
+        }
+        catch (InterruptedException e) {
+          // the events must not get lost if the committing thread is interrupted
+          isInterrupted = true;
+        }
+      }
+
+      long[] endOffsets = writeRecords(records);
+      for (int i = 0; i < historyEvents.size(); i++) {
+        pendingEvents.add(new BufferedEvent(historyEvents.get(i), endOffsets[i]));
+      }
+      notEmpty.signal();
+
+      if (isInterrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  protected boolean isFull(int appendedCount) {
+    return size() > 0 && size() + appendedCount > capacity;
+  }
+
+  /**
+   * Called by the writer if it terminates while it is still supposed to write events.
+   * Threads that wait for free space in the buffer fail instead of waiting forever.
+   */
+  public void writerTerminated() {
+    lock.lock();
+    try {
+      isWriterTerminated = true;
+      notFull.signalAll();
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Moves an event that cannot be written to the dead letter store.
+   */
+  public void deadLetter(HistoryEvent historyEvent) {
+    lock.lock();
+    try {
+      byte[] record = serialize(historyEvent);
+      if (record != null) {
+        writeDeadLetterRecord(record);
+      }
+      else if (deadLetterEvents.size() < capacity) {
+        deadLetterEvents.add(historyEvent);
+      }
+      else {
+        LOG.droppedDeadLetterHistoryEvent(historyEvent, capacity);
+      }
+    }
+    catch (IOException e) {
+      throw LOG.historyEventJournalException(getDeadLetterName(), e);
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  protected void writeDeadLetterRecord(byte[] record) throws IOException {
+    FileOutputStream file = new FileOutputStream(new File(directory, DEAD_LETTER_FILE_NAME), true);
+    try {
+      DataOutputStream out = new DataOutputStream(file);
+      out.writeInt(record.length);
+      out.write(record);
+      out.flush();
+      if (isSyncEnabled) {
+        file.getFD().sync();
+      }
+    }
+    finally {
+      file.close();
+    }
+  }
+
+  /**
+   * @return the dead letter events that are kept in memory since they are not journaled
+   */
+  public List<HistoryEvent> getDeadLetterEvents() {
+    lock.lock();
+    try {
+      return new ArrayList<HistoryEvent>(deadLetterEvents);
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  protected byte[] serialize(HistoryEvent historyEvent) {
+    if (journal == null) {
+      return null;
+    }
+
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      ObjectOutputStream out = new ObjectOutputStream(bytes);
+      out.writeObject(historyEvent);
+      out.close();
+      return bytes.toByteArray();
+    }
+    catch (IOException e) {
+      LOG.historyEventNotJournaled(historyEvent, e);
+      return null;
+    }
+  }
+
+  protected HistoryEvent deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+    ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+    try {
+      return (HistoryEvent) in.readObject();
+    }
+    finally {
+      in.close();
+    }
+  }
+
+  /**
+   * @return the journal offsets after each of the given records or -1 for
+   * records that are not journaled
+   */
+  protected long[] writeRecords(List<byte[]> records) {
+    long[] endOffsets = new long[records.size()];
+    if (journal == null) {
+      for (int i = 0; i < endOffsets.length; i++) {
+        endOffsets[i] = -1;
+      }
+      return endOffsets;
+    }
+
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      long offset = journalLength;
+
+      for (int i = 0; i < records.size(); i++) {
+        byte[] record = records.get(i);
+        if (record != null) {
+          out.writeInt(record.length);
+          out.write(record);
+          offset += 4 + record.length;
+          endOffsets[i] = offset;
+        }
+        else {
+          endOffsets[i] = -1;
+        }
+      }
+
+      if (offset > journalLength) {
+        journal.seek(journalLength);
+        journal.write(bytes.toByteArray());
+        if (isSyncEnabled) {
+          journal.getFD().sync();
+        }
+        journalLength = offset;
+      }
+      return endOffsets;
+    }
+    catch (IOException e) {
+      throw LOG.historyEventJournalException(getJournalName(), e);
+    }
+  }
+
+  /**
+   * Removes up to the given number of events from the buffer. The events count
+   * towards the capacity and stay in the journal until they are {@link #acknowledge() acknowledged}.
+   *
+   * @return the removed events or an empty list if no event was buffered within the timeout
+   */
+  public List<HistoryEvent> poll(int maxEvents, long timeout, TimeUnit unit) throws InterruptedException {
+    lock.lock();
+    try {
+      long nanos = unit.toNanos(timeout);
+      while (pendingEvents.isEmpty() && nanos > 0) {
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+
+      List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+      while (!pendingEvents.isEmpty() && historyEvents.size() < maxEvents) {
+        BufferedEvent bufferedEvent = pendingEvents.poll();
+        historyEvents.add(bufferedEvent.historyEvent);
+        if (bufferedEvent.endOffset >= 0) {
+          inFlightEndOffset = bufferedEvent.endOffset;
+        }
+      }
+      inFlightCount += historyEvents.size();
+
+      return historyEvents;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Marks all events returned by {@link #poll(int, long, TimeUnit)} as written.
+   */
+  public void acknowledge() {
+    lock.lock();
+    try {
+      inFlightCount = 0;
+
+      if (journal != null) {
+        if (pendingEvents.isEmpty()) {
+          // reset the checkpoint first, so that a crash in between
+          // replays the written events instead of skipping new ones
+          writeCheckpoint(0);
+          journal.setLength(0);
+          journalLength = 0;
+        }
+        else if (inFlightEndOffset >= 0) {
+          writeCheckpoint(inFlightEndOffset);
+        }
+      }
+    }
+    catch (IOException e) {
+      throw LOG.historyEventJournalException(getJournalName(), e);
+    }
+    finally {
+      // the events are not written again, even if the checkpoint could not be
+      // written; they are replayed from the journal in that case
+      inFlightEndOffset = -1;
+
+      notFull.signalAll();
+      if (pendingEvents.isEmpty()) {
+        drained.signalAll();
+      }
+      lock.unlock();
+    }
+  }
+
+  protected void writeCheckpoint(long offset) throws IOException {
+    checkpoint.seek(0);
+    checkpoint.writeLong(offset);
+    if (isSyncEnabled) {
+      checkpoint.getFD().sync();
+    }
+  }
+
+  /**
+   * Waits until all buffered events are written.
+   *
+   * @return true if the buffer is empty
+   */
+  public boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+    lock.lock();
+    try {
+      long nanos = unit.toNanos(timeout);
+      while (size() > 0 && nanos > 0) {
+        nanos = drained.awaitNanos(nanos);
+      }
+      return size() == 0;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of events that are buffered or currently written
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return pendingEvents.size() + inFlightCount;
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes the journal. Events that are still buffered are recovered
+   * when the buffer is opened again.
+   */
+  public void close() {
+    lock.lock();
+    try {
+      if (journal != null) {
+        journal.close();
+        checkpoint.close();
+        journal = null;
+        checkpoint = null;
+      }
+    }
+    catch (IOException e) {
+      throw LOG.historyEventJournalException(getJournalName(), e);
+    }
+    finally {
+      lock.unlock();
+    }
+  }
+
+  protected String getJournalName() {
+    return new File(directory, JOURNAL_FILE_NAME).getAbsolutePath();
+  }
+
+  protected String getDeadLetterName() {
+    return new File(directory, DEAD_LETTER_FILE_NAME).getAbsolutePath();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public File getDirectory() {
+    return directory;
+  }
+
+  public boolean isSyncEnabled() {
+    return isSyncEnabled;
+  }
+
+  protected static class BufferedEvent {
+
+    protected final HistoryEvent historyEvent;
+    /** the journal offset after the event or -1 if it is not journaled */
+    protected final long endOffset;
+
+    public BufferedEvent(HistoryEvent historyEvent, long endOffset) {
+      this.historyEvent = historyEvent;
+      this.endOffset = endOffset;
+    }
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+
+/**
+ * <p>Collects the history events of a command that are buffered by the
+ * {@link AsyncHistoryEventHandler} once the transaction of the command is committed.</p>
+ *
+ * <p>The events are neither buffered nor journaled before the commit: the events of a
+ * transaction that is rolled back must not be written, and a journal record written before
+ * the commit could not tell after a crash whether its transaction was committed. If the
+ * process crashes after the commit but before the events are appended to the buffer, the
+ * history events of that transaction are lost. This window lasts from the commit until the
+ * committed transaction listeners of the command have run.</p>
+ */
+public class HistoryEventBufferSession implements Session {
+
+  protected AsyncHistoryEventHandler historyEventHandler;
+  protected List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+
+  public HistoryEventBufferSession(AsyncHistoryEventHandler historyEventHandler) {
+    this.historyEventHandler = historyEventHandler;
+  }
+
+  public void add(HistoryEvent historyEvent) {
+    if (historyEvents.isEmpty()) {
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            historyEventHandler.bufferEvents(historyEvents);
+          }
+        });
+    }
+    historyEvents.add(historyEvent);
+  }
+
+  public List<HistoryEvent> getHistoryEvents() {
+    return historyEvents;
+  }
+
+  public void flush() {
+  }
+
+  public void close() {
+  }
+
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.WriteHistoryEventsCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Background thread that takes batches of events from a {@link HistoryEventBuffer}
+ * and writes them to the database with the given {@link HistoryEventHandler}.</p>
+ *
+ * <p>A batch is split into chunks in which every entity occurs only once, since the
+ * {@link DbHistoryEventHandler} expects the event that creates an entity to be flushed
+ * before the events that update it. Each chunk is written in its own transaction.</p>
+ *
+ * <p>A chunk that fails for a transient reason, such as a lost database connection or a
+ * deadlock, is retried with an increasing wait of up to {@link #maxRetryWaitMillis} until it
+ * is written. The writer does not take further events from the buffer meanwhile, so that
+ * committing threads are blocked once the buffer is full. If the writer is stopped while
+ * the database is unavailable, the batch is not written and is recovered from the journal
+ * of the buffer, if any, at the next start.</p>
+ *
+ * <p>If a chunk fails for any other reason, its events are written one by one, each with
+ * up to {@link #maxAttempts} attempts, so that a single faulty event does not stop the others.
+ * Events that still cannot be written are moved to the
+ * {@link HistoryEventBuffer#deadLetter(HistoryEvent) dead letter store} of the buffer.</p>
+ *
+ * <p>Unexpected exceptions are logged and the writer continues with the next batch.
+ * If the writer terminates nevertheless, the buffer is notified, so that committing
+ * threads do not wait for it forever.</p>
+ */
+public class HistoryEventWriter implements Runnable {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final long POLL_TIMEOUT_MILLIS = 100;
+
+  protected HistoryEventBuffer historyEventBuffer;
+  protected HistoryEventHandler historyEventHandler;
+  protected CommandExecutor commandExecutor;
+  protected MetricsRegistry metricsRegistry;
+
+  protected int batchSize = 500;
+  protected int maxAttempts = 3;
+  protected long retryWaitMillis = 500;
+  protected long maxRetryWaitMillis = 10000;
+
+  protected volatile boolean isActive = false;
+  protected Thread thread;
+
+  public HistoryEventWriter(HistoryEventBuffer historyEventBuffer, HistoryEventHandler historyEventHandler) {
+    this.historyEventBuffer = historyEventBuffer;
+    this.historyEventHandler = historyEventHandler;
+  }
+
+  public synchronized void start() {
+    if (!isActive) {
+      isActive = true;
+      thread = new Thread(this, "camunda-history-event-writer");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * Stops the writer after all buffered events have been written.
+   */
+  public synchronized void stop() {
+    if (isActive) {
+      isActive = false;
+      try {
+        thread.join();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      thread = null;
+    }
+  }
+
+  public void run() {
+    try {
+      while (isActive || historyEventBuffer.size() > 0) {
+        try {
+          List<HistoryEvent> historyEvents = historyEventBuffer.poll(batchSize, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+          if (!historyEvents.isEmpty()) {
+            if (!writeBatch(historyEvents)) {
+              LOG.historyEventsNotWrittenOnStop(historyEventBuffer.size());
+              return;
+            }
+            historyEventBuffer.acknowledge();
+          }
+        }
+        catch (RuntimeException e) {
+          LOG.exceptionWhileWritingHistoryEvents(e);
+          Thread.sleep(retryWaitMillis);
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      if (isActive) {
+        LOG.historyEventWriterTerminated();
+        historyEventBuffer.writerTerminated();
+      }
+    }
+  }
+
+  /**
+   * @return false if the writer was stopped before the events could be written
+   * due to a transient failure
+   */
+  protected boolean writeBatch(List<HistoryEvent> historyEvents) {
+    for (List<HistoryEvent> chunk : splitIntoChunks(historyEvents)) {
+      if (!writeChunk(chunk)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected boolean writeChunk(List<HistoryEvent> chunk) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        write(chunk);
+        return true;
+      }
+      catch (Exception e) {
+        if (!isTransientFailure(e)) {
+          LOG.retryingHistoryEventsIndividually(chunk.size(), e);
+          for (HistoryEvent historyEvent : chunk) {
+            if (!writeIndividually(historyEvent)) {
+              return false;
+            }
+          }
+          return true;
+        }
+        if (isStopping()) {
+          return false;
+        }
+        LOG.retryingHistoryEventsAfterTransientFailure(chunk.size(), attempt, e);
+      }
+
+      waitBeforeRetry(attempt);
+    }
+  }
+
+  protected boolean writeIndividually(HistoryEvent historyEvent) {
+    int failedAttempts = 0;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        write(Collections.singletonList(historyEvent));
+        return true;
+      }
+      catch (Exception e) {
+        if (isTransientFailure(e)) {
+          if (isStopping()) {
+            return false;
+          }
+        }
+        else if (++failedAttempts >= maxAttempts) {
+          LOG.deadLetteringHistoryEvent(historyEvent, failedAttempts, e);
+          deadLetter(historyEvent);
+          return true;
+        }
+      }
+
+      waitBeforeRetry(attempt);
+    }
+  }
+
+  /**
+   * @return true if the exception is caused by a database failure that may not occur
+   * again, e.g. a lost connection or a deadlock, rather than by the written data,
+   * e.g. a constraint violation
+   */
+  protected boolean isTransientFailure(Throwable exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException) {
+        return !isDataFailure((SQLException) cause);
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  protected boolean isDataFailure(SQLException exception) {
+    if (exception instanceof SQLIntegrityConstraintViolationException
+        || exception instanceof SQLDataException
+        || exception instanceof SQLSyntaxErrorException) {
+      return true;
+    }
+
+    // SQL states of class 22 (data exception), 23 (integrity constraint
+    // violation) and 42 (syntax error or access rule violation)
+    String sqlState = exception.getSQLState();
+    return sqlState != null
+        && (sqlState.startsWith("22") || sqlState.startsWith("23") || sqlState.startsWith("42"));
+  }
+
+  protected boolean isStopping() {
+    return !isActive || Thread.currentThread().isInterrupted();
+  }
+
+  protected void waitBeforeRetry(int attempt) {
+    try {
+      Thread.sleep(Math.min(retryWaitMillis * attempt, maxRetryWaitMillis));
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  protected void deadLetter(HistoryEvent historyEvent) {
+    try {
+      historyEventBuffer.deadLetter(historyEvent);
+    }
+    catch (RuntimeException e) {
+      LOG.exceptionWhileDeadLetteringHistoryEvent(historyEvent, e);
+    }
+  }
+
+  protected void write(List<HistoryEvent> historyEvents) {
+    commandExecutor.execute(new WriteHistoryEventsCmd(historyEventHandler, historyEvents));
+
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(Metrics.HISTORY_EVENTS_WRITTEN, historyEvents.size());
+    }
+  }
+
+  /**
+   * Splits the events in order into chunks that contain at most one event per entity.
+   */
+  protected List<List<HistoryEvent>> splitIntoChunks(List<HistoryEvent> historyEvents) {
+    List<List<HistoryEvent>> chunks = new ArrayList<List<HistoryEvent>>();
+    List<HistoryEvent> chunk = new ArrayList<HistoryEvent>();
+    Set<String> entityKeys = new HashSet<String>();
+
+    for (HistoryEvent historyEvent : historyEvents) {
+      if (historyEvent.getId() != null) {
+        String entityKey = historyEvent.getClass().getName() + "#" + historyEvent.getId();
+        if (!entityKeys.add(entityKey)) {
+          chunks.add(chunk);
+          chunk = new ArrayList<HistoryEvent>();
+          entityKeys.clear();
+          entityKeys.add(entityKey);
+        }
+      }
+      chunk.add(historyEvent);
+    }
+
+    if (!chunk.isEmpty()) {
+      chunks.add(chunk);
+    }
+    return chunks;
+  }
+
+  public boolean isActive() {
+    return isActive;
+  }
+
+  /**
+   * @return true if the calling thread is the writer thread
+   */
+  public boolean isWriterThread() {
+    return Thread.currentThread() == thread;
+  }
+
+  public HistoryEventBuffer getHistoryEventBuffer() {
+    return historyEventBuffer;
+  }
+
+  public HistoryEventHandler getHistoryEventHandler() {
+    return historyEventHandler;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public void setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  public long getRetryWaitMillis() {
+    return retryWaitMillis;
+  }
+
+  public void setRetryWaitMillis(long retryWaitMillis) {
+    this.retryWaitMillis = retryWaitMillis;
+  }
+
+  public long getMaxRetryWaitMillis() {
+    return maxRetryWaitMillis;
+  }
+
+  public void setMaxRetryWaitMillis(long maxRetryWaitMillis) {
+    this.maxRetryWaitMillis = maxRetryWaitMillis;
+  }
+
+}
@@ -616,7 +616,13 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
       Date removalTime = calculateRemovalTime(evt);
 
       if (removalTime != null) {
-        addRemovalTimeToHistoricProcessInstances(evt.getRootProcessInstanceId(), removalTime);
+        evt.setRemovalTime(removalTime);
+
+        // with asynchronous history, the events of the instance may not be written yet;
+        // the removal time is added once the end event is written
+        if (!isAsyncHistoryEnabled()) {
+          addRemovalTimeToHistoricProcessInstances(evt.getRootProcessInstanceId(), removalTime);
+        }
 
         if (isDmnEnabled()) {
           addRemovalTimeToHistoricDecisions(evt.getRootProcessInstanceId(), removalTime);
@@ -644,6 +650,12 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
       .addRemovalTimeToProcessInstancesByRootProcessInstanceId(rootProcessInstanceId, removalTime);
   }
 
+  protected boolean isAsyncHistoryEnabled() {
+    return Context.getCommandContext()
+      .getProcessEngineConfiguration()
+      .isAsyncHistoryEnabled();
+  }
+
   protected boolean isDmnEnabled() {
     return Context.getCommandContext()
       .getProcessEngineConfiguration()
@@ -82,6 +82,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
+import org.camunda.bpm.engine.impl.persistence.entity.JobPartitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
@@ -380,6 +381,10 @@ public class CommandContext {
     return getSession(JobManager.class);
   }
 
+  public JobPartitionManager getJobPartitionManager() {
+    return getSession(JobPartitionManager.class);
+  }
+
   public BatchManager getBatchManager() {
     return getSession(BatchManager.class);
   }
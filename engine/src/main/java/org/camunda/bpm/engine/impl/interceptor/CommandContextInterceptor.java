@@ -22,6 +22,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessEngineContextImpl;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * <p>Interceptor used for opening the {@link CommandContext} and {@link CommandInvocationContext}.</p>
@@ -89,6 +90,7 @@ public class CommandContextInterceptor extends CommandInterceptor {
     // only create a new command context on the current command level (CAM-10002)
     boolean isNew = ProcessEngineContextImpl.consume();
     boolean openNew = (context == null || isNew);
+    long startTime = System.nanoTime();
 
     CommandInvocationContext commandInvocationContext = new CommandInvocationContext(command, processEngineConfiguration);
     Context.setCommandInvocationContext(commandInvocationContext);
@@ -127,6 +129,11 @@ public class CommandContextInterceptor extends CommandInterceptor {
 
         // restore the new command context flag
         ProcessEngineContextImpl.set(isNew);
+
+        if (openNew && processEngineConfiguration.isLatencyMetricsEnabled()) {
+          processEngineConfiguration.getMetricsRegistry()
+            .recordLatency(Metrics.COMMAND_EXECUTION_LATENCY, System.nanoTime() - startTime);
+        }
       }
     }
 
@@ -22,6 +22,7 @@ import java.beans.PropertyDescriptor;
 import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -128,6 +129,7 @@ public class BeanELResolver extends ELResolver {
 
 	private final boolean readOnly;
 	private final ConcurrentHashMap<Class<?>, BeanProperties> cache;
+	private final ConcurrentHashMap<MethodKey, Method> methodCache;
 	
 	private ExpressionFactory defaultFactory;
 
@@ -144,6 +146,7 @@ public class BeanELResolver extends ELResolver {
 	public BeanELResolver(boolean readOnly) {
 		this.readOnly = readOnly;
 		this.cache = new ConcurrentHashMap<Class<?>, BeanProperties>();
+		this.methodCache = new ConcurrentHashMap<MethodKey, Method>();
 	}
 
 	/**
@@ -487,7 +490,23 @@ public class BeanELResolver extends ELResolver {
 		return result;
 	}
 
-  private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+	/**
+	 * Lookup the method in the method cache. If it is not cached yet, find it
+	 * and cache it for the class of the base object.
+	 */
+	private Method findMethod(Object base, String name, Class<?>[] types, int paramCount) {
+		MethodKey key = new MethodKey(base.getClass(), name, types, paramCount);
+		Method method = methodCache.get(key);
+		if (method == null) {
+			method = findMethodUncached(base, name, types, paramCount);
+			if (method != null) {
+				methodCache.putIfAbsent(key, method);
+			}
+		}
+		return method;
+	}
+
+	private Method findMethodUncached(Object base, String name, Class<?>[] types, int paramCount) {
 		if (types != null) {
 			try {
 				return findAccessibleMethod(base.getClass().getMethod(name, types));
@@ -641,5 +660,49 @@ public class BeanELResolver extends ELResolver {
 				classes.remove();
 			}
 		}
+		Iterator<MethodKey> methodKeys = methodCache.keySet().iterator();
+		while (methodKeys.hasNext()) {
+			if (loader == methodKeys.next().type.getClassLoader()) {
+				methodKeys.remove();
+			}
+		}
+	}
+
+	/**
+	 * Key of a cached method: the class of the base object, the method name
+	 * and either the parameter types or the number of parameters.
+	 */
+	private static final class MethodKey {
+		private final Class<?> type;
+		private final String name;
+		private final Class<?>[] paramTypes;
+		private final int paramCount;
+		private final int hashCode;
+
+		MethodKey(Class<?> type, String name, Class<?>[] paramTypes, int paramCount) {
+			this.type = type;
+			this.name = name;
+			this.paramTypes = paramTypes;
+			this.paramCount = paramCount;
+			this.hashCode = 31 * (31 * (31 * type.hashCode() + name.hashCode()) + Arrays.hashCode(paramTypes)) + paramCount;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof MethodKey)) {
+				return false;
+			}
+			MethodKey other = (MethodKey) obj;
+			return type == other.type && paramCount == other.paramCount && name.equals(other.name)
+				&& Arrays.equals(paramTypes, other.paramTypes);
+		}
 	}
 }
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataContext;
+import org.camunda.bpm.engine.management.Metrics;
 
 public class ExecuteJobHelper {
 
@@ -53,6 +54,7 @@ public class ExecuteJobHelper {
 
   public static void executeJob(String nextJobId, CommandExecutor commandExecutor, JobFailureCollector jobFailureCollector, Command<Void> cmd,
       ProcessEngineConfigurationImpl configuration) {
+    long startTime = System.nanoTime();
     try {
       commandExecutor.execute(cmd);
     } catch (RuntimeException exception) {
@@ -64,6 +66,9 @@ public class ExecuteJobHelper {
       // wrap the exception and throw it to indicate the ExecuteJobCmd failed
       throw LOG.wrapJobExecutionFailure(jobFailureCollector, exception);
     } finally {
+      if (configuration != null && configuration.isLatencyMetricsEnabled()) {
+        configuration.getMetricsRegistry().recordLatency(Metrics.JOB_EXECUTION_LATENCY, System.nanoTime() - startTime);
+      }
       // preserve MDC properties before listener invocation and clear MDC for job listener
       ProcessDataContext processDataContext = null;
       if (configuration != null) {
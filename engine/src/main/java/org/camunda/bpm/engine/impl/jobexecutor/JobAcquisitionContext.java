@@ -16,9 +16,13 @@
  */
 package org.camunda.bpm.engine.impl.jobexecutor;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 
@@ -29,6 +33,12 @@ import org.camunda.bpm.engine.impl.util.CollectionUtil;
 public class JobAcquisitionContext {
 
   protected Map<String, List<List<String>>> rejectedJobBatchesByEngine;
+  /**
+   * Rejected job batches are not only submitted by the acquisition thread, but also by
+   * threads that hand over jobs after their transaction has committed. They are queued
+   * here and moved to {@link #rejectedJobBatchesByEngine} by the acquisition thread.
+   */
+  protected Queue<Entry<String, List<String>>> submittedRejectedJobBatches;
   protected Map<String, AcquiredJobs> acquiredJobsByEngine;
   protected Map<String, List<List<String>>> additionalJobBatchesByEngine;
   protected Exception acquisitionException;
@@ -37,12 +47,21 @@ public class JobAcquisitionContext {
 
   public JobAcquisitionContext() {
     this.rejectedJobBatchesByEngine = new HashMap<String, List<List<String>>>();
+    this.submittedRejectedJobBatches = new ConcurrentLinkedQueue<Entry<String, List<String>>>();
     this.additionalJobBatchesByEngine = new HashMap<String, List<List<String>>>();
     this.acquiredJobsByEngine = new HashMap<String, AcquiredJobs>();
   }
 
   public void submitRejectedBatch(String engineName, List<String> jobIds) {
-    CollectionUtil.addToMapOfLists(rejectedJobBatchesByEngine, engineName, jobIds);
+    submittedRejectedJobBatches.add(new SimpleImmutableEntry<String, List<String>>(engineName, jobIds));
+  }
+
+  protected void collectRejectedBatches() {
+    Entry<String, List<String>> rejectedBatch = submittedRejectedJobBatches.poll();
+    while (rejectedBatch != null) {
+      CollectionUtil.addToMapOfLists(rejectedJobBatchesByEngine, rejectedBatch.getKey(), rejectedBatch.getValue());
+      rejectedBatch = submittedRejectedJobBatches.poll();
+    }
   }
 
   public void submitAcquiredJobs(String engineName, AcquiredJobs acquiredJobs) {
@@ -58,6 +77,7 @@ public class JobAcquisitionContext {
 
     // jobs that were rejected in the previous acquisition cycle
     // are to be resubmitted for execution in the current cycle
+    collectRejectedBatches();
     additionalJobBatchesByEngine.putAll(rejectedJobBatchesByEngine);
 
     rejectedJobBatchesByEngine.clear();
@@ -120,6 +140,7 @@ public class JobAcquisitionContext {
    * saturation of the underlying job queue.
    */
   public Map<String, List<List<String>>> getRejectedJobsByEngine() {
+    collectRejectedBatches();
     return rejectedJobBatchesByEngine;
   }
 
@@ -22,6 +22,8 @@ import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.ReleaseJobPartitionsCmd;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.management.Metrics;
@@ -93,6 +95,10 @@ public abstract class JobExecutor {
     stopExecutingJobs();
     ensureCleanup();
     isActive = false;
+
+    for (ProcessEngineImpl processEngine : processEngines) {
+      releaseJobPartitions(processEngine);
+    }
   }
 
   protected void ensureInitialization() {
@@ -121,12 +127,35 @@ public abstract class JobExecutor {
   }
 
   public synchronized void unregisterProcessEngine(ProcessEngineImpl processEngine) {
+    boolean wasActive = isActive;
     processEngines.remove(processEngine);
 
     // if we unregister the last process engine, auto-shutdown the jobexecutor
     if(processEngines.isEmpty() && isActive) {
       shutdown();
     }
+
+    if (wasActive) {
+      releaseJobPartitions(processEngine);
+    }
+  }
+
+  /**
+   * Releases the job partitions this job executor leased for the given process engine,
+   * so that the job executors of other nodes do not wait for the leases to expire.
+   */
+  protected void releaseJobPartitions(ProcessEngineImpl processEngine) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = processEngine.getProcessEngineConfiguration();
+    if (processEngineConfiguration.isJobExecutorAcquireByPartition()) {
+      try {
+        processEngineConfiguration
+          .getCommandExecutorTxRequired()
+          .execute(new ReleaseJobPartitionsCmd(lockOwner));
+      }
+      catch (Exception e) {
+        LOG.exceptionWhileReleasingJobPartitions(processEngine.getName(), e);
+      }
+    }
   }
 
   protected abstract void startExecutingJobs();
@@ -192,4 +192,17 @@ public class JobExecutorLogger extends ProcessEngineLogger {
       "Batch window for history cleanup was not calculated. History cleanup job(s) will be suspended.");
   }
 
+  public void debugHandingOverLocalJobToJobExecutor(String jobId) {
+    logDebug(
+        "029",
+        "Handing over new job to the job executor of this node. Job Id='{}'", jobId);
+  }
+
+  public void exceptionWhileReleasingJobPartitions(String processEngineName, Exception cause) {
+    logWarn(
+        "030",
+        "Exception while releasing the job partitions of process engine '{}'; they are leased by other job executors once the leases expire",
+        processEngineName, cause);
+  }
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Collections;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Hands a job that has been created and locked by the committed transaction
+ * over to the job executor of this node, without waiting for the next job
+ * acquisition cycle. If the node fails before the job is executed, the job
+ * becomes available for acquisition again once its lock has expired.
+ */
+public class LocalJobAddedNotification implements TransactionListener {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected final String jobId;
+  protected final JobExecutor jobExecutor;
+  protected final ProcessEngineImpl processEngine;
+
+  public LocalJobAddedNotification(String jobId, JobExecutor jobExecutor, ProcessEngineImpl processEngine) {
+    this.jobId = jobId;
+    this.jobExecutor = jobExecutor;
+    this.processEngine = processEngine;
+  }
+
+  public void execute(CommandContext commandContext) {
+    if (jobExecutor.isActive()) {
+      LOG.debugHandingOverLocalJobToJobExecutor(jobId);
+      jobExecutor.executeJobs(Collections.singletonList(jobId), processEngine);
+      logLocalJobHandedOver(commandContext);
+    }
+  }
+
+  protected void logLocalJobHandedOver(CommandContext commandContext) {
+    if (commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
+      commandContext.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .markOccurrence(Metrics.JOB_LOCKED_LOCAL);
+    }
+  }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent (thread-safe) approximate LRU cache.
+ * Lookups do not lock, they only record the time of the access. After the cache size
+ * exceeded its limit, the least recently used entries are removed in a batch, so that
+ * a put evicts only every few calls. The cache counts hits, misses and evictions.
+ */
+public final class ConcurrentCache implements TreeCache {
+
+	/** fraction of the maximum size which is kept when the cache evicts entries */
+	private static final float EVICTION_LOAD_FACTOR = 0.9f;
+
+	private final int maxSize;
+	private final int evictedSize;
+	private final Map<String,Entry> entries = new ConcurrentHashMap<String,Entry>();
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * Constructor.
+	 * @param size maximum cache size
+	 */
+	public ConcurrentCache(int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("The size of a cache must be positive");
+		}
+		this.maxSize = size;
+		this.evictedSize = (int) (size * EVICTION_LOAD_FACTOR);
+	}
+
+	public Tree get(String expression) {
+		Entry entry = entries.get(expression);
+		if (entry == null) {
+			missCount.increment();
+			return null;
+		}
+		entry.lastAccess = System.nanoTime();
+		hitCount.increment();
+		return entry.tree;
+	}
+
+	public void put(String expression, Tree tree) {
+		entries.put(expression, new Entry(tree));
+		if (entries.size() > maxSize) {
+			evict();
+		}
+	}
+
+	/**
+	 * Removes the least recently used entries until the cache is filled up to
+	 * the {@link #EVICTION_LOAD_FACTOR}. If another thread already evicts,
+	 * this call returns immediately.
+	 */
+	private void evict() {
+		if (!evictionLock.tryLock()) {
+			return;
+		}
+		try {
+			if (entries.size() <= maxSize) {
+				return;
+			}
+
+			List<Map.Entry<String,Entry>> candidates = new ArrayList<Map.Entry<String,Entry>>(entries.entrySet());
+			Collections.sort(candidates, LEAST_RECENTLY_USED_FIRST);
+
+			int evictions = candidates.size() - evictedSize;
+			for (int i = 0; i < evictions; i++) {
+				Map.Entry<String,Entry> candidate = candidates.get(i);
+				if (entries.remove(candidate.getKey(), candidate.getValue())) {
+					evictionCount.increment();
+				}
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * @return the ratio of lookups which found a tree or <code>0</code> if there was no lookup yet
+	 */
+	public double getHitRate() {
+		long hits = hitCount.sum();
+		long lookups = hits + missCount.sum();
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	private static final Comparator<Map.Entry<String,Entry>> LEAST_RECENTLY_USED_FIRST = new Comparator<Map.Entry<String,Entry>>() {
+		public int compare(Map.Entry<String,Entry> e1, Map.Entry<String,Entry> e2) {
+			return Long.compare(e1.getValue().lastAccess, e2.getValue().lastAccess);
+		}
+	};
+
+	private static final class Entry {
+		private final Tree tree;
+		private volatile long lastAccess = System.nanoTime();
+
+		private Entry(Tree tree) {
+			this.tree = tree;
+		}
+	}
+}
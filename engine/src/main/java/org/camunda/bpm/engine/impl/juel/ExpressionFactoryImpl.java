@@ -300,6 +300,13 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 		return Boolean.valueOf(properties.getProperty(property, String.valueOf(profile.contains(feature))));
 	}
 
+	/**
+	 * Get the factory's tree store which holds the parsed expression trees.
+	 */
+	public TreeStore getTreeStore() {
+		return store;
+	}
+
 	/**
 	 * Create the factory's tree store. This implementation creates a new tree store using the
 	 * default builder and cache implementations. The builder and cache are configured using the
@@ -334,7 +341,7 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 				throw new ELException("Cannot parse EL property " + PROP_CACHE_SIZE, e);
 			}
 		}
-		Cache cache = cacheSize > 0 ? new Cache(cacheSize) : null;
+		TreeCache cache = cacheSize > 0 ? new ConcurrentCache(cacheSize) : null;
 
 		return new TreeStore(builder, cache);
 	}
@@ -0,0 +1,163 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Records latencies in microseconds into logarithmic buckets that are each split
+ * into {@value #SUB_BUCKET_COUNT} linear sub buckets, like an HDR histogram. A recorded
+ * value is therefore reproduced with a relative error of at most about 3%, independent
+ * of its magnitude, while recording is a single atomic increment.</p>
+ *
+ * <p>Values larger than 2^{@value #MAX_EXPONENT} microseconds are recorded as that value.</p>
+ */
+public class LatencyHistogram {
+
+  protected static final int SUB_BUCKET_BITS = 5;
+  protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  protected static final int MAX_EXPONENT = 40;
+  protected static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  protected String name;
+
+  protected AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  protected AtomicLong max = new AtomicLong();
+
+  public LatencyHistogram(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Records a latency measured with {@link System#nanoTime()}.
+   */
+  public void recordNanos(long nanos) {
+    record(nanos / 1000);
+  }
+
+  /**
+   * Records a latency in microseconds.
+   */
+  public void record(long micros) {
+    long value = Math.max(0, micros);
+    counts.incrementAndGet(bucketIndex(value));
+
+    long currentMax = max.get();
+    while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * Returns the values recorded since the last invocation and clears the histogram.
+   */
+  public Snapshot getAndClear() {
+    long[] snapshotCounts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshotCounts[i] = counts.getAndSet(i, 0);
+    }
+    return new Snapshot(snapshotCounts, max.getAndSet(0));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  protected static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT - 1);
+    int shift = exponent - SUB_BUCKET_BITS;
+    int subBucket = (int) Math.min((value >> shift) - SUB_BUCKET_COUNT, SUB_BUCKET_COUNT - 1);
+
+    return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * @return the highest value that is recorded into the bucket with the given index
+   */
+  protected static long highestValueOfBucket(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+    int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+
+    return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * The values of a histogram recorded within one reporting interval.
+   */
+  public static class Snapshot {
+
+    protected final long[] counts;
+    protected final long max;
+    protected final long count;
+
+    public Snapshot(long[] counts, long max) {
+      this.counts = counts;
+      this.max = max;
+
+      long totalCount = 0;
+      for (long bucketCount : counts) {
+        totalCount += bucketCount;
+      }
+      this.count = totalCount;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getMax() {
+      return max;
+    }
+
+    /**
+     * @param percentile a value between 0 and 100
+     * @return the value in microseconds which is greater than or equal to the given
+     * percentage of recorded values, or 0 if no value was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (count == 0) {
+        return 0;
+      }
+
+      long rank = (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count);
+      rank = Math.max(rank, 1);
+
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(highestValueOfBucket(i), max);
+        }
+      }
+      return max;
+    }
+  }
+
+}
@@ -16,17 +16,27 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
- * A Meter implementation based on AtomicLong
+ * A Meter implementation based on striped counters. Threads increment one of
+ * several counters chosen by their thread id, so that concurrent marks don't
+ * contend on a single memory location. Each counter is reset atomically when
+ * the meter is cleared, so no occurrence is lost.
  *
  * @author Daniel Meyer
  *
  */
 public class Meter {
 
-  protected AtomicLong counter = new AtomicLong(0);
+  /**
+   * Distance between two counters in the array, so that each
+   * counter resides on a separate cache line.
+   */
+  protected static final int STRIPE_PADDING = 8;
+  protected static final int STRIPES = stripeCount();
+
+  protected AtomicLongArray counters = new AtomicLongArray(STRIPES * STRIPE_PADDING);
 
   protected String name;
 
@@ -35,11 +45,11 @@ public class Meter {
   }
 
   public void mark() {
-    counter.incrementAndGet();
+    counters.incrementAndGet(stripeIndex());
   }
 
   public void markTimes(long times) {
-    counter.addAndGet(times);
+    counters.addAndGet(stripeIndex(), times);
   }
 
   public String getName() {
@@ -51,11 +61,35 @@ public class Meter {
   }
 
   public long getAndClear() {
-    return counter.getAndSet(0);
+    long sum = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      sum += counters.getAndSet(i * STRIPE_PADDING, 0);
+    }
+    return sum;
   }
 
   public long get() {
-    return counter.get();
+    long sum = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      sum += counters.get(i * STRIPE_PADDING);
+    }
+    return sum;
+  }
+
+  protected int stripeIndex() {
+    return ((int) Thread.currentThread().getId() & (STRIPES - 1)) * STRIPE_PADDING;
+  }
+
+  /**
+   * @return the smallest power of two that is at least the number of available processors
+   */
+  protected static int stripeCount() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    int stripes = 1;
+    while (stripes < processors && stripes < 64) {
+      stripes <<= 1;
+    }
+    return stripes;
   }
 
 }
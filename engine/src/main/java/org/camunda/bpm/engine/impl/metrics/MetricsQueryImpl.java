@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.metrics;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -46,6 +47,7 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
   protected Long endDateMilliseconds;
   protected Long interval;
   protected Boolean aggregateByReporter;
+  protected List<String> maxAggregatedNames = Collections.emptyList();
 
   protected transient CommandExecutor commandExecutor;
 
@@ -174,6 +176,22 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
     return reporter;
   }
 
+  public List<String> getMaxAggregatedNames() {
+    return maxAggregatedNames;
+  }
+
+  /**
+   * Names of the metrics which are aggregated by their maximum instead of their sum,
+   * e.g. the percentiles of latency metrics.
+   */
+  public void setMaxAggregatedNames(List<String> maxAggregatedNames) {
+    this.maxAggregatedNames = maxAggregatedNames;
+  }
+
+  public boolean isMaxAggregated() {
+    return name != null && maxAggregatedNames.contains(name);
+  }
+
   public Long getInterval() {
     if (interval == null) {
       return DEFAULT_SELECT_INTERVAL;
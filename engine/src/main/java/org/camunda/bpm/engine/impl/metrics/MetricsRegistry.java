@@ -26,6 +26,7 @@ import java.util.Map;
 public class MetricsRegistry {
 
   protected Map<String, Meter> meters = new HashMap<String, Meter>();
+  protected Map<String, LatencyHistogram> histograms = new HashMap<String, LatencyHistogram>();
 
   public Meter getMeterByName(String name) {
     return meters.get(name);
@@ -35,6 +36,14 @@ public class MetricsRegistry {
     return meters;
   }
 
+  public LatencyHistogram getHistogramByName(String name) {
+    return histograms.get(name);
+  }
+
+  public Map<String, LatencyHistogram> getHistograms() {
+    return histograms;
+  }
+
   public void markOccurrence(String name) {
     markOccurrence(name, 1);
   }
@@ -47,10 +56,42 @@ public class MetricsRegistry {
     }
   }
 
+  /**
+   * Records a latency measured with {@link System#nanoTime()}
+   * in the histogram with the given name, if it exists.
+   */
+  public void recordLatency(String name, long nanos) {
+    LatencyHistogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.recordNanos(nanos);
+    }
+  }
+
   public Meter createMeter(String name) {
-    Meter meter = new Meter(name);
+    Meter meter = newMeter(name);
     meters.put(name, meter);
     return meter;
   }
 
+  public LatencyHistogram createHistogram(String name) {
+    LatencyHistogram histogram = newHistogram(name);
+    histograms.put(name, histogram);
+    return histogram;
+  }
+
+  /**
+   * Hook for registries that provide a different meter implementation.
+   */
+  protected Meter newMeter(String name) {
+    return new Meter(name);
+  }
+
+  /**
+   * Hook for registries that provide a different histogram implementation.
+   */
+  protected LatencyHistogram newHistogram(String name) {
+    return new LatencyHistogram(name);
+  }
+
 }
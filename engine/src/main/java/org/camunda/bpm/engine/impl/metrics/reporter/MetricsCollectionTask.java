@@ -17,6 +17,7 @@
 package org.camunda.bpm.engine.impl.metrics.reporter;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.TimerTask;
 
@@ -24,11 +25,13 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.LatencyHistogram;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  *
@@ -73,6 +76,10 @@ public class MetricsCollectionTask extends TimerTask {
 
     }
 
+    for (LatencyHistogram histogram : metricsRegistry.getHistograms().values()) {
+      collectHistogram(histogram, logs);
+    }
+
     commandExecutor.execute(new Command<Void>() {
 
       public Void execute(CommandContext commandContext) {
@@ -84,6 +91,22 @@ public class MetricsCollectionTask extends TimerTask {
     });
   }
 
+  /**
+   * A histogram is logged as several metrics, one per percentile, which
+   * are named by appending the suffixes defined in {@link Metrics}.
+   */
+  protected void collectHistogram(LatencyHistogram histogram, List<MeterLogEntity> logs) {
+    LatencyHistogram.Snapshot snapshot = histogram.getAndClear();
+    String name = histogram.getName();
+    Date timestamp = ClockUtil.getCurrentTime();
+
+    logs.add(new MeterLogEntity(name + Metrics.LATENCY_COUNT_SUFFIX, reporterId, snapshot.getCount(), timestamp));
+    logs.add(new MeterLogEntity(name + Metrics.LATENCY_P50_SUFFIX, reporterId, snapshot.getValueAtPercentile(50), timestamp));
+    logs.add(new MeterLogEntity(name + Metrics.LATENCY_P99_SUFFIX, reporterId, snapshot.getValueAtPercentile(99), timestamp));
+    logs.add(new MeterLogEntity(name + Metrics.LATENCY_P999_SUFFIX, reporterId, snapshot.getValueAtPercentile(99.9), timestamp));
+    logs.add(new MeterLogEntity(name + Metrics.LATENCY_MAX_SUFFIX, reporterId, snapshot.getMax(), timestamp));
+  }
+
   public String getReporter() {
     return reporterId;
   }
@@ -32,4 +32,19 @@ public interface CacheFactory {
    *        The cache to be created.
    */
   public <T> Cache<String, T > createCache(int maxNumberOfElementsInCache);
+
+  /**
+   * Creates a cache that does not exceed a specified number of elements.
+   *
+   * @param cacheName
+   *        The name of the cache to be created, i.e. the simple class name of the deployment
+   *        cache component using it, like <code>ProcessDefinitionCache</code> or <code>BpmnModelInstanceCache</code>.
+   * @param maxNumberOfElementsInCache
+   *        The maximum number of elements that is allowed within the cache at the same time.
+   * @return
+   *        The cache to be created.
+   */
+  default <T> Cache<String, T> createCache(String cacheName, int maxNumberOfElementsInCache) {
+    return createCache(maxNumberOfElementsInCache);
+  }
 }
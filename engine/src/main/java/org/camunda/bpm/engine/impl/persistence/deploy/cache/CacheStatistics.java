@@ -0,0 +1,136 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+/**
+ * A snapshot of the counters of a {@link WeightedCache}. Counters are accumulated
+ * since the cache was created.
+ */
+public class CacheStatistics {
+
+  protected final String cacheName;
+  protected final long hitCount;
+  protected final long softHitCount;
+  protected final long missCount;
+  protected final long evictionCount;
+  protected final long loadCount;
+  protected final long totalLoadTimeNanos;
+  protected final int size;
+  protected final int softSize;
+  protected final long weight;
+
+  public CacheStatistics(String cacheName, long hitCount, long softHitCount, long missCount, long evictionCount,
+      long loadCount, long totalLoadTimeNanos, int size, int softSize, long weight) {
+    this.cacheName = cacheName;
+    this.hitCount = hitCount;
+    this.softHitCount = softHitCount;
+    this.missCount = missCount;
+    this.evictionCount = evictionCount;
+    this.loadCount = loadCount;
+    this.totalLoadTimeNanos = totalLoadTimeNanos;
+    this.size = size;
+    this.softSize = softSize;
+    this.weight = weight;
+  }
+
+  public String getCacheName() {
+    return cacheName;
+  }
+
+  /**
+   * @return the number of lookups served from the cache, including {@link #getSoftHitCount() soft hits}
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * @return the number of lookups served from an entry that had already been evicted but
+   * was still softly reachable
+   */
+  public long getSoftHitCount() {
+    return softHitCount;
+  }
+
+  public long getMissCount() {
+    return missCount;
+  }
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+  /**
+   * @return the number of values put into the cache after a miss for the same key
+   */
+  public long getLoadCount() {
+    return loadCount;
+  }
+
+  /**
+   * @return the accumulated time between a miss and putting the loaded value for the same key
+   */
+  public long getTotalLoadTimeNanos() {
+    return totalLoadTimeNanos;
+  }
+
+  public long getAverageLoadTimeNanos() {
+    return loadCount == 0 ? 0 : totalLoadTimeNanos / loadCount;
+  }
+
+  public double getHitRatio() {
+    long requestCount = hitCount + missCount;
+    return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+  }
+
+  /**
+   * @return the number of strongly referenced entries
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return the number of evicted entries that are still softly referenced
+   */
+  public int getSoftSize() {
+    return softSize;
+  }
+
+  /**
+   * @return the estimated weight of the strongly referenced entries
+   */
+  public long getWeight() {
+    return weight;
+  }
+
+  @Override
+  public String toString() {
+    return "CacheStatistics[cacheName=" + cacheName
+        + ", hitCount=" + hitCount
+        + ", softHitCount=" + softHitCount
+        + ", missCount=" + missCount
+        + ", evictionCount=" + evictionCount
+        + ", loadCount=" + loadCount
+        + ", totalLoadTimeNanos=" + totalLoadTimeNanos
+        + ", size=" + size
+        + ", softSize=" + softSize
+        + ", weight=" + weight
+        + "]";
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.engine.impl.core.model.CoreActivity;
+import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.instance.DomElement;
+
+/**
+ * <p>Estimates the weight of the values held by the deployment cache from the number
+ * of elements they consist of. The sizes per element are rough averages; they are
+ * meant to make large definitions weigh more than small ones, not to measure the heap.</p>
+ *
+ * <ul>
+ *   <li>model instances: {@value #BYTES_PER_DOM_ELEMENT} bytes per DOM element</li>
+ *   <li>process and case definitions: {@value #BYTES_PER_ACTIVITY} bytes per activity</li>
+ *   <li>decision definitions: {@value #BYTES_PER_DECISION_RULE} bytes per rule of a decision table</li>
+ * </ul>
+ */
+public class DefaultCacheEntryWeigher implements CacheEntryWeigher {
+
+  public static final long BASE_WEIGHT = 1024;
+  public static final long BYTES_PER_DOM_ELEMENT = 1024;
+  public static final long BYTES_PER_ACTIVITY = 2048;
+  public static final long BYTES_PER_DECISION_RULE = 512;
+
+  public long weigh(Object value) {
+    if (value instanceof ModelInstance) {
+      DomElement rootElement = ((ModelInstance) value).getDocument().getRootElement();
+      return BASE_WEIGHT + BYTES_PER_DOM_ELEMENT * countElements(rootElement);
+    }
+    else if (value instanceof CoreActivity) {
+      return BASE_WEIGHT + BYTES_PER_ACTIVITY * countActivities((CoreActivity) value);
+    }
+    else if (value instanceof DmnDecisionImpl) {
+      return BASE_WEIGHT + BYTES_PER_DECISION_RULE * countRules((DmnDecisionImpl) value);
+    }
+    else {
+      return BASE_WEIGHT;
+    }
+  }
+
+  protected long countElements(DomElement element) {
+    if (element == null) {
+      return 0;
+    }
+
+    long count = 1;
+    for (DomElement childElement : element.getChildElements()) {
+      count += countElements(childElement);
+    }
+    return count;
+  }
+
+  protected long countActivities(CoreActivity scope) {
+    List<? extends CoreActivity> activities = scope.getActivities();
+
+    long count = activities.size();
+    for (CoreActivity activity : activities) {
+      count += countActivities(activity);
+    }
+    return count;
+  }
+
+  protected long countRules(DmnDecisionImpl decision) {
+    if (decision.getDecisionLogic() instanceof DmnDecisionTableImpl) {
+      return ((DmnDecisionTableImpl) decision.getDecisionLogic()).getRules().size();
+    }
+    else {
+      return 1;
+    }
+  }
+
+}
@@ -316,6 +316,9 @@ public class DeploymentCache {
       dmnModelInstanceCache.removeAllDefinitionsByDeploymentId(deploymentId);
     }
     removeAllDecisionRequirementsDefinitionsByDeploymentId(deploymentId);
+
+    // the classes of the deployment may be unloaded
+    Context.getProcessEngineConfiguration().getExpressionManager().clearBeanElResolverCache();
   }
 
   protected void removeAllDecisionRequirementsDefinitionsByDeploymentId(String deploymentId) {
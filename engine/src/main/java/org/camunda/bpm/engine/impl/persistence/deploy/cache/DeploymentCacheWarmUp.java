@@ -0,0 +1,97 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * Loads the process definitions of deployments into the {@link DeploymentCache},
+ * so that they are not parsed when they are used for the first time. Each process
+ * definition is loaded in its own command, a definition which cannot be loaded
+ * is skipped. The warm-up stops when its thread is interrupted.
+ */
+public class DeploymentCacheWarmUp implements Runnable {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected Set<String> deploymentIds;
+
+  public DeploymentCacheWarmUp(Set<String> deploymentIds, CommandExecutor commandExecutor) {
+    this.deploymentIds = deploymentIds;
+    this.commandExecutor = commandExecutor;
+  }
+
+  public void run() {
+    try {
+      warmUp();
+    }
+    catch (Exception e) {
+      LOG.exceptionWhileWarmingUpDeploymentCache(deploymentIds, e);
+    }
+  }
+
+  protected void warmUp() {
+    List<String> processDefinitionIds = commandExecutor.execute(new Command<List<String>>() {
+      public List<String> execute(CommandContext commandContext) {
+        List<String> processDefinitionIds = new ArrayList<String>();
+        for (String deploymentId : deploymentIds) {
+          List<ProcessDefinition> processDefinitions = commandContext.getProcessDefinitionManager()
+            .findProcessDefinitionsByDeploymentId(deploymentId);
+          for (ProcessDefinition processDefinition : processDefinitions) {
+            processDefinitionIds.add(processDefinition.getId());
+          }
+        }
+        return processDefinitionIds;
+      }
+    });
+
+    int loadedProcessDefinitions = 0;
+    for (final String processDefinitionId : processDefinitionIds) {
+      if (Thread.currentThread().isInterrupted()) {
+        // the process engine is closed
+        break;
+      }
+      try {
+        commandExecutor.execute(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            commandContext.getProcessEngineConfiguration()
+              .getDeploymentCache()
+              .findDeployedProcessDefinitionById(processDefinitionId);
+            return null;
+          }
+        });
+        loadedProcessDefinitions++;
+      }
+      catch (Exception e) {
+        LOG.unableToWarmUpProcessDefinition(processDefinitionId, e);
+      }
+    }
+
+    LOG.deploymentCacheWarmedUp(loadedProcessDefinitions, deploymentIds);
+  }
+
+}
@@ -41,7 +41,7 @@ public abstract class ModelInstanceCache<InstanceType extends ModelInstance, Def
   protected ResourceDefinitionCache<DefinitionType> definitionCache;
 
   public ModelInstanceCache(CacheFactory factory, int cacheCapacity, ResourceDefinitionCache<DefinitionType> definitionCache) {
-    this.instanceCache = factory.createCache(cacheCapacity);
+    this.instanceCache = factory.createCache(getClass().getSimpleName(), cacheCapacity);
     this.definitionCache = definitionCache;
   }
 
@@ -36,7 +36,7 @@ public abstract class ResourceDefinitionCache<T extends ResourceDefinitionEntity
   protected CacheDeployer cacheDeployer;
 
   public ResourceDefinitionCache(CacheFactory factory, int cacheCapacity, CacheDeployer cacheDeployer) {
-    this.cache = factory.createCache(cacheCapacity);
+    this.cache = factory.createCache(getClass().getSimpleName(), cacheCapacity);
     this.cacheDeployer = cacheDeployer;
   }
 
@@ -0,0 +1,308 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>A cache that is bounded by the number of its entries and by their estimated
+ * weight. When a put exceeds one of the bounds, the least recently accessed entries
+ * are evicted. The entries are kept in access order, so that a lookup, a put and the
+ * eviction of an entry take constant time.</p>
+ *
+ * <p>If soft references are enabled, evicted entries are kept softly reachable, i.e.
+ * the garbage collector reclaims them only under memory pressure. A lookup of such an
+ * entry moves it back into the cache instead of causing a miss.</p>
+ *
+ * <p>{@link #size()}, {@link #isEmpty()} and {@link #keySet()} only take the strongly
+ * referenced entries into account. {@link #keySet()} returns a copy of the keys.</p>
+ */
+public class WeightedCache<K, V> implements Cache<K, V> {
+
+  protected final String name;
+  protected final int maxSize;
+  protected final long maxWeight;
+  protected final CacheEntryWeigher weigher;
+  protected final boolean softReferencesEnabled;
+
+  /** the strongly referenced entries from the least to the most recently accessed one, guarded by the lock */
+  protected final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true);
+  protected long weight;
+  protected final Object lock = new Object();
+
+  protected final Map<K, SoftEntry<K, V>> softEntries = new ConcurrentHashMap<K, SoftEntry<K, V>>();
+  protected final ReferenceQueue<V> softReferenceQueue = new ReferenceQueue<V>();
+
+  protected final LongAdder hitCount = new LongAdder();
+  protected final LongAdder softHitCount = new LongAdder();
+  protected final LongAdder missCount = new LongAdder();
+  protected final LongAdder evictionCount = new LongAdder();
+  protected final LongAdder loadCount = new LongAdder();
+  protected final LongAdder totalLoadTimeNanos = new LongAdder();
+
+  /** the miss of the current thread, completed by the put of the loaded value */
+  protected final ThreadLocal<PendingLoad<K>> pendingLoad = new ThreadLocal<PendingLoad<K>>();
+
+  public WeightedCache(String name, int maxSize, long maxWeight, CacheEntryWeigher weigher, boolean softReferencesEnabled) {
+    if (maxSize <= 0 || maxWeight <= 0) {
+      throw new IllegalArgumentException("The size and weight limits of a cache must be positive");
+    }
+    this.name = name;
+    this.maxSize = maxSize;
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+    this.softReferencesEnabled = softReferencesEnabled;
+  }
+
+  public V get(K key) {
+    Entry<V> entry;
+    synchronized (lock) {
+      entry = entries.get(key);
+    }
+    if (entry != null) {
+      hitCount.increment();
+      return entry.value;
+    }
+
+    if (softReferencesEnabled) {
+      purgeSoftEntries();
+
+      V value = promoteSoftEntry(key);
+      if (value != null) {
+        hitCount.increment();
+        softHitCount.increment();
+        return value;
+      }
+    }
+
+    missCount.increment();
+    pendingLoad.set(new PendingLoad<K>(key, System.nanoTime()));
+    return null;
+  }
+
+  public void put(K key, V value) {
+    if (key == null || value == null) {
+      throw new NullPointerException();
+    }
+
+    PendingLoad<K> load = pendingLoad.get();
+    if (load != null && load.key.equals(key)) {
+      pendingLoad.remove();
+      loadCount.increment();
+      totalLoadTimeNanos.add(System.nanoTime() - load.startTime);
+    }
+
+    if (softReferencesEnabled) {
+      purgeSoftEntries();
+    }
+
+    Entry<V> entry = createEntry(value);
+    synchronized (lock) {
+      softEntries.remove(key);
+      putEntry(key, entry);
+    }
+  }
+
+  /**
+   * Moves a softly referenced entry back into the cache. The entry is only moved while
+   * holding the lock and only if it is still the soft entry of the key, so that an entry
+   * which was removed or replaced in the meantime is not brought back.
+   *
+   * @return the value of the entry or null if there is none
+   */
+  protected V promoteSoftEntry(K key) {
+    SoftEntry<K, V> softEntry = softEntries.get(key);
+    V value = softEntry != null ? softEntry.get() : null;
+    if (value == null) {
+      return null;
+    }
+
+    Entry<V> entry = createEntry(value);
+    synchronized (lock) {
+      Entry<V> currentEntry = entries.get(key);
+      if (currentEntry != null) {
+        // the value was put in the meantime
+        return currentEntry.value;
+      }
+      if (!softEntries.remove(key, softEntry)) {
+        return null;
+      }
+      putEntry(key, entry);
+    }
+    return value;
+  }
+
+  protected Entry<V> createEntry(V value) {
+    return new Entry<V>(value, Math.max(1, weigher.weigh(value)));
+  }
+
+  /**
+   * Must be called while holding the lock.
+   */
+  protected void putEntry(K key, Entry<V> entry) {
+    Entry<V> previousEntry = entries.put(key, entry);
+    weight += previousEntry != null ? entry.weight - previousEntry.weight : entry.weight;
+
+    evict();
+  }
+
+  /**
+   * Evicts the least recently accessed entries until the cache is within its bounds again.
+   * The most recently accessed entry is kept even if it exceeds the weight limit on its own.
+   * Must be called while holding the lock.
+   */
+  protected void evict() {
+    Iterator<Map.Entry<K, Entry<V>>> eldestEntries = entries.entrySet().iterator();
+
+    while ((entries.size() > maxSize || weight > maxWeight) && entries.size() > 1) {
+      Map.Entry<K, Entry<V>> eldestEntry = eldestEntries.next();
+      K key = eldestEntry.getKey();
+      Entry<V> entry = eldestEntry.getValue();
+
+      eldestEntries.remove();
+      weight -= entry.weight;
+      evictionCount.increment();
+
+      if (softReferencesEnabled) {
+        softEntries.put(key, new SoftEntry<K, V>(key, entry.value, softReferenceQueue));
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void purgeSoftEntries() {
+    SoftEntry<K, V> softEntry;
+    while ((softEntry = (SoftEntry<K, V>) softReferenceQueue.poll()) != null) {
+      softEntries.remove(softEntry.key, softEntry);
+    }
+  }
+
+  public void remove(K key) {
+    synchronized (lock) {
+      Entry<V> entry = entries.remove(key);
+      if (entry != null) {
+        weight -= entry.weight;
+      }
+      softEntries.remove(key);
+    }
+  }
+
+  public void clear() {
+    synchronized (lock) {
+      entries.clear();
+      weight = 0;
+      softEntries.clear();
+    }
+  }
+
+  public boolean isEmpty() {
+    synchronized (lock) {
+      return entries.isEmpty();
+    }
+  }
+
+  public Set<K> keySet() {
+    synchronized (lock) {
+      return new HashSet<K>(entries.keySet());
+    }
+  }
+
+  public int size() {
+    synchronized (lock) {
+      return entries.size();
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public boolean isSoftReferencesEnabled() {
+    return softReferencesEnabled;
+  }
+
+  public CacheStatistics getStatistics() {
+    int size;
+    long currentWeight;
+    synchronized (lock) {
+      size = entries.size();
+      currentWeight = weight;
+    }
+
+    return new CacheStatistics(name,
+        hitCount.sum(),
+        softHitCount.sum(),
+        missCount.sum(),
+        evictionCount.sum(),
+        loadCount.sum(),
+        totalLoadTimeNanos.sum(),
+        size,
+        softEntries.size(),
+        currentWeight);
+  }
+
+  protected static class Entry<V> {
+
+    protected final V value;
+    protected final long weight;
+
+    public Entry(V value, long weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  protected static class SoftEntry<K, V> extends SoftReference<V> {
+
+    protected final K key;
+
+    public SoftEntry(K key, V value, ReferenceQueue<V> queue) {
+      super(value, queue);
+      this.key = key;
+    }
+  }
+
+  protected static class PendingLoad<K> {
+
+    protected final K key;
+    protected final long startTime;
+
+    public PendingLoad(K key, long startTime) {
+      this.key = key;
+      this.startTime = startTime;
+    }
+  }
+
+}
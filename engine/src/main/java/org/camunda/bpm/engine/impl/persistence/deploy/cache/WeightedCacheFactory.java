@@ -0,0 +1,125 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.commons.utils.cache.Cache;
+
+/**
+ * <p>Builds {@link WeightedCache}s for the {@link DeploymentCache}, so that the caches
+ * are bounded by the estimated memory their entries consume in addition to the
+ * configured cache capacity.</p>
+ *
+ * <p>Evicted model instances are kept softly reachable by default, since they are the
+ * largest entries and expensive to parse again. The statistics of all caches created
+ * by the factory are available by {@link #getCacheStatistics()}.</p>
+ *
+ * <p>Set an instance as <code>cacheFactory</code> of the process engine configuration to use it.</p>
+ */
+public class WeightedCacheFactory implements CacheFactory {
+
+  public static final long DEFAULT_MAX_WEIGHT = 64L * 1024 * 1024;
+
+  protected long maxWeight = DEFAULT_MAX_WEIGHT;
+  protected Map<String, Long> maxWeights = new HashMap<String, Long>();
+  protected boolean softReferencesForModelInstances = true;
+  protected CacheEntryWeigher weigher = new DefaultCacheEntryWeigher();
+
+  protected final Map<String, WeightedCache<?, ?>> caches = new ConcurrentHashMap<String, WeightedCache<?, ?>>();
+  protected final AtomicInteger unnamedCacheCounter = new AtomicInteger();
+
+  @Override
+  public <T> Cache<String, T> createCache(int maxNumberOfElementsInCache) {
+    return createCache("cache-" + unnamedCacheCounter.incrementAndGet(), maxNumberOfElementsInCache);
+  }
+
+  @Override
+  public <T> Cache<String, T> createCache(String cacheName, int maxNumberOfElementsInCache) {
+    WeightedCache<String, T> cache = new WeightedCache<String, T>(cacheName,
+        maxNumberOfElementsInCache,
+        getMaxWeight(cacheName),
+        weigher,
+        isSoftReferencesEnabled(cacheName));
+
+    caches.put(cacheName, cache);
+    return cache;
+  }
+
+  protected long getMaxWeight(String cacheName) {
+    Long cacheMaxWeight = maxWeights.get(cacheName);
+    return cacheMaxWeight != null ? cacheMaxWeight : maxWeight;
+  }
+
+  protected boolean isSoftReferencesEnabled(String cacheName) {
+    return softReferencesForModelInstances && cacheName.endsWith("ModelInstanceCache");
+  }
+
+  /**
+   * @return the statistics of the created caches by their names
+   */
+  public Map<String, CacheStatistics> getCacheStatistics() {
+    Map<String, CacheStatistics> statistics = new HashMap<String, CacheStatistics>();
+    for (WeightedCache<?, ?> cache : caches.values()) {
+      statistics.put(cache.getName(), cache.getStatistics());
+    }
+    return statistics;
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  /**
+   * @param maxWeight the estimated number of bytes each cache may hold
+   */
+  public void setMaxWeight(long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  public Map<String, Long> getMaxWeights() {
+    return maxWeights;
+  }
+
+  /**
+   * @param maxWeights the estimated number of bytes a cache may hold by the name of the cache,
+   *        overrides the {@link #setMaxWeight(long) max weight} of all caches
+   */
+  public void setMaxWeights(Map<String, Long> maxWeights) {
+    this.maxWeights = maxWeights;
+  }
+
+  public boolean isSoftReferencesForModelInstances() {
+    return softReferencesForModelInstances;
+  }
+
+  public void setSoftReferencesForModelInstances(boolean softReferencesForModelInstances) {
+    this.softReferencesForModelInstances = softReferencesForModelInstances;
+  }
+
+  public CacheEntryWeigher getWeigher() {
+    return weigher;
+  }
+
+  public void setWeigher(CacheEntryWeigher weigher) {
+    this.weigher = weigher;
+  }
+
+}
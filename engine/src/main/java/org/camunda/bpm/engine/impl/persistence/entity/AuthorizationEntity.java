@@ -36,12 +36,13 @@ import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.util.ResourceTypeUtil;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CopyableDbEntity;
 
 /**
  * @author Daniel Meyer
  *
  */
-public class AuthorizationEntity implements Authorization, DbEntity, HasDbRevision, HasDbReferences, Serializable {
+public class AuthorizationEntity implements Authorization, DbEntity, CopyableDbEntity, HasDbRevision, HasDbReferences, Serializable {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
   private static final long serialVersionUID = 1L;
@@ -283,6 +284,20 @@ public class AuthorizationEntity implements Authorization, DbEntity, HasDbRevisi
     return referenceIdAndClass;
   }
 
+  public AuthorizationEntity copy() {
+    AuthorizationEntity copy = new AuthorizationEntity();
+    copy.id = id;
+    copy.revision = revision;
+    copy.authorizationType = authorizationType;
+    copy.permissions = permissions;
+    copy.userId = userId;
+    copy.groupId = groupId;
+    copy.resourceType = resourceType;
+    copy.resourceId = resourceId;
+    copy.cachedPermissions = new HashSet<>(cachedPermissions);
+    return copy;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -26,6 +26,7 @@ import java.util.Map;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CopyableDbEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
@@ -35,7 +36,7 @@ import org.camunda.bpm.engine.repository.*;
 /**
  * @author Tom Baeyens
  */
-public class DeploymentEntity implements Serializable, DeploymentWithDefinitions, DbEntity {
+public class DeploymentEntity implements Serializable, DeploymentWithDefinitions, DbEntity, CopyableDbEntity {
 
   private static final long serialVersionUID = 1L;
 
@@ -217,6 +218,19 @@ public class DeploymentEntity implements Serializable, DeploymentWithDefinitions
     return deployedArtifacts == null ? null : deployedArtifacts.get(DecisionRequirementsDefinitionEntity.class);
   }
 
+  /**
+   * The resources are not copied, the copy loads them lazily.
+   */
+  public DeploymentEntity copy() {
+    DeploymentEntity copy = new DeploymentEntity();
+    copy.id = id;
+    copy.name = name;
+    copy.deploymentTime = deploymentTime != null ? new Date(deploymentTime.getTime()) : null;
+    copy.source = source;
+    copy.tenantId = tenantId;
+    return copy;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
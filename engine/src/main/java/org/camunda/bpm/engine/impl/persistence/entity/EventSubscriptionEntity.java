@@ -55,6 +55,7 @@ public class EventSubscriptionEntity implements EventSubscription, DbEntity, Has
   protected String processInstanceId;
   protected String activityId;
   protected String configuration;
+  protected String correlationKey;
   protected Date created;
   protected String tenantId;
 
@@ -172,6 +173,7 @@ public class EventSubscriptionEntity implements EventSubscription, DbEntity, Has
     HashMap<String, Object> persistentState = new HashMap<String, Object>();
     persistentState.put("executionId", executionId);
     persistentState.put("configuration", configuration);
+    persistentState.put("correlationKey", correlationKey);
     persistentState.put("activityId", activityId);
     persistentState.put("eventName", eventName);
     return persistentState;
@@ -303,6 +305,14 @@ public class EventSubscriptionEntity implements EventSubscription, DbEntity, Has
     this.configuration = configuration;
   }
 
+  public String getCorrelationKey() {
+    return correlationKey;
+  }
+
+  public void setCorrelationKey(String correlationKey) {
+    this.correlationKey = correlationKey;
+  }
+
   public String getActivityId() {
     return activityId;
   }
@@ -381,6 +391,7 @@ public class EventSubscriptionEntity implements EventSubscription, DbEntity, Has
            + ", activityId=" + activityId
            + ", tenantId=" + tenantId
            + ", configuration=" + configuration
+           + ", correlationKey=" + correlationKey
            + ", revision=" + revision
            + ", created=" + created
            + "]";
@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyUtil;
 import org.camunda.bpm.engine.runtime.EventSubscription;
 import org.camunda.commons.utils.EnsureUtil;
 
@@ -284,6 +285,32 @@ public class EventSubscriptionManager extends AbstractManager {
     return (EventSubscriptionEntity) getDbEntityManager().selectOne("selectMessageStartEventSubscriptionByNameAndTenantId", parameters);
   }
 
+  /**
+   * @return the message event subscriptions of active executions with the given name
+   *         which are correlated by the given correlation key configuration, see {@link CorrelationKeyUtil}
+   */
+  @SuppressWarnings("unchecked")
+  public List<EventSubscriptionEntity> findMessageEventSubscriptionsByNameAndCorrelationKey(String messageName, String configuration) {
+    Map<String, String> parameters = new HashMap<String, String>();
+    parameters.put("messageName", messageName);
+    parameters.put("configuration", configuration);
+
+    return getDbEntityManager().selectList("selectMessageEventSubscriptionsByNameAndCorrelationKey", configureParameterizedQuery(parameters));
+  }
+
+  /**
+   * @return <code>true</code> if all message event subscriptions of executions with the given name
+   *         are correlated by the given variable, see {@link CorrelationKeyUtil}
+   */
+  @SuppressWarnings("unchecked")
+  public boolean isMessageCorrelatedByCorrelationKey(String messageName, String correlationKey) {
+    Map<String, Object> statistics = (Map<String, Object>) getDbEntityManager().selectOne("selectMessageCorrelationKeyStatistics", messageName);
+
+    return correlationKey.equals(statistics.get("minCorrelationKey"))
+        && correlationKey.equals(statistics.get("maxCorrelationKey"))
+        && ((Long) statistics.get("withoutCorrelationKeyCount")) == 0;
+  }
+
   /**
    * @param tenantId
    * @return the conditional start event subscriptions with the given tenant id
@@ -30,6 +30,7 @@ import org.camunda.bpm.engine.ProcessEngineServices;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.behavior.NoneStartEventActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
 import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -1712,6 +1713,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
     listeners.add((VariableInstanceLifecycleListener) new VariableListenerInvocationListener(this));
 
+    if (!getProcessDefinition().getProperties().get(BpmnProperties.CORRELATION_KEYS).isEmpty()) {
+      listeners.add((VariableInstanceLifecycleListener) new VariableInstanceCorrelationKeyListener(this));
+    }
+
     listeners.addAll((List) registeredVariableListeners);
 
     return listeners;
@@ -492,7 +492,7 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
 
     Context.getCommandContext()
       .getExternalTaskManager()
-      .fireExternalTaskAvailableEvent();
+      .fireExternalTaskAvailableEvent(topicName);
   }
 
   public static ExternalTaskEntity createAndInsert(ExecutionEntity execution, String topic, long priority) {
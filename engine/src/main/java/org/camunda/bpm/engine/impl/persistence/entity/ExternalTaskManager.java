@@ -18,9 +18,12 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.impl.Direction;
@@ -33,10 +36,14 @@ import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 
 /**
  * @author Thorben Lindhauer
@@ -46,13 +53,18 @@ public class ExternalTaskManager extends AbstractManager {
 
   public static QueryOrderingProperty EXT_TASK_PRIORITY_ORDERING_PROPERTY = new QueryOrderingProperty(ExternalTaskQueryProperty.PRIORITY, Direction.DESCENDING);
 
+  /** topics of the external tasks that became available in the current transaction */
+  protected Set<String> availableTopics;
+  /** true if an external task of an unknown topic became available in the current transaction */
+  protected boolean isUnknownTopicAvailable = false;
+
   public ExternalTaskEntity findExternalTaskById(String id) {
     return getDbEntityManager().selectById(ExternalTaskEntity.class, id);
   }
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
-    fireExternalTaskAvailableEvent();
+    fireExternalTaskAvailableEvent(externalTask.getTopicName());
   }
 
   public void delete(ExternalTaskEntity externalTask) {
@@ -89,6 +101,100 @@ public class ExternalTaskManager extends AbstractManager {
     return manager.selectList("selectExternalTasksForTopics", parameter);
   }
 
+  /**
+   * Locks the given external tasks for the worker with one update statement per lock duration
+   * and reads the locked tasks back. Tasks that were locked by another fetch in the meantime
+   * are skipped without an optimistic locking failure.
+   *
+   * <p>The tasks are locked with a token that is unique to this fetch and read back by that
+   * token, since concurrent fetches of the same worker cannot be told apart by the worker id.
+   * The token is replaced by the worker id with another update statement before the
+   * transaction commits, so that it is never visible to other transactions.</p>
+   *
+   * @return the tasks that were locked, in the order of the given tasks
+   */
+  @SuppressWarnings("unchecked")
+  public List<ExternalTaskEntity> lockExternalTasks(List<ExternalTaskEntity> externalTasks, String workerId,
+      Map<String, TopicFetchInstruction> fetchInstructions) {
+    if (externalTasks.isEmpty()) {
+      return externalTasks;
+    }
+
+    Date now = ClockUtil.getCurrentTime();
+    String lockToken = UUID.randomUUID().toString();
+    List<String> ids = new ArrayList<String>();
+    Map<Long, List<String>> idsByLockDuration = new HashMap<Long, List<String>>();
+
+    for (ExternalTaskEntity externalTask : externalTasks) {
+      long lockDuration = fetchInstructions.get(externalTask.getTopicName()).getLockDuration();
+      List<String> idsToLock = idsByLockDuration.get(lockDuration);
+      if (idsToLock == null) {
+        idsToLock = new ArrayList<String>();
+        idsByLockDuration.put(lockDuration, idsToLock);
+      }
+      idsToLock.add(externalTask.getId());
+      ids.add(externalTask.getId());
+    }
+
+    DbSqlSession dbSqlSession = getDbSqlSession();
+    for (Map.Entry<Long, List<String>> entry : idsByLockDuration.entrySet()) {
+      Date lockExpirationTime = new Date(now.getTime() + entry.getKey());
+
+      for (List<String> partition : CollectionUtil.partition(entry.getValue(), DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("ids", partition);
+        parameters.put("lockToken", lockToken);
+        parameters.put("lockExpirationTime", lockExpirationTime);
+        parameters.put("now", now);
+        dbSqlSession.executeUpdate("updateExternalTaskLocksByIds", parameters);
+      }
+    }
+    // with jdbc batch processing, the updates are only executed on flush
+    dbSqlSession.flushBatchOperations();
+
+    // the cached tasks are outdated and must not be flushed
+    DbEntityCache dbEntityCache = getDbEntityManager().getDbEntityCache();
+    for (ExternalTaskEntity externalTask : externalTasks) {
+      dbEntityCache.remove(externalTask);
+    }
+
+    Map<String, ExternalTaskEntity> lockedTasks = new HashMap<String, ExternalTaskEntity>();
+    for (List<String> partition : CollectionUtil.partition(ids, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+      Map<String, Object> parameters = new HashMap<String, Object>();
+      parameters.put("ids", partition);
+      parameters.put("lockToken", lockToken);
+
+      List<ExternalTaskEntity> lockedPartition = getDbEntityManager().selectList("selectExternalTasksByLockToken", parameters);
+      for (ExternalTaskEntity lockedTask : lockedPartition) {
+        lockedTasks.put(lockedTask.getId(), lockedTask);
+      }
+    }
+
+    if (!lockedTasks.isEmpty()) {
+      for (List<String> partition : CollectionUtil.partition(new ArrayList<String>(lockedTasks.keySet()), DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("ids", partition);
+        parameters.put("lockToken", lockToken);
+        parameters.put("workerId", workerId);
+        dbSqlSession.executeUpdate("updateExternalTaskWorkerIdsByLockToken", parameters);
+      }
+      dbSqlSession.flushBatchOperations();
+    }
+
+    List<ExternalTaskEntity> result = new ArrayList<ExternalTaskEntity>();
+    for (String id : ids) {
+      ExternalTaskEntity lockedTask = lockedTasks.get(id);
+      if (lockedTask != null) {
+        // the worker id was set by the update statement, so the cached state must contain it as well
+        lockedTask.setWorkerId(workerId);
+        dbEntityCache.remove(lockedTask);
+        dbEntityCache.putPersistent(lockedTask);
+        result.add(lockedTask);
+      }
+    }
+    return result;
+  }
+
   public List<ExternalTask> findExternalTasksByQueryCriteria(ExternalTaskQueryImpl externalTaskQuery) {
     configureQuery(externalTaskQuery);
     return getDbEntityManager().selectList("selectExternalTaskByQueryCriteria", externalTaskQuery);
@@ -156,14 +262,37 @@ public class ExternalTaskManager extends AbstractManager {
   }
 
   public void fireExternalTaskAvailableEvent() {
-    Context.getCommandContext()
-      .getTransactionContext()
-      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
-        @Override
-        public void execute(CommandContext commandContext) {
-          ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
-        }
-      });
+    fireExternalTaskAvailableEvent(null);
+  }
+
+  /**
+   * Signals the long polling consumers once the current transaction is committed.
+   * The topics of all external tasks that became available within the transaction
+   * are collected, so that a single notification is sent per transaction.
+   *
+   * @param topicName the topic of the available external task or <code>null</code> if it is unknown
+   */
+  public void fireExternalTaskAvailableEvent(String topicName) {
+    if (availableTopics == null) {
+      availableTopics = new HashSet<String>();
+
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          @Override
+          public void execute(CommandContext commandContext) {
+            ProcessEngineImpl.EXT_TASK_TOPIC_LISTENERS.onTopicsAvailable(isUnknownTopicAvailable ? null : availableTopics);
+            ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
+          }
+        });
+    }
+
+    if (topicName != null) {
+      availableTopics.add(topicName);
+    }
+    else {
+      isUnknownTopicAvailable = true;
+    }
   }
 }
 
@@ -23,12 +23,13 @@ import java.util.Map;
 import org.camunda.bpm.engine.identity.Group;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CopyableDbEntity;
 
 
 /**
  * @author Tom Baeyens
  */
-public class GroupEntity implements Group, Serializable, DbEntity, HasDbRevision {
+public class GroupEntity implements Group, Serializable, DbEntity, CopyableDbEntity, HasDbRevision {
 
   private static final long serialVersionUID = 1L;
 
@@ -80,6 +81,14 @@ public class GroupEntity implements Group, Serializable, DbEntity, HasDbRevision
     this.revision = revision;
   }
 
+  public GroupEntity copy() {
+    GroupEntity copy = new GroupEntity(id);
+    copy.revision = revision;
+    copy.name = name;
+    copy.type = type;
+    return copy;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -25,6 +25,7 @@ import java.util.Set;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CopyableDbEntity;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
 import org.camunda.bpm.engine.management.JobDefinition;
 
@@ -33,7 +34,7 @@ import org.camunda.bpm.engine.management.JobDefinition;
  * @author Daniel Meyer
  *
  */
-public class JobDefinitionEntity implements JobDefinition, HasDbRevision, HasDbReferences, DbEntity, Serializable {
+public class JobDefinitionEntity implements JobDefinition, HasDbRevision, HasDbReferences, DbEntity, CopyableDbEntity, Serializable {
 
   private static final long serialVersionUID = 1L;
 
@@ -195,4 +196,19 @@ public class JobDefinitionEntity implements JobDefinition, HasDbRevision, HasDbR
     Map<String, Class> referenceIdAndClass = new HashMap<String, Class>();
     return referenceIdAndClass;
   }
+
+  public JobDefinitionEntity copy() {
+    JobDefinitionEntity copy = new JobDefinitionEntity();
+    copy.id = id;
+    copy.revision = revision;
+    copy.processDefinitionId = processDefinitionId;
+    copy.processDefinitionKey = processDefinitionKey;
+    copy.activityId = activityId;
+    copy.jobType = jobType;
+    copy.jobConfiguration = jobConfiguration;
+    copy.suspensionState = suspensionState;
+    copy.jobPriority = jobPriority;
+    copy.tenantId = tenantId;
+    return copy;
+  }
 }
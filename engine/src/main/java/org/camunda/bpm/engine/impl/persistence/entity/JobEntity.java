@@ -583,6 +583,14 @@ public abstract class JobEntity extends AcquirableJobEntity implements Serializa
     this.createTime = createTime;
   }
 
+  /**
+   * @return the hash by which the job is assigned to a partition of the job acquisition;
+   * all jobs of a process instance have the same hash
+   */
+  public int getPartitionHash() {
+    return JobPartitionEntity.hash(processInstanceId != null ? processInstanceId : id);
+  }
+
   protected void ensureActivityIdInitialized() {
     if (activityId == null) {
       JobDefinition jobDefinition = getJobDefinition();
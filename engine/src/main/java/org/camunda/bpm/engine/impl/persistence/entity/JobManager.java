@@ -37,14 +37,18 @@ import org.camunda.bpm.engine.impl.cfg.TransactionListener;
 import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.jobexecutor.ExclusiveJobAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.jobexecutor.LocalJobAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageAddedNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerCatchIntermediateEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerExecuteNestedActivityJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventSubprocessJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.runtime.Job;
@@ -145,10 +149,12 @@ public class JobManager extends AbstractManager {
             && jobExecutorContext.isExecutingExclusiveJob()
             && areInSameProcessInstance(job, jobExecutorContext.getCurrentJob())) {
       // lock job & add to the queue of the current processor
-      Date currentTime = ClockUtil.getCurrentTime();
-      job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
-      job.setLockOwner(jobExecutor.getLockOwner());
+      lockJob(job, jobExecutor);
       transactionListener = new ExclusiveJobAddedNotification(job.getId(), jobExecutorContext);
+    } else if (isJobHandOverToLocalJobExecutor(job, jobExecutor)) {
+      // lock job & hand it over to the job executor of this node once the transaction is committed
+      lockJob(job, jobExecutor);
+      transactionListener = new LocalJobAddedNotification(job.getId(), jobExecutor, Context.getProcessEngineConfiguration().getProcessEngine());
     } else {
       // reset Acquisition strategy and notify the JobExecutor that
       // a new Job is available for execution on future runs
@@ -159,6 +165,84 @@ public class JobManager extends AbstractManager {
       .addTransactionListener(TransactionState.COMMITTED, transactionListener);
   }
 
+  protected void lockJob(JobEntity job, JobExecutor jobExecutor) {
+    Date currentTime = ClockUtil.getCurrentTime();
+    job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
+    job.setLockOwner(jobExecutor.getLockOwner());
+  }
+
+  /**
+   * Checks whether the job can skip job acquisition and be handed over to the
+   * job executor of this node directly. The conditions mirror the ones applied by
+   * <code>selectNextJobsToExecute</code>, so that a job handed over this way
+   * could also have been acquired by polling.
+   */
+  protected boolean isJobHandOverToLocalJobExecutor(JobEntity job, JobExecutor jobExecutor) {
+    ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
+
+    if (!engineConfiguration.isJobExecutorHandOverLocalJobs()
+        || job.isSuspended()
+        || !isJobDue(job)
+        || !jobExecutor.hasRegisteredEngine(engineConfiguration.getProcessEngine())) {
+      return false;
+    }
+
+    if (engineConfiguration.isJobExecutorDeploymentAware()) {
+      String deploymentId = job.getDeploymentId();
+      if (deploymentId != null && !engineConfiguration.getRegisteredDeployments().contains(deploymentId)) {
+        return false;
+      }
+    }
+
+    if (!engineConfiguration.isHistoryCleanupEnabled()
+        && HistoryCleanupJobHandler.TYPE.equals(job.getJobHandlerType())) {
+      return false;
+    }
+
+    return !job.isExclusive()
+        || (isProcessInstanceCreatedInCommand(job) && !hasLockedExclusiveJob(job));
+  }
+
+  /**
+   * Exclusive jobs of a process instance that existed before the current command
+   * may be locked by the job executor of another node. They are left to job
+   * acquisition, which only selects jobs of process instances without locked
+   * exclusive jobs. Jobs of a process instance created by the current command
+   * can only have been locked by this command.
+   */
+  protected boolean isProcessInstanceCreatedInCommand(JobEntity job) {
+    String processInstanceId = job.getProcessInstanceId();
+    if (processInstanceId == null) {
+      return false;
+    }
+
+    CachedDbEntity cachedProcessInstance = getDbEntityManager()
+        .getDbEntityCache()
+        .getCachedEntity(ExecutionEntity.class, processInstanceId);
+    return cachedProcessInstance != null
+        && cachedProcessInstance.getEntityState() == DbEntityState.TRANSIENT;
+  }
+
+  /**
+   * @return true if another exclusive job of the same process instance is locked
+   * by the current command
+   */
+  protected boolean hasLockedExclusiveJob(JobEntity job) {
+    String processInstanceId = job.getProcessInstanceId();
+    Date now = ClockUtil.getCurrentTime();
+    for (AcquirableJobEntity cachedJob : getDbEntityManager().getCachedEntitiesByType(AcquirableJobEntity.class)) {
+      if (!job.getId().equals(cachedJob.getId())
+          && cachedJob.isExclusive()
+          && processInstanceId.equals(cachedJob.getProcessInstanceId())
+          && cachedJob.getLockOwner() != null
+          && cachedJob.getLockExpirationTime() != null
+          && cachedJob.getLockExpirationTime().getTime() >= now.getTime()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   protected boolean areInSameProcessInstance(JobEntity job1, JobEntity job2) {
     if (job1 == null || job2 == null) {
       return false;
@@ -185,8 +269,16 @@ public class JobManager extends AbstractManager {
     return (JobEntity) getDbEntityManager().selectOne("selectJob", jobId);
   }
 
-  @SuppressWarnings("unchecked")
   public List<AcquirableJobEntity> findNextJobsToExecute(Page page) {
+    return findNextJobsToExecute(page, null);
+  }
+
+  /**
+   * @param partitions the partitions of the jobs to select or <code>null</code> to
+   * select the jobs of all partitions
+   */
+  @SuppressWarnings("unchecked")
+  public List<AcquirableJobEntity> findNextJobsToExecute(Page page, Set<Integer> partitions) {
     ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
 
     Map<String,Object> params = new HashMap<>();
@@ -203,6 +295,13 @@ public class JobManager extends AbstractManager {
 
     params.put("historyCleanupEnabled", engineConfiguration.isHistoryCleanupEnabled());
 
+    if (partitions != null) {
+      params.put("partitions", partitions);
+      params.put("partitionMask", engineConfiguration.getJobExecutorPartitionCount() - 1);
+      // jobs created before partitioning was introduced belong to the first partition
+      params.put("includeJobsWithoutPartition", partitions.contains(0));
+    }
+
     List<QueryOrderingProperty> orderingProperties = new ArrayList<>();
     if (engineConfiguration.isJobExecutorAcquireByPriority()) {
       orderingProperties.add(JOB_PRIORITY_ORDERING_PROPERTY);
@@ -218,7 +317,25 @@ public class JobManager extends AbstractManager {
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
 
-    return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+    if (!engineConfiguration.isJobExecutorAcquireWithSkipLocked()) {
+      return getDbEntityManager().selectList("selectNextJobsToExecute", params, page);
+    }
+
+    // An exclusive job must not be acquired while another exclusive job of its process
+    // instance is locked. A concurrent acquisition which has not committed yet is invisible
+    // to that check, so exclusive jobs are acquired by the regular query and rely on
+    // optimistic locking. Only non-exclusive jobs skip the rows locked by other acquisitions.
+    params.put("exclusive", true);
+    List<AcquirableJobEntity> jobs = new ArrayList<>(getDbEntityManager().selectList("selectNextJobsToExecute", params, page));
+
+    int remainingResults = page.getMaxResults() - jobs.size();
+    if (remainingResults > 0) {
+      params.put("exclusive", false);
+      params.put("skipLocked", true);
+      jobs.addAll(getDbEntityManager().selectList("selectNextJobsToExecute", params, new Page(0, remainingResults)));
+    }
+
+    return jobs;
   }
 
   @SuppressWarnings("unchecked")
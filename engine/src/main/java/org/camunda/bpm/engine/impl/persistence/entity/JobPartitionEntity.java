@@ -0,0 +1,131 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+
+/**
+ * A logical partition of the jobs that is leased by one job executor at a time.
+ * The id of the entity is the number of the partition.
+ */
+public class JobPartitionEntity implements DbEntity, HasDbRevision, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected String id;
+  protected int revision;
+
+  protected String lockOwner;
+  protected Date lockExpirationTime;
+
+  public JobPartitionEntity() {
+  }
+
+  public JobPartitionEntity(int partition) {
+    this.id = String.valueOf(partition);
+  }
+
+  /**
+   * @return a non-negative hash of the given key that does not depend on the JVM
+   */
+  public static int hash(String key) {
+    return key != null ? key.hashCode() & Integer.MAX_VALUE : 0;
+  }
+
+  public Object getPersistentState() {
+    Map<String, Object> persistentState = new HashMap<String, Object>();
+    persistentState.put("lockOwner", lockOwner);
+    persistentState.put("lockExpirationTime", lockExpirationTime);
+    return persistentState;
+  }
+
+  public int getRevisionNext() {
+    return revision + 1;
+  }
+
+  public int getPartition() {
+    return Integer.parseInt(id);
+  }
+
+  /**
+   * @return true if the partition is leased and the lease is not expired at the given time
+   */
+  public boolean isLeased(Date now) {
+    return lockOwner != null && lockExpirationTime != null && lockExpirationTime.after(now);
+  }
+
+  public void lease(String lockOwner, Date lockExpirationTime) {
+    this.lockOwner = lockOwner;
+    this.lockExpirationTime = lockExpirationTime;
+  }
+
+  public void release() {
+    lockOwner = null;
+    lockExpirationTime = null;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public void setRevision(int revision) {
+    this.revision = revision;
+  }
+
+  public String getLockOwner() {
+    return lockOwner;
+  }
+
+  public void setLockOwner(String lockOwner) {
+    this.lockOwner = lockOwner;
+  }
+
+  public Date getLockExpirationTime() {
+    return lockExpirationTime;
+  }
+
+  public void setLockExpirationTime(Date lockExpirationTime) {
+    this.lockExpirationTime = lockExpirationTime;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+           + "[id=" + id
+           + ", revision=" + revision
+           + ", lockOwner=" + lockOwner
+           + ", lockExpirationTime=" + lockExpirationTime
+           + "]";
+  }
+
+}
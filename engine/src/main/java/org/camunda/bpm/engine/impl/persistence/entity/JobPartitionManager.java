@@ -0,0 +1,193 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cmd.CreateJobPartitionsCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.ExceptionUtil;
+
+/**
+ * Assigns the partitions of the job acquisition to job executors by leases, so that
+ * every job executor acquires only the jobs of its own partitions.
+ */
+public class JobPartitionManager extends AbstractManager {
+
+  @SuppressWarnings("unchecked")
+  public List<JobPartitionEntity> findJobPartitions() {
+    return getDbEntityManager().selectList("selectJobPartitions");
+  }
+
+  public void insertJobPartition(JobPartitionEntity jobPartition) {
+    getDbEntityManager().insert(jobPartition);
+  }
+
+  public void deleteJobPartition(JobPartitionEntity jobPartition) {
+    getDbEntityManager().delete(jobPartition);
+  }
+
+  /**
+   * Creates the missing partitions in a separate transaction. A partition which is
+   * created concurrently by another job executor already exists and is ignored.
+   */
+  public void createJobPartitions(int partitionCount) {
+    CommandExecutor commandExecutor = Context.getProcessEngineConfiguration().getCommandExecutorTxRequiresNew();
+    try {
+      commandExecutor.execute(new CreateJobPartitionsCmd(partitionCount));
+    } catch (ProcessEngineException e) {
+      if (!ExceptionUtil.checkConstraintViolationException(e)) {
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * <p>Renews the leases of the given lock owner and balances the partitions between all
+   * lock owners that hold a lease. Every lock owner gets an equal share of the partitions:
+   * a lock owner with more partitions than its share releases the surplus, a lock owner with
+   * fewer partitions leases free or expired partitions and, if there are none, takes over
+   * partitions from the lock owner with the most partitions. A lock owner gets no partition
+   * if there are more lock owners than partitions.</p>
+   *
+   * <p>The leases are updated with optimistic locking when the command context is flushed.
+   * Since a partition can be taken over while its previous lock owner still acquires jobs
+   * from it, the partitions only reduce conflicts between job executors; the jobs themselves
+   * are still locked individually.</p>
+   *
+   * @return the partitions leased by the given lock owner, may be empty
+   */
+  public Set<Integer> leaseJobPartitions(String lockOwner, int partitionCount, long leaseTimeInMillis) {
+    Date now = ClockUtil.getCurrentTime();
+    Date leaseExpirationTime = new Date(now.getTime() + leaseTimeInMillis);
+    Date renewalTime = new Date(now.getTime() + leaseTimeInMillis / 2);
+
+    TreeMap<Integer, JobPartitionEntity> partitions = findJobPartitions(partitionCount);
+    if (partitions.size() < partitionCount) {
+      createJobPartitions(partitionCount);
+      partitions = findJobPartitions(partitionCount);
+    }
+
+    TreeSet<Integer> ownPartitions = new TreeSet<Integer>();
+    List<JobPartitionEntity> freePartitions = new ArrayList<JobPartitionEntity>();
+    Map<String, List<JobPartitionEntity>> partitionsByOtherOwner = new HashMap<String, List<JobPartitionEntity>>();
+
+    for (int partition = 0; partition < partitionCount; partition++) {
+      JobPartitionEntity jobPartition = partitions.get(partition);
+
+      if (jobPartition == null) {
+        // created concurrently and not visible yet, leased in the next acquisition cycle
+        continue;
+      }
+
+      if (lockOwner.equals(jobPartition.getLockOwner())) {
+        ownPartitions.add(partition);
+      }
+      else if (jobPartition.isLeased(now)) {
+        List<JobPartitionEntity> otherPartitions = partitionsByOtherOwner.get(jobPartition.getLockOwner());
+        if (otherPartitions == null) {
+          otherPartitions = new ArrayList<JobPartitionEntity>();
+          partitionsByOtherOwner.put(jobPartition.getLockOwner(), otherPartitions);
+        }
+        otherPartitions.add(jobPartition);
+      }
+      else {
+        freePartitions.add(jobPartition);
+      }
+    }
+
+    int ownerCount = partitionsByOtherOwner.size() + 1;
+    int minShare = partitionCount / ownerCount;
+    int share = (partitionCount + ownerCount - 1) / ownerCount;
+
+    // release the surplus
+    while (ownPartitions.size() > share) {
+      partitions.get(ownPartitions.pollLast()).release();
+    }
+
+    // renew the leases before they expire
+    for (Integer partition : ownPartitions) {
+      JobPartitionEntity jobPartition = partitions.get(partition);
+      if (jobPartition.getLockExpirationTime() == null || jobPartition.getLockExpirationTime().before(renewalTime)) {
+        jobPartition.lease(lockOwner, leaseExpirationTime);
+      }
+    }
+
+    // lease free partitions
+    for (JobPartitionEntity jobPartition : freePartitions) {
+      if (ownPartitions.size() >= share) {
+        break;
+      }
+      jobPartition.lease(lockOwner, leaseExpirationTime);
+      ownPartitions.add(jobPartition.getPartition());
+    }
+
+    // take over partitions from the lock owners with the most partitions
+    while (ownPartitions.size() < minShare) {
+      List<JobPartitionEntity> largestShare = Collections.emptyList();
+      for (List<JobPartitionEntity> otherPartitions : partitionsByOtherOwner.values()) {
+        if (otherPartitions.size() > largestShare.size()) {
+          largestShare = otherPartitions;
+        }
+      }
+
+      if (largestShare.size() <= minShare) {
+        break;
+      }
+
+      JobPartitionEntity jobPartition = largestShare.remove(largestShare.size() - 1);
+      jobPartition.lease(lockOwner, leaseExpirationTime);
+      ownPartitions.add(jobPartition.getPartition());
+    }
+
+    return ownPartitions;
+  }
+
+  /**
+   * Releases all partitions leased by the given lock owner.
+   */
+  public void releaseJobPartitions(String lockOwner) {
+    for (JobPartitionEntity jobPartition : findJobPartitions()) {
+      if (lockOwner.equals(jobPartition.getLockOwner())) {
+        jobPartition.release();
+      }
+    }
+  }
+
+  protected TreeMap<Integer, JobPartitionEntity> findJobPartitions(int partitionCount) {
+    TreeMap<Integer, JobPartitionEntity> partitions = new TreeMap<Integer, JobPartitionEntity>();
+    for (JobPartitionEntity jobPartition : findJobPartitions()) {
+      if (jobPartition.getPartition() < partitionCount) {
+        partitions.put(jobPartition.getPartition(), jobPartition);
+      }
+    }
+    return partitions;
+  }
+
+}
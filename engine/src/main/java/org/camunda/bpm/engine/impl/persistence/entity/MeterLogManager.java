@@ -17,8 +17,10 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -26,9 +28,11 @@ import java.util.Set;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.MetricIntervalValue;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * @author Daniel Meyer
@@ -47,6 +51,7 @@ public class MeterLogManager extends AbstractManager {
   }
 
   public Long executeSelectSum(MetricsQueryImpl query) {
+    query.setMaxAggregatedNames(getMaxAggregatedMetricNames());
     Long result = (Long) getDbEntityManager().selectOne(SELECT_METER_SUM, query);
     result = result != null ? result : 0;
 
@@ -64,6 +69,7 @@ public class MeterLogManager extends AbstractManager {
   }
 
   public List<MetricIntervalValue> executeSelectInterval(MetricsQueryImpl query) {
+    query.setMaxAggregatedNames(getMaxAggregatedMetricNames());
     List<MetricIntervalValue> intervalResult = getDbEntityManager().selectList(SELECT_METER_INTERVAL, query);
     intervalResult = intervalResult != null ? intervalResult : new ArrayList<MetricIntervalValue>();
 
@@ -95,6 +101,35 @@ public class MeterLogManager extends AbstractManager {
     return intervalResult;
   }
 
+  /**
+   * The percentiles and the max of a latency metric are logged per reporting interval
+   * and can't be summed up. The highest logged value is returned for them instead.
+   * The built-in latency metrics are always included, as they may have been logged
+   * before latency metrics were disabled. Without a metrics registry, i.e. if metrics
+   * are disabled, only the built-in latency metrics are known.
+   */
+  protected List<String> getMaxAggregatedMetricNames() {
+    Set<String> latencyMetrics = new LinkedHashSet<String>(Arrays.asList(
+        Metrics.COMMAND_EXECUTION_LATENCY,
+        Metrics.JOB_EXECUTION_LATENCY,
+        Metrics.DECISION_EVALUATION_LATENCY,
+        Metrics.FLUSH_LATENCY));
+
+    MetricsRegistry metricsRegistry = Context.getProcessEngineConfiguration().getMetricsRegistry();
+    if (metricsRegistry != null) {
+      latencyMetrics.addAll(metricsRegistry.getHistograms().keySet());
+    }
+
+    List<String> names = new ArrayList<String>();
+    for (String latencyMetric : latencyMetrics) {
+      names.add(latencyMetric + Metrics.LATENCY_P50_SUFFIX);
+      names.add(latencyMetric + Metrics.LATENCY_P99_SUFFIX);
+      names.add(latencyMetric + Metrics.LATENCY_P999_SUFFIX);
+      names.add(latencyMetric + Metrics.LATENCY_MAX_SUFFIX);
+    }
+    return names;
+  }
+
   protected boolean isEndTimeAfterLastReportInterval(MetricsQueryImpl query) {
     long reportingIntervalInSeconds = Context.getProcessEngineConfiguration()
       .getDbMetricsReporter()
@@ -80,6 +80,7 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(MessageEntity.class, "ACT_RU_JOB");
     persistentObjectToTableNameMap.put(TimerEntity.class, "ACT_RU_JOB");
     persistentObjectToTableNameMap.put(JobDefinitionEntity.class, "ACT_RU_JOBDEF");
+    persistentObjectToTableNameMap.put(JobPartitionEntity.class, "ACT_RU_JOB_PARTITION");
     persistentObjectToTableNameMap.put(BatchEntity.class, "ACT_RU_BATCH");
 
     persistentObjectToTableNameMap.put(IncidentEntity.class, "ACT_RU_INCIDENT");
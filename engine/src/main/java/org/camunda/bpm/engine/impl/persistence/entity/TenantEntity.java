@@ -23,8 +23,9 @@ import java.util.Map;
 import org.camunda.bpm.engine.identity.Tenant;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CopyableDbEntity;
 
-public class TenantEntity implements Tenant, Serializable, DbEntity, HasDbRevision {
+public class TenantEntity implements Tenant, Serializable, DbEntity, CopyableDbEntity, HasDbRevision {
 
   private static final long serialVersionUID = 1L;
 
@@ -74,6 +75,13 @@ public class TenantEntity implements Tenant, Serializable, DbEntity, HasDbRevisi
     this.revision = revision;
   }
 
+  public TenantEntity copy() {
+    TenantEntity copy = new TenantEntity(id);
+    copy.name = name;
+    copy.revision = revision;
+    return copy;
+  }
+
   @Override
   public String toString() {
     return "TenantEntity [id=" + id + ", name=" + name + ", revision=" + revision + "]";
@@ -0,0 +1,88 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableInstanceLifecycleListener;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyUtil;
+
+/**
+ * Updates the configuration of the message event subscriptions which are correlated by a
+ * variable of an execution when this variable changes, see {@link CorrelationKeyUtil}. These
+ * are the subscriptions of the execution and its children, unless a child execution has a
+ * variable of the same name itself.
+ */
+public class VariableInstanceCorrelationKeyListener
+  implements VariableInstanceLifecycleListener<VariableInstanceEntity> {
+
+  protected ExecutionEntity execution;
+
+  public VariableInstanceCorrelationKeyListener(ExecutionEntity execution) {
+    this.execution = execution;
+  }
+
+  @Override
+  public void onCreate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    updateEventSubscriptions(variableInstance.getName(), CorrelationKeyUtil.getValue(variableInstance));
+  }
+
+  @Override
+  public void onDelete(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    // a variable of the same name in a parent scope becomes visible again
+    ExecutionEntity parent = execution.getParent();
+    Object value = null;
+    if (parent != null) {
+      value = CorrelationKeyUtil.getValue(parent.getVariableInstance(variableInstance.getName()));
+    }
+    updateEventSubscriptions(variableInstance.getName(), value);
+  }
+
+  @Override
+  public void onUpdate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    updateEventSubscriptions(variableInstance.getName(), CorrelationKeyUtil.getValue(variableInstance));
+  }
+
+  protected void updateEventSubscriptions(String variableName, Object value) {
+    List<String> correlationKeys = execution.getProcessDefinition()
+        .getProperties()
+        .get(BpmnProperties.CORRELATION_KEYS);
+
+    if (correlationKeys.contains(variableName)) {
+      String configuration = CorrelationKeyUtil.toConfiguration(variableName, value);
+      updateEventSubscriptions(execution, variableName, configuration);
+    }
+  }
+
+  protected void updateEventSubscriptions(ExecutionEntity scopeExecution, String variableName, String configuration) {
+    for (EventSubscriptionEntity eventSubscription : scopeExecution.getEventSubscriptionsInternal()) {
+      if (variableName.equals(eventSubscription.getCorrelationKey())) {
+        eventSubscription.setConfiguration(configuration);
+      }
+    }
+
+    for (ExecutionEntity childExecution : scopeExecution.getExecutions()) {
+      // the variable of the child hides the changed variable
+      if (!childExecution.hasVariableLocal(variableName)) {
+        updateEventSubscriptions(childExecution, variableName, configuration);
+      }
+    }
+  }
+
+}
@@ -16,14 +16,20 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.core.variable.scope.PrefetchedVariablesProvider;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.runtime.VariableInstance;
 
 
@@ -61,6 +67,69 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByProcessInstanceId", processInstanceId);
   }
 
+  /**
+   * Fetches the given executions and their ancestors with one query per level of the execution tree
+   * and their variables with a single query, and provides the variables to the variable stores of the
+   * executions. Collecting the variables of these executions afterwards does not query each scope separately.
+   *
+   * @param variableNames the names of the variables to fetch or <code>null</code> to fetch all variables
+   */
+  @SuppressWarnings("unchecked")
+  public void prefetchVariablesOfExecutions(Collection<String> executionIds, Collection<String> variableNames) {
+    if (variableNames != null && variableNames.isEmpty()) {
+      return;
+    }
+
+    List<ExecutionEntity> executions = new ArrayList<ExecutionEntity>();
+    Set<String> visitedExecutionIds = new HashSet<String>();
+    Set<String> executionIdsToFetch = new HashSet<String>(executionIds);
+
+    while (!executionIdsToFetch.isEmpty()) {
+      visitedExecutionIds.addAll(executionIdsToFetch);
+      List<ExecutionEntity> fetchedExecutions = new ArrayList<ExecutionEntity>();
+
+      List<String> uncachedExecutionIds = new ArrayList<String>();
+      for (String executionId : executionIdsToFetch) {
+        ExecutionEntity cachedExecution = getDbEntityManager().getCachedEntity(ExecutionEntity.class, executionId);
+        if (cachedExecution != null) {
+          fetchedExecutions.add(cachedExecution);
+        }
+        else {
+          uncachedExecutionIds.add(executionId);
+        }
+      }
+      for (List<String> partition : CollectionUtil.partition(uncachedExecutionIds, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+        fetchedExecutions.addAll(getProcessInstanceManager().findExecutionsByIds(partition));
+      }
+
+      executionIdsToFetch = new HashSet<String>();
+      for (ExecutionEntity execution : fetchedExecutions) {
+        executions.add(execution);
+        String parentId = execution.getParentId();
+        if (parentId != null && !visitedExecutionIds.contains(parentId)) {
+          executionIdsToFetch.add(parentId);
+        }
+      }
+    }
+
+    Map<String, List<VariableInstanceEntity>> variablesByExecutionId = new HashMap<String, List<VariableInstanceEntity>>();
+    for (List<String> partition : CollectionUtil.partition(new ArrayList<String>(visitedExecutionIds), DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+      Map<String, Object> parameter = new HashMap<String, Object>();
+      parameter.put("executionIds", partition);
+      parameter.put("variableNames", variableNames);
+      List<VariableInstanceEntity> variables = getDbEntityManager().selectList("selectVariablesByExecutionIds", parameter);
+
+      for (VariableInstanceEntity variable : variables) {
+        CollectionUtil.addToMapOfLists(variablesByExecutionId, variable.getExecutionId(), variable);
+      }
+    }
+
+    for (ExecutionEntity execution : executions) {
+      execution.variableStore.setVariablesProvider(new PrefetchedVariablesProvider<VariableInstanceEntity>(execution,
+          variablesByExecutionId.get(execution.getId()), variableNames));
+    }
+  }
+
   public List<VariableInstanceEntity> findVariableInstancesByCaseExecutionId(String caseExecutionId) {
     return findVariableInstancesByCaseExecutionIdAndVariableNames(caseExecutionId, null);
   }
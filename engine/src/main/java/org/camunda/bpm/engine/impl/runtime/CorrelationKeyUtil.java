@@ -0,0 +1,105 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * Encodes the value of the process variable a message event declares as its correlation key
+ * (<code>camunda:correlationKey</code>) as the configuration of the message event subscription.
+ * The configuration column is indexed, so that a message which is correlated by this
+ * process variable can be resolved by looking up the subscriptions with the encoded value.
+ *
+ * <p>Only string, boolean and integral number values are encoded, together with their type.
+ * Subscriptions with other values have no configuration and are correlated by a variable query.</p>
+ *
+ * <p>Keyed subscriptions also store the name of the variable as their correlation key. The
+ * value is resolved through the variable scopes of the subscribing execution, and the
+ * configuration is updated whenever the variable of one of these scopes changes.</p>
+ */
+public final class CorrelationKeyUtil {
+
+  /** the maximum length of the configuration column of event subscriptions */
+  public static final int MAX_CONFIGURATION_LENGTH = 255;
+
+  /** the maximum length of the correlation key column of event subscriptions */
+  public static final int MAX_CORRELATION_KEY_LENGTH = 64;
+
+  private CorrelationKeyUtil() {
+  }
+
+  /**
+   * @return the configuration for the value of the correlation key variable or
+   * <code>null</code> if the value cannot be encoded
+   */
+  public static String toConfiguration(String variableName, Object value) {
+    String type;
+    if (value instanceof String) {
+      type = ValueType.STRING.getName();
+    }
+    else if (value instanceof Long) {
+      type = ValueType.LONG.getName();
+    }
+    else if (value instanceof Integer) {
+      type = ValueType.INTEGER.getName();
+    }
+    else if (value instanceof Short) {
+      type = ValueType.SHORT.getName();
+    }
+    else if (value instanceof Boolean) {
+      type = ValueType.BOOLEAN.getName();
+    }
+    else {
+      return null;
+    }
+
+    // variable queries only match values of the same type
+    String encodedValue = type + ":" + value;
+
+    String configuration = getConfigurationPrefix(variableName) + encodedValue;
+    if (configuration.length() > MAX_CONFIGURATION_LENGTH) {
+      return null;
+    }
+    return configuration;
+  }
+
+  /**
+   * @return the value of the given variable if it can be a correlation key or
+   * <code>null</code> otherwise; object values are not deserialized
+   */
+  public static Object getValue(CoreVariableInstance variableInstance) {
+    if (variableInstance == null) {
+      return null;
+    }
+
+    TypedValue typedValue = variableInstance.getTypedValue(false);
+    if (typedValue != null && typedValue.getType() != null && typedValue.getType().isPrimitiveValueType()) {
+      return typedValue.getValue();
+    }
+    return null;
+  }
+
+  /**
+   * @return the prefix of the configurations of subscriptions which are correlated by the given variable
+   */
+  public static String getConfigurationPrefix(String variableName) {
+    return variableName + "=";
+  }
+
+}
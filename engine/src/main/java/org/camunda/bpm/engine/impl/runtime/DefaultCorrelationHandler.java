@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.runtime;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -82,6 +83,110 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
 
   protected List<CorrelationHandlerResult> correlateMessageToExecutions(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
 
+    List<Execution> matchingExecutions = findExecutionsByCorrelationKey(commandContext, messageName, correlationSet);
+    if (matchingExecutions == null) {
+      matchingExecutions = findExecutionsByQuery(commandContext, messageName, correlationSet);
+    }
+
+    List<CorrelationHandlerResult> result = new ArrayList<CorrelationHandlerResult>(matchingExecutions.size());
+
+    for (Execution matchingExecution : matchingExecutions) {
+      CorrelationHandlerResult correlationResult = CorrelationHandlerResult.matchedExecution((ExecutionEntity) matchingExecution);
+      if (!commandContext.getDbEntityManager().isDeleted(correlationResult.getExecutionEntity())) {
+        result.add(correlationResult);
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Looks up the executions by the correlation key configuration of their message event subscriptions,
+   * see {@link CorrelationKeyUtil}. This is only possible if the message is correlated by a single process
+   * variable and all subscriptions to the message are correlated by this variable. The result is final
+   * then, even if it is empty.
+   *
+   * <p>Unlike the variable query of {@link #findExecutionsByQuery(CommandContext, String, CorrelationSet)},
+   * which matches a variable of the given name in any scope of the process instance, the lookup only
+   * matches the value that is visible from the subscribing execution. A variable that is local to a
+   * sibling scope of the subscription does not correlate the message.</p>
+   *
+   * @return the matching executions or <code>null</code> if they cannot be looked up by correlation key
+   */
+  protected List<Execution> findExecutionsByCorrelationKey(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+    Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
+    Map<String, Object> localCorrelationKeys = correlationSet.getLocalCorrelationKeys();
+    if (messageName == null || correlationKeys == null || correlationKeys.size() != 1
+        || (localCorrelationKeys != null && !localCorrelationKeys.isEmpty())) {
+      return null;
+    }
+
+    Map.Entry<String, Object> correlationKey = correlationKeys.entrySet().iterator().next();
+    String configuration = CorrelationKeyUtil.toConfiguration(correlationKey.getKey(), correlationKey.getValue());
+    if (configuration == null) {
+      return null;
+    }
+
+    EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+    if (!eventSubscriptionManager.isMessageCorrelatedByCorrelationKey(messageName, correlationKey.getKey())) {
+      return null;
+    }
+
+    Map<String, Execution> matchingExecutions = new LinkedHashMap<String, Execution>();
+    for (EventSubscriptionEntity eventSubscription : eventSubscriptionManager.findMessageEventSubscriptionsByNameAndCorrelationKey(messageName, configuration)) {
+      ExecutionEntity execution = eventSubscription.getExecution();
+      // the database may compare the configuration case-insensitively
+      if (configuration.equals(eventSubscription.getConfiguration())
+          && matchesCorrelationSet(execution, correlationSet)
+          && matchesCorrelationKey(eventSubscription, correlationKey.getKey(), configuration)) {
+        matchingExecutions.put(execution.getId(), execution);
+      }
+    }
+
+    return new ArrayList<Execution>(matchingExecutions.values());
+  }
+
+  /**
+   * Checks the current value of the correlation key variable, since the subscription may have
+   * been created while a concurrent transaction changed the variable. A stale configuration
+   * is replaced by the current value, so that later messages find the subscription again.
+   */
+  protected boolean matchesCorrelationKey(EventSubscriptionEntity eventSubscription, String variableName, String configuration) {
+    Object value = CorrelationKeyUtil.getValue(eventSubscription.getExecution().getVariableInstance(variableName));
+    String currentConfiguration = CorrelationKeyUtil.toConfiguration(variableName, value);
+
+    if (configuration.equals(currentConfiguration)) {
+      return true;
+    }
+    else {
+      eventSubscription.setConfiguration(currentConfiguration);
+      return false;
+    }
+  }
+
+  protected boolean matchesCorrelationSet(ExecutionEntity execution, CorrelationSet correlationSet) {
+    String businessKey = correlationSet.getBusinessKey();
+    if (businessKey != null && !businessKey.equals(execution.getProcessBusinessKey())) {
+      return false;
+    }
+
+    String processInstanceId = correlationSet.getProcessInstanceId();
+    if (processInstanceId != null && !processInstanceId.equals(execution.getProcessInstanceId())) {
+      return false;
+    }
+
+    if (correlationSet.isTenantIdSet) {
+      String tenantId = correlationSet.getTenantId();
+      if (tenantId != null ? !tenantId.equals(execution.getTenantId()) : execution.getTenantId() != null) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  protected List<Execution> findExecutionsByQuery(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+
     ExecutionQueryImpl query = new ExecutionQueryImpl();
 
     Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
@@ -126,18 +231,7 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
     // restrict to active executions
     query.active();
 
-    List<Execution> matchingExecutions = query.evaluateExpressionsAndExecuteList(commandContext, null);
-
-    List<CorrelationHandlerResult> result = new ArrayList<CorrelationHandlerResult>(matchingExecutions.size());
-
-    for (Execution matchingExecution : matchingExecutions) {
-      CorrelationHandlerResult correlationResult = CorrelationHandlerResult.matchedExecution((ExecutionEntity) matchingExecution);
-      if (!commandContext.getDbEntityManager().isDeleted(correlationResult.getExecutionEntity())) {
-        result.add(correlationResult);
-      }
-    }
-
-    return result;
+    return query.evaluateExpressionsAndExecuteList(commandContext, null);
   }
 
   @Override
@@ -50,9 +50,13 @@ public class CompiledExecutableScript extends ExecutableScript {
   }
 
   public Object evaluate(ScriptEngine scriptEngine, VariableScope variableScope, Bindings bindings) {
+    return evaluate(getCompiledScript(), variableScope, bindings);
+  }
+
+  protected Object evaluate(CompiledScript compiledScript, VariableScope variableScope, Bindings bindings) {
     try {
       LOG.debugEvaluatingCompiledScript(language);
-      return getCompiledScript().eval(bindings);
+      return compiledScript.eval(bindings);
     } catch (ScriptException e) {
       if (e.getCause() instanceof BpmnError) {
         throw (BpmnError) e.getCause();
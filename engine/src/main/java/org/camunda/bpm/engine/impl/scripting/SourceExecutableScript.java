@@ -16,6 +16,9 @@
  */
 package org.camunda.bpm.engine.impl.scripting;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
@@ -29,6 +32,7 @@ import org.camunda.bpm.engine.delegate.VariableScope;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
 
 /**
  * A script which is provided as source code.
@@ -46,6 +50,12 @@ public class SourceExecutableScript extends CompiledExecutableScript {
   /** Flag to signal if the script should be compiled */
   protected boolean shouldBeCompiled = true;
 
+  /**
+   * The script compiled by each pooled engine which is not thread-safe, since such an engine
+   * cannot evaluate scripts compiled by another engine. Bounded by the size of the pool.
+   */
+  protected Map<ScriptEngine, CompiledScript> pooledEngineCompiledScripts = new ConcurrentHashMap<ScriptEngine, CompiledScript>();
+
   public SourceExecutableScript(String language, String source) {
     super(language);
     scriptSource = source;
@@ -57,9 +67,14 @@ public class SourceExecutableScript extends CompiledExecutableScript {
       compileScript(engine);
     }
 
-    if (getCompiledScript() != null) {
+    if (isCompiledScriptUsable(engine)) {
       return super.evaluate(engine, variableScope, bindings);
     }
+
+    CompiledScript pooledEngineCompiledScript = getPooledEngineCompiledScript(engine);
+    if (pooledEngineCompiledScript != null) {
+      return evaluate(pooledEngineCompiledScript, variableScope, bindings);
+    }
     else {
       try {
         return evaluateScript(engine, bindings);
@@ -73,6 +88,49 @@ public class SourceExecutableScript extends CompiledExecutableScript {
     }
   }
 
+  /**
+   * A compiled script is always evaluated by the engine which compiled it. If that engine is
+   * not thread-safe, e.g. a pooled engine, the compiled script is only used with that engine.
+   * Other pooled engines compile the script once more, see {@link #getPooledEngineCompiledScript(ScriptEngine)}.
+   */
+  protected boolean isCompiledScriptUsable(ScriptEngine engine) {
+    CompiledScript compiledScript = getCompiledScript();
+    if (compiledScript == null) {
+      return false;
+    }
+
+    ScriptEngine compilingEngine = compiledScript.getEngine();
+    return compilingEngine == engine
+        || compilingEngine == null
+        || Context.getProcessEngineConfiguration().getScriptingEngines().isThreadSafe(compilingEngine);
+  }
+
+  /**
+   * @return the script compiled by the given engine if it is borrowed from a {@link ScriptEnginePool},
+   * or null if the engine is not pooled or the script is not compiled at all
+   */
+  protected CompiledScript getPooledEngineCompiledScript(ScriptEngine engine) {
+    if (getCompiledScript() == null) {
+      // the script cannot be compiled or compilation is disabled
+      return null;
+    }
+
+    CompiledScript compiledScript = pooledEngineCompiledScripts.get(engine);
+    if (compiledScript == null) {
+      ScriptEnginePool pool = Context.getProcessEngineConfiguration().getScriptingEngines().getScriptEnginePool(language);
+      if (pool == null || !pool.isBorrowed(engine)) {
+        return null;
+      }
+
+      // the engine is borrowed by the current thread only, so no other thread compiles with it
+      compiledScript = compile(engine, language, scriptSource);
+      if (compiledScript != null) {
+        pooledEngineCompiledScripts.put(engine, compiledScript);
+      }
+    }
+    return compiledScript;
+  }
+
   protected void compileScript(ScriptEngine engine) {
     ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
     if (processEngineConfiguration.isEnableScriptEngineCaching() && processEngineConfiguration.isEnableScriptCompilation()) {
@@ -137,6 +195,7 @@ public class SourceExecutableScript extends CompiledExecutableScript {
    */
   public void setScriptSource(String scriptSource) {
     this.compiledScript = null;
+    pooledEngineCompiledScripts.clear();
     shouldBeCompiled = true;
     this.scriptSource = scriptSource;
   }
@@ -0,0 +1,160 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.scripting.engine;
+
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.script.ScriptEngine;
+
+/**
+ * <p>Bounded pool of script engines of one language which are not thread-safe
+ * and therefore cannot be cached by the {@link ScriptEngineResolver}. A borrowed
+ * engine is used by a single thread until it is returned to the pool.</p>
+ *
+ * <p>If all engines are borrowed, a thread waits for a returned engine up to the
+ * maximum wait time. After that, it gets a new engine which is not pooled, so that
+ * nested script evaluations cannot exhaust the pool.</p>
+ */
+public class ScriptEnginePool {
+
+  protected final String language;
+  protected final ScriptEngineResolver scriptEngineResolver;
+  protected final int maxSize;
+  protected final long maxWaitMillis;
+
+  protected final Semaphore permits;
+  protected final Queue<ScriptEngine> idleEngines = new ConcurrentLinkedQueue<ScriptEngine>();
+  protected final Set<ScriptEngine> borrowedEngines = Collections.newSetFromMap(new ConcurrentHashMap<ScriptEngine, Boolean>());
+
+  protected final LongAdder borrowCount = new LongAdder();
+  protected final LongAdder createCount = new LongAdder();
+  protected final LongAdder timeoutCount = new LongAdder();
+  protected final LongAdder totalWaitTimeNanos = new LongAdder();
+
+  public ScriptEnginePool(String language, ScriptEngineResolver scriptEngineResolver, int maxSize, long maxWaitMillis) {
+    this.language = language;
+    this.scriptEngineResolver = scriptEngineResolver;
+    this.maxSize = maxSize;
+    this.maxWaitMillis = maxWaitMillis;
+    this.permits = new Semaphore(maxSize);
+  }
+
+  public ScriptEngine borrow() {
+    long startTime = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    totalWaitTimeNanos.add(System.nanoTime() - startTime);
+    borrowCount.increment();
+
+    if (!acquired) {
+      timeoutCount.increment();
+      return createScriptEngine();
+    }
+
+    ScriptEngine scriptEngine = idleEngines.poll();
+    if (scriptEngine == null) {
+      try {
+        scriptEngine = createScriptEngine();
+      }
+      catch (RuntimeException e) {
+        permits.release();
+        throw e;
+      }
+    }
+    borrowedEngines.add(scriptEngine);
+    return scriptEngine;
+  }
+
+  /**
+   * Returns a borrowed engine to the pool. Engines which were not borrowed
+   * from this pool are ignored.
+   */
+  public void release(ScriptEngine scriptEngine) {
+    if (borrowedEngines.remove(scriptEngine)) {
+      idleEngines.offer(scriptEngine);
+      permits.release();
+    }
+  }
+
+  /**
+   * @return true if the engine is pooled and currently borrowed
+   */
+  public boolean isBorrowed(ScriptEngine scriptEngine) {
+    return borrowedEngines.contains(scriptEngine);
+  }
+
+  protected ScriptEngine createScriptEngine() {
+    createCount.increment();
+    return scriptEngineResolver.createScriptEngine(language);
+  }
+
+  public String getLanguage() {
+    return language;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getMaxWaitMillis() {
+    return maxWaitMillis;
+  }
+
+  public int getIdleCount() {
+    return idleEngines.size();
+  }
+
+  public int getBorrowedCount() {
+    return borrowedEngines.size();
+  }
+
+  public long getBorrowCount() {
+    return borrowCount.sum();
+  }
+
+  /**
+   * @return the number of created engines, including the engines which were not pooled
+   */
+  public long getCreateCount() {
+    return createCount.sum();
+  }
+
+  /**
+   * @return the number of borrows which got an engine that is not pooled since all engines were borrowed
+   */
+  public long getTimeoutCount() {
+    return timeoutCount.sum();
+  }
+
+  public long getTotalWaitTimeNanos() {
+    return totalWaitTimeNanos.sum();
+  }
+
+}
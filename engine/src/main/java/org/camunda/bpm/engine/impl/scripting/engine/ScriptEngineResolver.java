@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.scripting.engine;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
@@ -34,6 +35,10 @@ public class ScriptEngineResolver {
 
   protected Map<String, ScriptEngine> cachedEngines = new HashMap<String, ScriptEngine>();
 
+  protected Map<String, ScriptEnginePool> enginePools = new ConcurrentHashMap<String, ScriptEnginePool>();
+  protected int enginePoolSize = 0;
+  protected long enginePoolMaxWaitMillis = 100;
+
   public ScriptEngineResolver(ScriptEngineManager scriptEngineManager) {
     this.scriptEngineManager = scriptEngineManager;
   }
@@ -61,18 +66,10 @@ public class ScriptEngineResolver {
       scriptEngine = cachedEngines.get(language);
 
       if(scriptEngine == null) {
-        scriptEngine = scriptEngineManager.getEngineByName(language);
-
-        if(scriptEngine != null) {
-
-          if(ScriptingEngines.GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
-            configureGroovyScriptEngine(scriptEngine);
-          }
-
-          if(isCachable(scriptEngine)) {
-            cachedEngines.put(language, scriptEngine);
-          }
+        scriptEngine = createScriptEngine(language);
 
+        if(scriptEngine != null && isCachable(scriptEngine)) {
+          cachedEngines.put(language, scriptEngine);
         }
 
       }
@@ -84,6 +81,88 @@ public class ScriptEngineResolver {
     return scriptEngine;
   }
 
+  /**
+   * Borrows a script engine which must be returned by {@link #returnScriptEngine(String, ScriptEngine)}
+   * after use. Cachable engines are shared. Other engines are taken from a pool of the language
+   * if pooling is enabled, or created otherwise.
+   *
+   * @param language the language (such as 'groovy' for the script engine)
+   * @return the engine or null if no script engine can be created for the given language
+   */
+  public ScriptEngine borrowScriptEngine(String language) {
+    ScriptEnginePool enginePool = enginePools.get(language);
+    if (enginePool != null) {
+      return enginePool.borrow();
+    }
+
+    ScriptEngine scriptEngine = getScriptEngine(language, true);
+
+    if (enginePoolSize > 0 && scriptEngine != null && !isCachable(scriptEngine)) {
+      // the engine is not pooled, further engines of the language are
+      enginePools.putIfAbsent(language, new ScriptEnginePool(language, this, enginePoolSize, enginePoolMaxWaitMillis));
+    }
+
+    return scriptEngine;
+  }
+
+  public void returnScriptEngine(String language, ScriptEngine scriptEngine) {
+    ScriptEnginePool enginePool = enginePools.get(language);
+    if (enginePool != null) {
+      enginePool.release(scriptEngine);
+    }
+  }
+
+  /**
+   * Creates a new script engine for the given language.
+   *
+   * @param language the language (such as 'groovy' for the script engine)
+   * @return the new engine or null if no script engine can be created for the given language
+   */
+  public ScriptEngine createScriptEngine(String language) {
+    ScriptEngine scriptEngine = scriptEngineManager.getEngineByName(language);
+
+    if(scriptEngine != null && ScriptingEngines.GROOVY_SCRIPTING_LANGUAGE.equals(language)) {
+      configureGroovyScriptEngine(scriptEngine);
+    }
+
+    return scriptEngine;
+  }
+
+  /**
+   * @return the pool of engines of the given language or null if engines of the language are not pooled
+   */
+  public ScriptEnginePool getScriptEnginePool(String language) {
+    return enginePools.get(language);
+  }
+
+  public int getEnginePoolSize() {
+    return enginePoolSize;
+  }
+
+  /**
+   * @param enginePoolSize the maximum number of pooled engines per language which are not thread-safe;
+   *   0 disables pooling
+   */
+  public void setEnginePoolSize(int enginePoolSize) {
+    this.enginePoolSize = enginePoolSize;
+  }
+
+  public long getEnginePoolMaxWaitMillis() {
+    return enginePoolMaxWaitMillis;
+  }
+
+  public void setEnginePoolMaxWaitMillis(long enginePoolMaxWaitMillis) {
+    this.enginePoolMaxWaitMillis = enginePoolMaxWaitMillis;
+  }
+
+  /**
+   * @param scriptEngine the script engine to check.
+   * @return true if the script engine may be used by multiple threads concurrently.
+   */
+  public boolean isThreadSafe(ScriptEngine scriptEngine) {
+    return isCachable(scriptEngine);
+  }
+
   /**
    * Allows checking whether the script engine can be cached.
    *
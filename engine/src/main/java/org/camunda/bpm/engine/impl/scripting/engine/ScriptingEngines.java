@@ -40,7 +40,9 @@ import org.camunda.bpm.engine.impl.context.Context;
  * This class supports resolving a script engine for a given 'language name' (eg. 'groovy').
  * If the configuration option {@link #enableScriptEngineCaching} is set to true,
  * the class will attempt to cache 'cachable' script engines. We assume a {@link ScriptEngine} is
- * 'cachable' if it declares to be threadsafe (see {@link #isCachable(ScriptEngine)})</p>
+ * 'cachable' if it declares to be threadsafe (see {@link ScriptEngineResolver#isCachable(ScriptEngine)}).
+ * If {@link #scriptEnginePoolSize} is greater than 0, script engines which are not cachable are
+ * borrowed from a {@link ScriptEnginePool} of the language (see {@link #borrowScriptEngineForLanguage(String)}).</p>
  *
  * <p><strong>Custom Bindings:</strong> this class supports custom {@link Bindings}
  * implementations through the {@link #scriptBindingsFactory}. See {@link ScriptBindingsFactory}.</p>
@@ -58,6 +60,8 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
   protected ScriptBindingsFactory scriptBindingsFactory;
 
   protected boolean enableScriptEngineCaching = true;
+  protected int scriptEnginePoolSize = 0;
+  protected long scriptEnginePoolMaxWait = 100;
 
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
     this(new ScriptEngineManager());
@@ -76,6 +80,31 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     this.enableScriptEngineCaching = enableScriptEngineCaching;
   }
 
+  public int getScriptEnginePoolSize() {
+    return scriptEnginePoolSize;
+  }
+
+  public void setScriptEnginePoolSize(int scriptEnginePoolSize) {
+    this.scriptEnginePoolSize = scriptEnginePoolSize;
+    scriptEngineResolver.setEnginePoolSize(scriptEnginePoolSize);
+  }
+
+  public long getScriptEnginePoolMaxWait() {
+    return scriptEnginePoolMaxWait;
+  }
+
+  public void setScriptEnginePoolMaxWait(long scriptEnginePoolMaxWait) {
+    this.scriptEnginePoolMaxWait = scriptEnginePoolMaxWait;
+    scriptEngineResolver.setEnginePoolMaxWaitMillis(scriptEnginePoolMaxWait);
+  }
+
+  /**
+   * @return the pool of script engines of the given language or null if engines of the language are not pooled
+   */
+  public ScriptEnginePool getScriptEnginePool(String language) {
+    return scriptEngineResolver.getScriptEnginePool(language != null ? language.toLowerCase() : null);
+  }
+
   public ScriptEngineManager getScriptEngineManager() {
     return scriptEngineResolver.getScriptEngineManager();
   }
@@ -115,6 +144,61 @@ public class ScriptingEngines implements DmnScriptEngineResolver {
     return engine;
   }
 
+  /**
+   * Like {@link #getScriptEngineForLanguage(String)} but the script engine may be borrowed from a
+   * {@link ScriptEnginePool}. It must be returned by {@link #returnScriptEngine(String, ScriptEngine)}
+   * after use.
+   *
+   * @param language the name of the script language to lookup an implementation for
+   * @return the script engine
+   * @throws ProcessEngineException if no such engine can be found.
+   */
+  public ScriptEngine borrowScriptEngineForLanguage(String language) {
+    if (!isScriptEnginePoolingEnabled() || isFetchingScriptEngineFromProcessApplication()) {
+      return getScriptEngineForLanguage(language);
+    }
+
+    if (language != null) {
+      language = language.toLowerCase();
+    }
+
+    ScriptEngine scriptEngine = scriptEngineResolver.borrowScriptEngine(language);
+
+    ensureNotNull("Can't find scripting engine for '" + language + "'", "scriptEngine", scriptEngine);
+
+    return scriptEngine;
+  }
+
+  /**
+   * Returns a script engine which was borrowed by {@link #borrowScriptEngineForLanguage(String)}.
+   */
+  public void returnScriptEngine(String language, ScriptEngine scriptEngine) {
+    if (isScriptEnginePoolingEnabled() && scriptEngine != null) {
+      if (language != null) {
+        language = language.toLowerCase();
+      }
+      scriptEngineResolver.returnScriptEngine(language, scriptEngine);
+    }
+  }
+
+  /**
+   * @return true if the given script engine may be used by multiple threads concurrently
+   */
+  public boolean isThreadSafe(ScriptEngine scriptEngine) {
+    return scriptEngineResolver.isThreadSafe(scriptEngine);
+  }
+
+  protected boolean isScriptEnginePoolingEnabled() {
+    return enableScriptEngineCaching && scriptEnginePoolSize > 0;
+  }
+
+  protected boolean isFetchingScriptEngineFromProcessApplication() {
+    ProcessEngineConfigurationImpl config = Context.getProcessEngineConfiguration();
+    return config != null
+        && config.isEnableFetchScriptEngineFromProcessApplication()
+        && Context.getCurrentProcessApplication() != null;
+  }
+
   protected ScriptEngine getPaScriptEngine(String language, ProcessApplicationReference pa) {
     try {
       ProcessApplicationInterface processApplication = pa.getProcessApplication();
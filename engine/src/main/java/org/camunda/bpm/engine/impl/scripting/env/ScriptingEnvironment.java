@@ -79,12 +79,17 @@ public class ScriptingEnvironment {
   public Object execute(ExecutableScript script, VariableScope scope) {
 
     // get script engine
-    ScriptEngine scriptEngine = scriptingEngines.getScriptEngineForLanguage(script.getLanguage());
+    ScriptEngine scriptEngine = scriptingEngines.borrowScriptEngineForLanguage(script.getLanguage());
 
-    // create bindings
-    Bindings bindings = scriptingEngines.createBindings(scriptEngine, scope);
+    try {
+      // create bindings
+      Bindings bindings = scriptingEngines.createBindings(scriptEngine, scope);
 
-    return execute(script, scope, bindings, scriptEngine);
+      return execute(script, scope, bindings, scriptEngine);
+    }
+    finally {
+      scriptingEngines.returnScriptEngine(script.getLanguage(), scriptEngine);
+    }
   }
 
   public Object execute(ExecutableScript script, VariableScope scope, Bindings bindings, ScriptEngine scriptEngine) {
@@ -31,6 +31,7 @@ import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmmn.deployer.CmmnDeployer;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.dmn.deployer.DecisionDefinitionDeployer;
@@ -449,6 +450,9 @@ public abstract class TestHelper {
     if (idGenerator instanceof DbIdGenerator) {
       ((DbIdGenerator) idGenerator).reset();
     }
+    else if (idGenerator instanceof PrefetchingDbIdGenerator) {
+      ((PrefetchingDbIdGenerator) idGenerator).reset();
+    }
   }
 
   private static class InteruptTask extends TimerTask {
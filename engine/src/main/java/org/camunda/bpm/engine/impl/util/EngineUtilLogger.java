@@ -234,4 +234,11 @@ public class EngineUtilLogger extends ProcessEngineLogger {
         + "This indicates that this is not supported by your JAXP implementation: {}",
         e.getMessage());
   }
+
+  public void unableToCompileSchema(String schemaResource, Exception e) {
+    logDebug(
+        "032",
+        "Could not compile schema '{}', the schema is loaded by each parser instead: {}",
+        schemaResource, e.getMessage());
+  }
 }
@@ -22,7 +22,6 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.xml.XMLConstants;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
@@ -51,7 +50,6 @@ public class Parse extends DefaultHandler {
   private static final String JAXP_SCHEMA_SOURCE = "http://java.sun.com/xml/jaxp/properties/schemaSource";
   private static final String JAXP_SCHEMA_LANGUAGE = "http://java.sun.com/xml/jaxp/properties/schemaLanguage";
   private static final String W3C_XML_SCHEMA = "http://www.w3.org/2001/XMLSchema";
-  private static final String XXE_PROCESSING = "http://xml.org/sax/features/external-general-entities";
 
   private static final String JAXP_ACCESS_EXTERNAL_SCHEMA = "http://javax.xml.XMLConstants/property/accessExternalSchema";
   private static final String JAXP_ACCESS_EXTERNAL_SCHEMA_SYSTEM_PROPERTY = "javax.xml.accessExternalSchema";
@@ -139,23 +137,18 @@ public class Parse extends DefaultHandler {
     try {
       InputStream inputStream = streamSource.getInputStream();
 
-      SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-      saxParserFactory.setFeature(XXE_PROCESSING, enableXxeProcessing);
-      saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+      String accessExternalSchema = resolveAccessExternalSchemaProperty();
 
-      if (schemaResource == null) { // must be done before parser is created
-        saxParserFactory.setNamespaceAware(false);
-        saxParserFactory.setValidating(false);
-      }
-
-      SAXParser saxParser = parser.getSaxParser();
+      SAXParserFactory saxParserFactory = parser.getSaxParserFactory(schemaResource, accessExternalSchema, enableXxeProcessing);
+      SAXParser saxParser = saxParserFactory.newSAXParser();
       try {
-        saxParser.setProperty(JAXP_ACCESS_EXTERNAL_SCHEMA, resolveAccessExternalSchemaProperty());
+        saxParser.setProperty(JAXP_ACCESS_EXTERNAL_SCHEMA, accessExternalSchema);
       } catch (Exception e) {
         // ignore unavailable option
         LOG.logAccessExternalSchemaNotSupported(e);
       }
-      if (schemaResource != null) {
+      if (schemaResource != null && saxParserFactory.getSchema() == null) {
+        // the schema could not be compiled up front, let the parser load it
         saxParser.setProperty(JAXP_SCHEMA_LANGUAGE, W3C_XML_SCHEMA);
         saxParser.setProperty(JAXP_SCHEMA_SOURCE, schemaResource);
       }
@@ -184,6 +177,18 @@ public class Parse extends DefaultHandler {
     }
   }
 
+  /**
+   * Allows subclasses to skip elements which are not needed. Skipped elements
+   * and their descendants are not added to the parsed element tree.
+   *
+   * @param uri the namespace uri of the element
+   * @param localName the local name of the element
+   * @return true if the element should be skipped
+   */
+  protected boolean isSkippedElement(String uri, String localName) {
+    return false;
+  }
+
   public Element getRootElement() {
     return rootElement;
   }
@@ -255,15 +260,6 @@ public class Parse extends DefaultHandler {
   }
 
   public void setSchemaResource(String schemaResource) {
-    SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-    saxParserFactory.setNamespaceAware(true);
-    saxParserFactory.setValidating(true);
-    try {
-      saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
-    }
-    catch (Exception e) {
-      LOG.unableToSetSchemaResource(e);
-    }
     this.schemaResource = schemaResource;
   }
 }
@@ -34,12 +34,19 @@ public class ParseHandler extends DefaultHandler {
   protected Parse parse;
   protected Locator locator;
   protected Deque<Element> elementStack = new ArrayDeque<>();
+  /** the depth of the current element in a skipped element, 0 if the element is not skipped */
+  protected int skippedElementDepth = 0;
 
   public ParseHandler(Parse parse) {
     this.parse = parse;
   }
 
   public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+    if (skippedElementDepth > 0 || parse.isSkippedElement(uri, localName)) {
+      skippedElementDepth++;
+      return;
+    }
+
     Element element = new Element(uri, localName, qName, attributes, locator);
     if (elementStack.isEmpty()) {
       parse.rootElement = element;
@@ -50,10 +57,17 @@ public class ParseHandler extends DefaultHandler {
   }
 
   public void characters(char[] ch, int start, int length) throws SAXException {
+    if (skippedElementDepth > 0) {
+      return;
+    }
     elementStack.peek().appendText(String.valueOf(ch, start, length));
   }
 
   public void endElement(String uri, String localName, String qName) throws SAXException {
+    if (skippedElementDepth > 0) {
+      skippedElementDepth--;
+      return;
+    }
     elementStack.pop();
   }
 
@@ -16,28 +16,104 @@
  */
 package org.camunda.bpm.engine.impl.util.xml;
 
-import javax.xml.parsers.SAXParser;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.XMLConstants;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
 
 /**
  * @author Tom Baeyens
  */
 public class Parser {
 
-  protected static SAXParserFactory defaultSaxParserFactory = SAXParserFactory.newInstance();
-  
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  private static final String NAMESPACE_PREFIXES = "http://xml.org/sax/features/namespace-prefixes";
+  private static final String XXE_PROCESSING = "http://xml.org/sax/features/external-general-entities";
+
   public static final Parser INSTANCE = new Parser();
 
+  /**
+   * configured factories by schema resource, external schema access and XXE processing;
+   * a cached factory is never changed, so that it can be used by concurrent parses
+   */
+  protected ConcurrentMap<String, SAXParserFactory> saxParserFactories = new ConcurrentHashMap<>();
+
   public Parse createParse() {
     return new Parse(this);
   }
 
-  protected SAXParser getSaxParser() throws Exception {
-    return getSaxParserFactory().newSAXParser();
+  /**
+   * Returns a factory which is configured for the given settings. A factory is
+   * created and configured on the first call and shared by all following parses
+   * with the same settings. If a schema resource is given, the schema is compiled
+   * once and set on the factory. If it cannot be compiled, the factory creates
+   * validating parsers which need to load the schema themselves.
+   *
+   * @param schemaResource the schema to validate against or <code>null</code> if the
+   * document is not validated
+   */
+  protected SAXParserFactory getSaxParserFactory(String schemaResource, String accessExternalSchema, boolean enableXxeProcessing) throws Exception {
+    String cacheKey = schemaResource + "|" + accessExternalSchema + "|" + enableXxeProcessing;
+    SAXParserFactory saxParserFactory = saxParserFactories.get(cacheKey);
+    if (saxParserFactory == null) {
+      saxParserFactory = createSaxParserFactory(schemaResource, accessExternalSchema, enableXxeProcessing);
+
+      SAXParserFactory existingFactory = saxParserFactories.putIfAbsent(cacheKey, saxParserFactory);
+      if (existingFactory != null) {
+        saxParserFactory = existingFactory;
+      }
+    }
+    return saxParserFactory;
+  }
+
+  protected SAXParserFactory createSaxParserFactory(String schemaResource, String accessExternalSchema, boolean enableXxeProcessing) throws Exception {
+    SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
+    saxParserFactory.setFeature(XXE_PROCESSING, enableXxeProcessing);
+    saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+
+    if (schemaResource != null) {
+      saxParserFactory.setNamespaceAware(true);
+      try {
+        saxParserFactory.setFeature(NAMESPACE_PREFIXES, true);
+      }
+      catch (Exception e) {
+        LOG.unableToSetSchemaResource(e);
+      }
+
+      Schema schema = compileSchema(schemaResource, accessExternalSchema);
+      if (schema != null) {
+        saxParserFactory.setSchema(schema);
+      }
+      else {
+        saxParserFactory.setValidating(true);
+      }
+    }
+    return saxParserFactory;
   }
 
-  protected SAXParserFactory getSaxParserFactory() {
-    return defaultSaxParserFactory;
+  protected Schema compileSchema(String schemaResource, String accessExternalSchema) {
+    try {
+      SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+      try {
+        schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, accessExternalSchema);
+      }
+      catch (Exception e) {
+        // ignore unavailable option
+        LOG.logAccessExternalSchemaNotSupported(e);
+      }
+      return schemaFactory.newSchema(new URL(schemaResource));
+    }
+    catch (Exception e) {
+      LOG.unableToCompileSchema(schemaResource, e);
+      return null;
+    }
   }
 }
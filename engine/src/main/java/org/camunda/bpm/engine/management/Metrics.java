@@ -55,6 +55,12 @@ public class Metrics {
    */
   public final static String JOB_LOCKED_EXCLUSIVE = "job-locked-exclusive";
 
+  /**
+   * Number of jobs that are locked when they are created and handed over
+   * to the job executor of the same node without job acquisition
+   */
+  public final static String JOB_LOCKED_LOCAL = "job-locked-local";
+
   /**
    * Number of executed decision elements in the DMN engine.
    */
@@ -67,4 +73,45 @@ public class Metrics {
   public final static String HISTORY_CLEANUP_REMOVED_CASE_INSTANCES = "history-cleanup-removed-case-instances";
   public final static String HISTORY_CLEANUP_REMOVED_DECISION_INSTANCES = "history-cleanup-removed-decision-instances";
   public final static String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
+
+  /**
+   * Number of history events that are buffered and written to the database
+   * asynchronously. Only recorded if asynchronous history is enabled.
+   */
+  public final static String HISTORY_EVENTS_BUFFERED = "history-events-buffered";
+  public final static String HISTORY_EVENTS_WRITTEN = "history-events-written";
+
+  /**
+   * Latency of the outermost commands executed by the process engine.
+   * Only recorded if latency metrics are enabled.
+   */
+  public final static String COMMAND_EXECUTION_LATENCY = "command-execution-latency";
+
+  /**
+   * Latency of job executions. Only recorded if latency metrics are enabled.
+   */
+  public final static String JOB_EXECUTION_LATENCY = "job-execution-latency";
+
+  /**
+   * Latency of decision evaluations. Only recorded if latency metrics are enabled.
+   */
+  public final static String DECISION_EVALUATION_LATENCY = "decision-evaluation-latency";
+
+  /**
+   * Latency of flushing the changes of a command to the database.
+   * Only recorded if latency metrics are enabled.
+   */
+  public final static String FLUSH_LATENCY = "flush-latency";
+
+  /**
+   * Suffixes of the metrics a latency metric is reported as. The count is the number
+   * of recorded latencies per reporting interval, all other values are in microseconds.
+   * Percentile and max values are reported per interval. They are not summed up by a
+   * {@link MetricsQuery}, the query returns the highest reported value instead.
+   */
+  public final static String LATENCY_COUNT_SUFFIX = "-count";
+  public final static String LATENCY_P50_SUFFIX = "-p50";
+  public final static String LATENCY_P99_SUFFIX = "-p99";
+  public final static String LATENCY_P999_SUFFIX = "-p999";
+  public final static String LATENCY_MAX_SUFFIX = "-max";
 }
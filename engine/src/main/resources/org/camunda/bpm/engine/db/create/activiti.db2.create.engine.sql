@@ -125,6 +125,15 @@ create table ACT_RU_JOB (
     SEQUENCE_COUNTER_ bigint,
     TENANT_ID_ varchar(64),
     CREATE_TIME_ timestamp,
+    PARTITION_HASH_ integer,
+    primary key (ID_)
+);
+
+create table ACT_RU_JOB_PARTITION (
+    ID_ varchar(64) not null,
+    REV_ integer not null,
+    LOCK_OWNER_ varchar(255),
+    LOCK_EXP_TIME_ timestamp,
     primary key (ID_)
 );
 
@@ -229,6 +238,7 @@ create table ACT_RU_EVENT_SUBSCR (
     PROC_INST_ID_ varchar(64),
     ACTIVITY_ID_ varchar(255),
     CONFIGURATION_ varchar(255),
+    CORRELATION_KEY_ varchar(64),
     CREATED_ timestamp not null,
     TENANT_ID_ varchar(64),
     primary key (ID_)
@@ -538,6 +548,7 @@ create index ACT_IDX_DEPLOYMENT_TENANT_ID on ACT_RE_DEPLOYMENT(TENANT_ID_);
 create index ACT_IDX_JOBDEF_PROC_DEF_ID ON ACT_RU_JOBDEF(PROC_DEF_ID_);
 create index ACT_IDX_JOB_HANDLER_TYPE ON ACT_RU_JOB(HANDLER_TYPE_);
 create index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR(EVENT_NAME_);
+create index ACT_IDX_EVENT_SUBSCR_NAME_KEY on ACT_RU_EVENT_SUBSCR(EVENT_NAME_, CORRELATION_KEY_);
 create index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF(DEPLOYMENT_ID_);
 create index ACT_IDX_PROCDEF_TENANT_ID ON ACT_RE_PROCDEF(TENANT_ID_);
 create index ACT_IDX_PROCDEF_VER_TAG ON ACT_RE_PROCDEF(VERSION_TAG_);
@@ -152,6 +152,7 @@ drop index ACT_IDX_DEPLOYMENT_NAME;
 drop index ACT_IDX_JOBDEF_PROC_DEF_ID;
 drop index ACT_IDX_JOB_HANDLER_TYPE;
 drop index ACT_IDX_EVENT_SUBSCR_EVT_NAME;
+drop index ACT_IDX_EVENT_SUBSCR_NAME_KEY;
 drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID;
@@ -185,6 +186,7 @@ drop table ACT_RU_IDENTITYLINK;
 drop table ACT_RU_TASK;
 drop table ACT_RU_EXECUTION;
 drop table ACT_RU_JOB;
+drop table ACT_RU_JOB_PARTITION;
 drop table ACT_RU_JOBDEF;
 drop table ACT_RU_EVENT_SUBSCR;
 drop table ACT_RU_INCIDENT;
@@ -144,6 +144,7 @@ drop index ACT_IDX_DEPLOYMENT_NAME;
 drop index ACT_IDX_JOBDEF_PROC_DEF_ID;
 drop index ACT_IDX_JOB_HANDLER_TYPE;
 drop index ACT_IDX_EVENT_SUBSCR_EVT_NAME;
+drop index ACT_IDX_EVENT_SUBSCR_NAME_KEY;
 drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID;
@@ -174,6 +175,7 @@ drop table ACT_GE_BYTEARRAY if exists;
 drop table ACT_RE_DEPLOYMENT if exists;
 drop table ACT_RU_EXECUTION if exists;
 drop table ACT_RU_JOB if exists;
+drop table ACT_RU_JOB_PARTITION if exists;
 drop table ACT_RU_JOBDEF if exists;
 drop table ACT_RE_PROCDEF if exists;
 drop table ACT_RU_TASK if exists;
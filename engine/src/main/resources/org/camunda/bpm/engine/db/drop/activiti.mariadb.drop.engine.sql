@@ -136,6 +136,7 @@ drop index ACT_IDX_DEPLOYMENT_NAME on ACT_RE_DEPLOYMENT;
 drop index ACT_IDX_JOBDEF_PROC_DEF_ID ON ACT_RU_JOBDEF;
 drop index ACT_IDX_JOB_HANDLER_TYPE ON ACT_RU_JOB;
 drop index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR;
+drop index ACT_IDX_EVENT_SUBSCR_NAME_KEY ON ACT_RU_EVENT_SUBSCR;
 drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK;
@@ -170,6 +171,7 @@ drop table if exists ACT_RU_TASK;
 drop table if exists ACT_RE_PROCDEF;
 drop table if exists ACT_RU_EXECUTION;
 drop table if exists ACT_RU_JOB;
+drop table if exists ACT_RU_JOB_PARTITION;
 drop table if exists ACT_RU_JOBDEF;
 drop table if exists ACT_RU_EVENT_SUBSCR;
 drop table if exists ACT_RU_INCIDENT;
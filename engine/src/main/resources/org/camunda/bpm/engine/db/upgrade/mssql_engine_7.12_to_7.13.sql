@@ -38,3 +38,19 @@ ALTER TABLE ACT_RU_INCIDENT
 
 ALTER TABLE ACT_HI_INCIDENT
   ADD FAILED_ACTIVITY_ID_ nvarchar(255);
+
+ALTER TABLE ACT_RU_JOB
+  ADD PARTITION_HASH_ int;
+
+create table ACT_RU_JOB_PARTITION (
+    ID_ nvarchar(64) not null,
+    REV_ int not null,
+    LOCK_OWNER_ nvarchar(255),
+    LOCK_EXP_TIME_ datetime2,
+    primary key (ID_)
+);
+
+ALTER TABLE ACT_RU_EVENT_SUBSCR
+  ADD CORRELATION_KEY_ nvarchar(64);
+
+create index ACT_IDX_EVENT_SUBSCR_NAME_KEY on ACT_RU_EVENT_SUBSCR(EVENT_NAME_, CORRELATION_KEY_);
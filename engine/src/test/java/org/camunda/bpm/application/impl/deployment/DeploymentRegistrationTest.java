@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.application.impl.deployment;
 
+import org.camunda.bpm.application.impl.EmbeddedProcessApplication;
 import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
@@ -74,6 +75,36 @@ public class DeploymentRegistrationTest extends PluggableProcessEngineTestCase {
     deleteDeployments(deployment1, deployment2);
   }
 
+  public void testDeploymentCacheWarmUpOnRegistration() throws Exception {
+    Deployment deployment = repositoryService
+        .createDeployment()
+        .name(DEPLOYMENT_NAME)
+        .addModelInstance(BPMN_RESOURCE, createProcessWithServiceTask(PROCESS_KEY))
+        .deploy();
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().deploymentId(deployment.getId()).singleResult();
+
+    // assume an empty deployment cache (e.g. after a restart)
+    processEngineConfiguration.getDeploymentCache().discardProcessDefinitionCache();
+    processEngineConfiguration.setEnableDeploymentCacheWarmUp(true);
+
+    try {
+      // when a process application is registered for the deployment
+      EmbeddedProcessApplication processApplication = new EmbeddedProcessApplication();
+      managementService.registerProcessApplication(deployment.getId(), processApplication.getReference());
+
+      // then the process definition is loaded into the cache in the background
+      Cache cache = processEngineConfiguration.getDeploymentCache().getProcessDefinitionCache();
+      for (int i = 0; i < 100 && cache.get(processDefinition.getId()) == null; i++) {
+        Thread.sleep(50);
+      }
+      assertNotNull(cache.get(processDefinition.getId()));
+    }
+    finally {
+      processEngineConfiguration.setEnableDeploymentCacheWarmUp(false);
+      deleteDeployments(deployment);
+    }
+  }
+
   // helper ///////////////////////////////////////////
 
   protected void deleteDeployments(Deployment... deployments){
@@ -0,0 +1,188 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.util.xml.Parser;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ParallelDeploymentParsingTest {
+
+  protected static final int NUMBER_OF_PROCESSES = 20;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setDeploymentParseParallelism(4);
+      return configuration;
+    }
+  };
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+
+  @Before
+  public void initServices() {
+    repositoryService = engineRule.getRepositoryService();
+  }
+
+  @Test
+  public void shouldDeployResourcesTransformedInParallel() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
+        .addClasspathResource("org/camunda/bpm/engine/test/api/cmmn/oneTaskCase.cmmn")
+        .addClasspathResource("org/camunda/bpm/engine/test/api/dmn/Example.dmn");
+
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", createTimerStartProcess("process" + i));
+    }
+
+    // when
+    testRule.deploy(deploymentBuilder);
+
+    // then
+    assertNotNull(engineRule.getProcessEngineConfiguration().getDeploymentParsePool());
+    assertEquals(NUMBER_OF_PROCESSES, repositoryService.createProcessDefinitionQuery().count());
+    assertEquals(1, repositoryService.createCaseDefinitionQuery().count());
+    assertEquals(1, repositoryService.createDecisionDefinitionQuery().count());
+
+    // the job declarations of all resources are registered
+    assertEquals(NUMBER_OF_PROCESSES, engineRule.getManagementService().createJobQuery().timers().count());
+  }
+
+  @Test
+  public void shouldFailIfOneResourceIsInvalid() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", createTimerStartProcess("process" + i));
+    }
+    deploymentBuilder.addString("invalid.bpmn", "<definitions/>");
+
+    // when
+    try {
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // then
+      assertEquals(0, repositoryService.createDeploymentQuery().count());
+    }
+  }
+
+  @Test
+  public void shouldValidateResourcesTransformedInParallelAgainstSchema() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", createTimerStartProcess("process" + i));
+    }
+    deploymentBuilder.addString("schemaInvalid.bpmn",
+        "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"Examples\">"
+      + "<process id=\"schemaInvalid\" isExecutable=\"notABoolean\"/>"
+      + "</definitions>");
+
+    // when
+    try {
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // then the schema validation of the shared parser is applied by every transformation
+      assertEquals(0, repositoryService.createDeploymentQuery().count());
+    }
+  }
+
+  @Test
+  public void shouldValidateResourcesAgainstSchemaWhileOtherDocumentsAreParsedWithoutSchema() throws Exception {
+    // given documents which are parsed without schema validation at the same time
+    final AtomicBoolean isDeploying = new AtomicBoolean(true);
+    Thread nonValidatingParses = new Thread() {
+      public void run() {
+        while (isDeploying.get()) {
+          Parser.INSTANCE.createParse()
+            .sourceString("<root><child/></root>")
+            .execute();
+        }
+      }
+    };
+    nonValidatingParses.start();
+
+    try {
+      for (int deployment = 0; deployment < 5; deployment++) {
+        DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+        for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+          deploymentBuilder.addModelInstance("process" + i + ".bpmn", createTimerStartProcess("process" + i));
+        }
+        deploymentBuilder.addString("schemaInvalid.bpmn",
+            "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" targetNamespace=\"Examples\">"
+          + "<process id=\"schemaInvalid\" isExecutable=\"notABoolean\"/>"
+          + "</definitions>");
+
+        // when
+        try {
+          deploymentBuilder.deploy();
+          fail("exception expected");
+        }
+        catch (ProcessEngineException e) {
+          // then every transformation keeps validating against the schema
+          assertEquals(0, repositoryService.createDeploymentQuery().count());
+        }
+      }
+    }
+    finally {
+      isDeploying.set(false);
+      nonValidatingParses.join();
+    }
+  }
+
+  protected BpmnModelInstance createTimerStartProcess(String processDefinitionKey) {
+    return Bpmn.createExecutableProcess(processDefinitionKey)
+        .startEvent()
+          .timerWithDuration("PT1H")
+        .userTask()
+        .endEvent()
+        .done();
+  }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheEntryWeigher;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheStatistics;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.WeightedCacheFactory;
+import org.junit.Test;
+
+public class WeightedCacheTest {
+
+  /** weighs a value by its length */
+  protected static final CacheEntryWeigher LENGTH_WEIGHER = new CacheEntryWeigher() {
+    public long weigh(Object value) {
+      return ((String) value).length();
+    }
+  };
+
+  @Test
+  public void shouldEvictLeastRecentlyAccessedEntriesByWeight() throws Exception {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>("cache", 10, 10, LENGTH_WEIGHER, false);
+    cache.put("a", "aaaa");
+    cache.put("b", "bbbb");
+    Thread.sleep(1);
+    cache.get("a");
+
+    // when
+    cache.put("c", "cccc");
+
+    // then
+    assertEquals(2, cache.size());
+    assertEquals("aaaa", cache.get("a"));
+    assertEquals("cccc", cache.get("c"));
+    assertNull(cache.get("b"));
+    assertEquals(8, cache.getStatistics().getWeight());
+    assertEquals(1, cache.getStatistics().getEvictionCount());
+  }
+
+  @Test
+  public void shouldKeepRecentlyAccessedEntryWhileEvictingEntriesBySize() {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>("cache", 10, 1000, LENGTH_WEIGHER, false);
+    cache.put("a", "a");
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      cache.put("key" + i, "b");
+      assertEquals("a", cache.get("a"));
+    }
+
+    // then
+    assertEquals(10, cache.size());
+    assertEquals(10, cache.getStatistics().getWeight());
+    assertEquals(91, cache.getStatistics().getEvictionCount());
+  }
+
+  @Test
+  public void shouldEvictEntriesBySize() {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>("cache", 2, 100, LENGTH_WEIGHER, false);
+
+    // when
+    cache.put("a", "a");
+    cache.put("b", "b");
+    cache.put("c", "c");
+
+    // then
+    assertEquals(2, cache.size());
+    assertEquals(2, cache.getStatistics().getWeight());
+  }
+
+  @Test
+  public void shouldKeepEntryExceedingMaxWeight() {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>("cache", 10, 2, LENGTH_WEIGHER, false);
+
+    // when
+    cache.put("a", "aaaa");
+
+    // then
+    assertEquals("aaaa", cache.get("a"));
+  }
+
+  @Test
+  public void shouldReturnEvictedEntryFromSoftReference() throws Exception {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>("cache", 1, 100, LENGTH_WEIGHER, true);
+    String value = "aaaa";
+    cache.put("a", value);
+    Thread.sleep(1);
+    cache.put("b", "bbbb");
+    assertFalse(cache.keySet().contains("a"));
+
+    // when
+    String cachedValue = cache.get("a");
+
+    // then the entry is still reachable by the test and is moved back into the cache
+    assertEquals(value, cachedValue);
+    assertTrue(cache.keySet().contains("a"));
+
+    CacheStatistics statistics = cache.getStatistics();
+    assertEquals(1, statistics.getSoftHitCount());
+    assertEquals(1, statistics.getHitCount());
+    assertEquals(0, statistics.getMissCount());
+    assertEquals(1, statistics.getSoftSize());
+  }
+
+  @Test
+  public void shouldNotPromoteSoftEntryRemovedConcurrently() throws Exception {
+    // given a weigher which removes the entry while it is moved back into the cache
+    final AtomicReference<WeightedCache<String, String>> cacheToRemoveFrom = new AtomicReference<WeightedCache<String, String>>();
+    CacheEntryWeigher removingWeigher = new CacheEntryWeigher() {
+      public long weigh(Object value) {
+        WeightedCache<String, String> cache = cacheToRemoveFrom.getAndSet(null);
+        if (cache != null) {
+          cache.remove("a");
+        }
+        return ((String) value).length();
+      }
+    };
+
+    WeightedCache<String, String> cache = new WeightedCache<String, String>("cache", 1, 100, removingWeigher, true);
+    String value = "aaaa";
+    cache.put("a", value);
+    Thread.sleep(1);
+    cache.put("b", "bbbb");
+    cacheToRemoveFrom.set(cache);
+
+    // when
+    String cachedValue = cache.get("a");
+
+    // then the removed entry is not brought back
+    assertNull(cachedValue);
+    assertFalse(cache.keySet().contains("a"));
+    assertEquals(0, cache.getStatistics().getSoftSize());
+    assertEquals(1, cache.getStatistics().getMissCount());
+  }
+
+  @Test
+  public void shouldRemoveEntry() {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>("cache", 1, 100, LENGTH_WEIGHER, true);
+    cache.put("a", "aaaa");
+    cache.put("b", "bbbb");
+
+    // when
+    cache.remove("a");
+    cache.remove("b");
+
+    // then
+    assertTrue(cache.isEmpty());
+    assertNull(cache.get("a"));
+    assertEquals(0, cache.getStatistics().getWeight());
+  }
+
+  @Test
+  public void shouldCountHitsMissesAndLoads() {
+    // given
+    WeightedCache<String, String> cache = new WeightedCache<String, String>("cache", 10, 100, LENGTH_WEIGHER, false);
+
+    // when
+    assertNull(cache.get("a"));
+    cache.put("a", "aaaa");
+    cache.get("a");
+    cache.get("a");
+    cache.put("b", "bbbb");
+
+    // then
+    CacheStatistics statistics = cache.getStatistics();
+    assertEquals(2, statistics.getHitCount());
+    assertEquals(1, statistics.getMissCount());
+    assertEquals(1, statistics.getLoadCount());
+    assertEquals(2, statistics.getSize());
+    assertEquals(2.0 / 3, statistics.getHitRatio(), 0.001);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldEnableSoftReferencesForModelInstanceCachesOnly() {
+    // given
+    WeightedCacheFactory cacheFactory = new WeightedCacheFactory();
+
+    // when
+    WeightedCache<String, Object> processDefinitionCache =
+        (WeightedCache<String, Object>) cacheFactory.<Object>createCache("ProcessDefinitionCache", 10);
+    WeightedCache<String, Object> modelInstanceCache =
+        (WeightedCache<String, Object>) cacheFactory.<Object>createCache("BpmnModelInstanceCache", 10);
+
+    // then
+    assertFalse(processDefinitionCache.isSoftReferencesEnabled());
+    assertTrue(modelInstanceCache.isSoftReferencesEnabled());
+
+    Map<String, CacheStatistics> statistics = cacheFactory.getCacheStatistics();
+    assertEquals(2, statistics.size());
+    assertTrue(statistics.containsKey("ProcessDefinitionCache"));
+    assertTrue(statistics.containsKey("BpmnModelInstanceCache"));
+  }
+
+}
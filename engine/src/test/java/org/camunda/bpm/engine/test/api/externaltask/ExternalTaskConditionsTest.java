@@ -16,12 +16,14 @@
  */
 package org.camunda.bpm.engine.test.api.externaltask;
 
+import static java.util.Collections.singleton;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskTopicListener;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
 import org.camunda.bpm.engine.test.ProcessEngineRule;
 import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
@@ -45,6 +47,9 @@ public class ExternalTaskConditionsTest {
   @Mock
   public SingleConsumerCondition condition;
 
+  @Mock
+  public ExternalTaskTopicListener topicListener;
+
   private String deploymentId;
 
   private final BpmnModelInstance testProcess = Bpmn.createExecutableProcess("theProcess")
@@ -59,6 +64,7 @@ public class ExternalTaskConditionsTest {
     MockitoAnnotations.initMocks(this);
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_TOPIC_LISTENERS.addListener(topicListener);
 
     deploymentId = rule.getRepositoryService()
         .createDeployment()
@@ -71,6 +77,7 @@ public class ExternalTaskConditionsTest {
   public void tearDown() {
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_TOPIC_LISTENERS.removeListener(topicListener);
 
     if (deploymentId != null) {
       rule.getRepositoryService().deleteDeployment(deploymentId, true);
@@ -123,4 +130,36 @@ public class ExternalTaskConditionsTest {
     verify(condition, times(1)).signal();
   }
 
+  @Test
+  public void shouldNotifyTopicListenerOnTaskCreate() {
+
+    // when
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    // then
+    verify(topicListener, times(1)).onTopicsAvailable(singleton("theTopic"));
+  }
+
+  @Test
+  public void shouldNotifyTopicListenerOnUnlock() {
+
+    // given
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    reset(topicListener); // clear notification for create
+
+    LockedExternalTask lockedTask = rule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("theTopic", 10000)
+      .execute()
+      .get(0);
+
+    // when
+    rule.getExternalTaskService().unlock(lockedTask.getId());
+
+    // then
+    verify(topicListener, times(1)).onTopicsAvailable(singleton("theTopic"));
+  }
+
 }
@@ -0,0 +1,206 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskManager;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.AssertUtil;
+import org.camunda.bpm.engine.variable.Variables;
+
+public class ExternalTaskFetchAndLockInBatchTest extends PluggableProcessEngineTestCase {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_TIME = 10000L;
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+
+  protected void setUp() throws Exception {
+    ClockUtil.setCurrentTime(new Date());
+    processEngineConfiguration.setExternalTaskFetchAndLockInBatch(true);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setExternalTaskFetchAndLockInBatch(false);
+    ClockUtil.reset();
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchAndLock() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    }
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(5, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // then all tasks are locked by the worker
+    assertEquals(3, tasks.size());
+    for (LockedExternalTask task : tasks) {
+      assertEquals(WORKER_ID, task.getWorkerId());
+      assertEquals(TOPIC_NAME, task.getTopicName());
+      assertEquals("oneExternalTaskProcess", task.getProcessDefinitionKey());
+    }
+
+    List<ExternalTask> externalTasks = externalTaskService.createExternalTaskQuery().locked().list();
+    assertEquals(3, externalTasks.size());
+    for (ExternalTask externalTask : externalTasks) {
+      assertEquals(WORKER_ID, externalTask.getWorkerId());
+    }
+
+    // and they cannot be fetched again
+    tasks = externalTaskService.fetchAndLock(5, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+    assertTrue(tasks.isEmpty());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testCompleteTaskFetchedInBatch() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(5, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .execute();
+
+    // when
+    externalTaskService.complete(tasks.get(0).getId(), WORKER_ID);
+
+    // then
+    assertEquals(0, externalTaskService.createExternalTaskQuery().count());
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/parallelExternalTaskProcess.bpmn20.xml")
+  public void testFetchMultipleTopicsWithDifferentLockDurations() {
+    // given
+    runtimeService.startProcessInstanceByKey("parallelExternalTaskProcess");
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(5, WORKER_ID)
+      .topic("topic1", LOCK_TIME)
+      .topic("topic2", LOCK_TIME * 2)
+      .execute();
+
+    // then
+    assertEquals(2, tasks.size());
+    for (LockedExternalTask task : tasks) {
+      long lockTime = "topic1".equals(task.getTopicName()) ? LOCK_TIME : LOCK_TIME * 2;
+      AssertUtil.assertEqualsSecondPrecision(nowPlus(lockTime), task.getLockExpirationTime());
+    }
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testFetchVariables() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess", Variables.createVariables().putValue("aVariable", "aValue"));
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(5, WORKER_ID)
+      .topic(TOPIC_NAME, LOCK_TIME)
+      .variables("aVariable")
+      .execute();
+
+    // then
+    assertEquals(1, tasks.size());
+    assertEquals("aValue", tasks.get(0).getVariables().get("aVariable"));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testSkipTaskLockedByAnotherWorker() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    final Map<String, TopicFetchInstruction> fetchInstructions = new HashMap<String, TopicFetchInstruction>();
+    fetchInstructions.put(TOPIC_NAME, new TopicFetchInstruction(TOPIC_NAME, LOCK_TIME));
+
+    // when another worker locks one of the selected tasks before they are locked
+    List<ExternalTaskEntity> lockedTasks = processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<List<ExternalTaskEntity>>() {
+        public List<ExternalTaskEntity> execute(CommandContext commandContext) {
+          ExternalTaskManager externalTaskManager = commandContext.getExternalTaskManager();
+          List<ExternalTaskEntity> externalTasks = externalTaskManager
+              .selectExternalTasksForTopics(fetchInstructions.values(), 5, false);
+          assertEquals(2, externalTasks.size());
+
+          externalTaskManager.lockExternalTasks(Collections.singletonList(externalTasks.get(0)), "anotherWorkerId", fetchInstructions);
+
+          return externalTaskManager.lockExternalTasks(externalTasks, WORKER_ID, fetchInstructions);
+        }
+      });
+
+    // then the task is skipped
+    assertEquals(1, lockedTasks.size());
+    assertEquals(WORKER_ID, lockedTasks.get(0).getWorkerId());
+
+    assertEquals(1, externalTaskService.createExternalTaskQuery().workerId("anotherWorkerId").count());
+    assertEquals(1, externalTaskService.createExternalTaskQuery().workerId(WORKER_ID).count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testSkipTaskLockedByConcurrentFetchOfSameWorker() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    final Map<String, TopicFetchInstruction> fetchInstructions = new HashMap<String, TopicFetchInstruction>();
+    fetchInstructions.put(TOPIC_NAME, new TopicFetchInstruction(TOPIC_NAME, LOCK_TIME));
+
+    // when another fetch of the same worker locks one of the selected tasks before they are locked
+    List<ExternalTaskEntity> lockedTasks = processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new Command<List<ExternalTaskEntity>>() {
+        public List<ExternalTaskEntity> execute(CommandContext commandContext) {
+          ExternalTaskManager externalTaskManager = commandContext.getExternalTaskManager();
+          List<ExternalTaskEntity> externalTasks = externalTaskManager
+              .selectExternalTasksForTopics(fetchInstructions.values(), 5, false);
+          assertEquals(2, externalTasks.size());
+
+          externalTaskManager.lockExternalTasks(Collections.singletonList(externalTasks.get(0)), WORKER_ID, fetchInstructions);
+
+          return externalTaskManager.lockExternalTasks(externalTasks, WORKER_ID, fetchInstructions);
+        }
+      });
+
+    // then the task is not delivered a second time
+    assertEquals(1, lockedTasks.size());
+    assertEquals(WORKER_ID, lockedTasks.get(0).getWorkerId());
+
+    assertEquals(2, externalTaskService.createExternalTaskQuery().workerId(WORKER_ID).count());
+  }
+
+  protected Date nowPlus(long millis) {
+    return new Date(ClockUtil.getCurrentTime().getTime() + millis);
+  }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.camunda.bpm.engine.impl.metrics.LatencyHistogram;
+import org.camunda.bpm.engine.impl.metrics.LatencyHistogram.Snapshot;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void shouldReturnZeroForEmptyHistogram() {
+    Snapshot snapshot = new LatencyHistogram("test").getAndClear();
+
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0, snapshot.getMax());
+    assertEquals(0, snapshot.getValueAtPercentile(99));
+  }
+
+  @Test
+  public void shouldCalculatePercentiles() {
+    // given
+    LatencyHistogram histogram = new LatencyHistogram("test");
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+
+    // when
+    Snapshot snapshot = histogram.getAndClear();
+
+    // then
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(1000000, snapshot.getMax());
+    assertWithinRelativeError(500000, snapshot.getValueAtPercentile(50));
+    assertWithinRelativeError(990000, snapshot.getValueAtPercentile(99));
+    assertWithinRelativeError(999000, snapshot.getValueAtPercentile(99.9));
+  }
+
+  @Test
+  public void shouldRecordSmallValuesExactly() {
+    LatencyHistogram histogram = new LatencyHistogram("test");
+    histogram.record(3);
+    histogram.record(7);
+
+    Snapshot snapshot = histogram.getAndClear();
+
+    assertEquals(3, snapshot.getValueAtPercentile(50));
+    assertEquals(7, snapshot.getValueAtPercentile(100));
+  }
+
+  @Test
+  public void shouldClearHistogram() {
+    LatencyHistogram histogram = new LatencyHistogram("test");
+    histogram.recordNanos(5000000);
+
+    assertEquals(1, histogram.getAndClear().getCount());
+    assertEquals(0, histogram.getAndClear().getCount());
+  }
+
+  protected void assertWithinRelativeError(long expected, long actual) {
+    assertTrue("expected " + expected + " but was " + actual, Math.abs(expected - actual) <= expected * 0.04);
+  }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.metrics.LatencyHistogram;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.Deployment;
+
+/**
+ * Asserts the reporting of latency metrics if they are enabled
+ */
+public class LatencyMetricsTest extends ResourceProcessEngineTestCase {
+
+  protected static final String TEST_LATENCY = "test-latency";
+
+  public LatencyMetricsTest() {
+    super("org/camunda/bpm/engine/test/api/mgmt/metrics/latencyMetricsTest.cfg.xml");
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    clearMetrics();
+  }
+
+  protected void tearDown() throws Exception {
+    ClockUtil.reset();
+    processEngineConfiguration.getMetricsRegistry().getHistograms().remove(TEST_LATENCY);
+    clearMetrics();
+    super.tearDown();
+  }
+
+  protected void clearMetrics() {
+    for (LatencyHistogram histogram : processEngineConfiguration.getMetricsRegistry().getHistograms().values()) {
+      histogram.getAndClear();
+    }
+    managementService.deleteMetrics(null);
+  }
+
+  public void testHistogramsAreRegistered() {
+    assertTrue(processEngineConfiguration.isLatencyMetricsEnabled());
+    assertNotNull(processEngineConfiguration.getMetricsRegistry().getHistogramByName(Metrics.COMMAND_EXECUTION_LATENCY));
+    assertNotNull(processEngineConfiguration.getMetricsRegistry().getHistogramByName(Metrics.JOB_EXECUTION_LATENCY));
+    assertNotNull(processEngineConfiguration.getMetricsRegistry().getHistogramByName(Metrics.DECISION_EVALUATION_LATENCY));
+    assertNotNull(processEngineConfiguration.getMetricsRegistry().getHistogramByName(Metrics.FLUSH_LATENCY));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  public void testReportLatencyPercentiles() {
+    // given
+    runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    waitForJobExecutorToProcessAllJobs(5000);
+
+    // when
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then the percentiles of each histogram are reported
+    assertTrue(managementService.createMetricsQuery()
+        .name(Metrics.COMMAND_EXECUTION_LATENCY + Metrics.LATENCY_COUNT_SUFFIX).sum() >= 3);
+    assertEquals(1, managementService.createMetricsQuery()
+        .name(Metrics.JOB_EXECUTION_LATENCY + Metrics.LATENCY_COUNT_SUFFIX).sum());
+    assertTrue(managementService.createMetricsQuery()
+        .name(Metrics.FLUSH_LATENCY + Metrics.LATENCY_COUNT_SUFFIX).sum() >= 3);
+
+    List<MetricIntervalValue> p99 = managementService.createMetricsQuery()
+        .name(Metrics.COMMAND_EXECUTION_LATENCY + Metrics.LATENCY_P99_SUFFIX)
+        .interval();
+    assertEquals(1, p99.size());
+
+    long max = managementService.createMetricsQuery()
+        .name(Metrics.COMMAND_EXECUTION_LATENCY + Metrics.LATENCY_MAX_SUFFIX)
+        .sum();
+    assertTrue(p99.get(0).getValue() <= max);
+  }
+
+  public void testAggregateLatencyPercentilesOverSeveralIntervals() {
+    // given
+    LatencyHistogram histogram = processEngineConfiguration.getMetricsRegistry().createHistogram(TEST_LATENCY);
+    long hour = 60 * 60 * 1000;
+    long startTime = (ClockUtil.getCurrentTime().getTime() / hour - 1) * hour;
+
+    // and a latency reported in each of two 15 minute intervals of the same hour
+    ClockUtil.setCurrentTime(new Date(startTime));
+    histogram.record(100);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    ClockUtil.setCurrentTime(new Date(startTime + 15 * 60 * 1000));
+    histogram.record(10000);
+    histogram.record(10000);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // when
+    List<MetricIntervalValue> quarterHourlyP99 = managementService.createMetricsQuery()
+        .name(TEST_LATENCY + Metrics.LATENCY_P99_SUFFIX)
+        .interval();
+    List<MetricIntervalValue> hourlyP99 = managementService.createMetricsQuery()
+        .name(TEST_LATENCY + Metrics.LATENCY_P99_SUFFIX)
+        .interval(60 * 60);
+    List<MetricIntervalValue> hourlyMax = managementService.createMetricsQuery()
+        .name(TEST_LATENCY + Metrics.LATENCY_MAX_SUFFIX)
+        .interval(60 * 60);
+    List<MetricIntervalValue> hourlyCount = managementService.createMetricsQuery()
+        .name(TEST_LATENCY + Metrics.LATENCY_COUNT_SUFFIX)
+        .interval(60 * 60);
+
+    // then the percentiles and the max are aggregated by their maximum
+    assertEquals(2, quarterHourlyP99.size());
+    assertEquals(1, hourlyP99.size());
+    assertEquals(quarterHourlyP99.get(0).getValue(), hourlyP99.get(0).getValue());
+    assertTrue(quarterHourlyP99.get(1).getValue() < hourlyP99.get(0).getValue());
+
+    assertEquals(1, hourlyMax.size());
+    assertEquals(10000, hourlyMax.get(0).getValue());
+    assertEquals(10000, managementService.createMetricsQuery()
+        .name(TEST_LATENCY + Metrics.LATENCY_MAX_SUFFIX)
+        .sum());
+
+    // and the count is summed up
+    assertEquals(1, hourlyCount.size());
+    assertEquals(3, hourlyCount.get(0).getValue());
+    assertEquals(3, managementService.createMetricsQuery()
+        .name(TEST_LATENCY + Metrics.LATENCY_COUNT_SUFFIX)
+        .sum());
+  }
+
+}
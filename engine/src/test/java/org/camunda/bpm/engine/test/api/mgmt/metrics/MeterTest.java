@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.junit.Test;
+
+public class MeterTest {
+
+  @Test
+  public void shouldNotLoseMarksOfConcurrentThreads() throws Exception {
+    final Meter meter = new Meter("test");
+    Thread[] threads = new Thread[8];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread() {
+        public void run() {
+          for (int j = 0; j < 10000; j++) {
+            meter.mark();
+          }
+        }
+      };
+      threads[i].start();
+    }
+
+    long cleared = 0;
+    for (Thread thread : threads) {
+      cleared += meter.getAndClear();
+      thread.join();
+    }
+    cleared += meter.getAndClear();
+
+    assertEquals(80000, cleared);
+  }
+
+}
@@ -46,6 +46,17 @@ public class MetricsDisabledTest extends ResourceProcessEngineTestCase {
 
   }
 
+  public void testQueryMetricsSumIfMetricsIsDisabled() {
+
+    // given
+    // that the metrics are disabled (see xml configuration referenced in constructor)
+    assertFalse(processEngineConfiguration.isMetricsEnabled());
+
+    // then
+    // the logged metrics can be summed up
+    assertEquals(0, managementService.createMetricsQuery().sum());
+  }
+
   public void testReportNowIfMetricsDisabled() {
 
     // given
@@ -343,6 +343,42 @@ public class ProcessApplicationDeploymentTest extends PluggableProcessEngineTest
     deleteDeployments(deployment1, deployment2);
   }
 
+  public void testUnchangedResourcesResumePreviousVersionsByKey() {
+    BpmnModelInstance model1 = Bpmn.createExecutableProcess("process1").done();
+    BpmnModelInstance model2 = Bpmn.createExecutableProcess("process2").done();
+
+    // create initial deployment
+    ProcessApplicationDeployment deployment1 = repositoryService.createDeployment(processApplication.getReference())
+      .name("deployment")
+      .addModelInstance("process1.bpmn20.xml", model1)
+      .deploy();
+
+    // and another version of the process in a deployment with a different name
+    ProcessApplicationDeployment otherDeployment = repositoryService.createDeployment(processApplication.getReference())
+      .name("otherDeployment")
+      .addModelInstance("otherProcess1.bpmn20.xml", model1)
+      .deploy();
+
+    // when only the changed resources are deployed
+    ProcessApplicationDeployment deployment2 = repositoryService.createDeployment(processApplication.getReference())
+      .name("deployment")
+      .enableDuplicateFiltering(true)
+      .resumePreviousVersions()
+      .addModelInstance("process1.bpmn20.xml", model1)
+      .addModelInstance("process2.bpmn20.xml", model2)
+      .deploy();
+
+    // then the key of the unchanged resource is used to resume the previous versions
+    ProcessApplicationRegistration registration = deployment2.getProcessApplicationRegistration();
+    Set<String> deploymentIds = registration.getDeploymentIds();
+    assertEquals(3, deploymentIds.size());
+    assertTrue(deploymentIds.contains(deployment1.getId()));
+    assertTrue(deploymentIds.contains(otherDeployment.getId()));
+    assertTrue(deploymentIds.contains(deployment2.getId()));
+
+    deleteDeployments(deployment1, otherDeployment, deployment2);
+  }
+
   public void testProcessApplicationDeploymentResumePreviousVersions() {
     // create initial deployment
     ProcessApplicationDeployment deployment1 = repositoryService.createDeployment(processApplication.getReference())
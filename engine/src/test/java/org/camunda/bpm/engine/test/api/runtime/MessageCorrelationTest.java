@@ -37,7 +37,11 @@ import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyUtil;
 import org.camunda.bpm.engine.impl.util.StringUtil;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.Execution;
@@ -167,6 +171,205 @@ public class MessageCorrelationTest {
 
   }
 
+  @Deployment
+  @Test
+  public void testCatchingMessageEventCorrelationByCorrelationKey() {
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("aKey", "aValue");
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    variables = new HashMap<>();
+    variables.put("aKey", "anotherValue");
+    ProcessInstance anotherProcessInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    // when the message is correlated by the declared correlation key
+    runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "aValue")
+      .setVariable("aNewKey", "aNewVariable")
+      .correlate();
+
+    // then only the matching execution has advanced
+    long correlatedExecutions = runtimeService.createExecutionQuery()
+        .activityId("task").processVariableValueEquals("aNewKey", "aNewVariable")
+        .count();
+    assertEquals(1, correlatedExecutions);
+    assertEquals(processInstance.getId(), runtimeService.createExecutionQuery().activityId("task").singleResult().getProcessInstanceId());
+
+    // and the message can still be correlated by other variables
+    runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceId(anotherProcessInstance.getId())
+      .correlate();
+
+    assertEquals(2, runtimeService.createExecutionQuery().activityId("task").count());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelationByCorrelationKey.bpmn20.xml")
+  @Test
+  public void testCatchingMessageEventCorrelationByNumericCorrelationKey() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aKey", 42));
+    runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aKey", 43));
+
+    // when the message is correlated by a number
+    runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", 42)
+      .correlate();
+
+    // then the execution with the equal number has advanced
+    Execution execution = runtimeService.createExecutionQuery().activityId("task").singleResult();
+    assertNotNull(execution);
+    assertEquals(processInstance.getId(), execution.getProcessInstanceId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelationByCorrelationKey.bpmn20.xml")
+  @Test
+  public void testCatchingMessageEventCorrelationByUpdatedCorrelationKey() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aKey", "aValue"));
+    ProcessInstance anotherProcessInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aKey", "anotherValue"));
+
+    // when the correlation keys are changed after the subscriptions were created
+    runtimeService.setVariable(processInstance.getId(), "aKey", "anotherValue");
+    runtimeService.setVariable(anotherProcessInstance.getId(), "aKey", "aValue");
+
+    // then the message is correlated by the new values
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "aValue")
+      .correlateAllWithResult();
+
+    assertEquals(1, results.size());
+    assertEquals(anotherProcessInstance.getId(), results.get(0).getExecution().getProcessInstanceId());
+    assertEquals(anotherProcessInstance.getId(), runtimeService.createExecutionQuery().activityId("task").singleResult().getProcessInstanceId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelationByCorrelationKey.bpmn20.xml")
+  @Test
+  public void testCatchingMessageEventCorrelationByCorrelationKeySetLater() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when the correlation key is set after the subscription was created
+    runtimeService.setVariable(processInstance.getId(), "aKey", 42);
+
+    // then the message is correlated by its value
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", 42)
+      .correlateWithResult();
+
+    assertEquals(processInstance.getId(), result.getExecution().getProcessInstanceId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelationByCorrelationKey.bpmn20.xml")
+  @Test
+  public void testCatchingMessageEventCorrelationByRemovedCorrelationKey() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aKey", "aValue"));
+
+    // when the correlation key is removed after the subscription was created
+    runtimeService.removeVariable(processInstance.getId(), "aKey");
+
+    // then the message is not correlated by the removed value
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "aValue")
+      .correlateAllWithResult();
+
+    assertTrue(results.isEmpty());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelationByCorrelationKey.bpmn20.xml")
+  @Test
+  public void testCatchingMessageEventCorrelationByStaleCorrelationKey() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aKey", "aValue"));
+
+    // given a subscription that missed a concurrent change of the correlation key
+    final String eventSubscriptionId = runtimeService.createEventSubscriptionQuery().singleResult().getId();
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        EventSubscriptionEntity eventSubscription = commandContext.getEventSubscriptionManager().findEventSubscriptionById(eventSubscriptionId);
+        eventSubscription.setConfiguration(CorrelationKeyUtil.toConfiguration("aKey", "staleValue"));
+        return null;
+      }
+    });
+
+    // when the message is correlated by the stale value
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "staleValue")
+      .correlateAllWithResult();
+
+    // then it is not correlated and the subscription is updated to the current value
+    assertTrue(results.isEmpty());
+
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "aValue")
+      .correlateWithResult();
+    assertEquals(processInstance.getId(), result.getExecution().getProcessInstanceId());
+  }
+
+  @Deployment
+  @Test
+  public void testCatchingMessageEventCorrelationByLocalCorrelationKey() {
+    // given correlation keys which are local variables of a sub process
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("subProcessKey", "aValue"));
+    runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("subProcessKey", "anotherValue"));
+
+    // when the message is correlated by the variable
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "aValue")
+      .correlateAllWithResult();
+
+    // then the execution of the sub process with the matching variable has advanced
+    assertEquals(1, results.size());
+    assertEquals(processInstance.getId(), results.get(0).getExecution().getProcessInstanceId());
+    assertEquals(processInstance.getId(), runtimeService.createExecutionQuery().activityId("task").singleResult().getProcessInstanceId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelationByLocalCorrelationKey.bpmn20.xml")
+  @Test
+  public void testCatchingMessageEventCorrelationByUpdatedLocalCorrelationKey() {
+    // given
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("subProcessKey", "aValue"));
+    Execution execution = runtimeService.createExecutionQuery().activityId("messageCatch").singleResult();
+
+    // when the local correlation key is changed after the subscription was created
+    runtimeService.setVariableLocal(execution.getId(), "aKey", "anotherValue");
+
+    // then the message is correlated by the new value
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "aValue")
+      .correlateAllWithResult();
+    assertTrue(results.isEmpty());
+
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "anotherValue")
+      .correlateWithResult();
+    assertEquals(processInstance.getId(), result.getExecution().getProcessInstanceId());
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelationByLocalCorrelationKey.bpmn20.xml")
+  @Test
+  public void testCatchingMessageEventCorrelationByCorrelationKeyOfParentScope() {
+    // given a correlation key which is set on the process instance
+    // after the subscription in the sub process was created
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("subProcessKey", null));
+    runtimeService.removeVariableLocal(
+        runtimeService.createExecutionQuery().activityId("messageCatch").singleResult().getId(), "aKey");
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "aKey", "aValue");
+
+    // then the message is correlated by the variable of the process instance
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation("newInvoiceMessage")
+      .processInstanceVariableEquals("aKey", "aValue")
+      .correlateWithResult();
+    assertEquals(processInstance.getId(), result.getExecution().getProcessInstanceId());
+  }
+
   @Deployment(resources = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationTest.testCatchingMessageEventCorrelation.bpmn20.xml")
   @Test
   public void testOneMatchinProcessInstanceUsingFluentCorrelateAll() {
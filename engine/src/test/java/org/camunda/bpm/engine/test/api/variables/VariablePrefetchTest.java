@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+public class VariablePrefetchTest extends PluggableProcessEngineTestCase {
+
+  protected static final BpmnModelInstance SUB_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .subProcess()
+        .embeddedSubProcess()
+        .startEvent()
+        .userTask("task")
+        .endEvent()
+      .subProcessDone()
+      .endEvent()
+      .done();
+
+  protected String executionId;
+
+  protected void setUp() throws Exception {
+    deployment(SUB_PROCESS);
+    runtimeService.startProcessInstanceByKey("process", Collections.<String, Object>singletonMap("aVariable", "aValue"));
+
+    Task task = taskService.createTaskQuery().singleResult();
+    executionId = task.getExecutionId();
+    runtimeService.setVariableLocal(executionId, "anotherVariable", "anotherValue");
+  }
+
+  public void testPrefetchAllVariables() {
+    // when
+    Map<String, Object> variables = getVariablesAfterPrefetch(null);
+
+    // then the variables of the execution and its ancestors are returned
+    assertEquals(2, variables.size());
+    assertEquals("aValue", variables.get("aVariable"));
+    assertEquals("anotherValue", variables.get("anotherVariable"));
+  }
+
+  public void testPrefetchSomeVariables() {
+    // when only one variable is prefetched
+    Map<String, Object> variables = getVariablesAfterPrefetch(Arrays.asList("aVariable"));
+
+    // then the other variables are still returned
+    assertEquals(2, variables.size());
+    assertEquals("aValue", variables.get("aVariable"));
+    assertEquals("anotherValue", variables.get("anotherVariable"));
+  }
+
+  public void testGetTaskVariables() {
+    // given
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    Map<String, Object> variables = taskService.getVariables(task.getId(), Arrays.asList("aVariable", "anotherVariable"));
+
+    // then
+    assertEquals(2, variables.size());
+    assertEquals("aValue", variables.get("aVariable"));
+    assertEquals("anotherValue", variables.get("anotherVariable"));
+  }
+
+  protected Map<String, Object> getVariablesAfterPrefetch(final Collection<String> variableNames) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Map<String, Object>>() {
+      public Map<String, Object> execute(CommandContext commandContext) {
+        commandContext.getVariableInstanceManager()
+          .prefetchVariablesOfExecutions(Collections.singleton(executionId), variableNames);
+
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+        return execution.getVariables();
+      }
+    });
+  }
+
+}
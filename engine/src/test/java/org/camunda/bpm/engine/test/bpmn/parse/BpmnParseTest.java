@@ -329,6 +329,22 @@ public class BpmnParseTest {
     }
   }
 
+  @Test
+  public void testInvalidProcessDefinitionWithCompiledSchema() {
+    String resource = TestHelper.getBpmnProcessDefinitionResource(getClass(), "testInvalidProcessDefinition");
+
+    // the schema is compiled once and reused by the following parses
+    for (int i = 0; i < 2; i++) {
+      try {
+        repositoryService.createDeployment().name(resource).addClasspathResource(resource).deploy();
+        fail();
+      } catch (ParseException e) {
+        testRule.assertTextPresent("cvc-complex-type.3.2.2:", e.getMessage());
+        testRule.assertTextPresent("invalidAttribute", e.getMessage());
+      }
+    }
+  }
+
   @Test
   public void testExpressionParsingErrors() {
     try {
@@ -530,6 +546,42 @@ public class BpmnParseTest {
     }
   }
 
+  @Test
+  public void testSkipDiagramInterchangeElements() {
+    // given
+    String resource = TestHelper.getBpmnProcessDefinitionResource(getClass(), "testParseDiagramInterchangeElements");
+    processEngineConfiguration.setEnableBpmnDiParsing(false);
+
+    try {
+      // when
+      testRule.deploy(repositoryService.createDeployment().addClasspathResource(resource));
+    }
+    finally {
+      processEngineConfiguration.setEnableBpmnDiParsing(true);
+    }
+
+    // then
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    ProcessDefinitionEntity processDefinitionEntity = commandExecutor.execute(new Command<ProcessDefinitionEntity>() {
+      @Override
+      public ProcessDefinitionEntity execute(CommandContext commandContext) {
+        return Context.getProcessEngineConfiguration().getDeploymentCache().findDeployedLatestProcessDefinitionByKey("myProcess");
+      }
+    });
+
+    assertNotNull(processDefinitionEntity);
+    assertEquals(7, processDefinitionEntity.getActivities().size());
+    assertFalse(processDefinitionEntity.isGraphicalNotationDefined());
+
+    for (ActivityImpl activity : processDefinitionEntity.getActivities()) {
+      assertActivityBounds(activity, -1, -1, -1, -1);
+
+      for (PvmTransition sequenceFlow : activity.getOutgoingTransitions()) {
+        assertTrue(((TransitionImpl) sequenceFlow).getWaypoints().isEmpty());
+      }
+    }
+  }
+
   @Deployment
   @Test
   public void testParseDiagramInterchangeElementsForUnknownModelElements() {
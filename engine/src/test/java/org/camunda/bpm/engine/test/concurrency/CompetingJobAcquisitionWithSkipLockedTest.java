@@ -0,0 +1,152 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.test.RequiredDatabase;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+/**
+ * Runs job acquisition with <code>SKIP LOCKED</code> in two concurrent transactions.
+ * H2, DB2, MariaDB and SQL Server acquire jobs as usual.
+ */
+@RequiredDatabase(excludes = {
+    DbSqlSessionFactory.H2,
+    DbSqlSessionFactory.DB2,
+    DbSqlSessionFactory.MARIADB,
+    DbSqlSessionFactory.MSSQL })
+public class CompetingJobAcquisitionWithSkipLockedTest extends ConcurrencyTestCase {
+
+  protected static final BpmnModelInstance NON_EXCLUSIVE_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance EXCLUSIVE_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.setJobExecutorAcquireWithSkipLocked(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setJobExecutorAcquireWithSkipLocked(false);
+    super.tearDown();
+  }
+
+  public void testConcurrentAcquisitionSkipsLockedNonExclusiveJobs() {
+    // given
+    deployment(NON_EXCLUSIVE_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    FindNextJobsToExecuteCmd firstAcquisition = new FindNextJobsToExecuteCmd(1);
+    ThreadControl firstThread = executeControllableCommand(firstAcquisition);
+    firstThread.waitForSync();
+
+    // when the first transaction holds the lock of its job
+    List<AcquirableJobEntity> jobs = findNextJobsToExecute(2);
+
+    // then the second acquisition skips that job instead of waiting for it
+    assertEquals(1, firstAcquisition.jobIds.size());
+    assertFalse(getJobIds(jobs).contains(firstAcquisition.jobIds.get(0)));
+
+    firstThread.waitUntilDone();
+  }
+
+  public void testConcurrentAcquisitionDoesNotSkipExclusiveJobs() {
+    // given
+    deployment(EXCLUSIVE_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    FindNextJobsToExecuteCmd firstAcquisition = new FindNextJobsToExecuteCmd(2);
+    ThreadControl firstThread = executeControllableCommand(firstAcquisition);
+    firstThread.waitForSync();
+
+    // when
+    List<AcquirableJobEntity> jobs = findNextJobsToExecute(2);
+
+    // then exclusive jobs are not locked by the acquisition query, but by optimistic locking
+    assertEquals(2, firstAcquisition.jobIds.size());
+    assertEquals(2, jobs.size());
+    assertTrue(getJobIds(jobs).containsAll(firstAcquisition.jobIds));
+
+    firstThread.waitUntilDone();
+  }
+
+  protected List<AcquirableJobEntity> findNextJobsToExecute(final int maxResults) {
+    return processEngineConfiguration.getCommandExecutorTxRequiresNew().execute(new Command<List<AcquirableJobEntity>>() {
+      public List<AcquirableJobEntity> execute(CommandContext commandContext) {
+        return commandContext
+          .getJobManager()
+          .findNextJobsToExecute(new Page(0, maxResults));
+      }
+    });
+  }
+
+  protected static List<String> getJobIds(List<AcquirableJobEntity> jobs) {
+    List<String> jobIds = new ArrayList<>();
+    for (AcquirableJobEntity job : jobs) {
+      jobIds.add(job.getId());
+    }
+    return jobIds;
+  }
+
+  public class FindNextJobsToExecuteCmd extends ControllableCommand<List<AcquirableJobEntity>> {
+
+    protected int maxResults;
+    protected volatile List<String> jobIds;
+
+    public FindNextJobsToExecuteCmd(int maxResults) {
+      this.maxResults = maxResults;
+    }
+
+    public List<AcquirableJobEntity> execute(CommandContext commandContext) {
+      List<AcquirableJobEntity> jobs = commandContext
+        .getJobManager()
+        .findNextJobsToExecute(new Page(0, maxResults));
+      jobIds = getJobIds(jobs);
+
+      // keep the transaction open while the test thread acquires jobs
+      monitor.sync();
+
+      return jobs;
+    }
+  }
+
+}
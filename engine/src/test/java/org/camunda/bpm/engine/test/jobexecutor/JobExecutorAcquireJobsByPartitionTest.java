@@ -0,0 +1,210 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.ReleaseJobPartitionsCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobPartitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobPartitionManager;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.ClockTestUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JobExecutorAcquireJobsByPartitionTest extends AbstractJobExecutorAcquireJobsTest {
+
+  protected static final int PARTITION_COUNT = 4;
+  protected static final long LEASE_TIME = 60000;
+
+  @Before
+  public void prepareProcessEngineConfiguration() {
+    configuration.setJobExecutorAcquireByPartition(true);
+    configuration.setJobExecutorPartitionCount(PARTITION_COUNT);
+  }
+
+  @After
+  public void resetProcessEngineConfiguration() {
+    configuration.setJobExecutorAcquireByPartition(false);
+    configuration.setJobExecutorPartitionCount(64);
+
+    configuration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        JobPartitionManager jobPartitionManager = commandContext.getJobPartitionManager();
+        for (JobPartitionEntity jobPartition : jobPartitionManager.findJobPartitions()) {
+          jobPartitionManager.deleteJobPartition(jobPartition);
+        }
+        return null;
+      }
+    });
+  }
+
+  @Test
+  public void testSingleLockOwnerLeasesAllPartitions() {
+    assertEquals(partitions(0, 1, 2, 3), leaseJobPartitions("owner1"));
+    assertEquals(PARTITION_COUNT, findJobPartitionCount());
+  }
+
+  @Test
+  public void testPartitionsAreBalancedBetweenLockOwners() {
+    // given
+    leaseJobPartitions("owner1");
+
+    // when
+    Set<Integer> partitions2 = leaseJobPartitions("owner2");
+    Set<Integer> partitions1 = leaseJobPartitions("owner1");
+
+    // then
+    assertEquals(partitions(2, 3), partitions2);
+    assertEquals(partitions(0, 1), partitions1);
+
+    // and the leases are stable
+    assertEquals(partitions2, leaseJobPartitions("owner2"));
+    assertEquals(partitions1, leaseJobPartitions("owner1"));
+  }
+
+  @Test
+  public void testExpiredLeasesAreTakenOver() {
+    // given
+    leaseJobPartitions("owner1");
+    leaseJobPartitions("owner2");
+
+    // when
+    ClockTestUtil.incrementClock(LEASE_TIME / 1000 + 1);
+
+    // then
+    assertEquals(partitions(0, 1, 2, 3), leaseJobPartitions("owner2"));
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testAcquireOnlyJobsOfOwnPartitions() {
+    // given
+    startProcess("simpleAsyncProcess", "servicetask1", 20);
+    leaseJobPartitions("anotherOwner");
+
+    // when
+    AcquiredJobs acquiredJobs = configuration.getCommandExecutorTxRequired()
+        .execute(new AcquireJobsCmd(configuration.getJobExecutor(), 100));
+
+    // then
+    Set<Integer> ownPartitions = leaseJobPartitions(configuration.getJobExecutor().getLockOwner());
+    assertEquals(PARTITION_COUNT / 2, ownPartitions.size());
+
+    int expectedJobCount = 0;
+    for (Job job : managementService.createJobQuery().list()) {
+      int partition = ((JobEntity) job).getPartitionHash() & (PARTITION_COUNT - 1);
+      if (ownPartitions.contains(partition)) {
+        assertTrue(acquiredJobs.contains(job.getId()));
+        expectedJobCount++;
+      }
+    }
+    assertEquals(expectedJobCount, acquiredJobs.size());
+  }
+
+  @Test
+  public void testPartitionsAreTakenOverUpToMinimalShare() {
+    // given
+    leaseJobPartitions("owner1");
+    leaseJobPartitions("owner2");
+
+    // when
+    Set<Integer> partitions3 = leaseJobPartitions("owner3");
+
+    // then
+    assertEquals(1, partitions3.size());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testAcquireNoJobsWithoutLease() {
+    // given
+    startProcess("simpleAsyncProcess", "servicetask1", 20);
+    for (int i = 0; i < PARTITION_COUNT; i++) {
+      leaseJobPartitions("anotherOwner" + i);
+    }
+
+    // when
+    AcquiredJobs acquiredJobs = configuration.getCommandExecutorTxRequired()
+        .execute(new AcquireJobsCmd(configuration.getJobExecutor(), 100));
+
+    // then
+    assertTrue(leaseJobPartitions(configuration.getJobExecutor().getLockOwner()).isEmpty());
+    assertEquals(0, acquiredJobs.size());
+  }
+
+  @Test
+  public void testReleasedPartitionsAreLeasedByOtherLockOwners() {
+    // given
+    leaseJobPartitions("owner1");
+    leaseJobPartitions("owner2");
+
+    // when
+    configuration.getCommandExecutorTxRequired().execute(new ReleaseJobPartitionsCmd("owner1"));
+
+    // then
+    assertEquals(partitions(0, 1, 2, 3), leaseJobPartitions("owner2"));
+  }
+
+  @Test
+  public void testPartitionsAreReleasedOnShutdown() {
+    // given
+    JobExecutor jobExecutor = configuration.getJobExecutor();
+    leaseJobPartitions(jobExecutor.getLockOwner());
+
+    // when
+    jobExecutor.start();
+    jobExecutor.shutdown();
+
+    // then
+    assertEquals(partitions(0, 1, 2, 3), leaseJobPartitions("anotherOwner"));
+  }
+
+  protected Set<Integer> leaseJobPartitions(final String lockOwner) {
+    return configuration.getCommandExecutorTxRequired().execute(new Command<Set<Integer>>() {
+      public Set<Integer> execute(CommandContext commandContext) {
+        return commandContext.getJobPartitionManager().leaseJobPartitions(lockOwner, PARTITION_COUNT, LEASE_TIME);
+      }
+    });
+  }
+
+  protected int findJobPartitionCount() {
+    return configuration.getCommandExecutorTxRequired().execute(new Command<Integer>() {
+      public Integer execute(CommandContext commandContext) {
+        return commandContext.getJobPartitionManager().findJobPartitions().size();
+      }
+    });
+  }
+
+  protected Set<Integer> partitions(Integer... partitions) {
+    return new HashSet<Integer>(Arrays.asList(partitions));
+  }
+
+}
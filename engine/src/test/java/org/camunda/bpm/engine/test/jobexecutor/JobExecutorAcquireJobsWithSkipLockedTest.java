@@ -0,0 +1,124 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.concurrency.CompetingJobAcquisitionWithSkipLockedTest;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that jobs are acquired with {@link ProcessEngineConfigurationImpl#isJobExecutorAcquireWithSkipLocked()}
+ * enabled. This does not lock any rows on H2, see {@link CompetingJobAcquisitionWithSkipLockedTest}
+ * for concurrent acquisitions on databases which support skip locked.
+ */
+public class JobExecutorAcquireJobsWithSkipLockedTest extends AbstractJobExecutorAcquireJobsTest {
+
+  @Before
+  public void prepareProcessEngineConfiguration() {
+    configuration.setJobExecutorAcquireWithSkipLocked(true);
+    configuration.setJobExecutorAcquireByPriority(true);
+  }
+
+  @After
+  public void resetProcessEngineConfiguration() {
+    configuration.setJobExecutorAcquireWithSkipLocked(false);
+  }
+
+  @Test
+  public void testProcessEngineConfiguration() {
+    assertTrue(configuration.isJobExecutorAcquireWithSkipLocked());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testJobsAreAcquirable() {
+    // given
+    startProcess("simpleAsyncProcess", "servicetask1", 3);
+
+    // when
+    List<AcquirableJobEntity> acquirableJobs = findAcquirableJobs();
+
+    // then
+    assertEquals(3, acquirableJobs.size());
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testAcquiredJobsAreLocked() {
+    // given
+    startProcess("simpleAsyncProcess", "servicetask1", 3);
+
+    // when
+    AcquiredJobs acquiredJobs = configuration.getCommandExecutorTxRequired()
+        .execute(new AcquireJobsCmd(configuration.getJobExecutor()));
+
+    // then
+    assertEquals(3, acquiredJobs.size());
+    assertEquals(0, findAcquirableJobs().size());
+
+    for (Job job : managementService.createJobQuery().list()) {
+      AcquirableJobEntity jobEntity = (AcquirableJobEntity) job;
+      assertEquals(configuration.getJobExecutor().getLockOwner(), jobEntity.getLockOwner());
+    }
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/engine/test/jobexecutor/simpleAsyncProcess.bpmn20.xml")
+  public void testExclusiveAndNonExclusiveJobsAreAcquirable() {
+    // given
+    BpmnModelInstance nonExclusiveProcess = Bpmn.createExecutableProcess("nonExclusiveProcess")
+        .startEvent()
+        .serviceTask("servicetask1")
+          .camundaExpression("${true}")
+          .camundaAsyncBefore()
+          .camundaExclusive(false)
+        .endEvent()
+        .done();
+    rule.manageDeployment(rule.getRepositoryService().createDeployment()
+        .addModelInstance("nonExclusiveProcess.bpmn", nonExclusiveProcess)
+        .deploy());
+
+    startProcess("simpleAsyncProcess", "servicetask1", 2);
+    startProcess("nonExclusiveProcess", "servicetask1", 2);
+
+    // when
+    List<AcquirableJobEntity> acquirableJobs = findAcquirableJobs();
+
+    // then
+    assertEquals(4, acquirableJobs.size());
+    assertTrue(acquirableJobs.get(0).isExclusive());
+    assertTrue(acquirableJobs.get(1).isExclusive());
+    assertFalse(acquirableJobs.get(2).isExclusive());
+    assertFalse(acquirableJobs.get(3).isExclusive());
+  }
+
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+/**
+ * Test cases for handing over new jobs to the job executor of the
+ * node that created them.
+ */
+public class JobExecutorHandOverLocalJobsTest {
+
+  protected static final BpmnModelInstance ASYNC_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance PARALLEL_ASYNC_TASKS_PROCESS = Bpmn.createExecutableProcess("parallelProcess")
+      .startEvent()
+      .parallelGateway("fork")
+      .userTask("task1")
+        .camundaAsyncBefore()
+      .endEvent()
+      .moveToNode("fork")
+      .userTask("task2")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance NON_EXCLUSIVE_PARALLEL_ASYNC_TASKS_PROCESS = Bpmn.createExecutableProcess("nonExclusiveProcess")
+      .startEvent()
+      .parallelGateway("fork")
+      .userTask("task1")
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+      .endEvent()
+      .moveToNode("fork")
+      .userTask("task2")
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance ASYNC_TASK_AFTER_WAIT_STATE_PROCESS = Bpmn.createExecutableProcess("waitStateProcess")
+      .startEvent()
+      .parallelGateway("fork")
+      .userTask("task1")
+        .camundaAsyncBefore()
+      .endEvent()
+      .moveToNode("fork")
+      .userTask("waitState")
+      .userTask("task2")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+          .setJobExecutorHandOverLocalJobs(true)
+          .setJobExecutor(new RecordingJobExecutor());
+    }
+  };
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testHelper = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testHelper);
+
+  protected RecordingJobExecutor jobExecutor;
+
+  @Before
+  public void setUp() {
+    jobExecutor = (RecordingJobExecutor) engineRule.getProcessEngineConfiguration().getJobExecutor();
+    jobExecutor.start();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.shutdown();
+    jobExecutor.handedOverJobIds.clear();
+  }
+
+  @Test
+  public void shouldHandOverJobAfterCommit() {
+    // given
+    testHelper.deploy(ASYNC_TASK_PROCESS);
+
+    // when
+    engineRule.getRuntimeService().startProcessInstanceByKey("process");
+
+    // then the job is locked by the local job executor
+    JobEntity job = (JobEntity) engineRule.getManagementService().createJobQuery().singleResult();
+    assertEquals(jobExecutor.getLockOwner(), job.getLockOwner());
+    assertNotNull(job.getLockExpirationTime());
+
+    // and has been handed over for execution
+    assertEquals(1, jobExecutor.handedOverJobIds.size());
+    assertEquals(job.getId(), jobExecutor.handedOverJobIds.get(0));
+  }
+
+  @Test
+  public void shouldNotHandOverJobWhenJobExecutorIsInactive() {
+    // given
+    testHelper.deploy(ASYNC_TASK_PROCESS);
+    jobExecutor.shutdown();
+
+    // when
+    engineRule.getRuntimeService().startProcessInstanceByKey("process");
+
+    // then the job is left for job acquisition
+    JobEntity job = (JobEntity) engineRule.getManagementService().createJobQuery().singleResult();
+    assertNull(job.getLockOwner());
+    assertNull(job.getLockExpirationTime());
+    assertTrue(jobExecutor.handedOverJobIds.isEmpty());
+  }
+
+  @Test
+  public void shouldHandOverOneExclusiveJobPerProcessInstance() {
+    // given
+    testHelper.deploy(PARALLEL_ASYNC_TASKS_PROCESS);
+
+    // when
+    engineRule.getRuntimeService().startProcessInstanceByKey("parallelProcess");
+
+    // then only one of the exclusive jobs is handed over
+    assertEquals(1, jobExecutor.handedOverJobIds.size());
+
+    List<Job> jobs = engineRule.getManagementService().createJobQuery().list();
+    assertEquals(2, jobs.size());
+    for (Job job : jobs) {
+      JobEntity jobEntity = (JobEntity) job;
+      if (jobExecutor.handedOverJobIds.contains(job.getId())) {
+        assertEquals(jobExecutor.getLockOwner(), jobEntity.getLockOwner());
+      }
+      else {
+        assertNull(jobEntity.getLockOwner());
+      }
+    }
+  }
+
+  @Test
+  public void shouldHandOverAllNonExclusiveJobs() {
+    // given
+    testHelper.deploy(NON_EXCLUSIVE_PARALLEL_ASYNC_TASKS_PROCESS);
+
+    // when
+    engineRule.getRuntimeService().startProcessInstanceByKey("nonExclusiveProcess");
+
+    // then
+    assertEquals(2, jobExecutor.handedOverJobIds.size());
+  }
+
+  @Test
+  public void shouldNotHandOverExclusiveJobWhileAnotherNodeExecutesExclusiveJob() {
+    // given an exclusive job of the process instance which is locked by another node
+    testHelper.deploy(ASYNC_TASK_AFTER_WAIT_STATE_PROCESS);
+    engineRule.getRuntimeService().startProcessInstanceByKey("waitStateProcess");
+
+    final String lockedJobId = jobExecutor.handedOverJobIds.get(0);
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        JobEntity job = commandContext.getJobManager().findJobById(lockedJobId);
+        job.setLockOwner("anotherNode");
+        return null;
+      }
+    });
+
+    // when another exclusive job of the process instance is created
+    String taskId = engineRule.getTaskService().createTaskQuery().taskDefinitionKey("waitState").singleResult().getId();
+    engineRule.getTaskService().complete(taskId);
+
+    // then it is left for job acquisition
+    assertEquals(1, jobExecutor.handedOverJobIds.size());
+
+    JobEntity job = (JobEntity) engineRule.getManagementService().createJobQuery()
+        .activityId("task2")
+        .singleResult();
+    assertNull(job.getLockOwner());
+  }
+
+  /**
+   * Job executor that does not acquire or execute jobs but records
+   * the jobs that are handed over to it.
+   */
+  public static class RecordingJobExecutor extends JobExecutor {
+
+    protected List<String> handedOverJobIds = new ArrayList<String>();
+
+    protected void startExecutingJobs() {
+    }
+
+    protected void stopExecutingJobs() {
+    }
+
+    public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+      handedOverJobIds.addAll(jobIds);
+    }
+  }
+
+}
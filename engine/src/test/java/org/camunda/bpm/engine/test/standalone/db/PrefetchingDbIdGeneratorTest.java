@@ -0,0 +1,147 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.impl.db.IdBlock;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchingDbIdGeneratorTest {
+
+  protected static final int ID_BLOCK_SIZE = 100;
+
+  protected PrefetchingDbIdGenerator idGenerator;
+  protected IdBlockCommandExecutor commandExecutor;
+
+  @Before
+  public void setUp() {
+    commandExecutor = new IdBlockCommandExecutor();
+
+    idGenerator = new PrefetchingDbIdGenerator();
+    idGenerator.setIdBlockSize(ID_BLOCK_SIZE);
+    idGenerator.setCommandExecutor(commandExecutor);
+    idGenerator.setPrefetchExecutor(new Executor() {
+      public void execute(Runnable command) {
+        command.run();
+      }
+    });
+  }
+
+  @Test
+  public void shouldGenerateIdsOfFetchedBlocks() {
+    // when
+    Set<String> ids = new HashSet<String>();
+    for (int i = 0; i < ID_BLOCK_SIZE * 3; i++) {
+      ids.add(idGenerator.getNextId());
+    }
+
+    // then
+    assertEquals(ID_BLOCK_SIZE * 3, ids.size());
+    for (long id = 0; id < ID_BLOCK_SIZE * 3; id++) {
+      assertTrue(ids.contains(Long.toString(id)));
+    }
+  }
+
+  @Test
+  public void shouldPrefetchNextBlock() {
+    // when half of the first block is used
+    for (int i = 0; i < ID_BLOCK_SIZE / 2; i++) {
+      idGenerator.getNextId();
+    }
+
+    // then the next block is already fetched
+    assertEquals(2, commandExecutor.fetchedBlocks.get());
+
+    // and it is used once the first block is exhausted
+    for (int i = ID_BLOCK_SIZE / 2; i < ID_BLOCK_SIZE; i++) {
+      idGenerator.getNextId();
+    }
+    assertEquals(Long.toString(ID_BLOCK_SIZE), idGenerator.getNextId());
+  }
+
+  @Test
+  public void shouldFetchNewBlockAfterReset() {
+    // given
+    idGenerator.getNextId();
+
+    // when
+    idGenerator.reset();
+
+    // then
+    assertEquals(Long.toString(ID_BLOCK_SIZE), idGenerator.getNextId());
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws Exception {
+    // given
+    idGenerator.setPrefetchExecutor(null);
+
+    final int threadCount = 8;
+    final int idsPerThread = 10000;
+    final Set<String> ids = Collections.synchronizedSet(new HashSet<String>());
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < threadCount; i++) {
+      threads.add(new Thread() {
+        public void run() {
+          List<String> generatedIds = new ArrayList<String>();
+          for (int j = 0; j < idsPerThread; j++) {
+            generatedIds.add(idGenerator.getNextId());
+          }
+          ids.addAll(generatedIds);
+        }
+      });
+    }
+
+    // when
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertEquals(threadCount * idsPerThread, ids.size());
+  }
+
+  protected static class IdBlockCommandExecutor implements CommandExecutor {
+
+    protected AtomicInteger fetchedBlocks = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Command<T> command) {
+      long firstId = (long) fetchedBlocks.getAndIncrement() * ID_BLOCK_SIZE;
+      return (T) new IdBlock(firstId, firstId + ID_BLOCK_SIZE - 1);
+    }
+  }
+
+}
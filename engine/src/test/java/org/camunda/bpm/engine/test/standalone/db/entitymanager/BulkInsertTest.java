@@ -0,0 +1,219 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * Flushes history with multi-row insert statements of at most three rows.
+ */
+public class BulkInsertTest {
+
+  protected static final String PERSISTENCE_LOGGER = "org.camunda.bpm.engine.persistence";
+
+  protected static final BpmnModelInstance MANUAL_TASKS_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent("start")
+      .manualTask("task1")
+      .manualTask("task2")
+      .manualTask("task3")
+      .manualTask("task4")
+      .endEvent("end")
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(
+      "org/camunda/bpm/engine/test/standalone/db/entitymanager/bulkInsertTest.cfg.xml");
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule()
+      .watch(PERSISTENCE_LOGGER)
+      .level(Level.DEBUG);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  protected Integer bulkInsertMaxColumns;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    bulkInsertMaxColumns = processEngineConfiguration.getDbSqlSessionFactory().getBulkInsertMaxColumns();
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.getDbSqlSessionFactory().setBulkInsertMaxColumns(bulkInsertMaxColumns);
+  }
+
+  @Test
+  public void testBulkInsertStatements() {
+    DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+
+    assertNotNull(dbSqlSessionFactory.getBulkInsertStatement(HistoricActivityInstanceEventEntity.class));
+    assertNotNull(dbSqlSessionFactory.getBulkInsertStatement(HistoricVariableInstanceEntity.class));
+    assertNotNull(dbSqlSessionFactory.getBulkInsertStatement(HistoricVariableUpdateEventEntity.class));
+    assertNull(dbSqlSessionFactory.getBulkInsertStatement(TaskEntity.class));
+  }
+
+  @Test
+  public void testBulkInsertColumnCountsMatchMappings() {
+    assertBulkInsertColumnCount(new HistoricActivityInstanceEventEntity());
+    assertBulkInsertColumnCount(new HistoricVariableInstanceEntity());
+    assertBulkInsertColumnCount(new HistoricVariableUpdateEventEntity());
+    assertNull(processEngineConfiguration.getDbSqlSessionFactory().getBulkInsertColumnCount(TaskEntity.class));
+  }
+
+  @Test
+  public void testBulkInsertMaxRowsLimitedByColumns() {
+    DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+    HistoricVariableUpdateEventEntity historicDetail = new HistoricVariableUpdateEventEntity();
+
+    dbSqlSessionFactory.setBulkInsertMaxColumns(null);
+    assertEquals(3, dbSqlSessionFactory.getBulkInsertMaxRows(historicDetail));
+
+    // when the database allows at most 60 columns per statement
+    dbSqlSessionFactory.setBulkInsertMaxColumns(60);
+
+    // then a statement inserts at most two of the 27 column rows
+    assertEquals(2, dbSqlSessionFactory.getBulkInsertMaxRows(historicDetail));
+  }
+
+  @Test
+  public void testInsertHistoricActivityInstances() {
+    // given
+    testRule.deploy(MANUAL_TASKS_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+
+    assertEquals(6, activityInstances.size());
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      assertNotNull(activityInstance.getEndTime());
+    }
+
+    // the six activity instances were inserted with two statements of three rows
+    assertEquals(2, loggingRule.getFilteredLog(PERSISTENCE_LOGGER,
+        "SQL bulk operation: 'INSERT'; Statement: 'bulkInsertHistoricActivityInstanceEvent'").size());
+  }
+
+  @Test
+  public void testInsertHistoricVariables() {
+    // given
+    testRule.deploy(MANUAL_TASKS_PROCESS);
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (int i = 0; i < 10; i++) {
+      variables.put("var" + i, i);
+    }
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+
+    // then
+    List<HistoricVariableInstance> variableInstances = historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+
+    assertEquals(10, variableInstances.size());
+    for (HistoricVariableInstance variableInstance : variableInstances) {
+      assertEquals(variables.get(variableInstance.getName()), variableInstance.getValue());
+    }
+
+    assertEquals(10, historyService.createHistoricDetailQuery()
+        .processInstanceId(processInstance.getId())
+        .variableUpdates()
+        .count());
+
+    assertFalse(loggingRule.getFilteredLog(PERSISTENCE_LOGGER,
+        "SQL bulk operation: 'INSERT'; Statement: 'bulkInsertHistoricVariableInstance'").isEmpty());
+    assertFalse(loggingRule.getFilteredLog(PERSISTENCE_LOGGER,
+        "SQL bulk operation: 'INSERT'; Statement: 'bulkInsertHistoricVariableUpdateEvent'").isEmpty());
+  }
+
+  protected void assertBulkInsertColumnCount(DbEntity entity) {
+    DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+    String statement = dbSqlSessionFactory.getBulkInsertStatement(entity.getClass());
+
+    // the parameter as MyBatis wraps a list passed to SqlSession#insert
+    List<DbEntity> entities = Collections.singletonList(entity);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("list", entities);
+    parameter.put("collection", entities);
+
+    String sql = dbSqlSessionFactory.getSqlSessionFactory().getConfiguration()
+        .getMappedStatement(statement)
+        .getBoundSql(parameter)
+        .getSql();
+
+    // the first parenthesized list holds the column names
+    String columns = sql.substring(sql.indexOf('(') + 1, sql.indexOf(')'));
+    int columnCount = columns.split(",").length;
+
+    assertEquals(statement, Integer.valueOf(columnCount), dbSqlSessionFactory.getBulkInsertColumnCount(entity.getClass()));
+  }
+
+}
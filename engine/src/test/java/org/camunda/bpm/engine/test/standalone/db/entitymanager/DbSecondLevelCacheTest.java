@@ -0,0 +1,145 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.db.entitymanager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbSecondLevelCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+/**
+ * @see DbSecondLevelCache
+ */
+public class DbSecondLevelCacheTest extends ResourceProcessEngineTestCase {
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaExpression("${true}")
+      .endEvent()
+      .done();
+
+  protected DbSecondLevelCache secondLevelCache;
+  protected String jobDefinitionId;
+  protected String processDefinitionId;
+
+  public DbSecondLevelCacheTest() {
+    super("org/camunda/bpm/engine/test/standalone/db/entitymanager/dbSecondLevelCacheTest.cfg.xml");
+  }
+
+  protected void setUp() throws Exception {
+    super.setUp();
+    deployment(ASYNC_PROCESS);
+
+    secondLevelCache = processEngineConfiguration.getDbSecondLevelCache();
+
+    JobDefinition jobDefinition = managementService.createJobDefinitionQuery().singleResult();
+    jobDefinitionId = jobDefinition.getId();
+    processDefinitionId = jobDefinition.getProcessDefinitionId();
+  }
+
+  public void testCacheJobDefinitionSelectedById() {
+    // when
+    JobDefinitionEntity firstJobDefinition = findJobDefinitionById(jobDefinitionId);
+    JobDefinitionEntity secondJobDefinition = findJobDefinitionById(jobDefinitionId);
+
+    // then every command gets its own copy
+    assertNotNull(secondLevelCache.get(JobDefinitionEntity.class, jobDefinitionId));
+    assertNotSame(firstJobDefinition, secondJobDefinition);
+    assertEquals(firstJobDefinition.getRevision(), secondJobDefinition.getRevision());
+    assertEquals(firstJobDefinition.getActivityId(), secondJobDefinition.getActivityId());
+  }
+
+  public void testCacheJobDefinitionsSelectedByProcessDefinitionId() {
+    // when
+    List<JobDefinitionEntity> jobDefinitions = findJobDefinitionsByProcessDefinitionId(processDefinitionId);
+    List<JobDefinitionEntity> cachedJobDefinitions = findJobDefinitionsByProcessDefinitionId(processDefinitionId);
+
+    // then
+    assertEquals(1, cachedJobDefinitions.size());
+    assertNotSame(jobDefinitions.get(0), cachedJobDefinitions.get(0));
+    assertEquals(jobDefinitionId, cachedJobDefinitions.get(0).getId());
+  }
+
+  public void testInvalidateCacheOnUpdate() {
+    // given
+    findJobDefinitionById(jobDefinitionId);
+    findJobDefinitionsByProcessDefinitionId(processDefinitionId);
+
+    // when
+    managementService.setOverridingJobPriorityForJobDefinition(jobDefinitionId, 42);
+
+    // then
+    assertNull(secondLevelCache.get(JobDefinitionEntity.class, jobDefinitionId));
+    assertEquals(Long.valueOf(42), findJobDefinitionById(jobDefinitionId).getOverridingJobPriority());
+    assertEquals(Long.valueOf(42), findJobDefinitionsByProcessDefinitionId(processDefinitionId).get(0).getOverridingJobPriority());
+  }
+
+  public void testInvalidateCacheOnBulkUpdate() {
+    // given
+    findJobDefinitionById(jobDefinitionId);
+
+    // when
+    managementService.suspendJobDefinitionById(jobDefinitionId);
+
+    // then
+    assertNull(secondLevelCache.get(JobDefinitionEntity.class, jobDefinitionId));
+    assertTrue(findJobDefinitionById(jobDefinitionId).isSuspended());
+  }
+
+  public void testCacheOnlyCopyableEntityTypes() {
+    // given
+    List<Class<? extends DbEntity>> entityTypes = Arrays.<Class<? extends DbEntity>>asList(JobDefinitionEntity.class, ExecutionEntity.class);
+
+    // when
+    DbSecondLevelCache cache = new DbSecondLevelCache(entityTypes,
+        Collections.<String, Class<? extends DbEntity>>singletonMap("selectExecutionsByProcessInstanceId", ExecutionEntity.class), 10, 1000);
+
+    // then
+    assertTrue(cache.isCached(JobDefinitionEntity.class));
+    assertFalse(cache.isCached(ExecutionEntity.class));
+    assertNull(cache.getStatementEntityType("selectExecutionsByProcessInstanceId"));
+  }
+
+  protected JobDefinitionEntity findJobDefinitionById(final String jobDefinitionId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<JobDefinitionEntity>() {
+      public JobDefinitionEntity execute(CommandContext commandContext) {
+        return commandContext.getJobDefinitionManager().findById(jobDefinitionId);
+      }
+    });
+  }
+
+  protected List<JobDefinitionEntity> findJobDefinitionsByProcessDefinitionId(final String processDefinitionId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<JobDefinitionEntity>>() {
+      public List<JobDefinitionEntity> execute(CommandContext commandContext) {
+        return commandContext.getJobDefinitionManager().findByProcessDefinitionId(processDefinitionId);
+      }
+    });
+  }
+
+}
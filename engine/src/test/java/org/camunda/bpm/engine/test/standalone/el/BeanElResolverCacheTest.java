@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.javax.el.BeanELResolver;
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.Test;
+
+public class BeanElResolverCacheTest {
+
+  @Test
+  public void shouldShareBeanElResolverIfCacheEnabled() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    expressionManager.setBeanElResolverCacheEnabled(true);
+
+    BeanELResolver resolver = expressionManager.getBeanElResolver();
+    assertSame(resolver, expressionManager.getBeanElResolver());
+
+    expressionManager.clearBeanElResolverCache();
+    assertNotSame(resolver, expressionManager.getBeanElResolver());
+  }
+
+  @Test
+  public void shouldNotShareBeanElResolverByDefault() {
+    ExpressionManager expressionManager = new ExpressionManager();
+
+    assertNotSame(expressionManager.getBeanElResolver(), expressionManager.getBeanElResolver());
+  }
+
+  @Test
+  public void shouldInvokeCachedMethodOnBeansOfDifferentClasses() {
+    ExpressionManager expressionManager = new ExpressionManager();
+    expressionManager.setBeanElResolverCacheEnabled(true);
+
+    ValueExpression expression = expressionManager.createValueExpression("${bean.toString()}");
+
+    ELContext elContext = expressionManager.createElContext(Variables.createVariables()
+        .putValue("bean", 42)
+        .asVariableContext());
+    assertEquals("42", expression.getValue(elContext));
+
+    elContext = expressionManager.createElContext(Variables.createVariables()
+        .putValue("bean", new StringBuilder("camunda"))
+        .asVariableContext());
+    assertEquals("camunda", expression.getValue(elContext));
+  }
+
+}
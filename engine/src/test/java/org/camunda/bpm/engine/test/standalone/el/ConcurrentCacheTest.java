@@ -0,0 +1,75 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.el;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.ConcurrentCache;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.junit.Test;
+
+public class ConcurrentCacheTest {
+
+  protected Builder builder = new Builder();
+
+  @Test
+  public void shouldCountHitsAndMisses() {
+    ConcurrentCache cache = new ConcurrentCache(10);
+    Tree tree = builder.build("${a}");
+
+    assertNull(cache.get("${a}"));
+    cache.put("${a}", tree);
+    assertSame(tree, cache.get("${a}"));
+    assertSame(tree, cache.get("${a}"));
+
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(2.0 / 3, cache.getHitRate(), 0.0001);
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedEntries() throws InterruptedException {
+    ConcurrentCache cache = new ConcurrentCache(10);
+    for (int i = 0; i < 10; i++) {
+      cache.put("${a" + i + "}", builder.build("${a" + i + "}"));
+    }
+    Thread.sleep(1);
+    assertNotNull(cache.get("${a0}"));
+
+    cache.put("${b}", builder.build("${b}"));
+
+    assertEquals(9, cache.size());
+    assertEquals(2, cache.getEvictionCount());
+    assertNotNull(cache.get("${a0}"));
+    assertNotNull(cache.get("${b}"));
+  }
+
+  @Test
+  public void shouldUseConcurrentCacheInExpressionFactory() {
+    ExpressionFactoryImpl expressionFactory = new ExpressionFactoryImpl();
+
+    assertTrue(expressionFactory.getTreeStore().getCache() instanceof ConcurrentCache);
+  }
+
+}
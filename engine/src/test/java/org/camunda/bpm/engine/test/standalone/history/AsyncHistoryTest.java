@@ -0,0 +1,396 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.history;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricTaskInstance;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.AsyncHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventBuffer;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventWriter;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+
+/**
+ * Writes history asynchronously in batches of three events.
+ */
+public class AsyncHistoryTest extends ResourceProcessEngineTestCase {
+
+  protected static final BpmnModelInstance MANUAL_TASKS_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent("start")
+      .manualTask("task1")
+      .manualTask("task2")
+      .endEvent("end")
+      .done();
+
+  protected static final BpmnModelInstance USER_TASK_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent("start")
+      .userTask("task")
+      .endEvent("end")
+      .done();
+
+  protected static final BpmnModelInstance USER_TASK_PROCESS_WITH_TTL = Bpmn.createExecutableProcess("process")
+      .camundaHistoryTimeToLive(5)
+      .startEvent("start")
+      .userTask("task")
+      .endEvent("end")
+      .done();
+
+  public AsyncHistoryTest() {
+    super("org/camunda/bpm/engine/test/standalone/history/asyncHistoryTest.cfg.xml");
+  }
+
+  protected void tearDown() throws Exception {
+    // history must be complete before the database is checked for leftovers
+    waitForHistory();
+    processEngineConfiguration.setHistoryRemovalTimeStrategy(ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END);
+    super.tearDown();
+  }
+
+  public void testWriteHistoryAfterCommit() throws Exception {
+    // given
+    deployment(MANUAL_TASKS_PROCESS);
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("foo", "bar");
+    variables.put("count", 42);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", variables);
+    waitForHistory();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertNotNull(historicProcessInstance.getEndTime());
+
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+    assertEquals(4, activityInstances.size());
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      assertNotNull(activityInstance.getEndTime());
+    }
+
+    assertEquals(2, historyService.createHistoricVariableInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .count());
+    assertEquals(0, getAsyncHistoryEventHandler().getPendingEventCount());
+  }
+
+  public void testUpdateHistoryWrittenByPreviousCommand() throws Exception {
+    // given
+    deployment(USER_TASK_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.complete(task.getId());
+    waitForHistory();
+
+    // then
+    HistoricTaskInstance historicTaskInstance = historyService.createHistoricTaskInstanceQuery()
+        .taskId(task.getId())
+        .singleResult();
+    assertNotNull(historicTaskInstance.getStartTime());
+    assertNotNull(historicTaskInstance.getEndTime());
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertNotNull(historicProcessInstance.getStartTime());
+    assertNotNull(historicProcessInstance.getEndTime());
+  }
+
+  public void testAddRemovalTimeOnEndToHistoryWrittenBefore() throws Exception {
+    // given
+    processEngineConfiguration.setHistoryRemovalTimeStrategy(ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END);
+    deployment(USER_TASK_PROCESS_WITH_TTL);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    waitForHistory();
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.complete(task.getId());
+    waitForHistory();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertNotNull(historicProcessInstance.getRemovalTime());
+
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+    assertEquals(3, activityInstances.size());
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      assertEquals(historicProcessInstance.getRemovalTime(), activityInstance.getRemovalTime());
+    }
+
+    HistoricTaskInstance historicTaskInstance = historyService.createHistoricTaskInstanceQuery()
+        .taskId(task.getId())
+        .singleResult();
+    assertEquals(historicProcessInstance.getRemovalTime(), historicTaskInstance.getRemovalTime());
+  }
+
+  public void testProvideRemovalTimeOnStartFromRootWrittenBefore() throws Exception {
+    // given
+    processEngineConfiguration.setHistoryRemovalTimeStrategy(ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START);
+    deployment(USER_TASK_PROCESS_WITH_TTL);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    waitForHistory();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+    assertNotNull(historicProcessInstance.getRemovalTime());
+
+    List<HistoricActivityInstance> activityInstances = historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .list();
+    assertEquals(2, activityInstances.size());
+    for (HistoricActivityInstance activityInstance : activityInstances) {
+      assertEquals(historicProcessInstance.getRemovalTime(), activityInstance.getRemovalTime());
+    }
+  }
+
+  public void testRecoverBufferedEvents() throws Exception {
+    // given
+    File directory = createTempDirectory();
+    HistoryEventBuffer buffer = new HistoryEventBuffer(10, directory, true);
+    buffer.open();
+    buffer.append(Arrays.asList(createEvent("1"), createEvent("2")), false);
+    buffer.append(Arrays.asList(createEvent("3")), false);
+
+    // the first batch is written
+    assertEquals(2, buffer.poll(2, 0, TimeUnit.MILLISECONDS).size());
+    buffer.acknowledge();
+    buffer.close();
+
+    // when
+    HistoryEventBuffer recoveredBuffer = new HistoryEventBuffer(10, directory, true);
+    recoveredBuffer.open();
+
+    // then
+    List<HistoryEvent> recoveredEvents = recoveredBuffer.poll(10, 0, TimeUnit.MILLISECONDS);
+    assertEquals(1, recoveredEvents.size());
+    assertEquals("3", recoveredEvents.get(0).getId());
+
+    recoveredBuffer.acknowledge();
+    recoveredBuffer.close();
+    assertEquals(0, new File(directory, HistoryEventBuffer.JOURNAL_FILE_NAME).length());
+  }
+
+  public void testDeadLetterEventsThatCannotBeWritten() throws Exception {
+    // given
+    HistoryEventBuffer buffer = new HistoryEventBuffer(10, null, false);
+    HistoryEventWriter writer = new HistoryEventWriter(buffer, new HistoryEventHandler() {
+      public void handleEvent(HistoryEvent historyEvent) {
+        if ("faulty".equals(historyEvent.getId())) {
+          throw new ProcessEngineException("cannot write event");
+        }
+      }
+
+      public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+          handleEvent(historyEvent);
+        }
+      }
+    });
+    writer.setCommandExecutor(processEngineConfiguration.getCommandExecutorTxRequired());
+    writer.setMaxAttempts(2);
+    writer.setRetryWaitMillis(0);
+
+    // when
+    writer.start();
+    buffer.append(Arrays.asList(createEvent("1"), createEvent("faulty"), createEvent("2")), true);
+    assertTrue(buffer.awaitDrained(10, TimeUnit.SECONDS));
+    writer.stop();
+
+    // then
+    List<HistoryEvent> deadLetterEvents = buffer.getDeadLetterEvents();
+    assertEquals(1, deadLetterEvents.size());
+    assertEquals("faulty", deadLetterEvents.get(0).getId());
+  }
+
+  public void testRetryTransientFailuresWithoutDeadLettering() throws Exception {
+    // given a database that is unavailable for more attempts than an event gets
+    final List<String> writtenEventIds = new ArrayList<String>();
+    HistoryEventBuffer buffer = new HistoryEventBuffer(10, null, false);
+    HistoryEventWriter writer = new HistoryEventWriter(buffer, new HistoryEventHandler() {
+      int failures = 0;
+
+      public void handleEvent(HistoryEvent historyEvent) {
+        if (failures++ < 5) {
+          throw new ProcessEngineException("cannot write event", new SQLTransientConnectionException("connection lost"));
+        }
+        writtenEventIds.add(historyEvent.getId());
+      }
+
+      public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+          handleEvent(historyEvent);
+        }
+      }
+    });
+    writer.setCommandExecutor(processEngineConfiguration.getCommandExecutorTxRequired());
+    writer.setMaxAttempts(2);
+    writer.setRetryWaitMillis(0);
+
+    // when
+    writer.start();
+    buffer.append(Arrays.asList(createEvent("1"), createEvent("2")), true);
+    assertTrue(buffer.awaitDrained(10, TimeUnit.SECONDS));
+    writer.stop();
+
+    // then
+    assertEquals(Arrays.asList("1", "2"), writtenEventIds);
+    assertTrue(buffer.getDeadLetterEvents().isEmpty());
+  }
+
+  public void testLimitDeadLetterEventsKeptInMemory() {
+    // given
+    HistoryEventBuffer buffer = new HistoryEventBuffer(2, null, false);
+
+    // when
+    buffer.deadLetter(createEvent("1"));
+    buffer.deadLetter(createEvent("2"));
+    buffer.deadLetter(createEvent("3"));
+
+    // then
+    List<HistoryEvent> deadLetterEvents = buffer.getDeadLetterEvents();
+    assertEquals(2, deadLetterEvents.size());
+    assertEquals("1", deadLetterEvents.get(0).getId());
+    assertEquals("2", deadLetterEvents.get(1).getId());
+  }
+
+  public void testBufferEventsOnlyAfterCommit() throws Exception {
+    // given
+    deployment(MANUAL_TASKS_PROCESS);
+    waitForHistory();
+
+    // when
+    ProcessInstance processInstance = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new Command<ProcessInstance>() {
+          public ProcessInstance execute(CommandContext commandContext) {
+            ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+            // then the events are neither buffered nor journaled before the commit
+            assertEquals(0, getAsyncHistoryEventHandler().getPendingEventCount());
+            return processInstance;
+          }
+        });
+    waitForHistory();
+
+    // but written after the commit
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstance.getId())
+        .count());
+  }
+
+  public void testDiscardEventsOfRolledBackCommand() throws Exception {
+    // given
+    deployment(MANUAL_TASKS_PROCESS);
+    waitForHistory();
+
+    // when
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          runtimeService.startProcessInstanceByKey("process");
+          throw new ProcessEngineException("rollback");
+        }
+      });
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+    waitForHistory();
+
+    // then
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+  }
+
+  public void testFailFastIfWriterIsTerminated() {
+    // given
+    HistoryEventBuffer buffer = new HistoryEventBuffer(1, null, false);
+    buffer.append(Arrays.asList(createEvent("1")), true);
+
+    // when
+    buffer.writerTerminated();
+
+    // then
+    try {
+      buffer.append(Arrays.asList(createEvent("2")), true);
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      assertTrue(e.getMessage().contains("history event writer is terminated"));
+    }
+    assertEquals(1, buffer.size());
+  }
+
+  protected HistoryEvent createEvent(String id) {
+    HistoricActivityInstanceEventEntity historyEvent = new HistoricActivityInstanceEventEntity();
+    historyEvent.setId(id);
+    return historyEvent;
+  }
+
+  protected File createTempDirectory() throws IOException {
+    File directory = File.createTempFile("history-events", "");
+    directory.delete();
+    directory.mkdirs();
+    directory.deleteOnExit();
+    return directory;
+  }
+
+  protected AsyncHistoryEventHandler getAsyncHistoryEventHandler() {
+    return (AsyncHistoryEventHandler) processEngineConfiguration.getHistoryEventHandler();
+  }
+
+  protected void waitForHistory() throws InterruptedException {
+    assertTrue(getAsyncHistoryEventHandler().getHistoryEventBuffer().awaitDrained(10, TimeUnit.SECONDS));
+  }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.scripting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.script.Bindings;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.SimpleBindings;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.scripting.ExecutableScript;
+import org.camunda.bpm.engine.impl.scripting.engine.ResolverFactory;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptBindingsFactory;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
+import org.camunda.bpm.engine.impl.scripting.engine.VariableScopeResolverFactory;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.testing.ProcessEngineLoggingRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import ch.qos.logback.classic.Level;
+
+/**
+ * Evaluates groovy scripts with pooled engines. The groovy engines are treated as
+ * not thread-safe, so that they are borrowed from a pool like such engines.
+ */
+public class PooledScriptEngineEvaluationTest {
+
+  protected static final String SCRIPT_LOGGER = "org.camunda.bpm.engine.script";
+  protected static final String SCRIPT_LANGUAGE = "groovy";
+  protected static final int POOL_SIZE = 2;
+  protected static final int THREAD_COUNT = 4;
+  protected static final int PROCESS_INSTANCES_PER_THREAD = 10;
+
+  protected static final BpmnModelInstance SCRIPT_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .scriptTask()
+        .scriptFormat(SCRIPT_LANGUAGE)
+        .scriptText("value = input; sleep(5); value")
+        .camundaResultVariable("output")
+      .userTask()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration -> {
+    List<ResolverFactory> resolverFactories = new ArrayList<>();
+    resolverFactories.add(new VariableScopeResolverFactory());
+    configuration.setResolverFactories(resolverFactories);
+
+    ScriptingEngines scriptingEngines = new NotThreadSafeScriptingEngines(new ScriptBindingsFactory(resolverFactories));
+    scriptingEngines.setScriptEnginePoolSize(POOL_SIZE);
+    scriptingEngines.setScriptEnginePoolMaxWait(10000);
+    configuration.setScriptingEngines(scriptingEngines);
+  });
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Rule
+  public ProcessEngineLoggingRule loggingRule = new ProcessEngineLoggingRule()
+      .watch(SCRIPT_LOGGER)
+      .level(Level.DEBUG);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ScriptingEngines scriptingEngines;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    scriptingEngines = processEngineConfiguration.getScriptingEngines();
+  }
+
+  @Test
+  public void shouldReturnEnginesAndIsolateBindingsOfConcurrentEvaluations() throws Exception {
+    // given
+    testRule.deploy(SCRIPT_PROCESS);
+
+    // when
+    ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+    List<Future<List<ProcessInstance>>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < THREAD_COUNT; i++) {
+        final String threadName = "thread" + i;
+        results.add(executorService.submit(new Callable<List<ProcessInstance>>() {
+          public List<ProcessInstance> call() {
+            List<ProcessInstance> processInstances = new ArrayList<>();
+            for (int j = 0; j < PROCESS_INSTANCES_PER_THREAD; j++) {
+              processInstances.add(runtimeService.startProcessInstanceByKey("process",
+                  threadName + "-" + j,
+                  Collections.<String, Object>singletonMap("input", threadName + "-" + j)));
+            }
+            return processInstances;
+          }
+        }));
+      }
+
+      // then every script saw only the bindings of its own evaluation
+      for (Future<List<ProcessInstance>> result : results) {
+        for (ProcessInstance processInstance : result.get()) {
+          assertThat(runtimeService.getVariable(processInstance.getId(), "output"))
+            .isEqualTo(processInstance.getBusinessKey());
+        }
+      }
+    }
+    finally {
+      executorService.shutdownNow();
+    }
+
+    // and all borrowed engines were returned to the pool
+    ScriptEnginePool pool = scriptingEngines.getScriptEnginePool(SCRIPT_LANGUAGE);
+    assertThat(pool).isNotNull();
+    assertThat(pool.getBorrowedCount()).isEqualTo(0);
+    assertThat(pool.getTimeoutCount()).isEqualTo(0);
+    assertThat(pool.getCreateCount()).isLessThanOrEqualTo(POOL_SIZE);
+    assertThat((long) pool.getIdleCount()).isEqualTo(pool.getCreateCount());
+  }
+
+  @Test
+  public void shouldNotEvaluateCompiledScriptWithEngineOfAnotherThread() {
+    final ExecutableScript script = processEngineConfiguration.getScriptFactory()
+        .createScriptFromSource(SCRIPT_LANGUAGE, "engineName");
+
+    List<String> engineNames = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new Command<List<String>>() {
+          public List<String> execute(CommandContext commandContext) {
+            // given two engines which are borrowed at the same time
+            ScriptEngine engine = borrowScriptEngine("engine");
+            ScriptEngine otherEngine = borrowScriptEngine("otherEngine");
+
+            try {
+              // when the script is compiled by the first engine and evaluated by both
+              List<String> engineNames = new ArrayList<>();
+              engineNames.add((String) evaluate(script, engine));
+              engineNames.add((String) evaluate(script, otherEngine));
+              return engineNames;
+            }
+            finally {
+              scriptingEngines.returnScriptEngine(SCRIPT_LANGUAGE, engine);
+              scriptingEngines.returnScriptEngine(SCRIPT_LANGUAGE, otherEngine);
+            }
+          }
+        });
+
+    // then each evaluation used its own engine
+    assertThat(engineNames).containsExactly("engine", "otherEngine");
+  }
+
+  @Test
+  public void shouldCompileScriptOncePerPooledEngine() {
+    final ExecutableScript script = processEngineConfiguration.getScriptFactory()
+        .createScriptFromSource(SCRIPT_LANGUAGE, "engineName");
+
+    List<String> engineNames = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new Command<List<String>>() {
+          public List<String> execute(CommandContext commandContext) {
+            // given two engines which are borrowed at the same time
+            ScriptEngine engine = borrowScriptEngine("engine");
+            ScriptEngine otherEngine = borrowScriptEngine("otherEngine");
+
+            try {
+              // when the script is evaluated repeatedly by both engines
+              List<String> engineNames = new ArrayList<>();
+              engineNames.add((String) evaluate(script, engine));
+              engineNames.add((String) evaluate(script, otherEngine));
+              engineNames.add((String) evaluate(script, otherEngine));
+              engineNames.add((String) evaluate(script, engine));
+              return engineNames;
+            }
+            finally {
+              scriptingEngines.returnScriptEngine(SCRIPT_LANGUAGE, engine);
+              scriptingEngines.returnScriptEngine(SCRIPT_LANGUAGE, otherEngine);
+            }
+          }
+        });
+
+    // then each engine compiled the script once and never evaluated its source
+    assertThat(engineNames).containsExactly("engine", "otherEngine", "otherEngine", "engine");
+    assertThat(loggingRule.getFilteredLog(SCRIPT_LOGGER, "Compiled script using")).hasSize(2);
+    assertThat(loggingRule.getFilteredLog(SCRIPT_LOGGER, "Evaluating non-compiled script")).isEmpty();
+  }
+
+  protected ScriptEngine borrowScriptEngine(String engineName) {
+    ScriptEngine scriptEngine = scriptingEngines.borrowScriptEngineForLanguage(SCRIPT_LANGUAGE);
+
+    // a global binding which only this engine knows
+    Bindings globalBindings = new SimpleBindings();
+    globalBindings.put("engineName", engineName);
+    scriptEngine.getContext().setBindings(globalBindings, ScriptContext.GLOBAL_SCOPE);
+
+    return scriptEngine;
+  }
+
+  protected Object evaluate(ExecutableScript script, ScriptEngine scriptEngine) {
+    return processEngineConfiguration.getScriptingEnvironment()
+        .execute(script, null, scriptEngine.createBindings(), scriptEngine);
+  }
+
+  public static class NotThreadSafeScriptingEngines extends ScriptingEngines {
+
+    public NotThreadSafeScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
+      super(scriptBindingsFactory);
+      scriptEngineResolver = new ScriptEngineResolver(scriptEngineResolver.getScriptEngineManager()) {
+        protected boolean isCachable(ScriptEngine scriptEngine) {
+          return false;
+        }
+      };
+    }
+  }
+
+}
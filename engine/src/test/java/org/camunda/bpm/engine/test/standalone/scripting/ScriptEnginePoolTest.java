@@ -0,0 +1,92 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.standalone.scripting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEnginePool;
+import org.camunda.bpm.engine.impl.scripting.engine.ScriptEngineResolver;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScriptEnginePoolTest {
+
+  protected static final String SCRIPT_LANGUAGE = "test";
+
+  protected ScriptEnginePool pool;
+
+  @Before
+  public void setUp() {
+    ScriptEngineResolver resolver = new ScriptEngineResolver(new ScriptEngineManager()) {
+      public ScriptEngine createScriptEngine(String language) {
+        return mock(ScriptEngine.class);
+      }
+    };
+    pool = new ScriptEnginePool(SCRIPT_LANGUAGE, resolver, 2, 10);
+  }
+
+  @Test
+  public void shouldReuseReturnedEngine() {
+    // given
+    ScriptEngine engine = pool.borrow();
+    pool.release(engine);
+
+    // when
+    ScriptEngine reusedEngine = pool.borrow();
+
+    // then
+    assertThat(reusedEngine).isSameAs(engine);
+    assertThat(pool.getCreateCount()).isEqualTo(1);
+    assertThat(pool.getBorrowCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotShareBorrowedEngines() {
+    // when
+    ScriptEngine engine = pool.borrow();
+    ScriptEngine otherEngine = pool.borrow();
+
+    // then
+    assertThat(otherEngine).isNotSameAs(engine);
+    assertThat(pool.getBorrowedCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCreateUnpooledEngineIfPoolIsExhausted() {
+    // given
+    pool.borrow();
+    pool.borrow();
+
+    // when
+    ScriptEngine unpooledEngine = pool.borrow();
+
+    // then
+    assertThat(unpooledEngine).isNotNull();
+    assertThat(pool.getTimeoutCount()).isEqualTo(1);
+    assertThat(pool.getTotalWaitTimeNanos()).isGreaterThan(0);
+
+    // and the unpooled engine is not added to the pool
+    pool.release(unpooledEngine);
+    assertThat(pool.getIdleCount()).isEqualTo(0);
+    assertThat(pool.getBorrowedCount()).isEqualTo(2);
+  }
+
+}
@@ -131,6 +131,19 @@ public class Bpmn {
     return INSTANCE.doReadModelFromInputStream(stream);
   }
 
+  /**
+   * Allows reading a {@link BpmnModelInstance} which cannot be modified from an {@link InputStream}.
+   * It can be read by many threads at once without synchronization, e.g. if it is cached.
+   * Use {@link BpmnModelInstance#clone()} to get a modifiable copy.
+   *
+   * @param stream the {@link InputStream} to read the {@link BpmnModelInstance} from
+   * @return the read-only model read
+   * @throws ModelParseException if the model cannot be read
+   */
+  public static BpmnModelInstance readReadOnlyModelFromStream(InputStream stream) {
+    return INSTANCE.doReadReadOnlyModelFromInputStream(stream);
+  }
+
   /**
    * Allows writing a {@link BpmnModelInstance} to a File. It will be
    * validated before writing.
@@ -249,6 +262,10 @@ public class Bpmn {
     return bpmnParser.parseModelFromStream(is);
   }
 
+  protected BpmnModelInstance doReadReadOnlyModelFromInputStream(InputStream is) {
+    return bpmnParser.parseReadOnlyModelFromStream(is);
+  }
+
   protected void doWriteModelToFile(File file, BpmnModelInstance modelInstance) {
     OutputStream os = null;
     try {
@@ -65,6 +65,11 @@ public class BpmnParser extends AbstractModelParser {
     return (BpmnModelInstanceImpl) super.parseModelFromStream(inputStream);
   }
 
+  @Override
+  public BpmnModelInstanceImpl parseReadOnlyModelFromStream(InputStream inputStream) {
+    return (BpmnModelInstanceImpl) super.parseReadOnlyModelFromStream(inputStream);
+  }
+
   @Override
   public BpmnModelInstanceImpl getEmptyModel() {
     return (BpmnModelInstanceImpl) super.getEmptyModel();
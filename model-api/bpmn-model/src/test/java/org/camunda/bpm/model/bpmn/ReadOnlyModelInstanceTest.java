@@ -0,0 +1,129 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.bpmn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.camunda.bpm.model.bpmn.instance.FlowNode;
+import org.camunda.bpm.model.bpmn.instance.SequenceFlow;
+import org.camunda.bpm.model.bpmn.instance.UserTask;
+import org.camunda.bpm.model.xml.ModelException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReadOnlyModelInstanceTest {
+
+  protected BpmnModelInstance modelInstance;
+
+  @Before
+  public void readModel() {
+    BpmnModelInstance model = Bpmn.createExecutableProcess("process")
+      .startEvent("start")
+      .userTask("task")
+        .name("Task")
+        .camundaAssignee("demo")
+      .endEvent("end")
+      .done();
+
+    byte[] xml = Bpmn.convertToString(model).getBytes(StandardCharsets.UTF_8);
+    modelInstance = Bpmn.readReadOnlyModelFromStream(new ByteArrayInputStream(xml));
+  }
+
+  @Test
+  public void shouldReadModel() {
+    UserTask task = modelInstance.getModelElementById("task");
+
+    assertThat(task.getName()).isEqualTo("Task");
+    assertThat(task.getCamundaAssignee()).isEqualTo("demo");
+    assertThat(task.getIncoming()).hasSize(1);
+    assertThat(task.getOutgoing()).hasSize(1);
+    assertThat(task.getOutgoing().iterator().next().getTarget().getId()).isEqualTo("end");
+    assertThat(task.getParentElement().getAttributeValue("id")).isEqualTo("process");
+    assertThat(modelInstance.getModelElementsByType(FlowNode.class)).hasSize(3);
+    assertThat(modelInstance.getModelElementsByType(SequenceFlow.class)).hasSize(2);
+  }
+
+  @Test
+  public void shouldNotModifyModel() {
+    UserTask task = modelInstance.getModelElementById("task");
+
+    try {
+      task.setName("Changed");
+      fail("expected exception");
+    }
+    catch (ModelException e) {
+      assertThat(e).hasMessageContaining("read-only");
+    }
+
+    try {
+      modelInstance.newInstance(UserTask.class);
+      fail("expected exception");
+    }
+    catch (ModelException e) {
+      assertThat(e).hasMessageContaining("read-only");
+    }
+
+    assertThat(task.getName()).isEqualTo("Task");
+  }
+
+  @Test
+  public void shouldModifyClone() {
+    BpmnModelInstance clone = modelInstance.clone();
+    UserTask clonedTask = clone.getModelElementById("task");
+
+    clonedTask.setName("Changed");
+
+    assertThat(clonedTask.getName()).isEqualTo("Changed");
+    assertThat(modelInstance.<UserTask>getModelElementById("task").getName()).isEqualTo("Task");
+  }
+
+  @Test
+  public void shouldReadModelConcurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Callable<String>> readers = new ArrayList<Callable<String>>();
+      for (int i = 0; i < 20; i++) {
+        readers.add(new Callable<String>() {
+          public String call() {
+            UserTask task = modelInstance.getModelElementById("task");
+            Collection<SequenceFlow> outgoing = task.getOutgoing();
+            return task.getName() + outgoing.iterator().next().getTarget().getId();
+          }
+        });
+      }
+
+      for (Future<String> result : executor.invokeAll(readers)) {
+        assertThat(result.get()).isEqualTo("Taskend");
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+}
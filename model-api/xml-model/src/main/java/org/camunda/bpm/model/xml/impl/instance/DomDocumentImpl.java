@@ -43,6 +43,10 @@ public class DomDocumentImpl implements DomDocument {
     this.document = document;
   }
 
+  protected Document getDocument() {
+    return document;
+  }
+
   public DomElement getRootElement() {
     synchronized(document) {
       Element documentElement = document.getDocumentElement();
@@ -0,0 +1,163 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.instance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.model.xml.ModelException;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.impl.util.ModelUtil;
+import org.camunda.bpm.model.xml.instance.DomElement;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * A DOM document which cannot be modified. It is read without synchronization,
+ * so that the model instance of the document can be read by many threads at once.
+ *
+ * <p>DOM implementations are not thread-safe even for read access, since they
+ * expand nodes lazily and cache node lists and user data. Therefore the document
+ * is expanded completely on {@link #initialize(ModelInstanceImpl)}, the model element
+ * instances are created for all elements and kept in a map, and the children of an
+ * element are accessed through their siblings only.</p>
+ */
+public class ReadOnlyDomDocumentImpl extends DomDocumentImpl {
+
+  protected final Map<Element, ModelElementInstance> modelElementInstances = new HashMap<Element, ModelElementInstance>();
+  protected final Map<String, Element> elementsById = new HashMap<String, Element>();
+  protected DomElement rootElement;
+  protected boolean initialized = false;
+
+  public ReadOnlyDomDocumentImpl(Document document) {
+    super(document);
+  }
+
+  public ReadOnlyDomDocumentImpl(DomDocumentImpl document) {
+    this(document.getDocument());
+  }
+
+  /**
+   * Expands the document and creates the model element instances of all
+   * elements. The document cannot be modified afterwards.
+   *
+   * @param modelInstance the model instance of the document
+   */
+  public void initialize(ModelInstanceImpl modelInstance) {
+    Element documentElement = getDocument().getDocumentElement();
+    if (documentElement != null) {
+      rootElement = new ReadOnlyDomElementImpl(documentElement, this);
+      initialize(documentElement, modelInstance);
+    }
+    initialized = true;
+  }
+
+  protected void initialize(Element element, ModelInstanceImpl modelInstance) {
+    NamedNodeMap attributes = element.getAttributes();
+    for (int i = 0; i < attributes.getLength(); i++) {
+      Attr attribute = (Attr) attributes.item(i);
+      String value = attribute.getValue();
+      if (attribute.isId()) {
+        elementsById.put(value, element);
+      }
+    }
+
+    ModelUtil.getModelElement(new ReadOnlyDomElementImpl(element, this), modelInstance);
+
+    for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child.getNodeType() == Node.ELEMENT_NODE) {
+        initialize((Element) child, modelInstance);
+      }
+      else {
+        // expands text and CDATA nodes
+        child.getNodeValue();
+      }
+    }
+  }
+
+  protected ModelElementInstance getModelElementInstance(Element element) {
+    return modelElementInstances.get(element);
+  }
+
+  protected void setModelElementInstance(Element element, ModelElementInstance modelElementInstance) {
+    if (initialized) {
+      throw modificationNotAllowed();
+    }
+    modelElementInstances.put(element, modelElementInstance);
+  }
+
+  public DomElement getRootElement() {
+    return rootElement;
+  }
+
+  public void setRootElement(DomElement rootElement) {
+    throw modificationNotAllowed();
+  }
+
+  public DomElement createElement(String namespaceUri, String localName) {
+    throw modificationNotAllowed();
+  }
+
+  public DomElement getElementById(String id) {
+    Element element = elementsById.get(id);
+    if (element != null) {
+      return new ReadOnlyDomElementImpl(element, this);
+    }
+    else {
+      return null;
+    }
+  }
+
+  public List<DomElement> getElementsByNameNs(String namespaceUri, String localName) {
+    List<DomElement> elements = new ArrayList<DomElement>();
+    Element documentElement = getDocument().getDocumentElement();
+    if (documentElement != null) {
+      collectElementsByNameNs(documentElement, namespaceUri, localName, elements);
+    }
+    return elements;
+  }
+
+  protected void collectElementsByNameNs(Element element, String namespaceUri, String localName, List<DomElement> elements) {
+    if (localName.equals(element.getLocalName()) && namespaceUri.equals(element.getNamespaceURI())) {
+      elements.add(new ReadOnlyDomElementImpl(element, this));
+    }
+    for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child.getNodeType() == Node.ELEMENT_NODE) {
+        collectElementsByNameNs((Element) child, namespaceUri, localName, elements);
+      }
+    }
+  }
+
+  public String registerNamespace(String namespaceUri) {
+    throw modificationNotAllowed();
+  }
+
+  public void registerNamespace(String prefix, String namespaceUri) {
+    throw modificationNotAllowed();
+  }
+
+  protected static ModelException modificationNotAllowed() {
+    return new ModelException("Unable to modify a read-only model instance, use a clone of the model instance instead");
+  }
+
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.model.xml.impl.instance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.impl.util.ModelUtil;
+import org.camunda.bpm.model.xml.impl.util.XmlQName;
+import org.camunda.bpm.model.xml.instance.DomDocument;
+import org.camunda.bpm.model.xml.instance.DomElement;
+import org.camunda.bpm.model.xml.instance.ModelElementInstance;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * An element of a {@link ReadOnlyDomDocumentImpl}. It is read without synchronization
+ * and cannot be modified.
+ */
+public class ReadOnlyDomElementImpl extends DomElementImpl {
+
+  protected final ReadOnlyDomDocumentImpl document;
+
+  public ReadOnlyDomElementImpl(Element element, ReadOnlyDomDocumentImpl document) {
+    super(element);
+    this.document = document;
+  }
+
+  public String getNamespaceURI() {
+    return getElement().getNamespaceURI();
+  }
+
+  public String getLocalName() {
+    return getElement().getLocalName();
+  }
+
+  public String getPrefix() {
+    return getElement().getPrefix();
+  }
+
+  public DomDocument getDocument() {
+    return document;
+  }
+
+  public DomElement getRootElement() {
+    return document.getRootElement();
+  }
+
+  public DomElement getParentElement() {
+    Node parentNode = getElement().getParentNode();
+    if (parentNode instanceof Element) {
+      return new ReadOnlyDomElementImpl((Element) parentNode, document);
+    }
+    else {
+      return null;
+    }
+  }
+
+  public List<DomElement> getChildElements() {
+    List<DomElement> childElements = new ArrayList<DomElement>();
+    for (Node child = getElement().getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child.getNodeType() == Node.ELEMENT_NODE) {
+        childElements.add(new ReadOnlyDomElementImpl((Element) child, document));
+      }
+    }
+    return childElements;
+  }
+
+  public List<DomElement> getChildElementsByNameNs(String namespaceUri, String elementName) {
+    List<DomElement> childElements = new ArrayList<DomElement>();
+    for (Node child = getElement().getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child.getNodeType() == Node.ELEMENT_NODE
+          && elementName.equals(child.getLocalName())
+          && namespaceUri.equals(child.getNamespaceURI())) {
+        childElements.add(new ReadOnlyDomElementImpl((Element) child, document));
+      }
+    }
+    return childElements;
+  }
+
+  public List<DomElement> getChildElementsByType(ModelInstanceImpl modelInstance, Class<? extends ModelElementInstance> elementType) {
+    List<DomElement> childElements = new ArrayList<DomElement>();
+    for (Node child = getElement().getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child.getNodeType() == Node.ELEMENT_NODE) {
+        DomElement childElement = new ReadOnlyDomElementImpl((Element) child, document);
+        ModelElementInstance modelElement = ModelUtil.getModelElement(childElement, modelInstance);
+        if (elementType.isAssignableFrom(modelElement.getClass())) {
+          childElements.add(childElement);
+        }
+      }
+    }
+    return childElements;
+  }
+
+  public void replaceChild(DomElement newChildDomElement, DomElement existingChildDomElement) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public boolean removeChild(DomElement childDomElement) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public void appendChild(DomElement childDomElement) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public void insertChildElementAfter(DomElement elementToInsert, DomElement insertAfter) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public boolean hasAttribute(String namespaceUri, String localName) {
+    return getElement().hasAttributeNS(namespaceUri, localName);
+  }
+
+  public String getAttribute(String namespaceUri, String localName) {
+    XmlQName xmlQName = new XmlQName(this, namespaceUri, localName);
+    String value;
+    if (xmlQName.hasLocalNamespace()) {
+      value = getElement().getAttributeNS(null, xmlQName.getLocalName());
+    }
+    else {
+      value = getElement().getAttributeNS(xmlQName.getNamespaceUri(), xmlQName.getLocalName());
+    }
+    if (value.isEmpty()) {
+      return null;
+    }
+    else {
+      return value;
+    }
+  }
+
+  public void setAttribute(String namespaceUri, String localName, String value) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public void setIdAttribute(String namespaceUri, String localName, String value) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public void removeAttribute(String namespaceUri, String localName) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public String getTextContent() {
+    return getElement().getTextContent();
+  }
+
+  public void setTextContent(String textContent) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public void addCDataSection(String data) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public ModelElementInstance getModelElementInstance() {
+    return document.getModelElementInstance(getElement());
+  }
+
+  public void setModelElementInstance(ModelElementInstance modelElementInstance) {
+    document.setModelElementInstance(getElement(), modelElementInstance);
+  }
+
+  public String registerNamespace(String namespaceUri) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public void registerNamespace(String prefix, String namespaceUri) {
+    throw ReadOnlyDomDocumentImpl.modificationNotAllowed();
+  }
+
+  public String lookupPrefix(String namespaceUri) {
+    return getElement().lookupPrefix(namespaceUri);
+  }
+
+}
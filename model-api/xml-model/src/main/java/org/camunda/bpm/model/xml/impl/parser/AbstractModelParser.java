@@ -21,15 +21,24 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 import org.camunda.bpm.model.xml.ModelInstance;
+import org.camunda.bpm.model.xml.ModelParseException;
 import org.camunda.bpm.model.xml.ModelValidationException;
+import org.camunda.bpm.model.xml.impl.ModelInstanceImpl;
+import org.camunda.bpm.model.xml.impl.instance.DomDocumentImpl;
+import org.camunda.bpm.model.xml.impl.instance.ReadOnlyDomDocumentImpl;
 import org.camunda.bpm.model.xml.impl.util.DomUtil;
 import org.camunda.bpm.model.xml.impl.util.ReflectUtil;
 import org.camunda.bpm.model.xml.instance.DomDocument;
@@ -50,6 +59,18 @@ public abstract class AbstractModelParser {
   protected SchemaFactory schemaFactory;
   protected Map<String, Schema> schemas = new HashMap<>();
 
+  /**
+   * Document builders and validators are not thread-safe. A parsing thread borrows
+   * one from the pool and returns it after it was reset. The pools are bounded by the
+   * number of processors, since parsing is CPU-bound; builders and validators
+   * which are returned to a full pool are discarded. Unlike thread-locals, the pools
+   * are released together with the parser and do not pin instances to pooled threads.
+   */
+  protected static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+  private final BlockingQueue<DocumentBuilder> documentBuilders = new ArrayBlockingQueue<>(POOL_SIZE);
+  private final ConcurrentMap<Schema, BlockingQueue<Validator>> validators = new ConcurrentHashMap<>();
+
   protected AbstractModelParser() {
     DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
     configureFactory(dbf);
@@ -124,23 +145,77 @@ public abstract class AbstractModelParser {
     }
   }
 
-  public ModelInstance parseModelFromStream(InputStream inputStream) {
-    DomDocument document = null;
-
+  protected DocumentBuilder createDocumentBuilder() {
     synchronized(documentBuilderFactory) {
-      document = DomUtil.parseInputStream(documentBuilderFactory, inputStream);
+      try {
+        return documentBuilderFactory.newDocumentBuilder();
+      } catch (ParserConfigurationException e) {
+        throw new ModelParseException("Unable to create a document builder", e);
+      }
     }
+  }
+
+  protected DocumentBuilder borrowDocumentBuilder() {
+    DocumentBuilder documentBuilder = documentBuilders.poll();
+    if (documentBuilder == null) {
+      documentBuilder = createDocumentBuilder();
+    }
+    return documentBuilder;
+  }
+
+  protected void returnDocumentBuilder(DocumentBuilder documentBuilder) {
+    try {
+      documentBuilder.reset();
+    } catch (UnsupportedOperationException e) {
+      // the builder cannot be reset and is not reused
+      return;
+    }
+    documentBuilders.offer(documentBuilder);
+  }
+
+  protected DomDocument parseInputStream(InputStream inputStream) {
+    DocumentBuilder documentBuilder = borrowDocumentBuilder();
+    try {
+      return DomUtil.parseInputStream(documentBuilder, inputStream);
+    } finally {
+      returnDocumentBuilder(documentBuilder);
+    }
+  }
+
+  public ModelInstance parseModelFromStream(InputStream inputStream) {
+    DomDocument document = parseInputStream(inputStream);
 
     validateModel(document);
     return createModelInstance(document);
 
   }
 
-  public ModelInstance getEmptyModel() {
-    DomDocument document = null;
+  /**
+   * Parses a model instance which cannot be modified. Its elements are read without
+   * synchronization, so that it can be read by many threads at once, e.g. if it is cached.
+   * A modifiable copy can be created by cloning the model instance.
+   *
+   * @param inputStream the input stream to parse
+   * @return the read-only model instance
+   */
+  public ModelInstance parseReadOnlyModelFromStream(InputStream inputStream) {
+    DomDocument document = parseInputStream(inputStream);
 
-    synchronized(documentBuilderFactory) {
-      document = DomUtil.getEmptyDocument(documentBuilderFactory);
+    validateModel(document);
+
+    ReadOnlyDomDocumentImpl readOnlyDocument = new ReadOnlyDomDocumentImpl((DomDocumentImpl) document);
+    ModelInstance modelInstance = createModelInstance(readOnlyDocument);
+    readOnlyDocument.initialize((ModelInstanceImpl) modelInstance);
+    return modelInstance;
+  }
+
+  public ModelInstance getEmptyModel() {
+    DomDocument document;
+    DocumentBuilder documentBuilder = borrowDocumentBuilder();
+    try {
+      document = DomUtil.getEmptyDocument(documentBuilder);
+    } finally {
+      returnDocumentBuilder(documentBuilder);
     }
 
     return createModelInstance(document);
@@ -159,7 +234,7 @@ public abstract class AbstractModelParser {
       return;
     }
 
-    Validator validator = schema.newValidator();
+    Validator validator = borrowValidator(schema);
     try {
       synchronized(document) {
         validator.validate(document.getDomSource());
@@ -168,7 +243,34 @@ public abstract class AbstractModelParser {
       throw new ModelValidationException("Error during DOM document validation", e);
     } catch (SAXException e) {
       throw new ModelValidationException("DOM document is not valid", e);
+    } finally {
+      returnValidator(schema, validator);
+    }
+  }
+
+  protected Validator borrowValidator(Schema schema) {
+    Validator validator = getValidatorPool(schema).poll();
+    if (validator == null) {
+      validator = schema.newValidator();
+    }
+    return validator;
+  }
+
+  protected void returnValidator(Schema schema, Validator validator) {
+    validator.reset();
+    getValidatorPool(schema).offer(validator);
+  }
+
+  protected BlockingQueue<Validator> getValidatorPool(Schema schema) {
+    BlockingQueue<Validator> pool = validators.get(schema);
+    if (pool == null) {
+      BlockingQueue<Validator> newPool = new ArrayBlockingQueue<>(POOL_SIZE);
+      pool = validators.putIfAbsent(schema, newPool);
+      if (pool == null) {
+        pool = newPool;
+      }
     }
+    return pool;
   }
 
   protected Schema getSchema(DomDocument document) {
@@ -218,12 +218,22 @@ public final class DomUtil {
   public static DomDocument getEmptyDocument(DocumentBuilderFactory documentBuilderFactory) {
     try {
       DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-      return new DomDocumentImpl(documentBuilder.newDocument());
+      return getEmptyDocument(documentBuilder);
     } catch (ParserConfigurationException e) {
       throw new ModelParseException("Unable to create a new document", e);
     }
   }
 
+  /**
+   * Get an empty DOM document
+   *
+   * @param documentBuilder the builder to create the DOM document, it must not be used by other threads
+   * @return the new DOM document
+   */
+  public static DomDocument getEmptyDocument(DocumentBuilder documentBuilder) {
+    return new DomDocumentImpl(documentBuilder.newDocument());
+  }
+
   /**
    * Create a new DOM document from the input stream
    *
@@ -236,10 +246,25 @@ public final class DomUtil {
 
     try {
       DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
-      documentBuilder.setErrorHandler(new DomErrorHandler());
-      return new DomDocumentImpl(documentBuilder.parse(inputStream));
+      return parseInputStream(documentBuilder, inputStream);
     } catch (ParserConfigurationException e) {
       throw new ModelParseException("ParserConfigurationException while parsing input stream", e);
+    }
+  }
+
+  /**
+   * Create a new DOM document from the input stream
+   *
+   * @param documentBuilder the builder to build the DOM document, it must not be used by other threads
+   * @param inputStream the input stream to parse
+   * @return the new DOM document
+   * @throws ModelParseException if a parsing or IO error is triggered
+   */
+  public static DomDocument parseInputStream(DocumentBuilder documentBuilder, InputStream inputStream) {
+
+    try {
+      documentBuilder.setErrorHandler(new DomErrorHandler());
+      return new DomDocumentImpl(documentBuilder.parse(inputStream));
 
     } catch (SAXException e) {
       throw new ModelParseException("SAXException while parsing input stream", e);
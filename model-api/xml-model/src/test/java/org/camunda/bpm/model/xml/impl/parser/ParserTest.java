@@ -110,6 +110,24 @@ public class ParserTest {
     }
   }
 
+  @Test
+  public void shouldReuseDocumentBuilderAfterFailedParse() {
+    TestModelParser modelParser = new TestModelParser();
+    InputStream invalidXmlAsStream = this.getClass().getClassLoader()
+        .getResourceAsStream("org/camunda/bpm/model/xml/impl/parser/XxeProcessing.xml");
+    try {
+      modelParser.parseModelFromStream(invalidXmlAsStream);
+    } catch (ModelParseException expected) {
+      // the document builder is returned to the pool anyway
+    }
+
+    InputStream validXmlAsStream = this.getClass().getClassLoader()
+        .getResourceAsStream("org/camunda/bpm/model/xml/testmodel/instance/UnknownAnimalTest.xml");
+    ModelInstance modelInstance = modelParser.parseModelFromStream(validXmlAsStream);
+
+    assertThat(modelInstance).isNotNull();
+  }
+
   protected boolean doesJdkSupportExternalSchemaAccessProperty() {
     String jvmVendor = System.getProperty("java.vm.vendor");
     String javaVersion = System.getProperty("java.version");
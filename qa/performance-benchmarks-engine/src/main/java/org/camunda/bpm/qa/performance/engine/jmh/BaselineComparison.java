@@ -0,0 +1,108 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>Compares a JMH result file in JSON format with a stored baseline and fails if a
+ * benchmark is slower than its baseline by more than the given tolerance in percent.
+ * All benchmarks of this module measure the average time, so lower scores are better.</p>
+ *
+ * <p>Usage: <code>BaselineComparison &lt;result file&gt; &lt;baseline file&gt; &lt;tolerance&gt;</code></p>
+ */
+public class BaselineComparison {
+
+  public static void main(String[] args) throws IOException {
+    File resultFile = new File(args[0]);
+    File baselineFile = new File(args[1]);
+    double tolerance = Double.parseDouble(args[2]);
+
+    if (!baselineFile.exists()) {
+      System.out.println("No baseline found at " + baselineFile.getAbsolutePath()
+          + ", record one with the profile 'benchmark-baseline'.");
+      return;
+    }
+
+    Map<String, Double> results = readScores(resultFile);
+    Map<String, Double> baseline = readScores(baselineFile);
+
+    List<String> regressions = new ArrayList<String>();
+    for (Entry<String, Double> result : results.entrySet()) {
+      Double baselineScore = baseline.get(result.getKey());
+
+      if (baselineScore == null) {
+        System.out.println(String.format("%-100s %12.3f (no baseline)", result.getKey(), result.getValue()));
+      }
+      else {
+        double change = (result.getValue() - baselineScore) / baselineScore * 100;
+        String line = String.format("%-100s %12.3f %+8.1f%%", result.getKey(), result.getValue(), change);
+        System.out.println(line);
+
+        if (change > tolerance) {
+          regressions.add(line);
+        }
+      }
+    }
+
+    if (!regressions.isEmpty()) {
+      StringBuilder message = new StringBuilder("Benchmarks are more than " + tolerance + "% slower than the baseline:");
+      for (String regression : regressions) {
+        message.append("\n").append(regression);
+      }
+      throw new IllegalStateException(message.toString());
+    }
+  }
+
+  /**
+   * @return the scores by benchmark name and parameters
+   */
+  protected static Map<String, Double> readScores(File file) throws IOException {
+    Map<String, Double> scores = new TreeMap<String, Double>();
+
+    JsonNode benchmarks = new ObjectMapper().readTree(file);
+    for (JsonNode benchmark : benchmarks) {
+      StringBuilder key = new StringBuilder(benchmark.get("benchmark").asText());
+
+      JsonNode params = benchmark.get("params");
+      if (params != null) {
+        Map<String, String> sortedParams = new TreeMap<String, String>();
+        Iterator<Entry<String, JsonNode>> fields = params.fields();
+        while (fields.hasNext()) {
+          Entry<String, JsonNode> field = fields.next();
+          sortedParams.put(field.getKey(), field.getValue().asText());
+        }
+        key.append(sortedParams);
+      }
+
+      scores.put(key.toString(), benchmark.get("primaryMetric").get("score").asDouble());
+    }
+
+    return scores;
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.StringUtil;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Parses a BPMN process with the {@link BpmnParser} of a process engine that runs
+ * on an in-memory H2 database. The process consists of alternating service and
+ * user tasks that use expressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BpmnParseBenchmark {
+
+  @Param({"10", "100"})
+  public int tasks;
+
+  protected ProcessEngine processEngine;
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected BpmnParser bpmnParser;
+  protected byte[] bpmnXml;
+
+  @Setup
+  public void buildProcessEngine() {
+    processEngine = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+        .setProcessEngineName("jmh-bpmn-parse")
+        .setJdbcUrl("jdbc:h2:mem:jmh-bpmn-parse")
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP)
+        .setHistory(ProcessEngineConfiguration.HISTORY_FULL)
+        .setJobExecutorActivate(false)
+        .buildProcessEngine();
+
+    processEngineConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+    for (Deployer deployer : processEngineConfiguration.getDeployers()) {
+      if (deployer instanceof BpmnDeployer) {
+        bpmnParser = ((BpmnDeployer) deployer).getBpmnParser();
+      }
+    }
+
+    bpmnXml = StringUtil.toByteArray(Bpmn.convertToString(createProcess()), processEngine);
+  }
+
+  protected BpmnModelInstance createProcess() {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent();
+
+    for (int i = 0; i < tasks; i++) {
+      if (i % 2 == 0) {
+        builder = builder.serviceTask("serviceTask" + i).camundaExpression("${execution.setVariable('task', " + i + ")}");
+      } else {
+        builder = builder.userTask("userTask" + i).camundaAssignee("${assignee}").camundaAsyncBefore();
+      }
+    }
+
+    return builder.endEvent().done();
+  }
+
+  @TearDown
+  public void closeProcessEngine() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public List<ProcessDefinitionEntity> parse() {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<ProcessDefinitionEntity>>() {
+      public List<ProcessDefinitionEntity> execute(CommandContext commandContext) {
+        BpmnParse bpmnParse = bpmnParser.createParse()
+            .sourceInputStream(new ByteArrayInputStream(bpmnXml))
+            .deployment(new DeploymentEntity())
+            .name("process.bpmn");
+
+        bpmnParse.execute();
+        return bpmnParse.getProcessDefinitions();
+      }
+    });
+  }
+
+}
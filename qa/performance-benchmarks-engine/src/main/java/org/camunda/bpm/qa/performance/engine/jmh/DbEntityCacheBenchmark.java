@@ -0,0 +1,84 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Looks up entities in a {@link DbEntityCache} that contains the given number
+ * of executions and tasks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DbEntityCacheBenchmark {
+
+  @Param({"100", "10000"})
+  public int entities;
+
+  protected DbEntityCache cache;
+  protected String[] ids;
+  protected int cursor;
+
+  @Setup
+  public void fillCache() {
+    cache = new DbEntityCache();
+    ids = new String[entities];
+
+    for (int i = 0; i < entities; i++) {
+      ids[i] = Integer.toString(i);
+
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId(ids[i]);
+      cache.putPersistent(execution);
+
+      TaskEntity task = new TaskEntity();
+      task.setId("task" + ids[i]);
+      cache.putPersistent(task);
+    }
+  }
+
+  @Benchmark
+  public ExecutionEntity getById() {
+    cursor = (cursor + 1) % entities;
+    return cache.get(ExecutionEntity.class, ids[cursor]);
+  }
+
+  @Benchmark
+  public ExecutionEntity getMissingId() {
+    return cache.get(ExecutionEntity.class, "missing");
+  }
+
+  @Benchmark
+  public List<TaskEntity> getEntitiesByType() {
+    return cache.getEntitiesByType(TaskEntity.class);
+  }
+
+}
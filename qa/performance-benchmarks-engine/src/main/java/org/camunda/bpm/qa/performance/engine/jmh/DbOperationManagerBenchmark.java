@@ -0,0 +1,101 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbReferences;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Sorts the operations of a flush with the {@link DbOperationManager}. The flush inserts a
+ * tree of executions, which have to be sorted by their references, together with variables,
+ * and updates and deletes tasks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DbOperationManagerBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int entities;
+
+  protected List<DbEntityOperation> operations;
+
+  @Setup
+  public void createOperations() {
+    operations = new ArrayList<DbEntityOperation>();
+
+    // executions are added child first to exercise the reference sorting
+    for (int i = entities - 1; i >= 0; i--) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId("execution" + i);
+      execution.setProcessInstanceId("execution0");
+      if (i > 0) {
+        execution.setParentId("execution" + ((i - 1) / 2));
+      }
+      operations.add(createOperation(execution, DbOperationType.INSERT));
+    }
+
+    for (int i = 0; i < entities; i++) {
+      VariableInstanceEntity variable = new VariableInstanceEntity();
+      variable.setId("variable" + i);
+      operations.add(createOperation(variable, DbOperationType.INSERT));
+
+      TaskEntity task = new TaskEntity();
+      task.setId("task" + i);
+      operations.add(createOperation(task, i % 2 == 0 ? DbOperationType.UPDATE : DbOperationType.DELETE));
+    }
+  }
+
+  protected DbEntityOperation createOperation(DbEntity entity, DbOperationType operationType) {
+    DbEntityOperation operation = new DbEntityOperation();
+    operation.setEntity(entity);
+    operation.setOperationType(operationType);
+    if (entity instanceof HasDbReferences) {
+      operation.setFlushRelevantEntityReferences(((HasDbReferences) entity).getReferencedEntityIds());
+    }
+    return operation;
+  }
+
+  @Benchmark
+  public List<DbOperation> calculateFlush() {
+    DbOperationManager operationManager = new DbOperationManager();
+    for (DbEntityOperation operation : operations) {
+      operationManager.addOperation(operation);
+    }
+    return operationManager.calculateFlush();
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Evaluates a decision table with one hundred rules and two inputs with the
+ * default DMN engine. Rule <code>n</code> matches an amount between <code>10 * n</code>
+ * and <code>10 * n + 10</code> and one of four categories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DecisionTableBenchmark {
+
+  public static final String DMN_RESOURCE = "DecisionTableBenchmark.oneHundredRules.dmn";
+
+  protected static final String[] CATEGORIES = {"a", "b", "c", "d"};
+
+  @Param({"firstHit", "collectHits"})
+  public String decisionKey;
+
+  @Param({"0", "99"})
+  public int matchingRule;
+
+  protected DmnEngine dmnEngine;
+  protected DmnDecision decision;
+  protected VariableContext variableContext;
+
+  @Setup
+  public void parseDecision() {
+    dmnEngine = DmnEngineConfiguration
+        .createDefaultDmnEngineConfiguration()
+        .buildEngine();
+
+    InputStream inputStream = DecisionTableBenchmark.class.getResourceAsStream(DMN_RESOURCE);
+    try {
+      decision = dmnEngine.parseDecision(decisionKey, inputStream);
+    }
+    finally {
+      IoUtil.closeSilently(inputStream);
+    }
+
+    variableContext = Variables.createVariables()
+        .putValue("amount", matchingRule * 10.0 + 5)
+        .putValue("category", CATEGORIES[matchingRule % CATEGORIES.length])
+        .asVariableContext();
+  }
+
+  @Benchmark
+  public DmnDecisionTableResult evaluateDecisionTable() {
+    return dmnEngine.evaluateDecisionTable(decision, variableContext);
+  }
+
+}
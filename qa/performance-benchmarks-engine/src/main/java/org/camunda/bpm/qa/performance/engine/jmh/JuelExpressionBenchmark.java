@@ -0,0 +1,84 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.impl.juel.Builder;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.camunda.bpm.engine.impl.juel.Tree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parses and evaluates JUEL expressions with the {@link ExpressionFactoryImpl} that is
+ * used by the process engine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JuelExpressionBenchmark {
+
+  public static final String EXPRESSION = "${amount > 100 && customer.status == 'gold' ? amount * 0.9 : amount}";
+
+  protected Builder builder;
+  protected ExpressionFactoryImpl expressionFactory;
+  protected SimpleContext context;
+  protected ValueExpression valueExpression;
+
+  @Setup
+  public void createExpression() {
+    builder = new Builder();
+    expressionFactory = new ExpressionFactoryImpl();
+    context = new SimpleContext();
+
+    Map<String, Object> customer = new HashMap<String, Object>();
+    customer.put("status", "gold");
+    context.setVariable("customer", expressionFactory.createValueExpression(customer, Map.class));
+    context.setVariable("amount", expressionFactory.createValueExpression(250, Integer.class));
+
+    valueExpression = expressionFactory.createValueExpression(context, EXPRESSION, Object.class);
+  }
+
+  /**
+   * Builds the syntax tree without the tree cache of the expression factory.
+   */
+  @Benchmark
+  public Tree parse() {
+    return builder.build(EXPRESSION);
+  }
+
+  @Benchmark
+  public ValueExpression createValueExpression() {
+    return expressionFactory.createValueExpression(context, EXPRESSION, Object.class);
+  }
+
+  @Benchmark
+  public Object evaluate() {
+    return valueExpression.getValue(context);
+  }
+
+}
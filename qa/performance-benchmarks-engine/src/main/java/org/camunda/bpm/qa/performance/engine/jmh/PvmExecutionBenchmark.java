@@ -0,0 +1,89 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.pvm.ProcessDefinitionBuilder;
+import org.camunda.bpm.engine.impl.pvm.PvmProcessDefinition;
+import org.camunda.bpm.engine.impl.pvm.PvmProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Executes the atomic operations of the PVM for a sequence of activities,
+ * without persistence and without a command context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PvmExecutionBenchmark {
+
+  @Param({"10", "100"})
+  public int activities;
+
+  protected PvmProcessDefinition sequence;
+  protected PvmProcessDefinition scopeSequence;
+
+  @Setup
+  public void createProcessDefinitions() {
+    sequence = createSequence(false);
+    scopeSequence = createSequence(true);
+  }
+
+  protected PvmProcessDefinition createSequence(boolean isScope) {
+    ProcessDefinitionBuilder builder = new ProcessDefinitionBuilder();
+
+    for (int i = 0; i < activities; i++) {
+      builder.createActivity("activity" + i);
+      if (i == 0) {
+        builder.initial();
+      }
+      if (isScope) {
+        builder.scope();
+      }
+      builder.behavior(new PassThroughBehavior());
+      if (i < activities - 1) {
+        builder.transition("activity" + (i + 1));
+      }
+      builder.endActivity();
+    }
+
+    return builder.buildProcessDefinition();
+  }
+
+  @Benchmark
+  public PvmProcessInstance executeSequence() {
+    PvmProcessInstance processInstance = sequence.createProcessInstance();
+    processInstance.start();
+    return processInstance;
+  }
+
+  @Benchmark
+  public PvmProcessInstance executeScopeSequence() {
+    PvmProcessInstance processInstance = scopeSequence.createProcessInstance();
+    processInstance.start();
+    return processInstance;
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.variable.serializer.IntegerValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.JavaObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.StringValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.ValueFieldsImpl;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.Variables.SerializationDataFormats;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Writes typed values to and reads them from the value fields of a variable
+ * with the serializers of the process engine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TypedValueSerializationBenchmark {
+
+  @Param({"string", "integer", "object"})
+  public String valueType;
+
+  protected TypedValue value;
+  protected TypedValueSerializer<TypedValue> serializer;
+  protected ValueFieldsImpl serializedValueFields;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void createValue() {
+    if ("string".equals(valueType)) {
+      value = Variables.stringValue("a string value of moderate length");
+      serializer = (TypedValueSerializer) new StringValueSerializer();
+    }
+    else if ("integer".equals(valueType)) {
+      value = Variables.integerValue(42);
+      serializer = (TypedValueSerializer) new IntegerValueSerializer();
+    }
+    else {
+      Map<String, Integer> map = new HashMap<String, Integer>();
+      for (int i = 0; i < 100; i++) {
+        map.put("key" + i, i);
+      }
+      value = Variables.objectValue(map)
+          .serializationDataFormat(SerializationDataFormats.JAVA)
+          .create();
+      serializer = (TypedValueSerializer) new JavaObjectSerializer();
+    }
+
+    serializedValueFields = new ValueFieldsImpl();
+    serializer.writeValue(value, serializedValueFields);
+  }
+
+  @Benchmark
+  public ValueFieldsImpl writeValue() {
+    ValueFieldsImpl valueFields = new ValueFieldsImpl();
+    serializer.writeValue(value, valueFields);
+    return valueFields;
+  }
+
+  @Benchmark
+  public TypedValue readValue() {
+    return serializer.readValue(serializedValueFields, true, false);
+  }
+
+}